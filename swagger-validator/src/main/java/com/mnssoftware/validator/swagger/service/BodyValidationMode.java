@@ -0,0 +1,18 @@
+package com.mnssoftware.validator.swagger.service;
+
+/**
+ * How request bodies are validated against their schema.
+ *
+ * @author msilcox
+ */
+public enum BodyValidationMode {
+    /**
+     * Parse the body into a tree and validate the tree.
+     */
+    TREE,
+    /**
+     * Validate the body while reading its tokens, without building a tree. Bodies whose schema uses constructs that
+     * cannot be validated this way are validated as a tree.
+     */
+    STREAMING
+}
@@ -0,0 +1,157 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mnssoftware.validator.core.metrics.ValidationMetrics;
+import com.mnssoftware.validator.core.service.ApiNormalisedPath;
+import com.mnssoftware.validator.core.service.NormalisedPath;
+import com.mnssoftware.validator.swagger.service.plan.OperationPlan;
+import com.mnssoftware.validator.swagger.service.schema.DefinitionRegistry;
+import com.mnssoftware.validator.swagger.service.schema.JsonSchemaCache;
+import com.mnssoftware.validator.swagger.service.swagger.PathRouter;
+import com.mnssoftware.validator.swagger.service.swagger.RouteMatch;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerOperation;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A Swagger specification compiled for validation: its routing table, the validation plans of its operations and
+ * the validators they share.
+ * <p>
+ * Never changes once compiled, so a request validated against one specification sees the same routes, plans and
+ * schemas throughout, even if the service has since switched to another.
+ *
+ * @author msilcox
+ */
+@Slf4j
+final class CompiledSpecification {
+
+    private final Swagger swagger;
+    private final SchemaValidator schemaValidator;
+    private final RequestValidator requestValidator;
+    private final ResponseValidator responseValidator;
+    private final PathRouter<Map<HttpMethod, OperationPlan>> router;
+    private final WarmUpReport warmUpReport;
+
+    /**
+     * Compile the given specification, warming it up if the configuration asks to.
+     *
+     * @param swagger     the specification to compile
+     * @param config      the validation options
+     * @param nonBlocking whether requests are validated as reactive requests, which is how they are warmed up
+     */
+    CompiledSpecification(final Swagger swagger, final SwaggerValidationConfig config, final boolean nonBlocking) {
+        this.swagger = requireNonNull(swagger, "A swagger document is required");
+        requireNonNull(config, "A config is required");
+        this.schemaValidator = new SchemaValidator(swagger, new JsonSchemaCache(), config.getValidationPolicy());
+        this.requestValidator = new RequestValidator(schemaValidator, config, swagger.getDefinitions());
+        this.responseValidator = new ResponseValidator(schemaValidator);
+        final List<OperationPlan> operationPlans = new ArrayList<>();
+        this.router = compileOperationPlans(operationPlans);
+        this.warmUpReport = config.isEagerCompilation() || config.getWarmUpIterations() > 0
+                ? warmUp(schemaValidator, config, operationPlans, nonBlocking) : null;
+    }
+
+    /**
+     * @param requestPath the normalised request path
+     * @return the plans of the operations of the API path matching the request path by method, or empty if no path
+     * matches
+     */
+    Optional<Map<HttpMethod, OperationPlan>> findOperationPlans(final NormalisedPath requestPath) {
+        final Optional<RouteMatch<Map<HttpMethod, OperationPlan>>> maybeRoute = router.match(requestPath);
+        if (!maybeRoute.isPresent()) {
+            log.debug("Path '{}' is not defined in swagger documentation", requestPath.original());
+            return Optional.empty();
+        }
+        return Optional.of(maybeRoute.get().getValue());
+    }
+
+    String getBasePath() {
+        return swagger.getBasePath();
+    }
+
+    Swagger getSwagger() {
+        return swagger;
+    }
+
+    RequestValidator getRequestValidator() {
+        return requestValidator;
+    }
+
+    ResponseValidator getResponseValidator() {
+        return responseValidator;
+    }
+
+    /**
+     * Estimate the memory retained by this specification: the operations its plans and routes hold, by the size of
+     * the paths of its document, and its compiled definitions, by the estimates of the
+     * {@link com.mnssoftware.validator.swagger.service.schema.DefinitionRegistry}.
+     *
+     * @return the estimated number of bytes retained
+     */
+    long estimateRetainedBytes() {
+        long retainedBytes = 0L;
+        try {
+            retainedBytes += swagger.getPaths() == null ? 0 : Json.mapper().writeValueAsBytes(swagger.getPaths()).length;
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to estimate the size of the paths of swagger document '{}'", swagger.getBasePath(), e);
+        }
+        final DefinitionRegistry definitionRegistry = schemaValidator.getDefinitionRegistry();
+        if (definitionRegistry != null) {
+            for (DefinitionRegistry.DefinitionStats stats : definitionRegistry.getDefinitionStats().values()) {
+                retainedBytes += stats.getEstimatedRetainedBytes();
+            }
+        }
+        return retainedBytes;
+    }
+
+    /**
+     * @return what was done to warm up this specification, or {@code null} if it was not warmed up
+     */
+    WarmUpReport getWarmUpReport() {
+        return warmUpReport;
+    }
+
+    private PathRouter<Map<HttpMethod, OperationPlan>> compileOperationPlans(final List<OperationPlan> operationPlans) {
+        final PathRouter<Map<HttpMethod, OperationPlan>> plans = new PathRouter<>();
+        if (swagger.getPaths() == null) {
+            return plans;
+        }
+        swagger.getPaths().forEach((pathKey, path) -> {
+            final NormalisedPath apiPath = new ApiNormalisedPath(swagger.getBasePath(), pathKey);
+            final Map<HttpMethod, OperationPlan> methodPlans = new EnumMap<>(HttpMethod.class);
+            path.getOperationMap().forEach((method, operation) -> {
+                final OperationPlan operationPlan =
+                        requestValidator.compile(new SwaggerOperation(apiPath, operation, method));
+                methodPlans.put(method, operationPlan);
+                operationPlans.add(operationPlan);
+            });
+            plans.add(apiPath, Collections.unmodifiableMap(methodPlans));
+        });
+        log.debug("Compiled validation plans for {} paths", plans.size());
+        return plans;
+    }
+
+    /**
+     * Compile the schemas of every operation and validate synthetic requests to them, without recording metrics.
+     */
+    private WarmUpReport warmUp(final SchemaValidator schemaValidator, final SwaggerValidationConfig config,
+                                final List<OperationPlan> operationPlans, final boolean nonBlocking) {
+        final RequestValidator warmUpValidator = new RequestValidator(schemaValidator,
+                config.toBuilder().metrics(ValidationMetrics.noop()).build(), swagger.getDefinitions());
+        final JsonNode definitions = Json.mapper().valueToTree(swagger.getDefinitions());
+        return new ValidationWarmUp(schemaValidator, warmUpValidator, responseValidator, definitions,
+                config.getParallelPool() != null, nonBlocking).run(operationPlans, config.getWarmUpIterations());
+    }
+}
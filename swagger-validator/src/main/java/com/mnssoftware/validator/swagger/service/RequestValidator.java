@@ -1,32 +1,47 @@
 package com.mnssoftware.validator.swagger.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.MissingNode;
+import com.mnssoftware.validator.core.converter.ParsedBodyHttpMessageConverter;
+import com.mnssoftware.validator.core.filter.MultiReadHttpServletRequest;
+import com.mnssoftware.validator.core.metrics.ValidationMetrics;
+import com.mnssoftware.validator.core.metrics.ValidationStage;
 import com.mnssoftware.validator.core.service.NormalisedPath;
+import com.mnssoftware.validator.core.service.ParsedQueryString;
+import com.mnssoftware.validator.core.service.ValidationError;
 import com.mnssoftware.validator.core.service.ValidationException;
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
 import com.mnssoftware.validator.core.utils.JsonUtils;
 import com.mnssoftware.validator.swagger.service.parameter.ParameterValidators;
+import com.mnssoftware.validator.swagger.service.plan.OperationPlan;
+import com.mnssoftware.validator.swagger.service.plan.ParameterSlot;
+import com.mnssoftware.validator.swagger.service.stream.NonBlockingBodyValidator;
+import com.mnssoftware.validator.swagger.service.stream.StreamingBodyValidator;
+import com.mnssoftware.validator.swagger.service.stream.StreamingSchemaCompiler;
 import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
 import com.mnssoftware.validator.swagger.service.swagger.SwaggerOperation;
-import com.networknt.schema.SchemaValidatorsConfig;
 import com.networknt.schema.ValidationMessage;
-import io.swagger.models.parameters.BodyParameter;
-import io.swagger.models.parameters.Parameter;
+import io.swagger.models.Model;
 import org.apache.commons.lang3.tuple.Pair;
-import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import static com.mnssoftware.validator.core.service.ValidationKeyMessage.*;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toSet;
 
 /**
  * Validate a request against a given API operation.
@@ -37,6 +52,12 @@ public class RequestValidator {
 
     private final SchemaValidator schemaValidator;
     private final ParameterValidators parameterValidators;
+    private final StreamingSchemaCompiler streamingCompiler;
+    private final StreamingBodyValidator streamingValidator;
+    private final ValidationMetrics metrics;
+    private final int maxErrors;
+    private final ForkJoinPool parallelPool;
+    private final long parallelThreshold;
 
     /**
      * Construct a new request validator with the given schema validator.
@@ -44,8 +65,38 @@ public class RequestValidator {
      * @param schemaValidator The schema validator to use when validating request bodies
      */
     public RequestValidator(final SchemaValidator schemaValidator) {
+        this(schemaValidator, SwaggerValidationConfig.defaults(), null);
+    }
+
+    /**
+     * Construct a new request validator with the given schema validator and configuration.
+     *
+     * @param schemaValidator The schema validator to use when validating request bodies
+     * @param config          The validation options
+     * @param definitions     The definitions of the specification, used to resolve references in streaming mode
+     */
+    public RequestValidator(final SchemaValidator schemaValidator, final SwaggerValidationConfig config,
+                            final Map<String, Model> definitions) {
         this.schemaValidator = requireNonNull(schemaValidator, "A schema validator is required");
+        requireNonNull(config, "A config is required");
         this.parameterValidators = new ParameterValidators(schemaValidator);
+        this.streamingCompiler = config.getBodyValidationMode() == BodyValidationMode.STREAMING
+                ? new StreamingSchemaCompiler(definitions) : null;
+        this.maxErrors = requireNonNull(config.getValidationPolicy(), "A validation policy is required").getMaxErrors();
+        this.streamingValidator = new StreamingBodyValidator(maxErrors);
+        this.metrics = requireNonNull(config.getMetrics(), "Validation metrics are required");
+        this.parallelPool = config.getParallelPool();
+        this.parallelThreshold = config.getParallelThreshold();
+    }
+
+    /**
+     * Compile the validation plan for the given API operation
+     *
+     * @param swaggerOperation swagger operation
+     * @return The compiled plan, which can be reused for every request to the operation
+     */
+    public OperationPlan compile(final SwaggerOperation swaggerOperation) {
+        return OperationPlan.compile(swaggerOperation, parameterValidators, streamingCompiler);
     }
 
     /**
@@ -60,96 +111,299 @@ public class RequestValidator {
                                                                 final HttpServletRequest request, SwaggerOperation swaggerOperation) {
         requireNonNull(request, "A request is required");
 
-        Set<ValidationMessage> processingReport = validatePathParameters(requestPath, swaggerOperation);
+        return validateRequest(requestPath, request, compile(swaggerOperation));
+    }
+
+    /**
+     * Validate the request against the given precompiled operation plan
+     *
+     * @param requestPath   swagger request path
+     * @param request       servlet request
+     * @param operationPlan compiled plan of the swagger operation
+     * @return A validation report containing validation errors
+     */
+    public Pair<String, Set<ValidationMessage>> validateRequest(final NormalisedPath requestPath,
+                                                                final HttpServletRequest request,
+                                                                final OperationPlan operationPlan) {
+        requireNonNull(request, "A request is required");
+
+        final long start = startTime();
+        final Pair<String, Set<ValidationMessage>> parameterReport =
+                validateParameters(requestPath, () -> ParsedQueryString.of(request), operationPlan, start);
+        if (!parameterReport.getValue().isEmpty()) {
+            return parameterReport;
+        }
+        final long stageStart = startTime();
+
+        // the body is only read once the parameters are valid, so nothing reads the request after it is rejected
+        final Set<ValidationMessage> processingReport;
+        try {
+            processingReport = validateRequestBody(request, operationPlan, isParallel(request, operationPlan));
+        } catch (ValidationException ex) {
+            recordUnreadableBody(operationPlan, start, stageStart);
+            throw ex;
+        }
+        recordStage(operationPlan, ValidationStage.BODY, stageStart);
         if (!CollectionUtils.isEmpty(processingReport))
-            return Pair.of("path parameter", processingReport);
+            return report(operationPlan, start, "field", processingReport);
 
-        processingReport = validateQueryParameters(request, swaggerOperation);
+        return report(operationPlan, start, null, Collections.emptySet());
+    }
+
+    /**
+     * The schema validator can only stop early when failing fast, so any further errors are dropped here.
+     */
+    private Set<ValidationMessage> limit(final Set<ValidationMessage> messages) {
+        if (messages.size() <= maxErrors) {
+            return messages;
+        }
+        final Set<ValidationMessage> result = new LinkedHashSet<>();
+        for (ValidationMessage message : messages) {
+            if (result.size() == maxErrors) {
+                break;
+            }
+            result.add(message);
+        }
+        return result;
+    }
+
+    /**
+     * Validate the path and then the query parameters of the request, stopping at the first stage that fails.
+     *
+     * @param requestPath   swagger request path
+     * @param queryString   supplies the parsed query string of the request, only if the operation has query
+     *                      parameters
+     * @param operationPlan compiled plan of the swagger operation
+     * @param start         when validation of the request started, see {@link #startTime()}
+     * @return A validation report containing validation errors, which is also recorded if there are any
+     */
+    Pair<String, Set<ValidationMessage>> validateParameters(final NormalisedPath requestPath,
+                                                            final Supplier<ParsedQueryString> queryString,
+                                                            final OperationPlan operationPlan, final long start) {
+        Set<ValidationMessage> processingReport = validatePathParameters(requestPath, operationPlan);
+        final long stageStart = recordStage(operationPlan, ValidationStage.PATH, start);
         if (!CollectionUtils.isEmpty(processingReport))
-            return Pair.of("query parameter", processingReport);
+            return report(operationPlan, start, "path parameter", processingReport);
 
-        processingReport = validateRequestBody(request, swaggerOperation);
+        processingReport = validateQueryParameters(queryString, operationPlan);
+        recordStage(operationPlan, ValidationStage.QUERY, stageStart);
         if (!CollectionUtils.isEmpty(processingReport))
-            return Pair.of("field", processingReport);
+            return report(operationPlan, start, "query parameter", processingReport);
 
         return Pair.of(null, Collections.emptySet());
     }
 
-    private Set<ValidationMessage> validateRequestBody(HttpServletRequest request,
-                                                       final SwaggerOperation swaggerOperation) {
-        final Optional<Parameter> bodyParameter = swaggerOperation.getOperation().getParameters()
-                .stream().filter(p -> p.getIn().equalsIgnoreCase("body")).findFirst();
+    /**
+     * Start validating a request body that is read without blocking, in chunks.
+     *
+     * @param operationPlan compiled plan of the swagger operation
+     * @return the validator to feed the body to
+     * @throws IOException if the body parser cannot be created
+     */
+    NonBlockingBodyValidator startBodyValidation(final OperationPlan operationPlan) throws IOException {
+        if (!operationPlan.isBodyExpected()) {
+            return NonBlockingBodyValidator.rejecting(
+                    singleton(SwaggerHelper.buildValidationMessage(UNEXPECTED_BODY.getCode(), "body")));
+        }
+        if (operationPlan.getStreamingBodySchema() != null) {
+            return NonBlockingBodyValidator.streaming(streamingValidator, operationPlan.getStreamingBodySchema());
+        }
+        return NonBlockingBodyValidator.tree(body -> limit(schemaValidator.validate(body, operationPlan.getBodySchema())));
+    }
+
+    /**
+     * Complete validation of a request body read without blocking.
+     *
+     * @param operationPlan compiled plan of the swagger operation
+     * @param body          the validator the whole body has been fed to
+     * @param start         when validation of the request started, see {@link #startTime()}
+     * @param stageStart    when validation of the body started
+     * @return A validation report containing validation errors, which is also recorded
+     * @throws IOException if the body is not well-formed JSON
+     */
+    Pair<String, Set<ValidationMessage>> completeBodyValidation(final OperationPlan operationPlan,
+                                                                final NonBlockingBodyValidator body,
+                                                                final long start, final long stageStart)
+            throws IOException {
+        Set<ValidationMessage> processingReport;
+        try {
+            processingReport = body.finish();
+            if (body.isEmpty() && operationPlan.isBodyRequired()) {
+                processingReport = singleton(SwaggerHelper.buildValidationMessage(MISSING_BODY.getCode(), "body"));
+            }
+        } catch (IOException ex) {
+            recordUnreadableBody(operationPlan, start, stageStart);
+            throw ex;
+        }
+        recordStage(operationPlan, ValidationStage.BODY, stageStart);
+        return report(operationPlan, start, processingReport.isEmpty() ? null : "field", processingReport);
+    }
+
+    /**
+     * @return the time validation of a request starts, if validation metrics are recorded
+     */
+    long startTime() {
+        return metrics.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    void recordUnreadableBody(final OperationPlan operationPlan, final long start, final long stageStart) {
+        recordStage(operationPlan, ValidationStage.BODY, stageStart);
+        if (metrics.isEnabled()) {
+            metrics.recordValidation(operationPlan.getOperationName(), System.nanoTime() - start, false);
+            metrics.recordFailure(operationPlan.getOperationName(), ValidationKeyMessage.DEFAULT);
+        }
+    }
+
+    private long recordStage(final OperationPlan operationPlan, final ValidationStage stage, final long stageStart) {
+        if (!metrics.isEnabled()) {
+            return 0L;
+        }
+        final long now = System.nanoTime();
+        metrics.recordStage(operationPlan.getOperationName(), stage, now - stageStart);
+        return now;
+    }
+
+    private Pair<String, Set<ValidationMessage>> report(final OperationPlan operationPlan, final long start,
+                                                        final String type,
+                                                        final Set<ValidationMessage> processingReport) {
+        if (metrics.isEnabled()) {
+            final String operation = operationPlan.getOperationName();
+            metrics.recordValidation(operation, System.nanoTime() - start, processingReport.isEmpty());
+            for (ValidationMessage message : processingReport) {
+                metrics.recordFailure(operation, ValidationKeyMessage.fromCode(message.getCode()));
+            }
+        }
+        return Pair.of(type, processingReport);
+    }
+
+    /**
+     * @return whether the request is large enough to be validated in parallel, if there is a pool to do so
+     */
+    private boolean isParallel(final HttpServletRequest request, final OperationPlan operationPlan) {
+        if (parallelPool == null || !operationPlan.isBodyExpected()) {
+            return false;
+        }
+        final long bodyLength = request instanceof MultiReadHttpServletRequest
+                ? ((MultiReadHttpServletRequest) request).getBodyLength() : request.getContentLengthLong();
+        return bodyLength >= parallelThreshold;
+    }
+
+    private Set<ValidationMessage> validateRequestBody(final HttpServletRequest request,
+                                                       final OperationPlan operationPlan, final boolean parallel) {
+        if (operationPlan.getStreamingBodySchema() != null) {
+            return validateRequestBodyStreaming(request, operationPlan);
+        }
         try {
 
             JsonNode requestBody = JsonUtils.readTree(request.getReader());
-            if (!bodyParameter.isPresent() && !(requestBody instanceof MissingNode)) {
+            if (!operationPlan.isBodyExpected() && !(requestBody instanceof MissingNode)) {
                 return singleton(SwaggerHelper.buildValidationMessage(UNEXPECTED_BODY.getCode(), "body"));
             }
 
-            if (!bodyParameter.isPresent()) {
+            if (!operationPlan.isBodyExpected()) {
                 return Collections.emptySet();
             }
 
             if (requestBody instanceof MissingNode) {
-                if (bodyParameter.get().getRequired()) {
+                if (operationPlan.isBodyRequired()) {
                     return singleton(SwaggerHelper.buildValidationMessage(MISSING_BODY.getCode(), "body"));
                 }
                 return Collections.emptySet();
             }
-            SchemaValidatorsConfig config = new SchemaValidatorsConfig();
-            config.setTypeLoose(false);
-            return schemaValidator.validate(requestBody, ((BodyParameter) bodyParameter.get()).getSchema());
+            // share the parsed body so it is not parsed again when binding controller arguments
+            request.setAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE, requestBody);
+            return limit(parallel ? schemaValidator.validate(requestBody, operationPlan.getBodySchema(), parallelPool)
+                    : schemaValidator.validate(requestBody, operationPlan.getBodySchema()));
         } catch (IOException ex) {
-            throw new ValidationException(Collections.singletonList("The payload could not be parsed"));
+            throw payloadNotParsed();
         }
     }
 
-    private Set<ValidationMessage> validatePathParameters(final NormalisedPath requestPath,
-                                                          final SwaggerOperation swaggerOperation) {
-        Set<ValidationMessage> processingReport = new HashSet<>();
-        for (int i = 0; i < swaggerOperation.getPathString().parts().size(); i++) {
-            if (!swaggerOperation.getPathString().isParam(i)) {
-                continue;
+    private Set<ValidationMessage> validateRequestBodyStreaming(final HttpServletRequest request,
+                                                                final OperationPlan operationPlan) {
+        try (JsonParser parser = JsonUtils.createParser(request.getReader())) {
+            final JsonToken firstToken = parser.nextToken();
+            if (firstToken == null) {
+                if (operationPlan.isBodyRequired()) {
+                    return singleton(SwaggerHelper.buildValidationMessage(MISSING_BODY.getCode(), "body"));
+                }
+                return Collections.emptySet();
             }
+            return streamingValidator.validate(parser, operationPlan.getStreamingBodySchema());
+        } catch (IOException ex) {
+            throw payloadNotParsed();
+        }
+    }
 
-            final String paramName = swaggerOperation.getPathString().paramName(i);
-            final String paramValue = requestPath.part(i);
+    static ValidationException payloadNotParsed() {
+        return ValidationException.of(singletonList(new ValidationError(DEFAULT, "body", "body")));
+    }
 
-            processingReport.addAll(swaggerOperation.getOperation().getParameters()
-                    .stream()
-                    .filter(p -> p.getIn().equalsIgnoreCase("PATH"))
-                    .filter(p -> p.getName().equalsIgnoreCase(paramName))
-                    .flatMap(p -> parameterValidators.validate(paramValue, p).stream())
-                    .collect(Collectors.toSet()));
+    private Set<ValidationMessage> validatePathParameters(final NormalisedPath requestPath,
+                                                          final OperationPlan operationPlan) {
+        Set<ValidationMessage> processingReport = null;
+        for (ParameterSlot slot : operationPlan.getPathParameters()) {
+            if (isFull(processingReport)) {
+                break;
+            }
+            processingReport = addAll(processingReport, slot.getValidator().validate(requestPath.part(slot.getIndex())));
         }
-        return processingReport;
+        return processingReport == null ? Collections.emptySet() : processingReport;
     }
 
-    private Set<ValidationMessage> validateQueryParameters(final HttpServletRequest request,
-                                                           final SwaggerOperation swaggerOperation) {
-        return swaggerOperation
-                .getOperation()
-                .getParameters()
-                .stream()
-                .filter(p -> p.getIn().equalsIgnoreCase("QUERY"))
-                .flatMap(p -> validateQueryParameter(request, p).stream()).collect(toSet());
-    }
+    private Set<ValidationMessage> validateQueryParameters(final Supplier<ParsedQueryString> parsedQueryString,
+                                                           final OperationPlan operationPlan) {
+        if (operationPlan.getQueryParameters().isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        final ParsedQueryString queryString = parsedQueryString.get();
 
-    private Set<ValidationMessage> validateQueryParameter(final HttpServletRequest request,
-                                                          final Parameter queryParameter) {
-        MultiValueMap<String, String> queryParams =
-                UriComponentsBuilder.fromHttpRequest(new ServletServerHttpRequest(request)).build().getQueryParams();
-        final Collection<String> queryParameterValues = queryParams.get(queryParameter.getName());
+        Set<ValidationMessage> processingReport = null;
+        for (ParameterSlot slot : operationPlan.getQueryParameters()) {
+            if (isFull(processingReport)) {
+                break;
+            }
+            processingReport = addAll(processingReport, validateQueryParameter(queryString.getValues(slot.getName()), slot));
+        }
+        return processingReport == null ? Collections.emptySet() : processingReport;
+    }
 
+    private Set<ValidationMessage> validateQueryParameter(final List<String> queryParameterValues,
+                                                          final ParameterSlot queryParameter) {
         if (CollectionUtils.isEmpty(queryParameterValues)) {
-            if (queryParameter.getRequired()) {
+            if (queryParameter.isRequired()) {
                 return singleton(SwaggerHelper.buildValidationMessage(NOT_NULL.getCode(), queryParameter.getName()));
             }
-        } else {
-            return queryParameterValues
-                    .stream()
-                    .flatMap(v -> parameterValidators.validate(v, queryParameter).stream()).collect(toSet());
+            return Collections.emptySet();
+        }
+
+        Set<ValidationMessage> processingReport = null;
+        for (String value : queryParameterValues) {
+            if (isFull(processingReport)) {
+                break;
+            }
+            processingReport = addAll(processingReport, queryParameter.getValidator().validate(value));
+        }
+        return processingReport == null ? Collections.emptySet() : processingReport;
+    }
+
+    private boolean isFull(final Set<ValidationMessage> processingReport) {
+        return processingReport != null && processingReport.size() >= maxErrors;
+    }
+
+    private Set<ValidationMessage> addAll(final Set<ValidationMessage> processingReport,
+                                          final Set<ValidationMessage> messages) {
+        if (messages.isEmpty()) {
+            return processingReport;
+        }
+        final Set<ValidationMessage> result = processingReport == null ? new HashSet<>() : processingReport;
+        for (ValidationMessage message : messages) {
+            if (result.size() >= maxErrors) {
+                break;
+            }
+            result.add(message);
         }
-        return Collections.emptySet();
+        return result;
     }
 }
@@ -0,0 +1,92 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.mnssoftware.validator.core.utils.JsonUtils;
+import com.mnssoftware.validator.swagger.service.plan.OperationPlan;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
+import com.networknt.schema.ValidationMessage;
+import io.swagger.models.Model;
+import io.swagger.models.Response;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static com.mnssoftware.validator.core.service.ValidationKeyMessage.DEFAULT;
+import static com.mnssoftware.validator.core.service.ValidationKeyMessage.MISSING_RESPONSE_BODY;
+import static com.mnssoftware.validator.core.service.ValidationKeyMessage.UNDOCUMENTED_STATUS;
+import static java.util.Collections.singleton;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validate a response against the responses documented for a given API operation.
+ * <p>
+ * The status code must be documented, or the operation must document a <code>default</code> response, and the body
+ * must match the schema of the documented response, if it has one.
+ *
+ * @author msilcox
+ */
+public class ResponseValidator {
+
+    private static final String STATUS = "response status";
+    private static final String FIELD = "response field";
+    private static final String DEFAULT_RESPONSE = "default";
+
+    private final SchemaValidator schemaValidator;
+
+    /**
+     * Construct a new response validator with the given schema validator.
+     *
+     * @param schemaValidator The schema validator to use when validating response bodies
+     */
+    public ResponseValidator(final SchemaValidator schemaValidator) {
+        this.schemaValidator = requireNonNull(schemaValidator, "A schema validator is required");
+    }
+
+    /**
+     * Validate the given response against the given operation.
+     *
+     * @param operationPlan compiled plan of the swagger operation the response was sent by
+     * @param status        the status code of the response
+     * @param body          the body of the response, empty if it has none
+     * @return A validation report containing validation errors
+     */
+    public Pair<String, Set<ValidationMessage>> validateResponse(final OperationPlan operationPlan, final int status,
+                                                                 final byte[] body) {
+        requireNonNull(operationPlan, "An operation plan is required");
+        requireNonNull(body, "A body is required");
+
+        final Map<String, Response> responses = operationPlan.getOperation() == null ? null
+                : operationPlan.getOperation().getResponses();
+        if (responses == null || responses.isEmpty()) {
+            return Pair.of(null, Collections.emptySet());
+        }
+        Response response = responses.get(String.valueOf(status));
+        if (response == null) {
+            response = responses.get(DEFAULT_RESPONSE);
+        }
+        if (response == null) {
+            return Pair.of(STATUS, singleton(
+                    SwaggerHelper.buildValidationMessage(UNDOCUMENTED_STATUS.getCode(), String.valueOf(status))));
+        }
+
+        final Model schema = response.getResponseSchema();
+        if (schema == null) {
+            return Pair.of(null, Collections.emptySet());
+        }
+        final JsonNode responseBody;
+        try {
+            responseBody = JsonUtils.readTree(body);
+        } catch (IOException e) {
+            return Pair.of(FIELD, singleton(SwaggerHelper.buildValidationMessage(DEFAULT.getCode(), "body")));
+        }
+        if (responseBody instanceof MissingNode) {
+            return Pair.of(FIELD, singleton(
+                    SwaggerHelper.buildValidationMessage(MISSING_RESPONSE_BODY.getCode(), "body")));
+        }
+        return Pair.of(FIELD, schemaValidator.validate(responseBody, schema));
+    }
+}
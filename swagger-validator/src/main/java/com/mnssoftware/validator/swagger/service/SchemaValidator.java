@@ -1,9 +1,12 @@
 package com.mnssoftware.validator.swagger.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mnssoftware.validator.swagger.service.schema.DefinitionRegistry;
+import com.mnssoftware.validator.swagger.service.schema.JsonSchemaCache;
+import com.mnssoftware.validator.swagger.service.schema.ParallelSchema;
 import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
 import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaException;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SchemaValidatorsConfig;
 import com.networknt.schema.ValidationMessage;
@@ -15,7 +18,11 @@ import io.swagger.util.Json;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.mnssoftware.validator.core.service.ValidationKeyMessage.DEFAULT;
 import static com.mnssoftware.validator.core.service.ValidationKeyMessage.NOT_NULL;
@@ -29,10 +36,12 @@ import static java.util.Objects.requireNonNull;
  * @author msilcox
  */
 public class SchemaValidator {
-    private static final String DEFINITIONS_FIELD = "definitions";
-
-    private final Swagger api;
-    private JsonNode definitions;
+    private final JsonSchemaCache schemaCache;
+    private final SchemaValidatorsConfig config;
+    private final JsonNode definitions;
+    private final DefinitionRegistry definitionRegistry;
+    private final Map<Model, Optional<ParallelSchema>> parallelSchemas =
+            Collections.synchronizedMap(new IdentityHashMap<>());
 
     /**
      * Build a new validator with no API specification.
@@ -46,11 +55,43 @@ public class SchemaValidator {
     /**
      * Build a new validator for the given API specification.
      *
-     * @param api The API to build the validator for. If provided, is used to retrieve schema definitions
+     * @param api The API to build the validator for. If provided, its schema definitions are compiled up front
      *            for use in references.
      */
     public SchemaValidator(final Swagger api) {
-        this.api = api;
+        this(api, new JsonSchemaCache());
+    }
+
+    /**
+     * Build a new validator for the given API specification that stores compiled schemas in the given cache.
+     *
+     * @param api         The API to build the validator for. If provided, its schema definitions are compiled up
+     *                    front for use in references.
+     * @param schemaCache The cache compiled schemas are shared through
+     * @throws IllegalStateException if the schema definitions of the API cannot be read
+     */
+    public SchemaValidator(final Swagger api, final JsonSchemaCache schemaCache) {
+        this(api, schemaCache, ValidationPolicy.collectAll());
+    }
+
+    /**
+     * Build a new validator for the given API specification that stores compiled schemas in the given cache and
+     * stops at the first error when the given policy is fail-fast.
+     *
+     * @param api         The API to build the validator for. If provided, its schema definitions are compiled up
+     *                    front for use in references.
+     * @param schemaCache The cache compiled schemas are shared through
+     * @param policy      How many errors to collect
+     * @throws IllegalStateException if the schema definitions of the API cannot be read
+     */
+    public SchemaValidator(final Swagger api, final JsonSchemaCache schemaCache, final ValidationPolicy policy) {
+        this.schemaCache = requireNonNull(schemaCache, "A schema cache is required");
+        requireNonNull(policy, "A validation policy is required");
+        this.config = new SchemaValidatorsConfig();
+        this.config.setTypeLoose(true);
+        this.config.setFailFast(policy.isFailFast());
+        this.definitions = api == null ? null : readDefinitions(api);
+        this.definitionRegistry = definitions == null ? null : new DefinitionRegistry(definitions, config);
     }
 
     /**
@@ -64,15 +105,40 @@ public class SchemaValidator {
         requireNonNull(schema, "A schema is required");
 
         try {
-            JsonSchema jsonSchema = getJsonSchema(Json.pretty(schema));
+            JsonSchema jsonSchema = getJsonSchema(schema);
 
             final JsonNode content = Json.mapper().valueToTree(value);
-            return jsonSchema.validate(content);
+            return validate(jsonSchema, content);
         } catch (IOException e) {
             return Collections.singleton(SwaggerHelper.buildValidationMessage(DEFAULT.getCode(), null));
         }
     }
 
+    /**
+     * Validate the given body against the given model schema, validating the elements of an array or the properties
+     * of an object in parallel on the given pool when the schema allows it. The failures are the same, and in the
+     * same order, as those reported by {@link #validate(Object, Model)}.
+     * <p>
+     * Schemas are only split when this validator has an API specification and does not fail fast.
+     *
+     * @param value  The body to validate
+     * @param schema The model schema to validate the body against
+     * @param pool   The pool to validate elements or properties on
+     * @return A status containing error code and description
+     */
+    public Set<ValidationMessage> validate(final JsonNode value, final Model schema, final ForkJoinPool pool) {
+        requireNonNull(schema, "A schema is required");
+        requireNonNull(pool, "A pool is required");
+        if (definitionRegistry == null || config.isFailFast()) {
+            return validate((Object) value, schema);
+        }
+        final Optional<ParallelSchema> parallelSchema = parallelSchemas.computeIfAbsent(schema, this::split);
+        if (!parallelSchema.isPresent()) {
+            return validate((Object) value, schema);
+        }
+        return parallelSchema.get().validate(value, pool);
+    }
+
     /**
      * Validate the given value against the given property schema.
      *
@@ -84,7 +150,7 @@ public class SchemaValidator {
         requireNonNull(schema, "A schema is required");
 
         try {
-            JsonSchema jsonSchema = getJsonSchema(Json.pretty(schema));
+            JsonSchema jsonSchema = getJsonSchema(schema);
 
             String normalisedValue = value;
             if (schema instanceof StringProperty) {
@@ -98,12 +164,27 @@ public class SchemaValidator {
                     return Collections.emptySet();
             }
             final JsonNode content = Json.mapper().readTree(normalisedValue);
-            return jsonSchema.validate(content);
+            return validate(jsonSchema, content);
         } catch (IOException e) {
             return Collections.singleton(SwaggerHelper.buildValidationMessage(DEFAULT.getCode(), null));
         }
     }
 
+    /**
+     * Compile the given model schema ahead of its first validation, such as when warming up a service.
+     *
+     * @param schema   The model schema to compile
+     * @param parallel Whether to also split the schema for {@link #validate(JsonNode, Model, ForkJoinPool)}
+     * @throws IOException if the schema cannot be read
+     */
+    public void compile(final Model schema, final boolean parallel) throws IOException {
+        requireNonNull(schema, "A schema is required");
+        getJsonSchema(schema);
+        if (parallel && definitionRegistry != null && !config.isFailFast()) {
+            parallelSchemas.computeIfAbsent(schema, this::split);
+        }
+    }
+
     /**
      * Quote the given string if needed
      *
@@ -124,17 +205,60 @@ public class SchemaValidator {
         return result;
     }
 
-    private JsonSchema getJsonSchema(String schema) throws IOException {
-        final JsonNode schemaObject = Json.mapper().readTree(schema);
+    /**
+     * @return The registry of compiled schema definitions, or {@code null} if this validator has no API specification
+     */
+    public DefinitionRegistry getDefinitionRegistry() {
+        return definitionRegistry;
+    }
+
+    /**
+     * @return The cache holding the schemas compiled by this validator
+     */
+    public JsonSchemaCache getSchemaCache() {
+        return schemaCache;
+    }
 
-        if (api != null) {
-            if (this.definitions == null) {
-                this.definitions = Json.mapper().readTree(Json.pretty(api.getDefinitions()));
+    /**
+     * In fail-fast mode the schema throws on its first error rather than collecting them.
+     */
+    private static Set<ValidationMessage> validate(final JsonSchema jsonSchema, final JsonNode content) {
+        try {
+            return jsonSchema.validate(content);
+        } catch (JsonSchemaException e) {
+            if (e.getValidationMessages() == null || e.getValidationMessages().isEmpty()) {
+                throw e;
             }
-            ((ObjectNode) schemaObject).set(DEFINITIONS_FIELD, this.definitions);
+            return e.getValidationMessages();
+        }
+    }
+
+    private Optional<ParallelSchema> split(final Model schema) {
+        try {
+            return ParallelSchema.split(Json.mapper().readTree(Json.pretty(schema)), definitions, definitionRegistry);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private JsonSchema getJsonSchema(final Object schema) throws IOException {
+        return schemaCache.get(schema, config, () -> compileJsonSchema(Json.pretty(schema)));
+    }
+
+    private JsonSchema compileJsonSchema(final String schema) throws IOException {
+        final JsonNode schemaObject = Json.mapper().readTree(schema);
+
+        if (definitionRegistry != null) {
+            return definitionRegistry.compile(schemaObject);
+        }
+        return JsonSchemaFactory.getInstance().getSchema(schemaObject, config);
+    }
+
+    private static JsonNode readDefinitions(final Swagger api) {
+        try {
+            return Json.mapper().readTree(Json.pretty(api.getDefinitions()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read swagger definitions", e);
         }
-        SchemaValidatorsConfig defaultConfig = new SchemaValidatorsConfig();
-        defaultConfig.setTypeLoose(true);
-        return JsonSchemaFactory.getInstance().getSchema(schemaObject, defaultConfig);
     }
 }
@@ -0,0 +1,38 @@
+package com.mnssoftware.validator.swagger.service;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Routes the requests to a host, a path prefix, or both, to the Swagger specification they are validated against
+ * by a {@link SwaggerValidationRegistry}.
+ *
+ * @author msilcox
+ */
+@Value
+@Builder(toBuilder = true)
+public class SpecificationRoute {
+
+    /**
+     * The host name requests are routed by, compared ignoring case and without the port, or {@code null} to route
+     * requests to any host, the default
+     */
+    String host;
+
+    /**
+     * The prefix of the request URI requests are routed by, matching whole path segments, or {@code null} to route
+     * requests to any path, the default. This is usually the base path of the specification.
+     */
+    String pathPrefix;
+
+    /**
+     * The location of the specification, as given to {@link SwaggerValidationService}
+     */
+    String location;
+
+    /**
+     * The options requests are validated against the specification with
+     */
+    @Builder.Default
+    SwaggerValidationConfig config = SwaggerValidationConfig.defaults();
+}
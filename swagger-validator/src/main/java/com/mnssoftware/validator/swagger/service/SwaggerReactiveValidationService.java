@@ -0,0 +1,201 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.mnssoftware.validator.core.service.ApiNormalisedPath;
+import com.mnssoftware.validator.core.service.NormalisedPath;
+import com.mnssoftware.validator.core.service.ParsedQueryString;
+import com.mnssoftware.validator.core.service.ReactiveValidationService;
+import com.mnssoftware.validator.swagger.service.plan.OperationPlan;
+import com.mnssoftware.validator.swagger.service.stream.NonBlockingBodyValidator;
+import com.networknt.schema.ValidationMessage;
+import io.swagger.models.HttpMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Validates the requests of reactive (WebFlux) applications against a Swagger specification, with the same routing
+ * and validation plans as {@link SwaggerValidationService}.
+ * <p>
+ * Request bodies are validated chunk by chunk as the application reads them, with a non-blocking parser, so neither
+ * waiting for the body nor validating it ever blocks an event loop thread. Bodies are best validated in
+ * {@link BodyValidationMode#STREAMING streaming} mode, the default for this service, as in tree mode the tokens of the
+ * whole body are buffered until it is complete.
+ *
+ * @author msilcox
+ */
+@Slf4j
+public class SwaggerReactiveValidationService implements ReactiveValidationService {
+
+    private final SwaggerValidationService validationService;
+
+    public SwaggerReactiveValidationService(String swaggerDocLocation) {
+        this(swaggerDocLocation,
+                SwaggerValidationConfig.builder().bodyValidationMode(BodyValidationMode.STREAMING).build());
+    }
+
+    public SwaggerReactiveValidationService(String swaggerDocLocation, SwaggerValidationConfig config) {
+        validationService = new SwaggerValidationService(swaggerDocLocation, config, true);
+    }
+
+    @Override
+    public Mono<ServerWebExchange> validateRequest(ServerWebExchange exchange) {
+        return Mono.fromCallable(() -> validateParameters(exchange));
+    }
+
+    private ServerWebExchange validateParameters(ServerWebExchange exchange) {
+        final ServerHttpRequest request = exchange.getRequest();
+        // the body is validated against the specification the parameters were, even if it is reloaded meanwhile
+        final CompiledSpecification specification = validationService.getSpecification();
+        final RequestValidator requestValidator = specification.getRequestValidator();
+        final NormalisedPath requestPath =
+                new ApiNormalisedPath(specification.getBasePath(), request.getURI().getRawPath());
+        final Optional<OperationPlan> operationPlan = getOperationPlan(specification, requestPath, request);
+        if (!operationPlan.isPresent()) {
+            return exchange;
+        }
+
+        final long start = requestValidator.startTime();
+        final Pair<String, Set<ValidationMessage>> validationMessages = requestValidator.validateParameters(
+                requestPath, () -> ParsedQueryString.parse(request.getURI().getRawQuery()), operationPlan.get(), start);
+        if (!validationMessages.getValue().isEmpty()) {
+            throw SwaggerValidationService.toValidationException(validationMessages.getKey(),
+                    validationMessages.getValue());
+        }
+        return exchange.mutate().request(new ValidatingRequest(request, requestValidator, operationPlan.get(),
+                start)).build();
+    }
+
+    private Optional<OperationPlan> getOperationPlan(CompiledSpecification specification, NormalisedPath requestPath,
+                                                     ServerHttpRequest request) {
+        final Optional<Map<HttpMethod, OperationPlan>> maybePlans = specification.findOperationPlans(requestPath);
+        if (!maybePlans.isPresent()) {
+            return Optional.empty();
+        }
+
+        final Map<HttpMethod, OperationPlan> methodPlans = maybePlans.get();
+        final OperationPlan operationPlan = methodPlans.get(HttpMethod.valueOf(request.getMethodValue()));
+        if (operationPlan == null) {
+            log.debug("Method '{}' is not defined for path '{}' in swagger documentation", request.getMethodValue(),
+                    requestPath.original());
+            throw new MethodNotAllowedException(request.getMethodValue(), methodPlans.keySet().stream()
+                    .map(method -> org.springframework.http.HttpMethod.resolve(method.name())).collect(toSet()));
+        }
+        return Optional.of(operationPlan);
+    }
+
+    /**
+     * A request whose body is validated as it is read.
+     */
+    private static final class ValidatingRequest extends ServerHttpRequestDecorator {
+        private final RequestValidator requestValidator;
+        private final OperationPlan operationPlan;
+        private final long start;
+
+        private ValidatingRequest(final ServerHttpRequest delegate, final RequestValidator requestValidator,
+                                  final OperationPlan operationPlan, final long start) {
+            super(delegate);
+            this.requestValidator = requestValidator;
+            this.operationPlan = operationPlan;
+            this.start = start;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> {
+                final BodyValidation validation;
+                try {
+                    validation = new BodyValidation(requestValidator, operationPlan, start);
+                } catch (IOException e) {
+                    return Flux.error(e);
+                }
+                return super.getBody()
+                        .<DataBuffer>handle(validation::validate)
+                        .concatWith(Mono.defer(validation::complete));
+            });
+        }
+    }
+
+    /**
+     * The validation of one read of a request body.
+     */
+    private static final class BodyValidation {
+        private final RequestValidator requestValidator;
+        private final OperationPlan operationPlan;
+        private final long start;
+        private final long stageStart;
+        private final NonBlockingBodyValidator body;
+        private boolean reported;
+
+        private BodyValidation(final RequestValidator requestValidator, final OperationPlan operationPlan,
+                               final long start) throws IOException {
+            this.requestValidator = requestValidator;
+            this.operationPlan = operationPlan;
+            this.start = start;
+            this.stageStart = requestValidator.startTime();
+            this.body = requestValidator.startBodyValidation(operationPlan);
+        }
+
+        private void validate(final DataBuffer buffer, final SynchronousSink<DataBuffer> sink) {
+            final boolean complete;
+            try {
+                // once validation is complete the rest of the body is passed on unread
+                complete = !body.isComplete() && body.feed(buffer.asByteBuffer());
+            } catch (IOException e) {
+                DataBufferUtils.release(buffer);
+                reported = true;
+                requestValidator.recordUnreadableBody(operationPlan, start, stageStart);
+                sink.error(RequestValidator.payloadNotParsed());
+                return;
+            }
+            final RuntimeException failure = complete ? report() : null;
+            if (failure != null) {
+                DataBufferUtils.release(buffer);
+                sink.error(failure);
+                return;
+            }
+            sink.next(buffer);
+        }
+
+        private Mono<DataBuffer> complete() {
+            final RuntimeException failure = report();
+            return failure == null ? Mono.empty() : Mono.error(failure);
+        }
+
+        /**
+         * @return the exception reporting the violations of the body, or {@code null} if it is valid or has already
+         * been reported
+         */
+        private RuntimeException report() {
+            if (reported) {
+                return null;
+            }
+            reported = true;
+            final Pair<String, Set<ValidationMessage>> validationMessages;
+            try {
+                validationMessages = requestValidator.completeBodyValidation(operationPlan, body, start, stageStart);
+            } catch (IOException e) {
+                return RequestValidator.payloadNotParsed();
+            }
+            if (validationMessages.getValue().isEmpty()) {
+                return null;
+            }
+            return SwaggerValidationService.toValidationException(validationMessages.getKey(),
+                    validationMessages.getValue());
+        }
+    }
+}
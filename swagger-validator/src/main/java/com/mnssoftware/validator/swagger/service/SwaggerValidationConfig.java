@@ -0,0 +1,86 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.mnssoftware.validator.core.metrics.ValidationMetrics;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerSnapshotStore;
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options controlling how requests are validated against a Swagger specification.
+ *
+ * @author msilcox
+ */
+@Value
+@Builder(toBuilder = true)
+public class SwaggerValidationConfig {
+
+    /**
+     * How request bodies are validated, parsed into a tree by default
+     */
+    @Builder.Default
+    BodyValidationMode bodyValidationMode = BodyValidationMode.TREE;
+
+    /**
+     * How many errors are collected before validation stops, every error by default
+     */
+    @Builder.Default
+    ValidationPolicy validationPolicy = ValidationPolicy.collectAll();
+
+    /**
+     * Where validation timings and failures are recorded, nowhere by default
+     */
+    @Builder.Default
+    ValidationMetrics metrics = ValidationMetrics.noop();
+
+    /**
+     * The pool large requests are validated on in parallel, or {@code null} to validate every request on the request
+     * thread, the default. The elements or properties of a large body validated as a tree are validated in parallel
+     * with each other, once the parameters of the request are valid.
+     */
+    ForkJoinPool parallelPool;
+
+    /**
+     * The body size in bytes from which requests are validated in parallel, if there is a parallel pool, 64KiB by
+     * default
+     */
+    @Builder.Default
+    long parallelThreshold = 64 * 1024;
+
+    /**
+     * Whether the body and response schemas of every operation are compiled when the service is created, rather than
+     * on first use, false by default
+     */
+    boolean eagerCompilation;
+
+    /**
+     * How many times synthetic valid and invalid requests and responses are validated for each operation when the
+     * service is created, so the validation code is loaded and compiled before real traffic arrives, none by default.
+     * Warming up also compiles every schema eagerly.
+     */
+    int warmUpIterations;
+
+    /**
+     * The directory binary snapshots of the parsed specification are kept in, or {@code null} to parse the
+     * specification every time, the default. A specification that has not changed since its snapshot was written is
+     * loaded from the snapshot without being parsed, see {@link SwaggerSnapshotStore}.
+     */
+    Path snapshotDirectory;
+
+    /**
+     * How often the specification file is checked for changes, or {@code null} to never reload it, the default. A
+     * changed specification is compiled in the background and replaces the current one once compiled. Only
+     * specifications read from a local file are watched.
+     */
+    Duration reloadInterval;
+
+    /**
+     * @return the default configuration
+     */
+    public static SwaggerValidationConfig defaults() {
+        return builder().build();
+    }
+}
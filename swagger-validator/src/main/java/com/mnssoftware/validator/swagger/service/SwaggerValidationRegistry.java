@@ -0,0 +1,345 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.mnssoftware.validator.core.service.ValidationService;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validates requests against one of many Swagger specifications, chosen by the host or path prefix of the request.
+ * <p>
+ * Each specification is compiled on its first request. When the estimated memory retained by the compiled
+ * specifications exceeds the memory budget, the least recently used specifications are evicted until it fits again,
+ * and are compiled again on their next request. The memory a specification retains is estimated when it is compiled
+ * and again whenever it is reloaded, see {@link CompiledSpecification#estimateRetainedBytes()}. The most recently
+ * compiled specification is never evicted, so a specification larger than the budget is still validated against.
+ * <p>
+ * A specification that cannot be compiled is not tried again until the retry interval has passed, doubling with each
+ * further failure, and requests routed to it meanwhile are not validated.
+ * <p>
+ * Requests are routed to the most specific matching route: routes naming a host before routes to any host, then
+ * routes with longer path prefixes first. Requests matching no route are not validated. Choosing a route and a
+ * compiled specification takes no lock; only compiling and evicting specifications do.
+ *
+ * @author msilcox
+ */
+@Slf4j
+public class SwaggerValidationRegistry implements ValidationService, Closeable {
+
+    public static final Duration DEFAULT_RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    // retries back off to at most this many retry intervals
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final List<Entry> entries;
+
+    private final long memoryBudgetBytes;
+
+    private final long retryIntervalNanos;
+
+    private final Object evictionLock = new Object();
+
+    private final AtomicLong residentBytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Create a registry retrying specifications that cannot be compiled after {@link #DEFAULT_RETRY_INTERVAL}.
+     *
+     * @param routes            the routes to the specifications requests are validated against
+     * @param memoryBudgetBytes the estimated memory the compiled specifications may retain
+     */
+    public SwaggerValidationRegistry(final List<SpecificationRoute> routes, final long memoryBudgetBytes) {
+        this(routes, memoryBudgetBytes, DEFAULT_RETRY_INTERVAL);
+    }
+
+    /**
+     * @param routes            the routes to the specifications requests are validated against
+     * @param memoryBudgetBytes the estimated memory the compiled specifications may retain
+     * @param retryInterval     how long after first failing to compile a specification is tried again
+     */
+    public SwaggerValidationRegistry(final List<SpecificationRoute> routes, final long memoryBudgetBytes,
+                                     final Duration retryInterval) {
+        requireNonNull(routes, "Routes are required");
+        requireNonNull(retryInterval, "A retry interval is required");
+        if (memoryBudgetBytes < 1) {
+            throw new IllegalArgumentException("memoryBudgetBytes must be greater than zero");
+        }
+        if (retryInterval.isNegative()) {
+            throw new IllegalArgumentException("retryInterval must not be negative");
+        }
+        this.retryIntervalNanos = retryInterval.toNanos();
+        final List<Entry> entries = new ArrayList<>(routes.size());
+        for (SpecificationRoute route : routes) {
+            entries.add(new Entry(requireNonNull(route, "A route is required")));
+        }
+        entries.sort(Comparator.comparing((Entry entry) -> entry.host == null)
+                .thenComparing(entry -> entry.pathPrefix == null ? 0 : -entry.pathPrefix.length()));
+        this.entries = entries;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    @Override
+    public void validateRequest(HttpServletRequest request) throws ServletException {
+        final SwaggerValidationService service = getService(route(request));
+        if (service != null) {
+            service.validateRequest(request);
+        }
+    }
+
+    @Override
+    public void validateResponse(HttpServletRequest request, int status, byte[] body) {
+        final SwaggerValidationService service = getService(route(request));
+        if (service != null) {
+            service.validateResponse(request, status, body);
+        }
+    }
+
+    /**
+     * @return the number of requests validated against a specification that was already compiled
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of requests that required a specification to be compiled
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of specifications evicted to keep within the memory budget
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of times a specification could not be compiled
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return the estimated memory retained by the compiled specifications
+     */
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    /**
+     * @return the number of specifications currently compiled
+     */
+    public int getResidentCount() {
+        int resident = 0;
+        for (Entry entry : entries) {
+            if (entry.service != null) {
+                resident++;
+            }
+        }
+        return resident;
+    }
+
+    /**
+     * Evict every compiled specification, stopping any watching them for changes.
+     */
+    @Override
+    public void close() {
+        synchronized (evictionLock) {
+            for (Entry entry : entries) {
+                evict(entry);
+            }
+        }
+    }
+
+    private Entry route(final HttpServletRequest request) {
+        final String host = request.getServerName() == null ? null
+                : request.getServerName().toLowerCase(Locale.ROOT);
+        final String path = request.getRequestURI() == null ? "" : request.getRequestURI();
+        for (Entry entry : entries) {
+            if (entry.matches(host, path)) {
+                return entry;
+            }
+        }
+        log.debug("No swagger specification is routed to host '{}' and path '{}'", host, path);
+        return null;
+    }
+
+    /**
+     * @return the service validating against the specification of the given route, or {@code null} if there is no
+     * route or its specification cannot be compiled
+     */
+    private SwaggerValidationService getService(final Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        final SwaggerValidationService service = entry.service;
+        if (service == null) {
+            return load(entry);
+        }
+        hits.increment();
+        if (service.getSpecification() != entry.measured) {
+            remeasure(entry);
+        }
+        return service;
+    }
+
+    private SwaggerValidationService load(final Entry entry) {
+        final SwaggerValidationService service;
+        synchronized (entry) {
+            if (entry.service != null) {
+                hits.increment();
+                return entry.service;
+            }
+            if (entry.failures > 0 && System.nanoTime() - entry.retryAt < 0) {
+                log.debug("Not validating against swagger document '{}', which could not be compiled",
+                        entry.route.getLocation());
+                return null;
+            }
+            misses.increment();
+            final long start = System.nanoTime();
+            try {
+                service = new SwaggerValidationService(entry.route.getLocation(), entry.route.getConfig());
+            } catch (RuntimeException e) {
+                failures.increment();
+                entry.failures++;
+                final long delay = retryIntervalNanos << Math.min(entry.failures - 1, MAX_BACKOFF_SHIFT);
+                entry.retryAt = System.nanoTime() + delay;
+                log.warn("Unable to compile swagger document '{}', retrying in {}ms", entry.route.getLocation(),
+                        TimeUnit.NANOSECONDS.toMillis(delay), e);
+                return null;
+            }
+            entry.failures = 0;
+            entry.measured = service.getSpecification();
+            entry.retainedBytes = entry.measured.estimateRetainedBytes();
+            entry.service = service;
+            residentBytes.addAndGet(entry.retainedBytes);
+            log.info("Compiled swagger document '{}' in {}ms, retaining about {} bytes", entry.route.getLocation(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), entry.retainedBytes);
+        }
+        evictIfNecessary(entry);
+        return service;
+    }
+
+    /**
+     * Estimate again the memory retained by a specification that has been reloaded since it was last estimated.
+     */
+    private void remeasure(final Entry entry) {
+        synchronized (entry) {
+            final SwaggerValidationService service = entry.service;
+            if (service == null || service.getSpecification() == entry.measured) {
+                return;
+            }
+            final CompiledSpecification specification = service.getSpecification();
+            final long retainedBytes = specification.estimateRetainedBytes();
+            residentBytes.addAndGet(retainedBytes - entry.retainedBytes);
+            entry.measured = specification;
+            entry.retainedBytes = retainedBytes;
+            log.debug("Swagger document '{}' was reloaded, retaining about {} bytes", entry.route.getLocation(),
+                    retainedBytes);
+        }
+        evictIfNecessary(entry);
+    }
+
+    /**
+     * Evict the least recently used specifications, other than the one just compiled, until the compiled
+     * specifications fit within the memory budget.
+     */
+    private void evictIfNecessary(final Entry loaded) {
+        synchronized (evictionLock) {
+            while (residentBytes.get() > memoryBudgetBytes) {
+                Entry leastRecentlyUsed = null;
+                for (Entry entry : entries) {
+                    if (entry != loaded && entry.service != null
+                            && (leastRecentlyUsed == null || entry.lastAccess - leastRecentlyUsed.lastAccess < 0)) {
+                        leastRecentlyUsed = entry;
+                    }
+                }
+                if (leastRecentlyUsed == null) {
+                    log.debug("Compiled swagger documents retain about {} bytes, over the budget of {} bytes",
+                            residentBytes.get(), memoryBudgetBytes);
+                    return;
+                }
+                if (evict(leastRecentlyUsed)) {
+                    evictions.increment();
+                    log.debug("Evicted swagger document '{}'", leastRecentlyUsed.route.getLocation());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether the entry was compiled
+     */
+    private boolean evict(final Entry entry) {
+        final SwaggerValidationService service;
+        synchronized (entry) {
+            service = entry.service;
+            if (service == null) {
+                return false;
+            }
+            // requests already holding the service finish validating against it
+            entry.service = null;
+            entry.measured = null;
+            residentBytes.addAndGet(-entry.retainedBytes);
+        }
+        service.close();
+        return true;
+    }
+
+    /**
+     * A route and the specification it routes to, when compiled.
+     */
+    private static final class Entry {
+        private final SpecificationRoute route;
+        private final String host;
+        private final String pathPrefix;
+        private volatile SwaggerValidationService service;
+        private volatile long lastAccess;
+        private volatile CompiledSpecification measured;
+        private long retainedBytes;
+        private int failures;
+        private long retryAt;
+
+        private Entry(final SpecificationRoute route) {
+            requireNonNull(route.getLocation(), "A swagger document location is required");
+            this.route = route;
+            this.host = route.getHost() == null ? null : route.getHost().toLowerCase(Locale.ROOT);
+            this.pathPrefix = route.getPathPrefix() == null ? null : stripTrailingSlash(route.getPathPrefix());
+        }
+
+        private boolean matches(final String requestHost, final String requestPath) {
+            if (host != null && !host.equals(requestHost)) {
+                return false;
+            }
+            return pathPrefix == null || pathPrefix.isEmpty() || requestPath.equals(pathPrefix)
+                    || (requestPath.startsWith(pathPrefix) && requestPath.charAt(pathPrefix.length()) == '/');
+        }
+
+        private static String stripTrailingSlash(final String path) {
+            return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        }
+    }
+}
@@ -1,94 +1,314 @@
 package com.mnssoftware.validator.swagger.service;
 
 import com.mnssoftware.validator.core.service.*;
-import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
-import com.mnssoftware.validator.swagger.service.swagger.SwaggerOperation;
+import com.mnssoftware.validator.swagger.service.plan.OperationPlan;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerSnapshotStore;
 import com.networknt.schema.ValidationMessage;
 import io.swagger.models.HttpMethod;
-import io.swagger.models.Operation;
-import io.swagger.models.Path;
 import io.swagger.models.Swagger;
 import io.swagger.parser.SwaggerParser;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
+/**
+ * Validates requests, and responses, against a Swagger specification.
+ * <p>
+ * The specification is compiled once into a routing table and validation plans. When a reload interval is
+ * configured, the specification file is polled for changes, and a changed specification is compiled on the polling
+ * thread and then published with a single atomic swap. Validation reads the current specification once per request
+ * without taking any lock, so requests in flight finish against the specification they started with.
+ *
+ * @author msilcox
+ */
 @Slf4j
-public class SwaggerValidationService implements ValidationService {
+public class SwaggerValidationService implements ValidationService, Closeable {
 
-    private final Swagger swagger;
+    private final String swaggerDocLocation;
 
-    private final RequestValidator requestValidator;
+    private final SwaggerValidationConfig config;
+
+    private final boolean nonBlocking;
+
+    private final SwaggerSnapshotStore snapshotStore;
+
+    private final AtomicReference<CompiledSpecification> specification;
+
+    private final ScheduledExecutorService reloadExecutor;
+
+    private final Path watchedFile;
+
+    private FileTime watchedModified;
+
+    private long watchedSize;
+
+    private final LongAdder reloads = new LongAdder();
+
+    private final LongAdder reloadFailures = new LongAdder();
 
     public SwaggerValidationService(String swaggerDocLocation) {
-        swagger = new SwaggerParser().read(swaggerDocLocation);
+        this(swaggerDocLocation, SwaggerValidationConfig.defaults());
+    }
+
+    public SwaggerValidationService(String swaggerDocLocation, SwaggerValidationConfig config) {
+        this(swaggerDocLocation, config, false);
+    }
+
+    /**
+     * @param nonBlocking whether requests are validated as reactive requests, which is how they are warmed up
+     */
+    SwaggerValidationService(String swaggerDocLocation, SwaggerValidationConfig config, boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+        this.swaggerDocLocation = swaggerDocLocation;
+        this.config = requireNonNull(config, "A config is required");
+        this.snapshotStore = config.getSnapshotDirectory() == null ? null
+                : new SwaggerSnapshotStore(config.getSnapshotDirectory());
+        this.watchedFile = config.getReloadInterval() == null ? null : localFile(swaggerDocLocation);
+        if (watchedFile != null) {
+            // the file is stamped before it is read, so a change made while it is read is picked up by the next poll
+            stampWatchedFile();
+        }
+        final Swagger swagger = readSwagger();
         requireNonNull(swagger, "Unable to read swagger document from given location: " + swaggerDocLocation);
-        final SchemaValidator schemaValidator = new SchemaValidator(swagger);
-        requestValidator = new RequestValidator(schemaValidator);
+        this.specification = new AtomicReference<>(new CompiledSpecification(swagger, config, nonBlocking));
+        this.reloadExecutor = watchedFile == null ? null : startWatching(config.getReloadInterval());
     }
 
     @Override
     public void validateRequest(HttpServletRequest request) throws ServletException {
-        final NormalisedPath requestPath = new ApiNormalisedPath(swagger.getBasePath(), request.getRequestURI());
-        Optional<SwaggerOperation> swaggerOperation = getSwaggerOperation(request);
+        final CompiledSpecification current = specification.get();
+        final NormalisedPath requestPath = new ApiNormalisedPath(current.getBasePath(), request.getRequestURI());
+        Optional<OperationPlan> operationPlan = getOperationPlan(current, requestPath, request);
 
-        swaggerOperation.ifPresent(op -> {
-            Pair<String, Set<ValidationMessage>> validationMessages = requestValidator.validateRequest(requestPath, request, op);
+        operationPlan.ifPresent(plan -> {
+            Pair<String, Set<ValidationMessage>> validationMessages =
+                    current.getRequestValidator().validateRequest(requestPath, request, plan);
 
-            List<String> errorMessages = validationMessages.getValue()
-                    .stream()
-                    .map(v -> Pair.of(getFieldFromJsonMessage(v.getMessage()), ValidationKeyMessage.getMessageFromCode(v.getCode())))
-                    .map(p -> buildErrorMessage(validationMessages.getKey(), p.getLeft(), p.getRight()))
-                    .collect(toList());
-
-            if (!errorMessages.isEmpty()) {
-                throw new ValidationException(errorMessages);
+            if (!validationMessages.getValue().isEmpty()) {
+                throw toValidationException(validationMessages.getKey(), validationMessages.getValue());
             }
         });
     }
 
-    private Optional<SwaggerOperation> getSwaggerOperation(HttpServletRequest request) throws ServletException {
-        final NormalisedPath requestPath = new ApiNormalisedPath(swagger.getBasePath(), request.getRequestURI());
-        final Optional<NormalisedPath> maybeApiPath = SwaggerHelper.findMatchingApiPath(swagger, requestPath);
-        if (!maybeApiPath.isPresent()) {
-            log.debug("Path '{}' is not defined in swagger documentation", requestPath.original());
+    /**
+     * Validate the given response against the responses documented for the operation of the request. Responses to
+     * requests whose path or method is not documented are not validated.
+     */
+    @Override
+    public void validateResponse(HttpServletRequest request, int status, byte[] body) {
+        final CompiledSpecification current = specification.get();
+        final NormalisedPath requestPath = new ApiNormalisedPath(current.getBasePath(), request.getRequestURI());
+        final Optional<Map<HttpMethod, OperationPlan>> maybePlans = current.findOperationPlans(requestPath);
+        if (!maybePlans.isPresent()) {
+            return;
+        }
+        final OperationPlan operationPlan = maybePlans.get().get(HttpMethod.valueOf(request.getMethod()));
+        if (operationPlan == null) {
+            return;
+        }
+
+        final Pair<String, Set<ValidationMessage>> validationMessages =
+                current.getResponseValidator().validateResponse(operationPlan, status, body);
+        if (!validationMessages.getValue().isEmpty()) {
+            throw toValidationException(validationMessages.getKey(), validationMessages.getValue());
+        }
+    }
+
+    /**
+     * Read and compile the specification again, and switch to it once it is compiled. Requests validated meanwhile
+     * use the current specification, which is kept if the specification cannot be read.
+     *
+     * @return whether the specification was reloaded
+     */
+    public boolean reload() {
+        final Swagger swagger;
+        final CompiledSpecification compiled;
+        try {
+            swagger = readSwagger();
+            compiled = swagger == null ? null : new CompiledSpecification(swagger, config, nonBlocking);
+        } catch (RuntimeException e) {
+            log.warn("Unable to reload swagger document from '{}', keeping the current one", swaggerDocLocation, e);
+            reloadFailures.increment();
+            return false;
+        }
+        if (compiled == null) {
+            log.warn("Unable to reload swagger document from '{}', keeping the current one", swaggerDocLocation);
+            reloadFailures.increment();
+            return false;
+        }
+        specification.set(compiled);
+        reloads.increment();
+        log.info("Reloaded swagger document from '{}'", swaggerDocLocation);
+        return true;
+    }
+
+    /**
+     * @return the number of times the specification has been reloaded
+     */
+    public long getReloadCount() {
+        return reloads.sum();
+    }
+
+    /**
+     * @return the number of times the specification could not be reloaded
+     */
+    public long getReloadFailureCount() {
+        return reloadFailures.sum();
+    }
+
+    /**
+     * Stop watching the specification for changes.
+     */
+    @Override
+    public void close() {
+        if (reloadExecutor != null) {
+            reloadExecutor.shutdownNow();
+        }
+    }
+
+    private Swagger readSwagger() {
+        return snapshotStore == null ? new SwaggerParser().read(swaggerDocLocation)
+                : snapshotStore.read(swaggerDocLocation);
+    }
+
+    private ScheduledExecutorService startWatching(final Duration interval) {
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "swagger-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long millis = Math.max(1, interval.toMillis());
+        executor.scheduleWithFixedDelay(this::pollWatchedFile, millis, millis, TimeUnit.MILLISECONDS);
+        log.debug("Watching swagger document {} for changes every {}ms", watchedFile, millis);
+        return executor;
+    }
+
+    /**
+     * Reload the specification if its file has been modified since it was last read. Only ever runs on the reload
+     * thread, once it has been started.
+     */
+    private void pollWatchedFile() {
+        final FileTime modified = watchedModified;
+        final long size = watchedSize;
+        if (!stampWatchedFile() || (modified != null && modified.equals(watchedModified) && size == watchedSize)) {
+            return;
+        }
+        reload();
+    }
+
+    /**
+     * @return whether the modification time and size of the watched file could be read
+     */
+    private boolean stampWatchedFile() {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(watchedFile, BasicFileAttributes.class);
+            watchedModified = attributes.lastModifiedTime();
+            watchedSize = attributes.size();
+            return true;
+        } catch (IOException e) {
+            // the file may be being replaced, in which case it is read at the next poll
+            log.debug("Unable to read the attributes of swagger document {}", watchedFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the file the specification is read from, or {@code null} if it is not read from a local file
+     */
+    private static Path localFile(final String location) {
+        try {
+            final Path path = Paths.get(location.startsWith("file:") ? location.substring("file:".length())
+                    : location);
+            if (Files.isRegularFile(path)) {
+                return path;
+            }
+        } catch (InvalidPathException e) {
+            log.debug("Swagger document location '{}' is not a path", location, e);
+        }
+        log.warn("Swagger document '{}' is not a local file, so is not watched for changes", location);
+        return null;
+    }
+
+    private Optional<OperationPlan> getOperationPlan(CompiledSpecification current, NormalisedPath requestPath, HttpServletRequest request) throws ServletException {
+        final Optional<Map<HttpMethod, OperationPlan>> maybePlans = current.findOperationPlans(requestPath);
+        if (!maybePlans.isPresent()) {
             return Optional.empty();
         }
 
-        final NormalisedPath swaggerPathString = maybeApiPath.get();
-        final Path swaggerPath = swagger.getPath(swaggerPathString.original());
+        final Map<HttpMethod, OperationPlan> methodPlans = maybePlans.get();
 
         final HttpMethod httpMethod = HttpMethod.valueOf(request.getMethod());
-        Operation operation = swaggerPath.getOperationMap().get(httpMethod);
+        OperationPlan operationPlan = methodPlans.get(httpMethod);
 
-        if (operation == null) {
+        if (operationPlan == null) {
             log.debug("Method '{}' is not defined for path '{}' in swagger documentation", request.getMethod(), requestPath.original());
-            List<String> supportedMethods = swaggerPath.getOperationMap().keySet().stream().map(
+            List<String> supportedMethods = methodPlans.keySet().stream().map(
                     Enum::name).collect(toList());
             throw new HttpRequestMethodNotSupportedException(request.getMethod(), supportedMethods);
         }
-        return Optional.of(new SwaggerOperation(swaggerPathString, operation));
+        return Optional.of(operationPlan);
+    }
+
+    /**
+     * @return what was done to warm up the current specification, or empty if it was not warmed up
+     */
+    public Optional<WarmUpReport> getWarmUpReport() {
+        return Optional.ofNullable(specification.get().getWarmUpReport());
     }
 
-    private String getFieldFromJsonMessage(String message) {
-        return message.split(":")[0];
+    /**
+     * @return the specification currently validated against, to be read once per request
+     */
+    CompiledSpecification getSpecification() {
+        return specification.get();
     }
 
-    private String buildErrorMessage(Object type, String fieldName, String reason) {
-        String field = fieldName.contains("$.") ? StringUtils.substringAfterLast(fieldName, "$.") : fieldName;
+    /**
+     * @param location where the fields that failed validation were found, e.g. "query parameter"
+     * @param messages the validation failures
+     * @return the exception reporting the failures
+     */
+    static ValidationException toValidationException(String location, Set<ValidationMessage> messages) {
+        final List<ValidationError> errors = new ArrayList<>(messages.size());
+        for (ValidationMessage message : messages) {
+            final ValidationError error = new ValidationError(ValidationKeyMessage.fromCode(message.getCode()),
+                    location, getFieldFromJsonMessage(message.getMessage()));
+            // the parts of the failure are logged rather than its message, which is only rendered for the response
+            log.error("Validation error for field: {} at {} with code: {}", error.getField(), error.getLocation(),
+                    error.getCode());
+            errors.add(error);
+        }
+        return ValidationException.of(errors);
+    }
 
-        String message = String.format(reason, type, field);
-        log.error("Validation error for field: {} with reason: {}", fieldName, message);
-        return message;
+    /**
+     * The field is the path before the first colon of the message, without its leading "$.", if any
+     */
+    private static String getFieldFromJsonMessage(String message) {
+        final int colon = message.indexOf(':');
+        final int end = colon < 0 ? message.length() : colon;
+        final int root = message.lastIndexOf("$.", end - 1);
+        return message.substring(root < 0 ? 0 : root + 2, end);
     }
 }
@@ -0,0 +1,58 @@
+package com.mnssoftware.validator.swagger.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * How many validation errors are collected before validation of a request stops.
+ * <p>
+ * Requests are validated in stages (path parameters, query parameters, then the body) and validation always stops
+ * after the first stage that fails, so the policy caps the errors reported by that stage.
+ *
+ * @author msilcox
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ValidationPolicy {
+
+    private static final ValidationPolicy FAIL_FAST = new ValidationPolicy(1);
+    private static final ValidationPolicy COLLECT_ALL = new ValidationPolicy(Integer.MAX_VALUE);
+
+    /**
+     * The most errors reported for a request
+     */
+    int maxErrors;
+
+    /**
+     * @return a policy that stops at the first error
+     */
+    public static ValidationPolicy failFast() {
+        return FAIL_FAST;
+    }
+
+    /**
+     * @param maxErrors the most errors to report
+     * @return a policy that stops once the given number of errors have been found
+     */
+    public static ValidationPolicy collectUpTo(final int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be greater than zero");
+        }
+        return maxErrors == 1 ? FAIL_FAST : new ValidationPolicy(maxErrors);
+    }
+
+    /**
+     * @return a policy that reports every error
+     */
+    public static ValidationPolicy collectAll() {
+        return COLLECT_ALL;
+    }
+
+    /**
+     * @return whether validation stops at the first error
+     */
+    public boolean isFailFast() {
+        return maxErrors == 1;
+    }
+}
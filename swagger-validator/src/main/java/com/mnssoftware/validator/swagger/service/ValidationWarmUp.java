@@ -0,0 +1,376 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mnssoftware.validator.core.service.ApiNormalisedPath;
+import com.mnssoftware.validator.core.service.NormalisedPath;
+import com.mnssoftware.validator.core.service.ParsedQueryString;
+import com.mnssoftware.validator.swagger.service.plan.OperationPlan;
+import com.mnssoftware.validator.swagger.service.schema.SchemaSamples;
+import com.mnssoftware.validator.swagger.service.stream.NonBlockingBodyValidator;
+import io.swagger.models.Model;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.util.Json;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Proxy;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Warms up the validation of every operation of a specification before it serves traffic: compiles the body and
+ * response schemas of each operation, then validates synthetic valid and invalid requests and responses through the
+ * same validators as real ones, so the classes involved are loaded and compiled by the JIT.
+ * <p>
+ * Synthetic requests are validated as servlet requests are, or, for reactive deployments, fed to the parameter and
+ * non-blocking body validation stages as reactive requests are. They are not recorded by the validation metrics.
+ * Operations whose samples cannot be validated are skipped.
+ *
+ * @author msilcox
+ */
+@Slf4j
+final class ValidationWarmUp {
+
+    private static final String PATH = "path";
+    private static final String QUERY = "query";
+    private static final String DEFAULT_RESPONSE = "default";
+    // a status no operation documents, so the default response is looked up
+    private static final int UNDOCUMENTED_STATUS = 599;
+
+    private final SchemaValidator schemaValidator;
+    private final RequestValidator requestValidator;
+    private final ResponseValidator responseValidator;
+    private final JsonNode definitions;
+    private final boolean parallel;
+    private final boolean nonBlocking;
+
+    /**
+     * @param schemaValidator   compiles the schemas
+     * @param requestValidator  validates the synthetic requests, ideally without recording metrics
+     * @param responseValidator validates the synthetic responses
+     * @param definitions       the definitions of the specification, which samples may refer to
+     * @param parallel          whether body schemas are also split for parallel validation
+     * @param nonBlocking       whether request bodies are validated as reactive requests are, rather than as servlet
+     *                          requests are
+     */
+    ValidationWarmUp(final SchemaValidator schemaValidator, final RequestValidator requestValidator,
+                     final ResponseValidator responseValidator, final JsonNode definitions, final boolean parallel,
+                     final boolean nonBlocking) {
+        this.schemaValidator = requireNonNull(schemaValidator, "A schema validator is required");
+        this.requestValidator = requireNonNull(requestValidator, "A request validator is required");
+        this.responseValidator = requireNonNull(responseValidator, "A response validator is required");
+        this.definitions = definitions;
+        this.parallel = parallel;
+        this.nonBlocking = nonBlocking;
+    }
+
+    /**
+     * Compile the schemas of the given operations, then validate synthetic requests and responses the given number
+     * of times, logging how long it took.
+     *
+     * @param plans      the plans of the operations to warm up
+     * @param iterations how many times to validate the synthetic requests and responses of each operation
+     * @return what was done and how long it took
+     */
+    WarmUpReport run(final List<OperationPlan> plans, final int iterations) {
+        final long start = System.nanoTime();
+        int compiledSchemas = 0;
+        for (OperationPlan plan : plans) {
+            compiledSchemas += compile(plan);
+        }
+        final long compileNanos = System.nanoTime() - start;
+
+        final long warmUpStart = System.nanoTime();
+        final List<Samples> samples = new ArrayList<>(iterations > 0 ? plans.size() : 0);
+        for (int i = 0; i < plans.size() && iterations > 0; i++) {
+            samples.add(new Samples(plans.get(i)));
+        }
+        long validations = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (Samples sample : samples) {
+                validations += sample.validate();
+            }
+        }
+        final long warmUpNanos = System.nanoTime() - warmUpStart;
+
+        final WarmUpReport report = new WarmUpReport(plans.size(), compiledSchemas, compileNanos, validations,
+                warmUpNanos);
+        log.info("Warmed up validation of {} operations: compiled {} schemas in {}ms, validated {} synthetic "
+                        + "requests and responses in {}ms", report.getOperations(), report.getCompiledSchemas(),
+                TimeUnit.NANOSECONDS.toMillis(compileNanos), validations, TimeUnit.NANOSECONDS.toMillis(warmUpNanos));
+        return report;
+    }
+
+    private int compile(final OperationPlan plan) {
+        int compiled = 0;
+        if (plan.getBodySchema() != null && compile(plan, plan.getBodySchema(), parallel)) {
+            compiled++;
+        }
+        for (Response response : responses(plan).values()) {
+            if (response.getResponseSchema() != null && compile(plan, response.getResponseSchema(), false)) {
+                compiled++;
+            }
+        }
+        return compiled;
+    }
+
+    private boolean compile(final OperationPlan plan, final Model schema, final boolean split) {
+        try {
+            schemaValidator.compile(schema, split);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to compile a schema of operation {}", plan.getOperationName(), e);
+            return false;
+        }
+    }
+
+    private static Map<String, Response> responses(final OperationPlan plan) {
+        final Map<String, Response> responses = plan.getOperation() == null ? null
+                : plan.getOperation().getResponses();
+        return responses == null ? Collections.emptyMap() : responses;
+    }
+
+    private static JsonNode toJson(final Object schema) {
+        return Json.mapper().valueToTree(schema);
+    }
+
+    private static String encode(final String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The synthetic requests and responses of one operation.
+     */
+    private final class Samples {
+        private final OperationPlan plan;
+        private final NormalisedPath validPath;
+        private final NormalisedPath invalidPath;
+        private final String validQuery;
+        private final String invalidQuery;
+        private final byte[] validBody;
+        private final byte[] invalidBody;
+        private final List<Integer> statuses = new ArrayList<>();
+        private final List<byte[]> validResponses = new ArrayList<>();
+        private final List<byte[]> invalidResponses = new ArrayList<>();
+
+        private Samples(final OperationPlan plan) {
+            this.plan = plan;
+            final Map<String, Parameter> pathParameters = new HashMap<>();
+            final StringBuilder validQuery = new StringBuilder();
+            final StringBuilder invalidQuery = new StringBuilder();
+            final List<Parameter> parameters = plan.getOperation() == null ? null
+                    : plan.getOperation().getParameters();
+            for (Parameter parameter : parameters == null ? Collections.<Parameter>emptyList() : parameters) {
+                if (PATH.equalsIgnoreCase(parameter.getIn())) {
+                    pathParameters.put(parameter.getName().toLowerCase(Locale.ROOT), parameter);
+                } else if (QUERY.equalsIgnoreCase(parameter.getIn())) {
+                    final JsonNode schema = toJson(parameter);
+                    append(validQuery, parameter.getName(), SchemaSamples.text(SchemaSamples.valid(schema, definitions)));
+                    append(invalidQuery, parameter.getName(), SchemaSamples.invalidText(schema));
+                }
+            }
+            this.validPath = path(pathParameters, true);
+            this.invalidPath = path(pathParameters, false);
+            this.validQuery = validQuery.toString();
+            this.invalidQuery = invalidQuery.toString();
+
+            final JsonNode bodySchema = plan.getBodySchema() == null ? null : toJson(plan.getBodySchema());
+            this.validBody = bodySchema == null ? new byte[0] : bytes(SchemaSamples.valid(bodySchema, definitions));
+            this.invalidBody = bodySchema == null ? new byte[0] : bytes(SchemaSamples.invalid(bodySchema, definitions));
+
+            for (Map.Entry<String, Response> response : responses(plan).entrySet()) {
+                final Model schema = response.getValue().getResponseSchema();
+                final Integer status = status(response.getKey());
+                if (schema == null || status == null) {
+                    continue;
+                }
+                final JsonNode responseSchema = toJson(schema);
+                statuses.add(status);
+                validResponses.add(bytes(SchemaSamples.valid(responseSchema, definitions)));
+                invalidResponses.add(bytes(SchemaSamples.invalid(responseSchema, definitions)));
+            }
+        }
+
+        /**
+         * @return the number of requests and responses validated
+         */
+        private int validate() {
+            int validations = 0;
+            validateRequest(validPath, validQuery, validBody);
+            validations++;
+            // an invalid body is only validated once the parameters are valid
+            if (plan.isBodyExpected()) {
+                validateRequest(validPath, validQuery, invalidBody);
+            } else {
+                validateRequest(invalidPath, invalidQuery, validBody);
+            }
+            validations++;
+            for (int i = 0; i < statuses.size(); i++) {
+                responseValidator.validateResponse(plan, statuses.get(i), validResponses.get(i));
+                responseValidator.validateResponse(plan, statuses.get(i), invalidResponses.get(i));
+                validations += 2;
+            }
+            return validations;
+        }
+
+        private void validateRequest(final NormalisedPath path, final String query, final byte[] body) {
+            try {
+                if (!nonBlocking) {
+                    requestValidator.validateRequest(path, new SyntheticRequest(path, query, body), plan);
+                    return;
+                }
+                if (!requestValidator.validateParameters(path, () -> ParsedQueryString.parse(query), plan, 0L)
+                        .getValue().isEmpty()) {
+                    return;
+                }
+                final NonBlockingBodyValidator bodyValidator = requestValidator.startBodyValidation(plan);
+                bodyValidator.feed(ByteBuffer.wrap(body));
+                requestValidator.completeBodyValidation(plan, bodyValidator, 0L, 0L);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Unable to validate a synthetic request to operation {}", plan.getOperationName(), e);
+            }
+        }
+
+        private NormalisedPath path(final Map<String, Parameter> parameters, final boolean valid) {
+            final NormalisedPath apiPath = plan.getPathString();
+            final StringBuilder path = new StringBuilder();
+            for (int i = 0; i < apiPath.parts().size(); i++) {
+                if (i > 0) {
+                    path.append('/');
+                }
+                if (!apiPath.isParam(i)) {
+                    path.append(apiPath.part(i));
+                    continue;
+                }
+                final Parameter parameter = parameters.get(apiPath.paramName(i).toLowerCase(Locale.ROOT));
+                if (parameter == null) {
+                    path.append('1');
+                    continue;
+                }
+                final JsonNode schema = toJson(parameter);
+                // path parameters are validated as they appear in the path, without decoding
+                path.append(valid ? SchemaSamples.text(SchemaSamples.valid(schema, definitions))
+                        : SchemaSamples.invalidText(schema));
+            }
+            return new ApiNormalisedPath(null, path.toString());
+        }
+
+        private void append(final StringBuilder query, final String name, final String value) {
+            if (query.length() > 0) {
+                query.append('&');
+            }
+            query.append(encode(name)).append('=').append(encode(value));
+        }
+
+        private byte[] bytes(final JsonNode value) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private Integer status(final String key) {
+            if (DEFAULT_RESPONSE.equals(key)) {
+                return UNDOCUMENTED_STATUS;
+            }
+            try {
+                return Integer.valueOf(key);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A servlet request with just the parts validation reads: the URI, query string, body and attributes.
+     * Reading anything else fails, which only skips the request.
+     */
+    private static final class SyntheticRequest extends HttpServletRequestWrapper {
+        private static final HttpServletRequest UNAVAILABLE = (HttpServletRequest) Proxy.newProxyInstance(
+                HttpServletRequest.class.getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName() + " is not available on a synthetic "
+                            + "request");
+                });
+
+        private final String requestUri;
+        private final String queryString;
+        private final byte[] body;
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        private SyntheticRequest(final NormalisedPath path, final String queryString, final byte[] body) {
+            super(UNAVAILABLE);
+            this.requestUri = path.original();
+            this.queryString = queryString;
+            this.body = body;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestUri;
+        }
+
+        @Override
+        public String getQueryString() {
+            return queryString;
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/json";
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return StandardCharsets.UTF_8.name();
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public Object getAttribute(final String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(final String name, final Object value) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(final String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.mnssoftware.validator.swagger.service;
+
+import lombok.Value;
+
+/**
+ * What was done to warm up a {@link SwaggerValidationService}, and how long it took.
+ *
+ * @author msilcox
+ */
+@Value
+public class WarmUpReport {
+    /**
+     * The number of operations warmed up
+     */
+    int operations;
+    /**
+     * The number of body and response schemas compiled
+     */
+    int compiledSchemas;
+    /**
+     * Time taken to compile the schemas
+     */
+    long compileNanos;
+    /**
+     * The number of synthetic requests and responses validated
+     */
+    long syntheticValidations;
+    /**
+     * Time taken to validate the synthetic requests and responses
+     */
+    long warmUpNanos;
+}
@@ -3,9 +3,7 @@ package com.mnssoftware.validator.swagger.service.parameter;
 import com.mnssoftware.validator.swagger.service.SchemaValidator;
 import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
 import com.networknt.schema.ValidationMessage;
-import io.swagger.models.parameters.Parameter;
 import io.swagger.models.parameters.SerializableParameter;
-import org.springframework.util.CollectionUtils;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,31 +20,97 @@ public class ArrayParameterValidator extends BaseParameterValidator {
 
     public static final String ARRAY_PARAMETER_TYPE = "array";
 
+    private static final char NO_SEPARATOR = 0;
+
     private final SchemaValidator schemaValidator;
 
     private enum CollectionFormat {
-        CSV(","),
-        SSV(" "),
-        TSV("\t"),
-        PIPES("\\|"),
-        MULTI(null);
+        CSV(','),
+        SSV(' '),
+        TSV('\t'),
+        PIPES('|'),
+        MULTI(NO_SEPARATOR);
 
-        final String separator;
+        final char separator;
 
-        CollectionFormat(String separator) {
+        CollectionFormat(char separator) {
             this.separator = separator;
         }
 
-        Collection<String> split(final String value) {
-            if (separator == null) {
-                return Collections.singleton(value);
+        Iterator<String> split(final String value) {
+            if (separator == NO_SEPARATOR) {
+                return Collections.singleton(value).iterator();
             }
-            return Arrays.asList(value.split(separator));
+            return new ItemIterator(value, separator);
         }
 
         static CollectionFormat from(final SerializableParameter parameter) {
             requireNonNull(parameter, "A parameter is required");
-            return valueOf(parameter.getCollectionFormat().toUpperCase());
+            // csv is the default collection format in Swagger 2.0
+            return parameter.getCollectionFormat() == null ? CSV : valueOf(parameter.getCollectionFormat().toUpperCase());
+        }
+    }
+
+    /**
+     * Yields the items of a delimited value one at a time by scanning for the separator, dropping trailing empty
+     * items the way {@link String#split(String)} does.
+     */
+    private static final class ItemIterator implements Iterator<String> {
+        private final String value;
+        private final char separator;
+        private int position;
+        // empty items seen but not yet returned, as they are dropped if no non-empty item follows them
+        private int pendingEmptyItems;
+        private String next;
+
+        private ItemIterator(final String value, final char separator) {
+            this.value = value;
+            this.separator = separator;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final String item = next;
+            advance();
+            return item;
+        }
+
+        private void advance() {
+            if (pendingEmptyItems > 0) {
+                pendingEmptyItems--;
+                next = "";
+                return;
+            }
+            while (position <= value.length()) {
+                int end = value.indexOf(separator, position);
+                if (end < 0) {
+                    end = value.length();
+                }
+                final int start = position;
+                position = end + 1;
+                if (end > start) {
+                    if (pendingEmptyItems > 0) {
+                        // return the empty items first and come back to this one
+                        position = start;
+                        pendingEmptyItems--;
+                        next = "";
+                    } else {
+                        next = value.substring(start, end);
+                    }
+                    return;
+                }
+                pendingEmptyItems++;
+            }
+            next = null;
         }
     }
 
@@ -60,14 +124,9 @@ public class ArrayParameterValidator extends BaseParameterValidator {
     }
 
     @Override
-    public Set<ValidationMessage> validate(final String value, final Parameter p) {
-
-        if (!supports(p)) {
-            return Collections.emptySet();
-        }
-
-        final SerializableParameter parameter = (SerializableParameter) p;
-
+    protected Set<ValidationMessage> validateSupported(final String value, final SerializableParameter parameter,
+                                                       final EnumValues enumValues,
+                                                       final BoundParameterValidator typeValidator) {
         if (parameter.getRequired() && (value == null || value.trim().isEmpty())) {
             return Collections.singleton(SwaggerHelper.buildValidationMessage(NOT_NULL.getCode(), parameter.getName()));
         }
@@ -76,39 +135,55 @@ public class ArrayParameterValidator extends BaseParameterValidator {
             return Collections.emptySet();
         }
 
-        return Optional.ofNullable(doValidate(value, parameter)).orElse(Collections.emptySet());
+        return Optional.ofNullable(typeValidator.validate(value)).orElse(Collections.emptySet());
     }
 
+    /**
+     * Resolves the collection format once, checking the array items against the enum compiled when binding.
+     */
     @Override
-    protected Set<ValidationMessage> doValidate(final String value, final SerializableParameter parameter) {
-        return doValidate(CollectionFormat.from(parameter).split(value), parameter);
+    protected BoundParameterValidator compile(final SerializableParameter parameter, final EnumValues enumValues) {
+        final CollectionFormat collectionFormat = CollectionFormat.from(parameter);
+        return value -> doValidate(collectionFormat.split(value), parameter, enumValues);
     }
 
-    private Set<ValidationMessage> doValidate(final Collection<String> values,
-                                              final SerializableParameter parameter) {
+    @Override
+    protected Set<ValidationMessage> doValidate(final String value, final SerializableParameter parameter) {
+        return doValidate(CollectionFormat.from(parameter).split(value), parameter, EnumValues.view(parameter.getEnum()));
+    }
 
-        if (parameter.getMaxItems() != null && values.size() > parameter.getMaxItems()) {
-            return Collections.singleton(SwaggerHelper.buildValidationMessage(MAX_ITEMS.getCode(), parameter.getName()));
+    /**
+     * Check the items in a single pass, stopping as soon as there are more than the maximum number of items. Failures
+     * are reported in the order maximum items, minimum items, duplicates, enum and finally the item schema.
+     */
+    private Set<ValidationMessage> doValidate(final Iterator<String> items,
+                                              final SerializableParameter parameter,
+                                              final EnumValues enumValues) {
+        final int maxItems = parameter.getMaxItems() == null ? Integer.MAX_VALUE : parameter.getMaxItems();
+        final Set<String> seen = Boolean.TRUE.equals(parameter.isUniqueItems()) ? new HashSet<>() : null;
+        final List<String> values = new ArrayList<>();
+        boolean duplicates = false;
+        boolean enumMismatch = false;
+        while (items.hasNext()) {
+            if (values.size() == maxItems) {
+                return Collections.singleton(SwaggerHelper.buildValidationMessage(MAX_ITEMS.getCode(), parameter.getName()));
+            }
+            final String item = items.next();
+            values.add(item);
+            duplicates |= seen != null && !seen.add(item);
+            enumMismatch |= !enumValues.contains(item);
         }
 
         if (parameter.getMinItems() != null && values.size() < parameter.getMinItems()) {
             return Collections.singleton(SwaggerHelper.buildValidationMessage(MIN_ITEMS.getCode(), parameter.getName()));
         }
 
-        if (Boolean.TRUE.equals(parameter.isUniqueItems()) &&
-                values.stream().distinct().count() != values.size()) {
+        if (duplicates) {
             return Collections.singleton(SwaggerHelper.buildValidationMessage(DUPLICATES.getCode(), parameter.getName()));
         }
 
-        if (!CollectionUtils.isEmpty(parameter.getEnum())) {
-            final Set<String> enumValues = new HashSet<>(parameter.getEnum());
-            Optional<String> value =
-                    values.stream()
-                            .filter(v -> !enumValues.contains(v))
-                            .findFirst();
-            if (value.isPresent()) {
-                return Collections.singleton(SwaggerHelper.buildValidationMessage(ENUM.getCode(), parameter.getName()));
-            }
+        if (enumMismatch) {
+            return Collections.singleton(SwaggerHelper.buildValidationMessage(ENUM.getCode(), parameter.getName()));
         }
 
         return
@@ -4,7 +4,6 @@ import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
 import com.networknt.schema.ValidationMessage;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.models.parameters.SerializableParameter;
-import org.springframework.util.CollectionUtils;
 
 import java.util.Collections;
 import java.util.Optional;
@@ -37,7 +36,58 @@ abstract class BaseParameterValidator implements ParameterValidator {
         }
 
         final SerializableParameter parameter = (SerializableParameter) p;
+        return validateSupported(value, parameter, EnumValues.view(parameter.getEnum()), v -> doValidate(v, parameter));
+    }
+
+    @Override
+    public BoundParameterValidator bind(final Parameter p) {
+        if (!supports(p)) {
+            return BoundParameterValidator.NONE;
+        }
+
+        final SerializableParameter parameter = (SerializableParameter) p;
+        final EnumValues enumValues = EnumValues.of(parameter.getEnum());
+        final BoundParameterValidator typeValidator = compile(parameter, enumValues);
+        return value -> validateSupported(value, parameter, enumValues, typeValidator);
+    }
 
+    /**
+     * Prepare the type-specific validations for a parameter when it is bound. Subclasses override this to do any
+     * expensive preparation, such as compiling a pattern, once rather than on every validation.
+     *
+     * @param parameter The parameter being bound
+     * @return A validator performing the type-specific validations for the parameter
+     * @throws IllegalArgumentException if the parameter definition is invalid
+     */
+    protected BoundParameterValidator compile(final SerializableParameter parameter) {
+        return value -> doValidate(value, parameter);
+    }
+
+    /**
+     * Prepare the type-specific validations for a parameter when it is bound, given the enum values already compiled
+     * for it. Subclasses that check the enum themselves override this rather than compiling the enum again.
+     *
+     * @param parameter  The parameter being bound
+     * @param enumValues The values allowed by the parameter enum
+     * @return A validator performing the type-specific validations for the parameter
+     * @throws IllegalArgumentException if the parameter definition is invalid
+     */
+    protected BoundParameterValidator compile(final SerializableParameter parameter, final EnumValues enumValues) {
+        return compile(parameter);
+    }
+
+    /**
+     * Validate a value against a parameter already known to be supported by this validator
+     *
+     * @param value         The value being validated
+     * @param parameter     The parameter the value is being validated against
+     * @param enumValues    The values allowed by the parameter enum
+     * @param typeValidator Performs the type-specific validations
+     * @return A set of validation messages, empty if the value is valid
+     */
+    protected Set<ValidationMessage> validateSupported(final String value, final SerializableParameter parameter,
+                                                       final EnumValues enumValues,
+                                                       final BoundParameterValidator typeValidator) {
         if (parameter.getRequired() && (value == null || value.trim().isEmpty())) {
             return Collections.singleton(SwaggerHelper.buildValidationMessage(NOT_NULL.getCode(), parameter.getName()));
         }
@@ -46,14 +96,10 @@ abstract class BaseParameterValidator implements ParameterValidator {
             return Collections.emptySet();
         }
 
-        if (!matchesEnumIfDefined(value, parameter)) {
+        if (!enumValues.contains(value)) {
             return Collections.singleton(SwaggerHelper.buildValidationMessage(ENUM.getCode(), parameter.getName()));
         }
-        return Optional.ofNullable(doValidate(value, parameter)).orElse(Collections.emptySet());
-    }
-
-    private boolean matchesEnumIfDefined(final String value, final SerializableParameter parameter) {
-        return CollectionUtils.isEmpty(parameter.getEnum()) || parameter.getEnum().contains(value);
+        return Optional.ofNullable(typeValidator.validate(value)).orElse(Collections.emptySet());
     }
 
     /**
@@ -0,0 +1,29 @@
+package com.mnssoftware.validator.swagger.service.parameter;
+
+import com.networknt.schema.ValidationMessage;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A parameter validator that has been bound to a single parameter definition, so that everything that only depends
+ * on the definition is worked out once rather than on each validation.
+ *
+ * @author msilcox
+ */
+@FunctionalInterface
+public interface BoundParameterValidator {
+
+    /**
+     * A validator that accepts every value, used for parameters no validator supports.
+     */
+    BoundParameterValidator NONE = value -> Collections.emptySet();
+
+    /**
+     * Validate the given value against the bound parameter.
+     *
+     * @param value The value being validated
+     * @return A set of validation messages, empty if the value is valid
+     */
+    Set<ValidationMessage> validate(String value);
+}
@@ -0,0 +1,104 @@
+package com.mnssoftware.validator.swagger.service.parameter;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The values allowed by a parameter <code>enum</code>, compiled once into a structure suited to its size.
+ * <p>
+ * Small enums are searched linearly, which beats hashing for a handful of short strings, while larger enums such as
+ * country or currency codes are looked up in a hash set.
+ *
+ * @author msilcox
+ */
+abstract class EnumValues {
+
+    /**
+     * Enums with up to this many values are searched linearly
+     */
+    static final int LINEAR_SEARCH_THRESHOLD = 8;
+
+    /**
+     * Allows every value, for parameters without an enum.
+     */
+    static final EnumValues ANY = new EnumValues() {
+        @Override
+        boolean contains(final String value) {
+            return true;
+        }
+    };
+
+    /**
+     * Compile the given enum values.
+     *
+     * @param values the values allowed by the parameter, {@code null} or empty if any value is allowed
+     * @return the compiled enum values
+     */
+    static EnumValues of(final List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return ANY;
+        }
+        if (values.size() <= LINEAR_SEARCH_THRESHOLD) {
+            return new Linear(values.toArray(new String[0]));
+        }
+        return new Hashed(Collections.unmodifiableSet(new HashSet<>(values)));
+    }
+
+    /**
+     * View the given enum values without compiling them, for values that are only looked up once.
+     *
+     * @param values the values allowed by the parameter, {@code null} or empty if any value is allowed
+     * @return the enum values
+     */
+    static EnumValues view(final List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return ANY;
+        }
+        return new EnumValues() {
+            @Override
+            boolean contains(final String value) {
+                return values.contains(value);
+            }
+        };
+    }
+
+    /**
+     * @param value the value to look up
+     * @return whether the value is allowed
+     */
+    abstract boolean contains(String value);
+
+    private static final class Linear extends EnumValues {
+        private final String[] values;
+
+        private Linear(final String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        boolean contains(final String value) {
+            for (String allowed : values) {
+                if (Objects.equals(allowed, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Hashed extends EnumValues {
+        private final Set<String> values;
+
+        private Hashed(final Set<String> values) {
+            this.values = values;
+        }
+
+        @Override
+        boolean contains(final String value) {
+            return values.contains(value);
+        }
+    }
+}
@@ -25,38 +25,51 @@ public class IntegerParameterValidator extends BaseParameterValidator {
         return "integer";
     }
 
+    /**
+     * Works out the range of the parameter format and the parameter minimum and maximum once, and builds the
+     * messages reported for the parameter up front so rejecting a value does not allocate.
+     * An integer without a format is treated as <code>int64</code>.
+     */
     @Override
-    protected Set<ValidationMessage> doValidate(final String value, final SerializableParameter parameter) {
-
-        if (parameter.getFormat().equalsIgnoreCase("int32")) {
-            try {
-                Integer.parseInt(value);
-            } catch (NumberFormatException e) {
-                return failFormatValidation(parameter);
-            }
-        } else if (parameter.getFormat().equalsIgnoreCase("int64")) {
-            try {
-                Long.parseLong(value);
-            } catch (NumberFormatException e) {
-                return failFormatValidation(parameter);
-            }
+    protected BoundParameterValidator compile(final SerializableParameter parameter) {
+        final long typeMinimum;
+        final long typeMaximum;
+        if (parameter.getFormat() == null || parameter.getFormat().equalsIgnoreCase("int64")) {
+            typeMinimum = Long.MIN_VALUE;
+            typeMaximum = Long.MAX_VALUE;
+        } else if (parameter.getFormat().equalsIgnoreCase("int32")) {
+            typeMinimum = Integer.MIN_VALUE;
+            typeMaximum = Integer.MAX_VALUE;
         } else {
-            // Should never get here, but for completeness
             throw new IllegalArgumentException("Unable to validate parameter with format " + parameter.getFormat());
         }
 
-        final long d = Long.parseLong(value);
-        if (parameter.getMinimum() != null && d < parameter.getMinimum().longValue()) {
-            return Collections.singleton(SwaggerHelper.buildValidationMessage(MIN_VALUE.getCode(), parameter.getName()));
-        }
+        final long minimum = parameter.getMinimum() == null ? Long.MIN_VALUE : parameter.getMinimum().longValue();
+        final long maximum = parameter.getMaximum() == null ? Long.MAX_VALUE : parameter.getMaximum().longValue();
+        final Set<ValidationMessage> malformed = failure(TYPE.getCode(), parameter);
+        final Set<ValidationMessage> belowMinimum = failure(MIN_VALUE.getCode(), parameter);
+        final Set<ValidationMessage> aboveMaximum = failure(MAX_VALUE.getCode(), parameter);
 
-        if (parameter.getMaximum() != null && d > parameter.getMaximum().longValue()) {
-            return Collections.singleton(SwaggerHelper.buildValidationMessage(MAX_VALUE.getCode(), parameter.getName()));
-        }
-        return Collections.emptySet();
+        return value -> {
+            switch (NumericParser.checkLong(value, typeMinimum, typeMaximum, minimum, maximum)) {
+                case MALFORMED:
+                    return malformed;
+                case BELOW_MINIMUM:
+                    return belowMinimum;
+                case ABOVE_MAXIMUM:
+                    return aboveMaximum;
+                default:
+                    return Collections.emptySet();
+            }
+        };
+    }
+
+    @Override
+    protected Set<ValidationMessage> doValidate(final String value, final SerializableParameter parameter) {
+        return compile(parameter).validate(value);
     }
 
-    private Set<ValidationMessage> failFormatValidation(final SerializableParameter parameter) {
-        return Collections.singleton(SwaggerHelper.buildValidationMessage(TYPE.getCode(), parameter.getName()));
+    private static Set<ValidationMessage> failure(final String code, final SerializableParameter parameter) {
+        return Collections.singleton(SwaggerHelper.buildValidationMessage(code, parameter.getName()));
     }
 }
@@ -25,37 +25,46 @@ public class NumberParameterValidator extends BaseParameterValidator {
         return "number";
     }
 
+    /**
+     * Works out the parameter minimum and maximum once, and builds the messages reported for the parameter up front
+     * so rejecting a value does not allocate. A number without a format is treated as a <code>double</code>.
+     */
     @Override
-    protected Set<ValidationMessage> doValidate(final String value, final SerializableParameter parameter) {
-        if (parameter.getFormat().equalsIgnoreCase("float")) {
-            try {
-                Float.parseFloat(value);
-            } catch (NumberFormatException e) {
-                return failFormatValidation(parameter);
-            }
-        } else if (parameter.getFormat().equalsIgnoreCase("double")) {
-            try {
-                Double.parseDouble(value);
-            } catch (NumberFormatException e) {
-                return failFormatValidation(parameter);
-            }
-        } else {
-            // Should never get here, but for completeness
+    protected BoundParameterValidator compile(final SerializableParameter parameter) {
+        // float and double accept the same syntax, and values are range checked as a double either way
+        if (parameter.getFormat() != null && !parameter.getFormat().equalsIgnoreCase("float")
+                && !parameter.getFormat().equalsIgnoreCase("double")) {
             throw new IllegalArgumentException("Unable to validate parameter with format " + parameter.getFormat());
         }
 
-        final double d = Double.parseDouble(value);
-        if (parameter.getMinimum() != null && d < parameter.getMinimum().doubleValue()) {
-            return Collections.singleton(SwaggerHelper.buildValidationMessage(MIN_VALUE.getCode(), parameter.getName()));
-        }
+        final double minimum = parameter.getMinimum() == null ? Double.NEGATIVE_INFINITY
+                : parameter.getMinimum().doubleValue();
+        final double maximum = parameter.getMaximum() == null ? Double.POSITIVE_INFINITY
+                : parameter.getMaximum().doubleValue();
+        final Set<ValidationMessage> malformed = failure(TYPE.getCode(), parameter);
+        final Set<ValidationMessage> belowMinimum = failure(MIN_VALUE.getCode(), parameter);
+        final Set<ValidationMessage> aboveMaximum = failure(MAX_VALUE.getCode(), parameter);
 
-        if (parameter.getMaximum() != null && d > parameter.getMaximum().doubleValue()) {
-            return Collections.singleton(SwaggerHelper.buildValidationMessage(MAX_VALUE.getCode(), parameter.getName()));
-        }
-        return Collections.emptySet();
+        return value -> {
+            switch (NumericParser.checkDouble(value, minimum, maximum)) {
+                case MALFORMED:
+                    return malformed;
+                case BELOW_MINIMUM:
+                    return belowMinimum;
+                case ABOVE_MAXIMUM:
+                    return aboveMaximum;
+                default:
+                    return Collections.emptySet();
+            }
+        };
+    }
+
+    @Override
+    protected Set<ValidationMessage> doValidate(final String value, final SerializableParameter parameter) {
+        return compile(parameter).validate(value);
     }
 
-    private Set<ValidationMessage> failFormatValidation(final SerializableParameter parameter) {
-        return Collections.singleton(SwaggerHelper.buildValidationMessage(TYPE.getCode(), parameter.getName()));
+    private static Set<ValidationMessage> failure(final String code, final SerializableParameter parameter) {
+        return Collections.singleton(SwaggerHelper.buildValidationMessage(code, parameter.getName()));
     }
 }
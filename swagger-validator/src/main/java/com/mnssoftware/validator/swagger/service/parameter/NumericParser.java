@@ -0,0 +1,271 @@
+package com.mnssoftware.validator.swagger.service.parameter;
+
+/**
+ * Parses and range-checks numeric parameter values in a single pass without throwing on malformed input.
+ * <p>
+ * The accepted syntax matches {@link Long#parseLong(String)} for integers and {@link Double#parseDouble(String)} for
+ * numbers, so validation outcomes are unchanged, but malformed values are rejected by scanning them rather than by
+ * catching a {@link NumberFormatException}.
+ *
+ * @author msilcox
+ */
+final class NumericParser {
+
+    /**
+     * The outcome of checking a value.
+     */
+    enum Result {
+        VALID,
+        MALFORMED,
+        BELOW_MINIMUM,
+        ABOVE_MAXIMUM
+    }
+
+    // powers of ten that are exactly representable as a double
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // a mantissa of at most this many digits is below 2^53, so exactly representable as a double
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final int MAX_EXPONENT = 100_000;
+
+    private NumericParser() {
+        //private constructor to hide default public one
+    }
+
+    /**
+     * Parse an integer and check it lies within both the range of its type and the range allowed by the parameter.
+     *
+     * @param value       the value to check
+     * @param typeMinimum the smallest value the integer type can hold
+     * @param typeMaximum the largest value the integer type can hold
+     * @param minimum     the smallest value allowed by the parameter
+     * @param maximum     the largest value allowed by the parameter
+     * @return the outcome, {@link Result#MALFORMED} if the value is not an integer of the type
+     */
+    static Result checkLong(final String value, final long typeMinimum, final long typeMaximum,
+                            final long minimum, final long maximum) {
+        final int length = value.length();
+        if (length == 0) {
+            return Result.MALFORMED;
+        }
+        int i = 0;
+        boolean negative = false;
+        final char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                return Result.MALFORMED;
+            }
+            negative = first == '-';
+            i = 1;
+        }
+
+        // accumulate negatively, as the negative range is the larger one
+        final long limit = negative ? typeMinimum : -typeMaximum;
+        final long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            final int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                return Result.MALFORMED;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return Result.MALFORMED;
+            }
+            result -= digit;
+        }
+
+        final long parsed = negative ? result : -result;
+        if (parsed < minimum) {
+            return Result.BELOW_MINIMUM;
+        }
+        return parsed > maximum ? Result.ABOVE_MAXIMUM : Result.VALID;
+    }
+
+    /**
+     * Parse a number and check it lies within the range allowed by the parameter. {@code NaN} lies within every range.
+     *
+     * @param value   the value to check
+     * @param minimum the smallest value allowed by the parameter
+     * @param maximum the largest value allowed by the parameter
+     * @return the outcome, {@link Result#MALFORMED} if the value is not a number
+     */
+    static Result checkDouble(final String value, final double minimum, final double maximum) {
+        int end = value.length();
+        int i = 0;
+        while (i < end && value.charAt(i) <= ' ') {
+            i++;
+        }
+        while (end > i && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (i == end) {
+            return Result.MALFORMED;
+        }
+
+        boolean negative = false;
+        if (value.charAt(i) == '-' || value.charAt(i) == '+') {
+            negative = value.charAt(i) == '-';
+            i++;
+        }
+
+        final double parsed;
+        if (value.startsWith("NaN", i) && i + 3 == end) {
+            parsed = Double.NaN;
+        } else if (value.startsWith("Infinity", i) && i + 8 == end) {
+            parsed = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        } else if (end - i > 1 && value.charAt(i) == '0' && (value.charAt(i + 1) == 'x' || value.charAt(i + 1) == 'X')) {
+            if (!isHexNumber(value, i + 2, end)) {
+                return Result.MALFORMED;
+            }
+            parsed = Double.parseDouble(value);
+        } else {
+            long mantissa = 0;
+            int significantDigits = 0;
+            int digits = 0;
+            int fractionDigits = 0;
+            boolean fraction = false;
+            for (; i < end; i++) {
+                final char c = value.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    digits++;
+                    if (fraction) {
+                        fractionDigits++;
+                    }
+                    if (mantissa != 0 || c != '0') {
+                        mantissa = mantissa * 10 + (c - '0');
+                        significantDigits++;
+                        if (significantDigits > MAX_EXACT_DIGITS) {
+                            mantissa = -1;
+                            break;
+                        }
+                    }
+                } else if (c == '.' && !fraction) {
+                    fraction = true;
+                } else {
+                    break;
+                }
+            }
+            if (mantissa < 0) {
+                // too many digits to compute exactly here, so only check the syntax
+                return isDecimalNumber(value, i, end, fraction)
+                        ? checkRange(Double.parseDouble(value), minimum, maximum) : Result.MALFORMED;
+            }
+            if (digits == 0) {
+                return Result.MALFORMED;
+            }
+
+            int exponent = 0;
+            if (i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+                i++;
+                boolean negativeExponent = false;
+                if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                    negativeExponent = value.charAt(i) == '-';
+                    i++;
+                }
+                final int exponentStart = i;
+                for (; i < end && value.charAt(i) >= '0' && value.charAt(i) <= '9'; i++) {
+                    exponent = Math.min(MAX_EXPONENT, exponent * 10 + (value.charAt(i) - '0'));
+                }
+                if (i == exponentStart) {
+                    return Result.MALFORMED;
+                }
+                exponent = negativeExponent ? -exponent : exponent;
+            }
+            if (!isSuffix(value, i, end)) {
+                return Result.MALFORMED;
+            }
+
+            final int decimalExponent = exponent - fractionDigits;
+            if (mantissa == 0) {
+                parsed = negative ? -0.0 : 0.0;
+            } else if (decimalExponent >= -22 && decimalExponent <= 22) {
+                // both operands are exact, so the single rounding of this operation gives the correctly rounded value
+                final double magnitude = decimalExponent >= 0 ? mantissa * EXACT_POWERS_OF_TEN[decimalExponent]
+                        : mantissa / EXACT_POWERS_OF_TEN[-decimalExponent];
+                parsed = negative ? -magnitude : magnitude;
+            } else {
+                parsed = Double.parseDouble(value);
+            }
+        }
+        return checkRange(parsed, minimum, maximum);
+    }
+
+    private static Result checkRange(final double parsed, final double minimum, final double maximum) {
+        if (parsed < minimum) {
+            return Result.BELOW_MINIMUM;
+        }
+        return parsed > maximum ? Result.ABOVE_MAXIMUM : Result.VALID;
+    }
+
+    /**
+     * Check the remainder of a decimal number, from part way through its digits, is well formed.
+     */
+    private static boolean isDecimalNumber(final String value, final int start, final int end, final boolean fraction) {
+        int i = start;
+        boolean inFraction = fraction;
+        for (; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c == '.' && !inFraction) {
+                inFraction = true;
+            } else if (c < '0' || c > '9') {
+                break;
+            }
+        }
+        if (i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            final int exponentStart = i;
+            while (i < end && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return isSuffix(value, i, end);
+    }
+
+    /**
+     * Check a hexadecimal floating point number, following its <code>0x</code> prefix, is well formed.
+     */
+    private static boolean isHexNumber(final String value, final int start, final int end) {
+        int i = start;
+        int digits = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            final char c = value.charAt(i);
+            if (Character.digit(c, 16) >= 0 && c < 128) {
+                digits++;
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0 || i == end || (value.charAt(i) != 'p' && value.charAt(i) != 'P')) {
+            return false;
+        }
+        i++;
+        if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        final int exponentStart = i;
+        while (i < end && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+            i++;
+        }
+        return i > exponentStart && isSuffix(value, i, end);
+    }
+
+    private static boolean isSuffix(final String value, final int start, final int end) {
+        if (start == end) {
+            return true;
+        }
+        final char c = value.charAt(start);
+        return start + 1 == end && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+    }
+}
@@ -17,4 +17,14 @@ public interface ParameterValidator {
     boolean supports(Parameter p);
 
     Set<ValidationMessage> validate(String value, Parameter p);
+
+    /**
+     * Bind this validator to the given parameter.
+     *
+     * @param p The parameter to bind to
+     * @return A validator for values of the given parameter
+     */
+    default BoundParameterValidator bind(Parameter p) {
+        return value -> validate(value, p);
+    }
 }
@@ -40,8 +40,7 @@ public final class ParameterValidators {
     public Set<ValidationMessage> validate(final String value, final Parameter parameter) {
         requireNonNull(parameter);
 
-        if ((parameter instanceof SerializableParameter) &&
-                ((SerializableParameter) parameter).getType().equalsIgnoreCase("array")) {
+        if (isArray(parameter)) {
             return arrayValidator.validate(value, parameter);
         }
 
@@ -51,4 +50,30 @@ public final class ParameterValidators {
                 .collect(toSet());
     }
 
+    /**
+     * Resolve the validator for the given parameter once and bind it to the parameter.
+     *
+     * @param parameter The parameter to bind a validator to
+     * @return The bound validator, or {@link BoundParameterValidator#NONE} if no validator supports the parameter
+     */
+    public BoundParameterValidator bind(final Parameter parameter) {
+        requireNonNull(parameter);
+
+        if (isArray(parameter)) {
+            return arrayValidator.bind(parameter);
+        }
+
+        for (ParameterValidator validator : validators) {
+            if (validator.supports(parameter)) {
+                return validator.bind(parameter);
+            }
+        }
+        return BoundParameterValidator.NONE;
+    }
+
+    private static boolean isArray(final Parameter parameter) {
+        return (parameter instanceof SerializableParameter) &&
+                ArrayParameterValidator.ARRAY_PARAMETER_TYPE.equalsIgnoreCase(((SerializableParameter) parameter).getType());
+    }
+
 }
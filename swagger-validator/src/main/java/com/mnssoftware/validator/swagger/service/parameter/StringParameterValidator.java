@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.mnssoftware.validator.core.service.ValidationKeyMessage.PATTERN;
 
@@ -29,10 +30,34 @@ public class StringParameterValidator extends BaseParameterValidator {
         return "string";
     }
 
+    /**
+     * Compiles the parameter pattern once, so an invalid pattern is reported when the parameter is bound rather than
+     * when a request is validated.
+     */
+    @Override
+    protected BoundParameterValidator compile(final SerializableParameter parameter) {
+        if (StringUtils.isEmpty(parameter.getPattern())) {
+            return value -> validatePattern(value, parameter, null);
+        }
+
+        final Pattern pattern;
+        try {
+            pattern = Pattern.compile(parameter.getPattern());
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid pattern for parameter '" + parameter.getName() + "': "
+                    + e.getMessage(), e);
+        }
+        return value -> validatePattern(value, parameter, pattern);
+    }
+
     @Override
     protected Set<ValidationMessage> doValidate(final String value, final SerializableParameter parameter) {
-        String decodedValue = UriUtils.decode(value, StandardCharsets.UTF_8);
-        if (StringUtils.isNotEmpty(parameter.getPattern()) && !Pattern.matches(parameter.getPattern(), decodedValue)) {
+        return compile(parameter).validate(value);
+    }
+
+    private Set<ValidationMessage> validatePattern(final String value, final SerializableParameter parameter,
+                                                   final Pattern pattern) {
+        if (pattern != null && !pattern.matcher(UriUtils.decode(value, StandardCharsets.UTF_8)).matches()) {
             return Collections.singleton(SwaggerHelper.buildValidationMessage(PATTERN.getCode(), parameter.getName()));
         }
         return Collections.emptySet();
@@ -0,0 +1,135 @@
+package com.mnssoftware.validator.swagger.service.plan;
+
+import com.mnssoftware.validator.core.service.NormalisedPath;
+import com.mnssoftware.validator.swagger.service.parameter.ParameterValidators;
+import com.mnssoftware.validator.swagger.service.stream.StreamingSchema;
+import com.mnssoftware.validator.swagger.service.stream.StreamingSchemaCompiler;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerOperation;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable, precompiled validation plan for a single API operation.
+ * <p>
+ * Everything that only depends on the Swagger specification (which parameters apply, which validator handles them,
+ * where path parameters are found and what the body should look like) is worked out once when the plan is compiled,
+ * so validating a request only has to walk the plan.
+ *
+ * @author msilcox
+ */
+@Data
+public class OperationPlan {
+    private static final String PATH = "path";
+    private static final String QUERY = "query";
+    private static final String BODY = "body";
+
+    private final NormalisedPath pathString;
+    private final Operation operation;
+    /**
+     * The name metrics of the operation are recorded under, its operation id if it has one
+     */
+    private final String operationName;
+    private final List<ParameterSlot> pathParameters;
+    private final List<ParameterSlot> queryParameters;
+    private final boolean bodyExpected;
+    private final boolean bodyRequired;
+    private final Model bodySchema;
+    /**
+     * The body schema compiled for streaming validation, or {@code null} if the body is validated as a tree
+     */
+    private final StreamingSchema streamingBodySchema;
+
+    /**
+     * Compile the validation plan for the given operation.
+     *
+     * @param swaggerOperation    The operation to compile
+     * @param parameterValidators The validators to bind the operation parameters to
+     * @return The compiled plan
+     */
+    public static OperationPlan compile(final SwaggerOperation swaggerOperation,
+                                        final ParameterValidators parameterValidators) {
+        return compile(swaggerOperation, parameterValidators, null);
+    }
+
+    /**
+     * Compile the validation plan for the given operation, compiling its body schema for streaming validation.
+     *
+     * @param swaggerOperation    The operation to compile
+     * @param parameterValidators The validators to bind the operation parameters to
+     * @param streamingCompiler   The compiler for streaming body schemas, or {@code null} to validate bodies as a tree
+     * @return The compiled plan
+     */
+    public static OperationPlan compile(final SwaggerOperation swaggerOperation,
+                                        final ParameterValidators parameterValidators,
+                                        final StreamingSchemaCompiler streamingCompiler) {
+        requireNonNull(swaggerOperation, "An operation is required");
+        requireNonNull(parameterValidators, "Parameter validators are required");
+
+        final NormalisedPath apiPath = swaggerOperation.getPathString();
+        final List<Parameter> parameters = parametersOf(swaggerOperation.getOperation());
+
+        final List<ParameterSlot> pathParameters = new ArrayList<>();
+        for (int i = 0; i < apiPath.parts().size(); i++) {
+            if (!apiPath.isParam(i)) {
+                continue;
+            }
+            final String paramName = apiPath.paramName(i);
+            for (Parameter parameter : parameters) {
+                if (PATH.equalsIgnoreCase(parameter.getIn()) && parameter.getName().equalsIgnoreCase(paramName)) {
+                    pathParameters.add(new ParameterSlot(i, parameter.getName(), parameter.getRequired(),
+                            parameterValidators.bind(parameter)));
+                }
+            }
+        }
+
+        final List<ParameterSlot> queryParameters = new ArrayList<>();
+        BodyParameter bodyParameter = null;
+        for (Parameter parameter : parameters) {
+            if (QUERY.equalsIgnoreCase(parameter.getIn())) {
+                queryParameters.add(new ParameterSlot(-1, parameter.getName(), parameter.getRequired(),
+                        parameterValidators.bind(parameter)));
+            } else if (bodyParameter == null && BODY.equalsIgnoreCase(parameter.getIn())) {
+                bodyParameter = (BodyParameter) parameter;
+            }
+        }
+
+        final Model bodySchema = bodyParameter == null ? null : bodyParameter.getSchema();
+        final StreamingSchema streamingBodySchema = streamingCompiler == null || bodySchema == null ? null
+                : streamingCompiler.compile(bodySchema).orElse(null);
+
+        return new OperationPlan(apiPath,
+                swaggerOperation.getOperation(),
+                operationNameOf(swaggerOperation),
+                Collections.unmodifiableList(pathParameters),
+                Collections.unmodifiableList(queryParameters),
+                bodyParameter != null,
+                bodyParameter != null && bodyParameter.getRequired(),
+                bodySchema,
+                streamingBodySchema);
+    }
+
+    private static String operationNameOf(final SwaggerOperation swaggerOperation) {
+        final Operation operation = swaggerOperation.getOperation();
+        if (operation != null && operation.getOperationId() != null && !operation.getOperationId().isEmpty()) {
+            return operation.getOperationId();
+        }
+        final String path = swaggerOperation.getPathString().original();
+        return swaggerOperation.getMethod() == null ? path : swaggerOperation.getMethod() + " " + path;
+    }
+
+    private static List<Parameter> parametersOf(final Operation operation) {
+        if (operation == null || operation.getParameters() == null) {
+            return Collections.emptyList();
+        }
+        return operation.getParameters();
+    }
+}
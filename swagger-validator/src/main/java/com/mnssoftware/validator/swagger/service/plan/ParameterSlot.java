@@ -0,0 +1,20 @@
+package com.mnssoftware.validator.swagger.service.plan;
+
+import com.mnssoftware.validator.swagger.service.parameter.BoundParameterValidator;
+import lombok.Data;
+
+/**
+ * A single parameter of a compiled {@link OperationPlan}, holding the validator already bound to the parameter.
+ *
+ * @author msilcox
+ */
+@Data
+public class ParameterSlot {
+    /**
+     * Index of the path segment holding the value for path parameters, {@code -1} otherwise
+     */
+    private final int index;
+    private final String name;
+    private final boolean required;
+    private final BoundParameterValidator validator;
+}
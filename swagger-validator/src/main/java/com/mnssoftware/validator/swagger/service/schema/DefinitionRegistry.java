@@ -0,0 +1,139 @@
+package com.mnssoftware.validator.swagger.service.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.JsonMetaSchema;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.ValidationContext;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compiles each <code>#/definitions/X</code> of a Swagger specification once and links references to the shared
+ * compiled instance.
+ * <p>
+ * All schemas compiled through the registry share a single validation context whose root document holds the
+ * definitions, so a <code>$ref</code> to a definition resolves to the schema compiled when the registry was built
+ * rather than compiling the definition again for every schema that refers to it.
+ *
+ * @author msilcox
+ */
+@Slf4j
+public class DefinitionRegistry {
+    private static final String DEFINITIONS_FIELD = "definitions";
+    private static final String DEFINITIONS_REF = "#/" + DEFINITIONS_FIELD + "/";
+    private static final String REF_FIELD = "$ref";
+    private static final String ROOT_PATH = "#";
+
+    private final ValidationContext validationContext;
+    private final JsonSchema rootSchema;
+    private final Map<String, DefinitionStats> definitionStats;
+
+    /**
+     * Build a registry, compiling every definition in the given definitions node.
+     *
+     * @param definitions the <code>definitions</code> node of the specification, may be {@code null}
+     * @param config      the configuration to compile schemas with
+     */
+    public DefinitionRegistry(final JsonNode definitions, final SchemaValidatorsConfig config) {
+        requireNonNull(config, "A schema validator config is required");
+
+        final JsonSchemaFactory factory = JsonSchemaFactory.getInstance();
+        this.validationContext = new ValidationContext(factory.getUriFactory(), JsonMetaSchema.getDraftV4(), factory,
+                config);
+
+        final ObjectNode rootNode = JsonNodeFactory.instance.objectNode();
+        if (definitions != null && definitions.isObject()) {
+            rootNode.set(DEFINITIONS_FIELD, definitions);
+        }
+        this.rootSchema = new JsonSchema(validationContext, null, rootNode);
+        this.definitionStats = Collections.unmodifiableMap(compileDefinitions(rootNode.path(DEFINITIONS_FIELD)));
+    }
+
+    /**
+     * Compile the given schema, resolving references to definitions against the shared compiled definitions.
+     *
+     * @param schemaNode the schema to compile
+     * @return the compiled schema
+     */
+    public JsonSchema compile(final JsonNode schemaNode) {
+        return compile(schemaNode, ROOT_PATH);
+    }
+
+    /**
+     * Compile the given schema at the given schema path. A schema orders its failures by the paths of its
+     * keywords, so a schema compiled at the path it has within an enclosing schema reports its failures in the same
+     * order as it does within the enclosing schema.
+     *
+     * @param schemaNode the schema to compile
+     * @param schemaPath the path of the schema, such as <code>#/definitions/Pet</code>
+     * @return the compiled schema
+     */
+    public JsonSchema compile(final JsonNode schemaNode, final String schemaPath) {
+        requireNonNull(schemaNode, "A schema is required");
+        requireNonNull(schemaPath, "A schema path is required");
+        // the validation context tracks compiled references in an unsynchronized map
+        synchronized (validationContext) {
+            return new JsonSchema(validationContext, schemaPath, null, schemaNode, rootSchema);
+        }
+    }
+
+    /**
+     * @return compile statistics for each definition, keyed by definition name
+     */
+    public Map<String, DefinitionStats> getDefinitionStats() {
+        return definitionStats;
+    }
+
+    private Map<String, DefinitionStats> compileDefinitions(final JsonNode definitions) {
+        final Map<String, DefinitionStats> stats = new LinkedHashMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = definitions.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> definition = fields.next();
+            final ObjectNode reference = JsonNodeFactory.instance.objectNode()
+                    .put(REF_FIELD, DEFINITIONS_REF + definition.getKey());
+
+            final long start = System.nanoTime();
+            compile(reference);
+            final long compileNanos = System.nanoTime() - start;
+
+            final DefinitionStats definitionStat = new DefinitionStats(definition.getKey(), compileNanos,
+                    estimateRetainedBytes(definition.getValue()));
+            log.debug("Compiled definition {}", definitionStat);
+            stats.put(definition.getKey(), definitionStat);
+        }
+        log.debug("Compiled {} swagger definitions", stats.size());
+        return stats;
+    }
+
+    private static long estimateRetainedBytes(final JsonNode definition) {
+        return definition.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Compile statistics of a single definition.
+     */
+    @Data
+    public static class DefinitionStats {
+        private final String name;
+        /**
+         * Time taken to compile the definition, including any definitions it refers to that were not yet compiled
+         */
+        private final long compileNanos;
+        /**
+         * Estimate of the memory retained by the compiled definition, based on the size of its schema document
+         */
+        private final long estimatedRetainedBytes;
+    }
+}
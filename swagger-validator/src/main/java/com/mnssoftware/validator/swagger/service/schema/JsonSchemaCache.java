@@ -0,0 +1,162 @@
+package com.mnssoftware.validator.swagger.service.schema;
+
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.SchemaValidatorsConfig;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded, thread-safe cache of compiled {@link JsonSchema} instances.
+ * <p>
+ * Entries are keyed by the identity of the Swagger {@code Model}/{@code Property} they were compiled from together
+ * with the schema validator configuration, so a schema is only ever compiled once per configuration. When the cache
+ * grows beyond its maximum size arbitrary entries are evicted until it fits again.
+ *
+ * @author msilcox
+ */
+public class JsonSchemaCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final int maximumSize;
+    private final ConcurrentMap<Key, JsonSchema> schemas = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a new cache holding at most {@link #DEFAULT_MAXIMUM_SIZE} schemas.
+     */
+    public JsonSchemaCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Create a new cache holding at most the given number of schemas.
+     *
+     * @param maximumSize the maximum number of compiled schemas to retain
+     */
+    public JsonSchemaCache(final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be greater than zero");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Get the compiled schema for the given Swagger schema, compiling and caching it if not already present.
+     *
+     * @param schema   the Swagger model or property the schema is compiled from
+     * @param config   the configuration the schema is compiled with
+     * @param compiler compiles the schema on a cache miss
+     * @return the compiled schema
+     * @throws IOException if the schema could not be compiled
+     */
+    public JsonSchema get(final Object schema, final SchemaValidatorsConfig config,
+                          final SchemaCompiler compiler) throws IOException {
+        requireNonNull(schema, "A schema is required");
+        final Key key = new Key(schema, config.isTypeLoose(), config.isFailFast());
+
+        JsonSchema jsonSchema = schemas.get(key);
+        if (jsonSchema != null) {
+            hits.increment();
+            return jsonSchema;
+        }
+
+        misses.increment();
+        jsonSchema = compiler.compile();
+        final JsonSchema existing = schemas.putIfAbsent(key, jsonSchema);
+        if (existing != null) {
+            return existing;
+        }
+        evictIfNecessary();
+        return jsonSchema;
+    }
+
+    /**
+     * @return the number of lookups that were served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that required a schema to be compiled
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of schemas evicted to keep the cache within its maximum size
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of schemas currently cached
+     */
+    public int size() {
+        return schemas.size();
+    }
+
+    /**
+     * @return the maximum number of schemas this cache retains
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    private void evictIfNecessary() {
+        final Iterator<Key> keys = schemas.keySet().iterator();
+        while (schemas.size() > maximumSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Compiles a schema on a cache miss.
+     */
+    @FunctionalInterface
+    public interface SchemaCompiler {
+        JsonSchema compile() throws IOException;
+    }
+
+    private static final class Key {
+        private final Object schema;
+        private final boolean typeLoose;
+        private final boolean failFast;
+
+        private Key(final Object schema, final boolean typeLoose, final boolean failFast) {
+            this.schema = schema;
+            this.typeLoose = typeLoose;
+            this.failFast = failFast;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return schema == other.schema && typeLoose == other.typeLoose && failFast == other.failFast;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(schema) + (typeLoose ? 1 : 0) + (failFast ? 2 : 0);
+        }
+    }
+}
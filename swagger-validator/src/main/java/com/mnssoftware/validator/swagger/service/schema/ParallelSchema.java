@@ -0,0 +1,266 @@
+package com.mnssoftware.validator.swagger.service.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.ValidationMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A schema split so that the elements of an array, or the properties of an object, are validated in parallel.
+ * <p>
+ * The schema is compiled as a shell whose element or property schemas are replaced by a marker that every value
+ * fails, and the element or property schemas are compiled on their own. Validating a document against the shell
+ * then reports the document-level failures together with a marker for each element or property, in the order the
+ * whole schema would report them. The elements and properties are validated as fork-join tasks, and their failures
+ * replace the markers. A schema orders its failures by the paths it is compiled at, so each part is compiled at the
+ * path it has within the whole schema, and the failures are reported in the same order as when the whole schema
+ * validates the document on a single thread.
+ * <p>
+ * Only schemas whose elements or properties are validated independently of each other can be split: arrays with a
+ * single schema for their items, and objects whose properties are not also validated by combining keywords such as
+ * <code>allOf</code>. Splitting is not compatible with fail-fast validation, as the shell would fail at its first
+ * marker.
+ *
+ * @author msilcox
+ */
+public final class ParallelSchema {
+
+    private static final String ROOT = "$";
+    private static final String ROOT_PATH = "#";
+    private static final String REF = "$ref";
+    private static final String DEFINITIONS_PREFIX = "#/definitions/";
+    private static final String ITEMS = "items";
+    private static final String PROPERTIES = "properties";
+    private static final String MARKER_TYPE = "not";
+    private static final int MAX_REF_DEPTH = 8;
+
+    private static final Set<String> ANNOTATIONS = new HashSet<>(Arrays.asList("type", "title", "description",
+            "example", "default", "format", "readOnly", "xml", "externalDocs", "discriminator"));
+    private static final Set<String> ARRAY_KEYWORDS = union(ANNOTATIONS, ITEMS, "minItems", "maxItems",
+            "uniqueItems");
+    private static final Set<String> OBJECT_KEYWORDS = union(ANNOTATIONS, PROPERTIES, "required",
+            "additionalProperties", "minProperties", "maxProperties");
+
+    private final JsonSchema shell;
+    private final JsonSchema items;
+    private final Map<String, JsonSchema> properties;
+
+    private ParallelSchema(final JsonSchema shell, final JsonSchema items, final Map<String, JsonSchema> properties) {
+        this.shell = shell;
+        this.items = items;
+        this.properties = properties;
+    }
+
+    /**
+     * Split the given schema, if it can be split.
+     *
+     * @param schemaNode  the schema to split
+     * @param definitions the definitions the schema may refer to
+     * @param registry    the registry to compile the parts of the schema with
+     * @return the split schema, or empty if the schema cannot be split
+     */
+    public static Optional<ParallelSchema> split(final JsonNode schemaNode, final JsonNode definitions,
+                                                 final DefinitionRegistry registry) {
+        requireNonNull(registry, "A definition registry is required");
+        // the schema is compiled at the path it is reached by, so its failures are ordered as in the whole schema
+        String schemaPath = ROOT_PATH;
+        JsonNode schema = requireNonNull(schemaNode, "A schema is required");
+        for (int depth = 0; schema.has(REF); depth++) {
+            final String ref = schema.get(REF).asText();
+            final JsonNode definition = ref.startsWith(DEFINITIONS_PREFIX) && definitions != null
+                    ? definitions.get(ref.substring(DEFINITIONS_PREFIX.length())) : null;
+            if (depth == MAX_REF_DEPTH || schema.size() > 1 || definition == null) {
+                return Optional.empty();
+            }
+            schemaPath = ref;
+            schema = definition;
+        }
+        if (!schema.isObject()) {
+            return Optional.empty();
+        }
+
+        if (schema.path(ITEMS).isObject() && hasOnly(schema, ARRAY_KEYWORDS)) {
+            final ObjectNode shell = schema.deepCopy();
+            shell.set(ITEMS, marker());
+            // networknt compiles the schema of the items of every array at the same path
+            return Optional.of(new ParallelSchema(registry.compile(shell, schemaPath),
+                    registry.compile(schema.get(ITEMS), ITEMS), Collections.emptyMap()));
+        }
+        if (schema.path(PROPERTIES).size() > 0 && hasOnly(schema, OBJECT_KEYWORDS)) {
+            final ObjectNode shell = schema.deepCopy();
+            final ObjectNode shellProperties = shell.putObject(PROPERTIES);
+            final Map<String, JsonSchema> properties = new LinkedHashMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> fields = schema.get(PROPERTIES).fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                shellProperties.set(field.getKey(), marker());
+                properties.put(field.getKey(), registry.compile(field.getValue(),
+                        schemaPath + "/" + PROPERTIES + "/" + field.getKey()));
+            }
+            return Optional.of(new ParallelSchema(registry.compile(shell, schemaPath), null, properties));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Validate the given document, validating its elements or properties in parallel.
+     *
+     * @param value the document to validate
+     * @param pool  the pool to validate the elements or properties on
+     * @return the failures, in the order the whole schema reports them
+     */
+    public Set<ValidationMessage> validate(final JsonNode value, final ForkJoinPool pool) {
+        final Set<ValidationMessage> shellMessages = shell.validate(value, value, ROOT);
+        final List<Part> parts = new ArrayList<>();
+        for (ValidationMessage message : shellMessages) {
+            final Part part = part(value, message);
+            if (part != null) {
+                parts.add(part);
+            }
+        }
+        if (parts.isEmpty()) {
+            return shellMessages;
+        }
+
+        final PartsTask task = new PartsTask(value, parts, 0, parts.size(),
+                Math.max(1, parts.size() / (pool.getParallelism() * 4)));
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+
+        final Set<ValidationMessage> result = new LinkedHashSet<>();
+        final Iterator<Part> partIterator = parts.iterator();
+        Part next = partIterator.next();
+        for (ValidationMessage message : shellMessages) {
+            if (next != null && next.marker == message) {
+                result.addAll(next.messages);
+                next = partIterator.hasNext() ? partIterator.next() : null;
+            } else {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the element or property the given message of the shell marks, or {@code null} if it is a failure of
+     * the document itself
+     */
+    private Part part(final JsonNode value, final ValidationMessage message) {
+        if (!MARKER_TYPE.equals(message.getType())) {
+            return null;
+        }
+        final String path = message.getPath();
+        if (items != null) {
+            if (!path.startsWith("$[") || !path.endsWith("]")) {
+                return null;
+            }
+            final JsonNode element = value.get(Integer.parseInt(path.substring(2, path.length() - 1)));
+            return element == null ? null : new Part(message, items, element);
+        }
+        if (!path.startsWith("$.")) {
+            return null;
+        }
+        final String name = path.substring(2);
+        final JsonSchema property = properties.get(name);
+        final JsonNode propertyValue = value.get(name);
+        return property == null || propertyValue == null ? null : new Part(message, property, propertyValue);
+    }
+
+    private static boolean hasOnly(final JsonNode schema, final Set<String> keywords) {
+        final Iterator<String> names = schema.fieldNames();
+        while (names.hasNext()) {
+            final String name = names.next();
+            if (!keywords.contains(name) && !name.startsWith("x-")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a schema no value satisfies, failing with a message of its own type at the path of the value
+     */
+    private static ObjectNode marker() {
+        final ObjectNode marker = JsonNodeFactory.instance.objectNode();
+        marker.putObject(MARKER_TYPE);
+        return marker;
+    }
+
+    private static Set<String> union(final Set<String> set, final String... values) {
+        final Set<String> result = new HashSet<>(set);
+        result.addAll(Arrays.asList(values));
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * An element or property to validate on its own, and the marker its failures replace.
+     */
+    private static final class Part {
+        private final ValidationMessage marker;
+        private final JsonSchema schema;
+        private final JsonNode value;
+        private Set<ValidationMessage> messages;
+
+        private Part(final ValidationMessage marker, final JsonSchema schema, final JsonNode value) {
+            this.marker = marker;
+            this.schema = schema;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Validates a range of parts, splitting it in two until it is small enough to validate directly.
+     */
+    private static final class PartsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient JsonNode root;
+        private final transient List<Part> parts;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        private PartsTask(final JsonNode root, final List<Part> parts, final int from, final int to,
+                          final int grain) {
+            this.root = root;
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    final Part part = parts.get(i);
+                    part.messages = part.schema.validate(part.value, root, part.marker.getPath());
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new PartsTask(root, parts, from, middle, grain), new PartsTask(root, parts, middle, to, grain));
+        }
+    }
+}
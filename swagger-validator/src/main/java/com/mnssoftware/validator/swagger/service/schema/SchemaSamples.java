@@ -0,0 +1,197 @@
+package com.mnssoftware.validator.swagger.service.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Builds sample values for a schema, such as to drive synthetic requests through a validator.
+ * <p>
+ * Valid samples are a best effort: they take the first <code>enum</code> value, the <code>default</code> or the
+ * <code>example</code> of a schema if it has one, and otherwise the simplest value of its type within its bounds.
+ * Patterns and formats other than dates are not followed. Invalid samples replace every scalar with a value of
+ * another type, so they fail validation wherever the type is checked.
+ *
+ * @author msilcox
+ */
+public final class SchemaSamples {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final String DEFINITIONS_PREFIX = "#/definitions/";
+    private static final int MAX_DEPTH = 8;
+    private static final int MAX_STRING_LENGTH = 64;
+
+    private SchemaSamples() {
+        // private constructor to hide implicit public one
+    }
+
+    /**
+     * @param schema      the schema to sample, in JSON schema form
+     * @param definitions the definitions the schema may refer to, or {@code null}
+     * @return a value of the schema, as far as it can be worked out
+     */
+    public static JsonNode valid(final JsonNode schema, final JsonNode definitions) {
+        return valid(schema, definitions, 0);
+    }
+
+    /**
+     * @param schema      the schema to sample, in JSON schema form
+     * @param definitions the definitions the schema may refer to, or {@code null}
+     * @return a value with the structure of the schema whose every scalar has the wrong type
+     */
+    public static JsonNode invalid(final JsonNode schema, final JsonNode definitions) {
+        return invalid(schema, definitions, 0);
+    }
+
+    /**
+     * @param schema the schema of a parameter, in JSON schema form
+     * @return a parameter value failing the schema, or a valid value if the schema accepts any text
+     */
+    public static String invalidText(final JsonNode schema) {
+        final String type = schema.path("type").asText();
+        if ("integer".equals(type) || "number".equals(type) || "boolean".equals(type)) {
+            return "x";
+        }
+        if (schema.path("enum").size() > 0) {
+            return "not-" + schema.get("enum").get(0).asText();
+        }
+        if (schema.path("minLength").asInt() > 0) {
+            return "";
+        }
+        return text(valid(schema, null));
+    }
+
+    /**
+     * @param value a sample value
+     * @return the value as a parameter would hold it, with the elements of an array separated by commas
+     */
+    public static String text(final JsonNode value) {
+        if (!value.isArray()) {
+            return value.asText();
+        }
+        final StringBuilder text = new StringBuilder();
+        for (JsonNode element : value) {
+            if (text.length() > 0) {
+                text.append(',');
+            }
+            text.append(element.asText());
+        }
+        return text.toString();
+    }
+
+    private static JsonNode valid(final JsonNode schemaNode, final JsonNode definitions, final int depth) {
+        final JsonNode schema = resolve(schemaNode, definitions);
+        if (schema == null || depth > MAX_DEPTH) {
+            return NODES.objectNode();
+        }
+        if (schema.path("enum").size() > 0) {
+            return schema.get("enum").get(0);
+        }
+        if (schema.has("default")) {
+            return schema.get("default");
+        }
+        if (schema.has("example")) {
+            return schema.get("example");
+        }
+        if (schema.path("allOf").isArray()) {
+            final ObjectNode merged = NODES.objectNode();
+            for (JsonNode part : schema.get("allOf")) {
+                final JsonNode sample = valid(part, definitions, depth + 1);
+                if (sample.isObject()) {
+                    merged.setAll((ObjectNode) sample);
+                }
+            }
+            return merged;
+        }
+
+        switch (schema.path("type").asText(schema.has("properties") ? "object" : "")) {
+            case "object":
+                final ObjectNode object = NODES.objectNode();
+                final Iterator<Map.Entry<String, JsonNode>> properties = schema.path("properties").fields();
+                while (properties.hasNext()) {
+                    final Map.Entry<String, JsonNode> property = properties.next();
+                    object.set(property.getKey(), valid(property.getValue(), definitions, depth + 1));
+                }
+                return object;
+            case "array":
+                final ArrayNode array = NODES.arrayNode();
+                for (int i = Math.max(1, schema.path("minItems").asInt()); i > 0; i--) {
+                    array.add(valid(schema.path("items"), definitions, depth + 1));
+                }
+                return array;
+            case "integer":
+                return NODES.numberNode(bound(schema).longValue());
+            case "number":
+                return NODES.numberNode(bound(schema).doubleValue());
+            case "boolean":
+                return NODES.booleanNode(true);
+            case "string":
+                return NODES.textNode(string(schema));
+            default:
+                return NODES.objectNode();
+        }
+    }
+
+    private static JsonNode invalid(final JsonNode schemaNode, final JsonNode definitions, final int depth) {
+        final JsonNode schema = resolve(schemaNode, definitions);
+        if (schema == null || depth > MAX_DEPTH) {
+            return NODES.arrayNode();
+        }
+        switch (schema.path("type").asText(schema.has("properties") ? "object" : "")) {
+            case "object":
+                final ObjectNode object = NODES.objectNode();
+                final Iterator<Map.Entry<String, JsonNode>> properties = schema.path("properties").fields();
+                while (properties.hasNext()) {
+                    final Map.Entry<String, JsonNode> property = properties.next();
+                    object.set(property.getKey(), invalid(property.getValue(), definitions, depth + 1));
+                }
+                return object;
+            case "array":
+                return NODES.arrayNode().add(invalid(schema.path("items"), definitions, depth + 1));
+            default:
+                // no scalar type accepts an object, even when types are loosely checked
+                return NODES.objectNode();
+        }
+    }
+
+    private static JsonNode resolve(final JsonNode schemaNode, final JsonNode definitions) {
+        JsonNode schema = schemaNode;
+        for (int depth = 0; schema != null && schema.has("$ref"); depth++) {
+            final String ref = schema.get("$ref").asText();
+            if (depth == MAX_DEPTH || definitions == null || !ref.startsWith(DEFINITIONS_PREFIX)) {
+                return null;
+            }
+            schema = definitions.get(ref.substring(DEFINITIONS_PREFIX.length()));
+        }
+        return schema;
+    }
+
+    private static Number bound(final JsonNode schema) {
+        if (schema.has("minimum")) {
+            final double minimum = schema.get("minimum").asDouble();
+            return schema.path("exclusiveMinimum").asBoolean() ? minimum + 1 : minimum;
+        }
+        if (schema.has("maximum")) {
+            final double maximum = schema.get("maximum").asDouble();
+            return schema.path("exclusiveMaximum").asBoolean() ? maximum - 1 : maximum;
+        }
+        return 1;
+    }
+
+    private static String string(final JsonNode schema) {
+        final String format = schema.path("format").asText();
+        if ("date".equals(format)) {
+            return "2020-01-01";
+        }
+        if ("date-time".equals(format)) {
+            return "2020-01-01T00:00:00Z";
+        }
+        final int length = Math.max(1, Math.min(schema.path("minLength").asInt(), MAX_STRING_LENGTH));
+        return StringUtils.repeat('a', Math.min(length, schema.path("maxLength").asInt(length)));
+    }
+}
@@ -0,0 +1,244 @@
+package com.mnssoftware.validator.swagger.service.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.mnssoftware.validator.core.utils.JsonUtils;
+import com.networknt.schema.ValidationMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validates a JSON document fed in chunks as they arrive, never waiting for more input and never joining the chunks.
+ * <p>
+ * Against a {@link StreamingSchema} each token is validated as soon as it is parsed, so validation can end before
+ * the rest of the document has arrived. Schemas that cannot be validated while streaming are validated as a tree
+ * once the document is complete, the tree being built from the tokens buffered as they were parsed.
+ * <p>
+ * Not thread-safe: chunks must be fed one at a time, as a reactive stream delivers them.
+ *
+ * @author msilcox
+ */
+public abstract class NonBlockingBodyValidator {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private byte[] chunk = new byte[0];
+    private Set<ValidationMessage> messages;
+
+    private NonBlockingBodyValidator() throws IOException {
+        this.parser = JsonUtils.createNonBlockingParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * @param validator the validator to validate the tokens with
+     * @param schema    the schema to validate the document against
+     * @return a validator checking each token of the document as it is parsed
+     * @throws IOException if the parser cannot be created
+     */
+    public static NonBlockingBodyValidator streaming(final StreamingBodyValidator validator,
+                                                     final StreamingSchema schema) throws IOException {
+        return new Streaming(validator.start(schema));
+    }
+
+    /**
+     * @param validator validates the whole document
+     * @return a validator buffering the tokens of the document to validate them as a tree once it is complete
+     * @throws IOException if the parser cannot be created
+     */
+    public static NonBlockingBodyValidator tree(final Function<JsonNode, Set<ValidationMessage>> validator)
+            throws IOException {
+        return new Tree(requireNonNull(validator, "A validator is required"));
+    }
+
+    /**
+     * @param messages the messages reporting a document where none is expected
+     * @return a validator rejecting any document that is not empty
+     * @throws IOException if the parser cannot be created
+     */
+    public static NonBlockingBodyValidator rejecting(final Set<ValidationMessage> messages) throws IOException {
+        return new Rejecting(requireNonNull(messages, "Messages are required"));
+    }
+
+    /**
+     * Feed the next chunk of the document, validating every token it completes. The position of the chunk is left
+     * unchanged.
+     *
+     * @param data the chunk
+     * @return whether validation is complete, in which case later chunks need not be fed
+     * @throws IOException if the document is not well-formed JSON
+     */
+    public boolean feed(final ByteBuffer data) throws IOException {
+        if (isComplete()) {
+            return true;
+        }
+        final int length = data.remaining();
+        if (length == 0) {
+            return false;
+        }
+        // every byte fed is parsed before the next chunk is fed, so the array can be reused
+        if (chunk.length < length) {
+            chunk = new byte[length];
+        }
+        data.duplicate().get(chunk, 0, length);
+        feeder.feedInput(chunk, 0, length);
+        return parseAvailable();
+    }
+
+    /**
+     * Signal the end of the document and complete its validation.
+     *
+     * @return the violations found, empty if the document is valid or empty
+     * @throws IOException if the document is truncated or not well-formed JSON
+     */
+    public Set<ValidationMessage> finish() throws IOException {
+        if (messages == null) {
+            if (!isComplete()) {
+                feeder.endOfInput();
+                parseAvailable();
+                if (isStarted() && !isComplete()) {
+                    throw new IOException("Unexpected end of JSON content");
+                }
+            }
+            messages = isStarted() ? messages() : Collections.emptySet();
+        }
+        return messages;
+    }
+
+    /**
+     * @return whether the document has no content, only meaningful once it has been finished
+     */
+    public boolean isEmpty() {
+        return !isStarted();
+    }
+
+    /**
+     * @return whether validation is complete, either because the whole document has been read or because the
+     * maximum number of violations has been found
+     */
+    public abstract boolean isComplete();
+
+    abstract boolean accept(JsonParser parser, JsonToken token) throws IOException;
+
+    abstract boolean isStarted();
+
+    abstract Set<ValidationMessage> messages() throws IOException;
+
+    private boolean parseAvailable() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (accept(parser, token)) {
+                return true;
+            }
+        }
+        return isComplete();
+    }
+
+    private static final class Streaming extends NonBlockingBodyValidator {
+        private final StreamingBodyValidator.Session session;
+
+        private Streaming(final StreamingBodyValidator.Session session) throws IOException {
+            this.session = session;
+        }
+
+        @Override
+        public boolean isComplete() {
+            return session.isComplete();
+        }
+
+        @Override
+        boolean accept(final JsonParser parser, final JsonToken token) throws IOException {
+            return session.accept(parser, token);
+        }
+
+        @Override
+        boolean isStarted() {
+            return session.isStarted();
+        }
+
+        @Override
+        Set<ValidationMessage> messages() {
+            return session.getMessages();
+        }
+    }
+
+    private static final class Tree extends NonBlockingBodyValidator {
+        private final Function<JsonNode, Set<ValidationMessage>> validator;
+        private TokenBuffer tokens;
+        private int depth;
+
+        private Tree(final Function<JsonNode, Set<ValidationMessage>> validator) throws IOException {
+            this.validator = validator;
+        }
+
+        @Override
+        public boolean isComplete() {
+            return tokens != null && depth == 0;
+        }
+
+        @Override
+        boolean accept(final JsonParser parser, final JsonToken token) throws IOException {
+            if (tokens == null) {
+                tokens = new TokenBuffer(parser);
+            }
+            tokens.copyCurrentEvent(parser);
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                depth++;
+            } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                depth--;
+            }
+            return isComplete();
+        }
+
+        @Override
+        boolean isStarted() {
+            return tokens != null;
+        }
+
+        @Override
+        Set<ValidationMessage> messages() throws IOException {
+            try (JsonParser parser = tokens.asParser()) {
+                return validator.apply(JsonUtils.readTree(parser));
+            }
+        }
+    }
+
+    private static final class Rejecting extends NonBlockingBodyValidator {
+        private final Set<ValidationMessage> messages;
+        private boolean started;
+
+        private Rejecting(final Set<ValidationMessage> messages) throws IOException {
+            this.messages = messages;
+        }
+
+        @Override
+        public boolean isComplete() {
+            return started;
+        }
+
+        @Override
+        boolean accept(final JsonParser parser, final JsonToken token) {
+            started = true;
+            return true;
+        }
+
+        @Override
+        boolean isStarted() {
+            return started;
+        }
+
+        @Override
+        Set<ValidationMessage> messages() {
+            return messages;
+        }
+    }
+}
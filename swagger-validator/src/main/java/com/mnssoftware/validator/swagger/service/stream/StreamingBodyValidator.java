@@ -0,0 +1,395 @@
+package com.mnssoftware.validator.swagger.service.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
+import com.networknt.schema.TypeValidator;
+import com.networknt.schema.ValidationMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static com.mnssoftware.validator.core.service.ValidationKeyMessage.*;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validates a JSON document against a {@link StreamingSchema} while reading its tokens, without building a tree.
+ * <p>
+ * Only one frame per open object or array is kept, so memory is bounded by the nesting depth of the document rather
+ * than its size. Subtrees the schema does not constrain are skipped. Types are checked loosely, the same way request
+ * bodies are checked in tree mode: strings holding integers, numbers or booleans are accepted for those types and a
+ * single value is accepted where an array is expected.
+ *
+ * @author msilcox
+ */
+public class StreamingBodyValidator {
+    private static final String ROOT_PATH = "$";
+
+    private final int maxErrors;
+
+    /**
+     * Create a new validator.
+     *
+     * @param maxErrors the number of violations after which reading the document stops
+     */
+    public StreamingBodyValidator(final int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be greater than zero");
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Validate the JSON value the parser is positioned at, or the next value if the parser has no current token.
+     *
+     * @param parser the parser to read the value from
+     * @param schema the schema to validate the value against
+     * @return A set of validation messages, empty if the value is valid
+     * @throws IOException if the value cannot be read or is not well-formed JSON
+     */
+    public Set<ValidationMessage> validate(final JsonParser parser, final StreamingSchema schema) throws IOException {
+        requireNonNull(parser, "A parser is required");
+        requireNonNull(schema, "A schema is required");
+
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token == null) {
+            return Collections.emptySet();
+        }
+
+        final Session session = start(schema);
+        while (!session.accept(parser, token)) {
+            token = nextToken(parser);
+        }
+        return session.getMessages();
+    }
+
+    /**
+     * Start validating a JSON value whose tokens are pushed to the returned session as they are read, for parsers
+     * that cannot be pulled from without blocking.
+     *
+     * @param schema the schema to validate the value against
+     * @return the session to push the tokens of the value to
+     */
+    public Session start(final StreamingSchema schema) {
+        return new Session(requireNonNull(schema, "A schema is required"));
+    }
+
+    /**
+     * The validation of a single JSON value, fed one token at a time.
+     * <p>
+     * Subtrees the schema does not constrain are skipped by counting their tokens rather than with
+     * {@link JsonParser#skipChildren()}, so a subtree may span several chunks of input.
+     */
+    public final class Session {
+        private final StreamingSchema schema;
+        private final Set<ValidationMessage> messages = new LinkedHashSet<>();
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private StreamingSchema fieldSchema;
+        private boolean fieldPending;
+        private int skipDepth;
+        private boolean started;
+
+        private Session(final StreamingSchema schema) {
+            this.schema = schema;
+        }
+
+        /**
+         * Validate the token the parser is positioned at.
+         *
+         * @param parser the parser, positioned at the token
+         * @param token  the current token of the parser
+         * @return whether validation is complete, either because the whole value has been read or because the
+         * maximum number of violations has been found
+         * @throws IOException if the token cannot be read
+         */
+        public boolean accept(final JsonParser parser, final JsonToken token) throws IOException {
+            if (isComplete()) {
+                return true;
+            }
+            if (skipDepth > 0) {
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    skipDepth++;
+                } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    skipDepth--;
+                }
+                return isComplete();
+            }
+
+            final Frame parent = frames.peek();
+            final StreamingSchema valueSchema;
+            if (parent == null) {
+                started = true;
+                valueSchema = schema;
+            } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                frames.pop();
+                parent.end(path(frames), messages);
+                return isComplete();
+            } else if (token == JsonToken.FIELD_NAME) {
+                fieldSchema = parent.field(parser.getCurrentName());
+                fieldPending = true;
+                return false;
+            } else if (fieldPending) {
+                fieldPending = false;
+                valueSchema = fieldSchema;
+            } else {
+                valueSchema = parent.item();
+            }
+            validateValue(parser, token, valueSchema);
+            return isComplete();
+        }
+
+        /**
+         * @return whether any token has been accepted
+         */
+        public boolean isStarted() {
+            return started;
+        }
+
+        /**
+         * @return whether the whole value has been read or the maximum number of violations has been found
+         */
+        public boolean isComplete() {
+            return messages.size() >= maxErrors || (started && frames.isEmpty() && skipDepth == 0);
+        }
+
+        /**
+         * @return the violations found so far, at most the maximum number of them
+         */
+        public Set<ValidationMessage> getMessages() {
+            if (messages.size() > maxErrors) {
+                // the end of an object can report several missing properties at once
+                final Iterator<ValidationMessage> excess = messages.iterator();
+                for (int i = 0; excess.hasNext(); i++) {
+                    excess.next();
+                    if (i >= maxErrors) {
+                        excess.remove();
+                    }
+                }
+            }
+            return messages;
+        }
+
+        private void validateValue(final JsonParser parser, final JsonToken token, final StreamingSchema schema)
+                throws IOException {
+            if (schema == null) {
+                skip(token);
+                return;
+            }
+
+            final StreamingSchema.Type type = schema.getType();
+            if (type == StreamingSchema.Type.ARRAY && token != JsonToken.START_ARRAY) {
+                // a single value is accepted as an array of one item
+                validateValue(parser, token, schema.getItems());
+                return;
+            }
+
+            if (token == JsonToken.START_OBJECT) {
+                if (type == StreamingSchema.Type.ANY || type == StreamingSchema.Type.OBJECT) {
+                    frames.push(new Frame(schema, true));
+                } else {
+                    messages.add(message(TYPE, path(frames)));
+                    skip(token);
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                if (type == StreamingSchema.Type.ANY || type == StreamingSchema.Type.ARRAY) {
+                    frames.push(new Frame(schema, false));
+                } else {
+                    messages.add(message(TYPE, path(frames)));
+                    skip(token);
+                }
+            } else {
+                validateScalar(parser, token, schema, frames, messages);
+            }
+        }
+
+        private void skip(final JsonToken token) {
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                skipDepth = 1;
+            }
+        }
+    }
+
+    private void validateScalar(final JsonParser parser, final JsonToken token, final StreamingSchema schema,
+                                final Deque<Frame> frames, final Set<ValidationMessage> messages) throws IOException {
+        final String text = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+
+        if (!matchesType(token, text, schema.getType())) {
+            messages.add(message(TYPE, path(frames)));
+        }
+
+        if (schema.getEnumValues() != null && (text == null || !schema.getEnumValues().contains(text))) {
+            messages.add(message(ENUM, path(frames)));
+        }
+
+        if (text != null) {
+            validateString(text, schema, frames, messages);
+        }
+
+        if (schema.getMinimum() != null || schema.getMaximum() != null) {
+            final BigDecimal number = numberOf(parser, token, text);
+            if (number != null) {
+                validateRange(number, schema, frames, messages);
+            }
+        }
+    }
+
+    private void validateString(final String text, final StreamingSchema schema, final Deque<Frame> frames,
+                                final Set<ValidationMessage> messages) {
+        if (schema.getMinLength() != null || schema.getMaxLength() != null) {
+            final int length = text.codePointCount(0, text.length());
+            if (schema.getMaxLength() != null && length > schema.getMaxLength()) {
+                messages.add(message(MAX_LENGTH, path(frames)));
+            }
+            if (schema.getMinLength() != null && length < schema.getMinLength()) {
+                messages.add(message(MIN_LENGTH, path(frames)));
+            }
+        }
+        if (schema.getPattern() != null && !schema.getPattern().matcher(text).find()) {
+            messages.add(message(PATTERN, path(frames)));
+        }
+    }
+
+    private void validateRange(final BigDecimal number, final StreamingSchema schema, final Deque<Frame> frames,
+                               final Set<ValidationMessage> messages) {
+        if (schema.getMinimum() != null) {
+            final int comparison = number.compareTo(schema.getMinimum());
+            if (comparison < 0 || (comparison == 0 && schema.isExclusiveMinimum())) {
+                messages.add(message(MIN_VALUE, path(frames)));
+            }
+        }
+        if (schema.getMaximum() != null) {
+            final int comparison = number.compareTo(schema.getMaximum());
+            if (comparison > 0 || (comparison == 0 && schema.isExclusiveMaximum())) {
+                messages.add(message(MAX_VALUE, path(frames)));
+            }
+        }
+    }
+
+    private static boolean matchesType(final JsonToken token, final String text, final StreamingSchema.Type type) {
+        switch (type) {
+            case ANY:
+                return true;
+            case STRING:
+                return token == JsonToken.VALUE_STRING;
+            case INTEGER:
+                return token == JsonToken.VALUE_NUMBER_INT || (text != null && TypeValidator.isInteger(text));
+            case NUMBER:
+                return token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+                        || (text != null && TypeValidator.isNumeric(text));
+            case BOOLEAN:
+                return token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE
+                        || (text != null && TypeValidator.isBoolean(text));
+            default:
+                return false;
+        }
+    }
+
+    private static BigDecimal numberOf(final JsonParser parser, final JsonToken token, final String text)
+            throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDecimalValue();
+        }
+        if (text != null && TypeValidator.isNumeric(text)) {
+            try {
+                return new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static JsonToken nextToken(final JsonParser parser) throws IOException {
+        final JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new IOException("Unexpected end of JSON content");
+        }
+        return token;
+    }
+
+    private static ValidationMessage message(final ValidationKeyMessage key, final String path) {
+        return SwaggerHelper.buildValidationMessage(key.getCode(), path);
+    }
+
+    /**
+     * Build the path of the value currently being read, only called when a violation is reported.
+     */
+    private static String path(final Deque<Frame> frames) {
+        final StringBuilder path = new StringBuilder(ROOT_PATH);
+        final Iterator<Frame> outermostFirst = frames.descendingIterator();
+        while (outermostFirst.hasNext()) {
+            outermostFirst.next().appendChild(path);
+        }
+        return path.toString();
+    }
+
+    /**
+     * An object or array being read.
+     */
+    private static final class Frame {
+        private final StreamingSchema schema;
+        private final boolean object;
+        private final BitSet presentRequired;
+        private String fieldName;
+        private int index = -1;
+
+        private Frame(final StreamingSchema schema, final boolean object) {
+            this.schema = schema;
+            this.object = object;
+            this.presentRequired = object && !schema.getRequired().isEmpty()
+                    ? new BitSet(schema.getRequired().size()) : null;
+        }
+
+        private StreamingSchema field(final String name) {
+            fieldName = name;
+            if (presentRequired != null) {
+                final int requiredIndex = schema.requiredIndex(name);
+                if (requiredIndex >= 0) {
+                    presentRequired.set(requiredIndex);
+                }
+            }
+            return schema.property(name);
+        }
+
+        private StreamingSchema item() {
+            index++;
+            return schema.getItems();
+        }
+
+        private void appendChild(final StringBuilder path) {
+            if (object) {
+                path.append('.').append(fieldName);
+            } else {
+                path.append('[').append(index).append(']');
+            }
+        }
+
+        private void end(final String path, final Set<ValidationMessage> messages) {
+            if (object) {
+                if (presentRequired != null) {
+                    for (int i = 0; i < schema.getRequired().size(); i++) {
+                        if (!presentRequired.get(i)) {
+                            messages.add(message(NOT_NULL, path + "." + schema.getRequired().get(i)));
+                        }
+                    }
+                }
+                return;
+            }
+            final int size = index + 1;
+            if (schema.getMaxItems() != null && size > schema.getMaxItems()) {
+                messages.add(message(MAX_ITEMS, path));
+            }
+            if (schema.getMinItems() != null && size < schema.getMinItems()) {
+                messages.add(message(MIN_ITEMS, path));
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.mnssoftware.validator.swagger.service.stream;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A schema compiled for validating a JSON document token by token.
+ * <p>
+ * Only the subset of Swagger schemas the {@link StreamingSchemaCompiler} understands can be represented. Everything
+ * needed while walking the tokens (property lookups, required property positions, compiled patterns) is prepared up
+ * front so validating a value does not allocate beyond the current nesting depth.
+ * <p>
+ * Instances are populated once by the compiler and are immutable afterwards.
+ *
+ * @author msilcox
+ */
+public final class StreamingSchema {
+
+    /**
+     * The JSON type a schema expects, {@link #ANY} when the schema does not constrain the type.
+     */
+    public enum Type {
+        ANY, OBJECT, ARRAY, STRING, INTEGER, NUMBER, BOOLEAN
+    }
+
+    private Type type = Type.ANY;
+    private Map<String, StreamingSchema> properties = Collections.emptyMap();
+    private Map<String, Integer> requiredIndexes = Collections.emptyMap();
+    private List<String> required = Collections.emptyList();
+    private StreamingSchema additionalProperties;
+    private StreamingSchema items;
+    private Set<String> enumValues;
+    private Integer minLength;
+    private Integer maxLength;
+    private Pattern pattern;
+    private BigDecimal minimum;
+    private BigDecimal maximum;
+    private boolean exclusiveMinimum;
+    private boolean exclusiveMaximum;
+    private Integer minItems;
+    private Integer maxItems;
+
+    StreamingSchema() {
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @param name the property name
+     * @return the schema of the named property, falling back to the additional properties schema, or {@code null}
+     * if the property is not constrained
+     */
+    public StreamingSchema property(final String name) {
+        final StreamingSchema property = properties.get(name);
+        return property != null ? property : additionalProperties;
+    }
+
+    /**
+     * @param name the property name
+     * @return the position of the named property in {@link #getRequired()}, or -1 if it is not required
+     */
+    public int requiredIndex(final String name) {
+        final Integer index = requiredIndexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    public List<String> getRequired() {
+        return required;
+    }
+
+    public StreamingSchema getItems() {
+        return items;
+    }
+
+    public Set<String> getEnumValues() {
+        return enumValues;
+    }
+
+    public Integer getMinLength() {
+        return minLength;
+    }
+
+    public Integer getMaxLength() {
+        return maxLength;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public BigDecimal getMinimum() {
+        return minimum;
+    }
+
+    public BigDecimal getMaximum() {
+        return maximum;
+    }
+
+    public boolean isExclusiveMinimum() {
+        return exclusiveMinimum;
+    }
+
+    public boolean isExclusiveMaximum() {
+        return exclusiveMaximum;
+    }
+
+    public Integer getMinItems() {
+        return minItems;
+    }
+
+    public Integer getMaxItems() {
+        return maxItems;
+    }
+
+    void setType(final Type type) {
+        this.type = type;
+    }
+
+    void setProperties(final Map<String, StreamingSchema> properties) {
+        this.properties = properties;
+    }
+
+    void setRequired(final List<String> required) {
+        final Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < required.size(); i++) {
+            indexes.putIfAbsent(required.get(i), i);
+        }
+        this.required = required;
+        this.requiredIndexes = indexes;
+    }
+
+    void setAdditionalProperties(final StreamingSchema additionalProperties) {
+        this.additionalProperties = additionalProperties;
+    }
+
+    void setItems(final StreamingSchema items) {
+        this.items = items;
+    }
+
+    void setEnumValues(final Set<String> enumValues) {
+        this.enumValues = enumValues;
+    }
+
+    void setMinLength(final Integer minLength) {
+        this.minLength = minLength;
+    }
+
+    void setMaxLength(final Integer maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    void setPattern(final Pattern pattern) {
+        this.pattern = pattern;
+    }
+
+    void setMinimum(final BigDecimal minimum, final boolean exclusive) {
+        this.minimum = minimum;
+        this.exclusiveMinimum = exclusive;
+    }
+
+    void setMaximum(final BigDecimal maximum, final boolean exclusive) {
+        this.maximum = maximum;
+        this.exclusiveMaximum = exclusive;
+    }
+
+    void setMinItems(final Integer minItems) {
+        this.minItems = minItems;
+    }
+
+    void setMaxItems(final Integer maxItems) {
+        this.maxItems = maxItems;
+    }
+}
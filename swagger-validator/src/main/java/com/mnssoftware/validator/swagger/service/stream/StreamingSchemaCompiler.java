@@ -0,0 +1,294 @@
+package com.mnssoftware.validator.swagger.service.stream;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.properties.AbstractNumericProperty;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.BaseIntegerProperty;
+import io.swagger.models.properties.BooleanProperty;
+import io.swagger.models.properties.DecimalProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.FloatProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.LongProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.models.refs.RefFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles Swagger models into {@link StreamingSchema}s.
+ * <p>
+ * Only schemas whose every constraint can be checked while walking the tokens of a document once are compiled:
+ * objects, maps, arrays and string, integer, number and boolean values with their length, pattern, range, item count
+ * and string enum constraints, plus references to local definitions. Anything else, such as composed models,
+ * formats, unique items or numeric enums, makes the whole schema unsupported so the caller can fall back to
+ * validating a parsed tree.
+ *
+ * @author msilcox
+ */
+@Slf4j
+public class StreamingSchemaCompiler {
+
+    private final Map<String, Model> definitions;
+    private final Map<String, StreamingSchema> compiledDefinitions = new HashMap<>();
+
+    /**
+     * Create a compiler resolving references against the given definitions.
+     *
+     * @param definitions the definitions of the Swagger specification, may be {@code null}
+     */
+    public StreamingSchemaCompiler(final Map<String, Model> definitions) {
+        this.definitions = definitions == null ? Collections.emptyMap() : definitions;
+    }
+
+    /**
+     * Compile the given model.
+     *
+     * @param model the model to compile
+     * @return the compiled schema, or empty if the model uses constructs that cannot be validated by streaming
+     */
+    public synchronized Optional<StreamingSchema> compile(final Model model) {
+        if (model == null) {
+            return Optional.empty();
+        }
+        // definitions are only shared once everything reachable from them compiled successfully
+        final Map<String, StreamingSchema> resolved = new HashMap<>(compiledDefinitions);
+        try {
+            final StreamingSchema schema = compileModel(model, resolved);
+            compiledDefinitions.putAll(resolved);
+            return Optional.of(schema);
+        } catch (UnsupportedSchemaException e) {
+            log.debug("Schema cannot be validated by streaming: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private StreamingSchema compileModel(final Model model, final Map<String, StreamingSchema> resolved) {
+        if (model instanceof RefModel) {
+            final RefModel refModel = (RefModel) model;
+            return compileReference(refModel.getRefFormat(), refModel.getSimpleRef(), resolved);
+        }
+        final StreamingSchema schema = new StreamingSchema();
+        compileModel(model, schema, resolved);
+        return schema;
+    }
+
+    private void compileModel(final Model model, final StreamingSchema schema,
+                              final Map<String, StreamingSchema> resolved) {
+        if (model instanceof ArrayModel) {
+            final ArrayModel arrayModel = (ArrayModel) model;
+            compileArray(schema, arrayModel.getItems(), arrayModel.getMinItems(), arrayModel.getMaxItems(),
+                    arrayModel.getUniqueItems(), resolved);
+        } else if (model instanceof ModelImpl) {
+            compileModelImpl((ModelImpl) model, schema, resolved);
+        } else {
+            throw new UnsupportedSchemaException(model.getClass().getSimpleName());
+        }
+    }
+
+    private void compileModelImpl(final ModelImpl model, final StreamingSchema schema,
+                                  final Map<String, StreamingSchema> resolved) {
+        if (model.getFormat() != null || Boolean.TRUE.equals(model.getUniqueItems())) {
+            throw new UnsupportedSchemaException("format or uniqueItems on model");
+        }
+        schema.setType(typeOf(model.getType()));
+        schema.setProperties(compileProperties(model.getProperties(), resolved));
+        schema.setRequired(model.getRequired() == null ? Collections.emptyList() : new ArrayList<>(model.getRequired()));
+        if (model.getAdditionalProperties() != null) {
+            schema.setAdditionalProperties(compileProperty(model.getAdditionalProperties(), resolved));
+        }
+        if (!CollectionUtils.isEmpty(model.getEnum())) {
+            schema.setEnumValues(Collections.unmodifiableSet(new LinkedHashSet<>(model.getEnum())));
+        }
+        schema.setMinimum(model.getMinimum(), false);
+        schema.setMaximum(model.getMaximum(), false);
+    }
+
+    private StreamingSchema compileReference(final RefFormat refFormat, final String name,
+                                             final Map<String, StreamingSchema> resolved) {
+        if (refFormat != RefFormat.INTERNAL) {
+            throw new UnsupportedSchemaException("non-local reference " + name);
+        }
+        final StreamingSchema existing = resolved.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        final Model definition = definitions.get(name);
+        if (definition == null) {
+            throw new UnsupportedSchemaException("unknown definition " + name);
+        }
+        if (definition instanceof RefModel) {
+            final RefModel refModel = (RefModel) definition;
+            return compileReference(refModel.getRefFormat(), refModel.getSimpleRef(), resolved);
+        }
+
+        // register the definition before compiling it so recursive references resolve to the same instance
+        final StreamingSchema schema = new StreamingSchema();
+        resolved.put(name, schema);
+        compileModel(definition, schema, resolved);
+        return schema;
+    }
+
+    private Map<String, StreamingSchema> compileProperties(final Map<String, Property> properties,
+                                                           final Map<String, StreamingSchema> resolved) {
+        if (properties == null || properties.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, StreamingSchema> compiled = new LinkedHashMap<>();
+        properties.forEach((name, property) -> compiled.put(name, compileProperty(property, resolved)));
+        return Collections.unmodifiableMap(compiled);
+    }
+
+    private StreamingSchema compileProperty(final Property property, final Map<String, StreamingSchema> resolved) {
+        if (property instanceof RefProperty) {
+            final RefProperty refProperty = (RefProperty) property;
+            return compileReference(refProperty.getRefFormat(), refProperty.getSimpleRef(), resolved);
+        }
+
+        final StreamingSchema schema = new StreamingSchema();
+        if (property instanceof ObjectProperty) {
+            final ObjectProperty objectProperty = (ObjectProperty) property;
+            schema.setType(StreamingSchema.Type.OBJECT);
+            schema.setProperties(compileProperties(objectProperty.getProperties(), resolved));
+            final List<String> required = objectProperty.getRequiredProperties();
+            schema.setRequired(required == null ? Collections.emptyList() : new ArrayList<>(required));
+        } else if (property instanceof MapProperty) {
+            final MapProperty mapProperty = (MapProperty) property;
+            if (mapProperty.getMinProperties() != null || mapProperty.getMaxProperties() != null) {
+                throw new UnsupportedSchemaException("minProperties or maxProperties");
+            }
+            schema.setType(StreamingSchema.Type.OBJECT);
+            if (mapProperty.getAdditionalProperties() != null) {
+                schema.setAdditionalProperties(compileProperty(mapProperty.getAdditionalProperties(), resolved));
+            }
+        } else if (property instanceof ArrayProperty) {
+            final ArrayProperty arrayProperty = (ArrayProperty) property;
+            compileArray(schema, arrayProperty.getItems(), arrayProperty.getMinItems(), arrayProperty.getMaxItems(),
+                    arrayProperty.getUniqueItems(), resolved);
+        } else if (property instanceof StringProperty) {
+            compileString(schema, (StringProperty) property);
+        } else if (property instanceof BaseIntegerProperty) {
+            schema.setType(StreamingSchema.Type.INTEGER);
+            compileNumeric(schema, (AbstractNumericProperty) property);
+        } else if (property instanceof DecimalProperty) {
+            schema.setType(StreamingSchema.Type.NUMBER);
+            compileNumeric(schema, (AbstractNumericProperty) property);
+        } else if (property instanceof BooleanProperty) {
+            if (!CollectionUtils.isEmpty(((BooleanProperty) property).getEnum())) {
+                throw new UnsupportedSchemaException("boolean enum");
+            }
+            schema.setType(StreamingSchema.Type.BOOLEAN);
+        } else {
+            throw new UnsupportedSchemaException(property.getClass().getSimpleName());
+        }
+        return schema;
+    }
+
+    private void compileArray(final StreamingSchema schema, final Property items, final Integer minItems,
+                              final Integer maxItems, final Boolean uniqueItems,
+                              final Map<String, StreamingSchema> resolved) {
+        if (Boolean.TRUE.equals(uniqueItems)) {
+            throw new UnsupportedSchemaException("uniqueItems");
+        }
+        schema.setType(StreamingSchema.Type.ARRAY);
+        if (items != null) {
+            schema.setItems(compileProperty(items, resolved));
+        }
+        schema.setMinItems(minItems);
+        schema.setMaxItems(maxItems);
+    }
+
+    private static void compileString(final StreamingSchema schema, final StringProperty property) {
+        if (property.getFormat() != null) {
+            throw new UnsupportedSchemaException("string format " + property.getFormat());
+        }
+        schema.setType(StreamingSchema.Type.STRING);
+        schema.setMinLength(property.getMinLength());
+        schema.setMaxLength(property.getMaxLength());
+        if (property.getPattern() != null) {
+            try {
+                schema.setPattern(Pattern.compile(property.getPattern()));
+            } catch (PatternSyntaxException e) {
+                throw new UnsupportedSchemaException("invalid pattern " + property.getPattern());
+            }
+        }
+        if (!CollectionUtils.isEmpty(property.getEnum())) {
+            schema.setEnumValues(Collections.unmodifiableSet(new LinkedHashSet<>(property.getEnum())));
+        }
+    }
+
+    private static void compileNumeric(final StreamingSchema schema, final AbstractNumericProperty property) {
+        if (property.getMultipleOf() != null || hasNumericEnum(property)) {
+            throw new UnsupportedSchemaException("multipleOf or numeric enum");
+        }
+        schema.setMinimum(property.getMinimum(), Boolean.TRUE.equals(property.getExclusiveMinimum()));
+        schema.setMaximum(property.getMaximum(), Boolean.TRUE.equals(property.getExclusiveMaximum()));
+    }
+
+    private static boolean hasNumericEnum(final Property property) {
+        if (property instanceof IntegerProperty) {
+            return !CollectionUtils.isEmpty(((IntegerProperty) property).getEnum());
+        }
+        if (property instanceof LongProperty) {
+            return !CollectionUtils.isEmpty(((LongProperty) property).getEnum());
+        }
+        if (property instanceof DoubleProperty) {
+            return !CollectionUtils.isEmpty(((DoubleProperty) property).getEnum());
+        }
+        if (property instanceof FloatProperty) {
+            return !CollectionUtils.isEmpty(((FloatProperty) property).getEnum());
+        }
+        return false;
+    }
+
+    private static StreamingSchema.Type typeOf(final String type) {
+        if (type == null) {
+            return StreamingSchema.Type.ANY;
+        }
+        switch (type) {
+            case "object":
+                return StreamingSchema.Type.OBJECT;
+            case "array":
+                return StreamingSchema.Type.ARRAY;
+            case "string":
+                return StreamingSchema.Type.STRING;
+            case "integer":
+                return StreamingSchema.Type.INTEGER;
+            case "number":
+                return StreamingSchema.Type.NUMBER;
+            case "boolean":
+                return StreamingSchema.Type.BOOLEAN;
+            default:
+                throw new UnsupportedSchemaException("type " + type);
+        }
+    }
+
+    /**
+     * Signals a schema construct that cannot be validated by streaming.
+     */
+    private static final class UnsupportedSchemaException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedSchemaException(final String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.mnssoftware.validator.swagger.service.swagger;
+
+import com.mnssoftware.validator.core.service.NormalisedPath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Routes request paths to API path templates using a segment trie.
+ * <p>
+ * The trie is built once from the API paths, after which a lookup only descends one level per request path segment
+ * regardless of how many paths the API defines. Literal segments are matched case-insensitively and take priority over
+ * <code>{param}</code> segments; if a literal branch does not lead to a match the parameter branch is tried instead.
+ * <p>
+ * Routes must all be added before the router is shared between threads.
+ *
+ * @param <T> the type of value held against each route
+ * @author msilcox
+ */
+public class PathRouter<T> {
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * Add a route for the given API path template.
+     *
+     * @param apiPath the normalised API path template, e.g. <code>/pets/{id}</code>
+     * @param value   the value to return when the route is matched
+     * @return this router
+     */
+    public PathRouter<T> add(final NormalisedPath apiPath, final T value) {
+        requireNonNull(apiPath, "An API path is required");
+
+        final List<Integer> paramIndexes = new ArrayList<>();
+        final List<String> paramNames = new ArrayList<>();
+        Node<T> node = root;
+        for (int i = 0; i < apiPath.parts().size(); i++) {
+            if (apiPath.isParam(i)) {
+                if (node.param == null) {
+                    node.param = new Node<>();
+                }
+                node = node.param;
+                paramIndexes.add(i);
+                paramNames.add(apiPath.paramName(i));
+            } else {
+                node = node.literals.computeIfAbsent(lowerCase(apiPath.part(i)), k -> new Node<>());
+            }
+        }
+
+        if (node.route == null) {
+            size++;
+        }
+        node.route = new Route<>(apiPath, value, toArray(paramIndexes), paramNames.toArray(new String[0]));
+        return this;
+    }
+
+    /**
+     * Find the route matching the given request path.
+     *
+     * @param requestPath the normalised request path
+     * @return the matched route, or empty if no route matches
+     */
+    public Optional<RouteMatch<T>> match(final NormalisedPath requestPath) {
+        requireNonNull(requestPath, "A request path is required");
+
+        final List<String> parts = requestPath.parts();
+        final Route<T> route = find(root, parts, 0);
+        if (route == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new RouteMatch<>(route.apiPath, route.value, route.paramIndexes, route.paramNames, parts));
+    }
+
+    /**
+     * @return the number of routes held by this router
+     */
+    public int size() {
+        return size;
+    }
+
+    private Route<T> find(final Node<T> node, final List<String> parts, final int depth) {
+        if (depth == parts.size()) {
+            return node.route;
+        }
+
+        final Node<T> literal = node.literals.get(lowerCase(parts.get(depth)));
+        if (literal != null) {
+            final Route<T> route = find(literal, parts, depth + 1);
+            if (route != null) {
+                return route;
+            }
+        }
+        return node.param == null ? null : find(node.param, parts, depth + 1);
+    }
+
+    private static String lowerCase(final String part) {
+        return part.toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        final int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> literals = new HashMap<>();
+        private Node<T> param;
+        private Route<T> route;
+    }
+
+    private static final class Route<T> {
+        private final NormalisedPath apiPath;
+        private final T value;
+        private final int[] paramIndexes;
+        private final String[] paramNames;
+
+        private Route(final NormalisedPath apiPath, final T value, final int[] paramIndexes, final String[] paramNames) {
+            this.apiPath = apiPath;
+            this.value = value;
+            this.paramIndexes = paramIndexes;
+            this.paramNames = paramNames;
+        }
+    }
+}
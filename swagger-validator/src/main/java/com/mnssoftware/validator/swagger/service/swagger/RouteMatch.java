@@ -0,0 +1,59 @@
+package com.mnssoftware.validator.swagger.service.swagger;
+
+import com.mnssoftware.validator.core.service.NormalisedPath;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of routing a request path with a {@link PathRouter}.
+ *
+ * @param <T> the type of value held against the route
+ * @author msilcox
+ */
+public class RouteMatch<T> {
+    private final NormalisedPath apiPath;
+    private final T value;
+    private final int[] paramIndexes;
+    private final String[] paramNames;
+    private final List<String> parts;
+
+    RouteMatch(final NormalisedPath apiPath, final T value, final int[] paramIndexes, final String[] paramNames,
+               final List<String> parts) {
+        this.apiPath = apiPath;
+        this.value = value;
+        this.paramIndexes = paramIndexes;
+        this.paramNames = paramNames;
+        this.parts = parts;
+    }
+
+    /**
+     * @return the API path template that was matched
+     */
+    public NormalisedPath getApiPath() {
+        return apiPath;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * The path parameter values are only extracted from the request path when asked for, so routing a request does
+     * not build them.
+     *
+     * @return the path parameter values extracted from the request path, keyed by parameter name
+     */
+    public Map<String, String> getPathParameters() {
+        if (paramNames.length == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < paramNames.length; i++) {
+            values.put(paramNames[i], parts.get(paramIndexes[i]));
+        }
+        return Collections.unmodifiableMap(values);
+    }
+}
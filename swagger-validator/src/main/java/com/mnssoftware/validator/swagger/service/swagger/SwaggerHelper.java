@@ -21,6 +21,15 @@ public class SwaggerHelper {
         //private constructor to hide default public one
     }
 
+    /**
+     * Find the API path matching the given request path by scanning every path in the specification.
+     * <p>
+     * Use a {@link PathRouter} built once from the specification when paths are matched repeatedly.
+     *
+     * @param swagger     the specification to search
+     * @param requestPath the normalised request path
+     * @return the matching API path, or empty if none matches
+     */
     public static Optional<NormalisedPath> findMatchingApiPath(final Swagger swagger, final NormalisedPath requestPath) {
         if (swagger != null) {
             return swagger.getPaths().keySet()
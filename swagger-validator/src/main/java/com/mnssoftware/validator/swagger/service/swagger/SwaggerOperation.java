@@ -1,7 +1,9 @@
 package com.mnssoftware.validator.swagger.service.swagger;
 
 import com.mnssoftware.validator.core.service.NormalisedPath;
+import io.swagger.models.HttpMethod;
 import io.swagger.models.Operation;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /**
@@ -13,7 +15,16 @@ import lombok.Data;
  * @author msilcox
  */
 @Data
+@AllArgsConstructor
 public class SwaggerOperation {
     private final NormalisedPath pathString;
     private final Operation operation;
+    /**
+     * The HTTP method of the operation, or {@code null} if not known
+     */
+    private final HttpMethod method;
+
+    public SwaggerOperation(final NormalisedPath pathString, final Operation operation) {
+        this(pathString, operation, null);
+    }
 }
@@ -0,0 +1,235 @@
+package com.mnssoftware.validator.swagger.service.swagger;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.swagger.jackson.mixin.ResponseSchemaMixin;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.DeserializationModule;
+import io.swagger.util.ReferenceSerializationConfigurer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads Swagger documents through binary snapshots of their parsed model, so a document that has not changed since
+ * it was last read is not parsed again.
+ * <p>
+ * Snapshots are written in Smile, a binary encoding of JSON, to a file named after a SHA-256 hash of the source
+ * document, and read back through a memory-mapped buffer. A document whose hash matches an existing snapshot is
+ * loaded from it without running the {@link SwaggerParser}. Any other document is parsed, and a snapshot of it is
+ * written for the next read. Snapshots that cannot be read are ignored and written again.
+ * <p>
+ * Only local documents, files or classpath resources, are snapshotted, and only the document itself is hashed: a
+ * document referring to other documents must be renamed, or its snapshots removed, when only those change.
+ *
+ * @author msilcox
+ */
+@Slf4j
+public class SwaggerSnapshotStore {
+
+    private static final byte[] MAGIC = {'S', 'R', 'V', 'S'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = MAGIC.length + Integer.BYTES;
+    private static final String SUFFIX = ".snapshot";
+
+    private static final ObjectMapper SMILE = createMapper();
+
+    private final Path directory;
+
+    /**
+     * @param directory the directory snapshots are kept in, created when the first snapshot is written
+     */
+    public SwaggerSnapshotStore(final Path directory) {
+        this.directory = requireNonNull(directory, "A snapshot directory is required");
+    }
+
+    /**
+     * Read the Swagger document at the given location, from its snapshot if it has not changed.
+     *
+     * @param swaggerDocLocation the location of the document, as given to {@link SwaggerParser#read(String)}
+     * @return the document, or {@code null} if it cannot be read
+     */
+    public Swagger read(final String swaggerDocLocation) {
+        final Optional<byte[]> source = readSource(swaggerDocLocation);
+        if (!source.isPresent()) {
+            log.debug("Swagger document '{}' is not local, so is not snapshotted", swaggerDocLocation);
+            return new SwaggerParser().read(swaggerDocLocation);
+        }
+
+        final Path snapshot = directory.resolve(hash(source.get()) + SUFFIX);
+        if (Files.isRegularFile(snapshot)) {
+            final long start = System.nanoTime();
+            try {
+                final Swagger swagger = readSnapshot(snapshot);
+                log.info("Loaded swagger document '{}' from snapshot {} in {}ms", swaggerDocLocation, snapshot,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return swagger;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to read snapshot {}, parsing swagger document '{}'", snapshot, swaggerDocLocation,
+                        e);
+            }
+        }
+
+        final Swagger swagger = new SwaggerParser().read(swaggerDocLocation);
+        if (swagger != null) {
+            writeSnapshot(snapshot, swagger);
+        }
+        return swagger;
+    }
+
+    /**
+     * @param swaggerDocLocation the location of a Swagger document
+     * @return the path the snapshot of the document as it is now would have, or empty if it is not snapshotted
+     */
+    public Optional<Path> getSnapshotPath(final String swaggerDocLocation) {
+        return readSource(swaggerDocLocation).map(source -> directory.resolve(hash(source) + SUFFIX));
+    }
+
+    private static Swagger readSnapshot(final Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE) {
+                throw new IOException("Snapshot is truncated");
+            }
+            final byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            final int version = buffer.getInt();
+            if (!Arrays.equals(magic, MAGIC) || version != FORMAT_VERSION) {
+                throw new IOException("Not a snapshot of version " + FORMAT_VERSION);
+            }
+            final Swagger swagger = SMILE.readValue(new ByteBufferBackedInputStream(buffer), Swagger.class);
+            return requireNonNull(swagger, "Snapshot is empty");
+        }
+    }
+
+    private void writeSnapshot(final Path snapshot, final Swagger swagger) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            // written aside and moved into place, so a snapshot is never read half written
+            temporary = Files.createTempFile(directory, "swagger-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                final DataOutputStream header = new DataOutputStream(out);
+                header.write(MAGIC);
+                header.writeInt(FORMAT_VERSION);
+                header.flush();
+                SMILE.writeValue(out, swagger);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote swagger snapshot {}", snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to write swagger snapshot {}", snapshot, e);
+            deleteQuietly(temporary);
+        }
+    }
+
+    /**
+     * Read the document from where {@link SwaggerParser#read(String)} would: a file, or else a classpath resource.
+     */
+    private static Optional<byte[]> readSource(final String location) {
+        requireNonNull(location, "A swagger document location is required");
+        final String lowerCaseLocation = location.toLowerCase();
+        if (lowerCaseLocation.startsWith("http:") || lowerCaseLocation.startsWith("https:")) {
+            return Optional.empty();
+        }
+        try {
+            final Path path = Paths.get(location.startsWith("file:") ? location.substring("file:".length())
+                    : location);
+            if (Files.isRegularFile(path)) {
+                return Optional.of(Files.readAllBytes(path));
+            }
+        } catch (InvalidPathException | IOException e) {
+            log.debug("Unable to read swagger document '{}' as a file", location, e);
+        }
+        InputStream resource = SwaggerSnapshotStore.class.getResourceAsStream(location);
+        if (resource == null) {
+            resource = Thread.currentThread().getContextClassLoader()
+                    .getResourceAsStream(location.startsWith("/") ? location.substring(1) : location);
+        }
+        if (resource == null) {
+            return Optional.empty();
+        }
+        try (InputStream in = resource) {
+            return Optional.of(toByteArray(in));
+        } catch (IOException e) {
+            log.debug("Unable to read swagger document '{}' from the classpath", location, e);
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] toByteArray(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(final byte[] source) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest(source)) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void deleteQuietly(final Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Unable to delete {}", path, e);
+        }
+    }
+
+    /**
+     * @return a mapper configured as {@link io.swagger.util.Json#mapper()} is, writing Smile rather than JSON
+     */
+    private static ObjectMapper createMapper() {
+        final ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        mapper.registerModule(new DeserializationModule(true, true));
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.addMixIn(Response.class, ResponseSchemaMixin.class);
+        ReferenceSerializationConfigurer.serializeAsComputedRef(mapper);
+        return mapper;
+    }
+}
@@ -1,7 +1,12 @@
 package com.mnssoftware.validator.swagger.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.mnssoftware.validator.core.converter.ParsedBodyHttpMessageConverter;
+import com.mnssoftware.validator.core.metrics.HistogramValidationMetrics;
+import com.mnssoftware.validator.core.metrics.OperationMetrics;
+import com.mnssoftware.validator.core.metrics.ValidationStage;
 import com.mnssoftware.validator.core.service.NormalisedPath;
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
 import com.mnssoftware.validator.core.service.ValidationExceptionMatcher;
 import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
 import com.mnssoftware.validator.swagger.service.swagger.SwaggerOperation;
@@ -22,10 +27,16 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.util.UriUtils;
 
+import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.mnssoftware.validator.swagger.service.ValidatorTestUtil.stringParam;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -35,7 +46,10 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -88,6 +102,19 @@ public class RequestValidatorTest {
         assertThat(validationMessages.getValue(), empty());
     }
 
+    @Test
+    public void validateRequest_bodyParsed_sharedAsRequestAttribute() {
+        Parameter parameter = mock(BodyParameter.class);
+        when(operation.getParameters()).thenReturn(singletonList(parameter));
+        when(parameter.getIn()).thenReturn("body");
+        request.setContent(VALID_JSON_REQUEST.getBytes(UTF_8));
+
+        underTest.validateRequest(requestPath, request, swaggerOperation);
+
+        JsonNode parsedBody = (JsonNode) request.getAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE);
+        assertThat(parsedBody.get("name").asText(), equalTo("tiddles"));
+    }
+
     @Test
     public void validateRequest_bodyInvalid_fails() {
         BodyParameter parameter = mock(BodyParameter.class);
@@ -175,6 +202,7 @@ public class RequestValidatorTest {
     @Test
     public void validateRequest_pathParams_happyPath() {
         SerializableParameter parameter = stringParam(true, "path");
+        when(parameter.getName()).thenReturn("type");
         when(operation.getParameters()).thenReturn(singletonList(parameter));
         when(apiPath.parts()).thenReturn(asList("", "api", "pets", "{type}"));
         when(apiPath.paramName(3)).thenReturn("type");
@@ -240,4 +268,151 @@ public class RequestValidatorTest {
         assertThat(validationMessages.getValue(), not(empty()));
         assertThat(validationMessages.getValue().iterator().next().getPath(), equalTo("tags"));
     }
+
+    @Test
+    public void validateRequest_withMetrics_stagesAndFailuresRecorded() {
+        HistogramValidationMetrics metrics = new HistogramValidationMetrics();
+        RequestValidator underTest = new RequestValidator(schemaValidator,
+                SwaggerValidationConfig.builder().metrics(metrics).build(), null);
+        SerializableParameter parameter = stringParam(true, "query");
+        when(parameter.getName()).thenReturn("tags");
+        when(operation.getParameters()).thenReturn(singletonList(parameter));
+        when(operation.getOperationId()).thenReturn("findPets");
+
+        underTest.validateRequest(requestPath, request, swaggerOperation);
+
+        OperationMetrics operationMetrics = metrics.getOperation("findPets").orElseThrow(AssertionError::new);
+        assertThat(operationMetrics.getLatency().snapshot().getCount(), equalTo(1L));
+        assertThat(operationMetrics.getInvalidCount(), equalTo(1L));
+        assertThat(operationMetrics.getStageLatency(ValidationStage.PATH).snapshot().getCount(), equalTo(1L));
+        assertThat(operationMetrics.getStageLatency(ValidationStage.QUERY).snapshot().getCount(), equalTo(1L));
+        assertThat(operationMetrics.getStageLatency(ValidationStage.BODY).snapshot().getCount(), equalTo(0L));
+        assertThat(operationMetrics.getFailureCount(ValidationKeyMessage.NOT_NULL), equalTo(1L));
+    }
+
+    @Test
+    public void validateRequest_collectUpTo_bodyErrorsCapped() {
+        RequestValidator underTest = new RequestValidator(schemaValidator,
+                SwaggerValidationConfig.builder().validationPolicy(ValidationPolicy.collectUpTo(2)).build(), null);
+        BodyParameter parameter = mock(BodyParameter.class);
+        when(operation.getParameters()).thenReturn(singletonList(parameter));
+        when(parameter.getIn()).thenReturn("body");
+        when(parameter.getSchema()).thenReturn(mock(Model.class));
+        request.setContent(INVALID_JSON_REQUEST.getBytes(UTF_8));
+        Set<ValidationMessage> messages = new LinkedHashSet<>();
+        messages.add(SwaggerHelper.buildValidationMessage("1028", "$.name"));
+        messages.add(SwaggerHelper.buildValidationMessage("1008", "$.tag"));
+        messages.add(SwaggerHelper.buildValidationMessage("1029", "$.details.code"));
+        when(schemaValidator.validate(any(JsonNode.class), any(Model.class))).thenReturn(messages);
+
+        Pair<String, Set<ValidationMessage>> validationMessages = underTest.validateRequest(requestPath, request, swaggerOperation);
+
+        assertThat(validationMessages.getValue(), hasSize(2));
+    }
+
+    @Test
+    public void validateRequest_parallelLargeBody_validatedOnPool() {
+        RequestValidator underTest = new RequestValidator(schemaValidator,
+                SwaggerValidationConfig.builder().parallelPool(ForkJoinPool.commonPool()).parallelThreshold(16).build(),
+                null);
+        SerializableParameter pathParameter = stringParam(true, "path");
+        when(pathParameter.getName()).thenReturn("type");
+        BodyParameter parameter = mock(BodyParameter.class);
+        when(operation.getParameters()).thenReturn(asList(pathParameter, parameter));
+        when(apiPath.parts()).thenReturn(asList("", "api", "pets", "{type}"));
+        when(apiPath.paramName(3)).thenReturn("type");
+        when(apiPath.isParam(anyInt())).thenReturn(false, false, false, true);
+        when(requestPath.part(3)).thenReturn("tigers");
+        when(parameter.getIn()).thenReturn("body");
+        when(parameter.getSchema()).thenReturn(mock(Model.class));
+        request.setContent(INVALID_JSON_REQUEST.getBytes(UTF_8));
+        when(schemaValidator.validate(any(JsonNode.class), any(Model.class), any(ForkJoinPool.class))).thenReturn(
+                Collections.singleton(SwaggerHelper.buildValidationMessage("1234", "$.aField")));
+
+        Pair<String, Set<ValidationMessage>> validationMessages = underTest.validateRequest(requestPath, request, swaggerOperation);
+
+        assertThat(validationMessages.getKey(), equalTo("field"));
+        assertThat(validationMessages.getValue().iterator().next().getPath(), equalTo("$.aField"));
+        assertThat(request.getAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE), notNullValue());
+    }
+
+    @Test
+    public void validateRequest_parallelInvalidParameters_parametersReported() {
+        RequestValidator underTest = new RequestValidator(schemaValidator,
+                SwaggerValidationConfig.builder().parallelPool(ForkJoinPool.commonPool()).parallelThreshold(16).build(),
+                null);
+        SerializableParameter pathParameter = stringParam(true, "path");
+        BodyParameter parameter = mock(BodyParameter.class);
+        when(operation.getParameters()).thenReturn(asList(pathParameter, parameter));
+        when(apiPath.parts()).thenReturn(asList("", "api", "pets", "{Test Parameter}"));
+        when(apiPath.paramName(3)).thenReturn("Test Parameter");
+        when(apiPath.isParam(anyInt())).thenReturn(false, false, false, true);
+        when(parameter.getIn()).thenReturn("body");
+        request.setContent("{\"truncated\":".getBytes(UTF_8));
+
+        Pair<String, Set<ValidationMessage>> validationMessages = underTest.validateRequest(requestPath, request, swaggerOperation);
+
+        assertThat(validationMessages.getKey(), equalTo("path parameter"));
+        assertThat(validationMessages.getValue().iterator().next().getPath(), equalTo("Test Parameter"));
+    }
+
+    @Test
+    public void validateRequest_parallelInvalidParametersSlowBody_bodyNotRead() throws Exception {
+        RequestValidator underTest = new RequestValidator(schemaValidator,
+                SwaggerValidationConfig.builder().parallelPool(ForkJoinPool.commonPool()).parallelThreshold(16).build(),
+                null);
+        SerializableParameter pathParameter = stringParam(true, "path");
+        BodyParameter parameter = mock(BodyParameter.class);
+        when(operation.getParameters()).thenReturn(asList(pathParameter, parameter));
+        when(apiPath.parts()).thenReturn(asList("", "api", "pets", "{Test Parameter}"));
+        when(apiPath.paramName(3)).thenReturn("Test Parameter");
+        when(apiPath.isParam(anyInt())).thenReturn(false, false, false, true);
+        when(parameter.getIn()).thenReturn("body");
+        when(parameter.getSchema()).thenReturn(mock(Model.class));
+        request.setContent(INVALID_JSON_REQUEST.getBytes(UTF_8));
+        lenient().when(schemaValidator.validate(any(JsonNode.class), any(Model.class), any(ForkJoinPool.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(200);
+                    return Collections.emptySet();
+                });
+        AtomicInteger reads = new AtomicInteger();
+        HttpServletRequest countingRequest = new HttpServletRequestWrapper(request) {
+            @Override
+            public BufferedReader getReader() throws IOException {
+                reads.incrementAndGet();
+                return super.getReader();
+            }
+
+            @Override
+            public ServletInputStream getInputStream() throws IOException {
+                reads.incrementAndGet();
+                return super.getInputStream();
+            }
+        };
+
+        Pair<String, Set<ValidationMessage>> validationMessages =
+                underTest.validateRequest(requestPath, countingRequest, swaggerOperation);
+        Thread.sleep(300);
+
+        assertThat(validationMessages.getKey(), equalTo("path parameter"));
+        assertThat(reads.get(), equalTo(0));
+        assertThat(request.getAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE), nullValue());
+        verify(schemaValidator, never()).validate(any(JsonNode.class), any(Model.class), any(ForkJoinPool.class));
+    }
+
+    @Test
+    public void validateRequest_parallelSmallBody_validatedOnRequestThread() {
+        RequestValidator underTest = new RequestValidator(schemaValidator,
+                SwaggerValidationConfig.builder().parallelPool(ForkJoinPool.commonPool()).build(), null);
+        BodyParameter parameter = mock(BodyParameter.class);
+        when(operation.getParameters()).thenReturn(singletonList(parameter));
+        when(parameter.getIn()).thenReturn("body");
+        when(parameter.getSchema()).thenReturn(mock(Model.class));
+        request.setContent(INVALID_JSON_REQUEST.getBytes(UTF_8));
+        when(schemaValidator.validate(any(JsonNode.class), any(Model.class))).thenReturn(Collections.emptySet());
+
+        underTest.validateRequest(requestPath, request, swaggerOperation);
+
+        verify(schemaValidator, never()).validate(any(JsonNode.class), any(Model.class), any(ForkJoinPool.class));
+    }
 }
@@ -0,0 +1,121 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+import com.mnssoftware.validator.swagger.service.plan.OperationPlan;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
+import com.networknt.schema.ValidationMessage;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Response;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResponseValidatorTest {
+
+    private static final byte[] VALID_JSON_RESPONSE = "{\"name\":\"tiddles\"}".getBytes(UTF_8);
+
+    @Mock
+    private SchemaValidator schemaValidator;
+    @Mock
+    private OperationPlan operationPlan;
+
+    private final Model petSchema = new ModelImpl().type("object");
+    private final Model errorSchema = new ModelImpl().type("object");
+    private Operation operation;
+    private ResponseValidator underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new ResponseValidator(schemaValidator);
+        operation = new Operation()
+                .response(200, new Response().description("pet").responseSchema(petSchema))
+                .response(204, new Response().description("deleted"));
+        when(operationPlan.getOperation()).thenReturn(operation);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructor_nullSchemaValidator_throws() {
+        new ResponseValidator(null);
+    }
+
+    @Test
+    public void validateResponse_documentedStatus_bodyValidatedAgainstSchema() {
+        ValidationMessage message = SwaggerHelper.buildValidationMessage(ValidationKeyMessage.NOT_NULL.getCode(), "name");
+        when(schemaValidator.validate(any(JsonNode.class), eq(petSchema))).thenReturn(singleton(message));
+
+        Pair<String, Set<ValidationMessage>> result = underTest.validateResponse(operationPlan, 200, VALID_JSON_RESPONSE);
+
+        assertThat(result.getKey(), equalTo("response field"));
+        assertThat(result.getValue(), contains(message));
+    }
+
+    @Test
+    public void validateResponse_noSchema_successful() {
+        Pair<String, Set<ValidationMessage>> result = underTest.validateResponse(operationPlan, 204, new byte[0]);
+
+        assertThat(result.getValue(), empty());
+        verify(schemaValidator, never()).validate(any(JsonNode.class), any(Model.class));
+    }
+
+    @Test
+    public void validateResponse_undocumentedStatus_fails() {
+        Pair<String, Set<ValidationMessage>> result = underTest.validateResponse(operationPlan, 418, VALID_JSON_RESPONSE);
+
+        assertThat(result.getKey(), equalTo("response status"));
+        assertThat(result.getValue().iterator().next().getCode(),
+                equalTo(ValidationKeyMessage.UNDOCUMENTED_STATUS.getCode()));
+    }
+
+    @Test
+    public void validateResponse_undocumentedStatusWithDefault_validatedAgainstDefault() {
+        operation.defaultResponse(new Response().description("error").responseSchema(errorSchema));
+
+        underTest.validateResponse(operationPlan, 500, VALID_JSON_RESPONSE);
+
+        verify(schemaValidator).validate(any(JsonNode.class), eq(errorSchema));
+    }
+
+    @Test
+    public void validateResponse_missingBody_fails() {
+        Pair<String, Set<ValidationMessage>> result = underTest.validateResponse(operationPlan, 200, new byte[0]);
+
+        assertThat(result.getValue().iterator().next().getCode(),
+                equalTo(ValidationKeyMessage.MISSING_RESPONSE_BODY.getCode()));
+    }
+
+    @Test
+    public void validateResponse_unparsableBody_fails() {
+        Pair<String, Set<ValidationMessage>> result =
+                underTest.validateResponse(operationPlan, 200, "{\"name\":".getBytes(UTF_8));
+
+        assertThat(result.getValue().iterator().next().getCode(), equalTo(ValidationKeyMessage.DEFAULT.getCode()));
+    }
+
+    @Test
+    public void validateResponse_noResponsesDocumented_successful() {
+        when(operationPlan.getOperation()).thenReturn(new Operation());
+
+        Pair<String, Set<ValidationMessage>> result = underTest.validateResponse(operationPlan, 418, VALID_JSON_RESPONSE);
+
+        assertThat(result.getValue(), empty());
+    }
+}
@@ -2,12 +2,18 @@ package com.mnssoftware.validator.swagger.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.mnssoftware.validator.swagger.service.schema.JsonSchemaCache;
 import com.networknt.schema.ValidationMessage;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.swagger.models.ArrayModel;
 import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
 import io.swagger.models.Swagger;
 import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.RefProperty;
 import io.swagger.models.properties.StringProperty;
+import io.swagger.util.Json;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -16,7 +22,12 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
@@ -77,15 +88,66 @@ public class SchemaValidatorTest {
     }
 
     @Test
-    public void validateModel_withJsonException_fails() {
+    public void validateModel_repeated_schemaCompiledOnce() {
+        underTest.validate(jsonNode, model);
+        underTest.validate(jsonNode, model);
+
+        assertThat(underTest.getSchemaCache().getMissCount(), equalTo(1L));
+        assertThat(underTest.getSchemaCache().getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    public void compile_beforeValidation_schemaNotCompiledAgain() throws Exception {
+        underTest.compile(model, false);
+        underTest.validate(jsonNode, model);
+
+        assertThat(underTest.getSchemaCache().getMissCount(), equalTo(1L));
+        assertThat(underTest.getSchemaCache().getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    public void validateProperty_repeated_schemaCompiledOnce() {
+        StringProperty property = new StringProperty();
+
+        underTest.validate("hello", property);
+        underTest.validate("world", property);
+
+        assertThat(underTest.getSchemaCache().getMissCount(), equalTo(1L));
+        assertThat(underTest.getSchemaCache().getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    public void constructor_withJsonException_throws() {
+        expected.expect(IllegalStateException.class);
         when(swagger.getDefinitions()).thenAnswer(invocation -> {
             throw mock(JsonProcessingException.class);
         });
 
-        Set<ValidationMessage> messages = underTest.validate(jsonNode, model);
+        new SchemaValidator(swagger);
+    }
 
-        assertThat(messages, not(empty()));
-        assertThat(messages.iterator().next().getCode(), equalTo("9999"));
+    @Test
+    public void constructor_withDefinitions_compilesDefinitions() {
+        Map<String, Model> definitions = new LinkedHashMap<>();
+        definitions.put("Pet", new ModelImpl().type("object").property("name", new StringProperty()));
+        definitions.put("Error", new ModelImpl().type("object").property("code", new IntegerProperty()));
+        when(swagger.getDefinitions()).thenReturn(definitions);
+
+        SchemaValidator underTest = new SchemaValidator(swagger);
+
+        assertThat(underTest.getDefinitionRegistry().getDefinitionStats().keySet(), contains("Pet", "Error"));
+    }
+
+    @Test
+    public void validateModel_withDefinitionReference_fails() {
+        when(swagger.getDefinitions()).thenReturn(Collections.singletonMap("Pet",
+                new ModelImpl().type("object").property("name", new StringProperty()).required("name")));
+        SchemaValidator underTest = new SchemaValidator(swagger);
+
+        Set<ValidationMessage> messages = underTest.validate(Json.mapper().createObjectNode(), new RefModel("#/definitions/Pet"));
+
+        assertThat(messages, hasSize(1));
+        assertThat(messages.iterator().next().getCode(), equalTo("1028"));
     }
 
     @Test
@@ -103,12 +165,8 @@ public class SchemaValidatorTest {
     }
 
     @Test
-    public void validateProperty_withJsonException_fails() {
-        when(swagger.getDefinitions()).thenAnswer(invocation -> {
-            throw mock(JsonProcessingException.class);
-        });
-
-        Set<ValidationMessage> messages = underTest.validate("hello", new StringProperty());
+    public void validateProperty_unparseableValue_fails() {
+        Set<ValidationMessage> messages = underTest.validate("hello", new IntegerProperty());
 
         assertThat(messages, not(empty()));
         assertThat(messages.iterator().next().getCode(), equalTo("9999"));
@@ -138,4 +196,52 @@ public class SchemaValidatorTest {
         assertThat(messages, empty());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void validateModel_failFast_stopsAtFirstError() {
+        Model pet = new ModelImpl().type("object")
+                .property("name", new StringProperty())
+                .property("age", new IntegerProperty())
+                .required("name").required("age");
+        SchemaValidator collectAll = new SchemaValidator(swagger);
+        SchemaValidator failFast = new SchemaValidator(swagger, new JsonSchemaCache(), ValidationPolicy.failFast());
+
+        assertThat(collectAll.validate(Json.mapper().createObjectNode(), pet), hasSize(2));
+        assertThat(failFast.validate(Json.mapper().createObjectNode(), pet), hasSize(1));
+    }
+
+    @Test
+    public void validateModelInParallel_array_sameFailuresInSameOrder() {
+        Swagger api = new Swagger().model("Pet", new ModelImpl().type("object")
+                .property("name", new StringProperty().minLength(2))
+                .property("age", new IntegerProperty())
+                .required("name"));
+        ArrayModel pets = new ArrayModel().items(new RefProperty("#/definitions/Pet"));
+        ArrayNode body = Json.mapper().createArrayNode();
+        for (int i = 0; i < 20; i++) {
+            body.addObject().put("name", i % 3 == 0 ? "x" : "tiddles").put("age", i % 4 == 0 ? "old" : "3");
+        }
+        SchemaValidator underTest = new SchemaValidator(api);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Set<ValidationMessage> sequential = underTest.validate(body, pets);
+            Set<ValidationMessage> parallel = underTest.validate(body, pets, pool);
+
+            assertThat(sequential, not(empty()));
+            assertThat(new ArrayList<>(parallel), equalTo(new ArrayList<>(sequential)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void validateModelInParallel_failFast_validatedWhole() {
+        Model pet = new ModelImpl().type("object")
+                .property("name", new StringProperty())
+                .property("age", new IntegerProperty())
+                .required("name").required("age");
+        SchemaValidator failFast = new SchemaValidator(new Swagger().model("Pet", pet), new JsonSchemaCache(),
+                ValidationPolicy.failFast());
+
+        assertThat(failFast.validate(Json.mapper().createObjectNode(), pet, ForkJoinPool.commonPool()), hasSize(1));
+    }
+}
@@ -0,0 +1,144 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.mnssoftware.validator.core.service.ValidationException;
+import com.mnssoftware.validator.core.service.ValidationExceptionMatcher;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SwaggerReactiveValidationServiceTest {
+    private static final String SWAGGER_PATH = "/petstore-simple.json";
+    private static final String INVALID_JSON_REQUEST = "{\"tag\":\"lizard\",\"details\":{\"code\":true,\"message\":\"a message\"}}";
+    private static final String VALID_JSON_REQUEST = "{\"name\":\"tiddles\",\"tag\":\"cat\",\"details\":{\"code\":123,\"message\":\"a message\"}}";
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private SwaggerReactiveValidationService underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new SwaggerReactiveValidationService(SWAGGER_PATH);
+    }
+
+    @Test
+    public void validateRequest_validJsonRequest_successful() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/pets").body(VALID_JSON_REQUEST));
+
+        StepVerifier.create(underTest.validateRequest(exchange).flatMap(this::readBody))
+                .expectNext(VALID_JSON_REQUEST)
+                .verifyComplete();
+    }
+
+    @Test
+    public void validateRequest_validJsonRequestInChunks_successful() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/pets").body(chunks(VALID_JSON_REQUEST, 5)));
+
+        StepVerifier.create(underTest.validateRequest(exchange).flatMap(this::readBody))
+                .expectNext(VALID_JSON_REQUEST)
+                .verifyComplete();
+    }
+
+    @Test
+    public void validateRequest_validJsonRequestWithErrors_fails() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/pets").body(chunks(INVALID_JSON_REQUEST, 3)));
+
+        StepVerifier.create(underTest.validateRequest(exchange).flatMap(this::readBody))
+                .expectErrorMatches(e -> new ValidationExceptionMatcher("The field name is mandatory",
+                        "The field tag does not have the correct enum value",
+                        "The field details.code does not have the correct type").matches(e))
+                .verify();
+    }
+
+    @Test
+    public void validateRequest_emptyRequest_fails() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/pets").build());
+
+        StepVerifier.create(underTest.validateRequest(exchange).flatMap(this::readBody))
+                .expectErrorMatches(e -> new ValidationExceptionMatcher("Request body is expected but not found")
+                        .matches(e))
+                .verify();
+    }
+
+    @Test
+    public void validateRequest_truncatedJsonRequest_fails() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/pets").body("{\"name\":\"tiddles\""));
+
+        StepVerifier.create(underTest.validateRequest(exchange).flatMap(this::readBody))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+
+    @Test
+    public void validateRequest_unrecognisedPath_ignored() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/children"));
+
+        StepVerifier.create(underTest.validateRequest(exchange))
+                .assertNext(validated -> assertThat(validated, sameInstance(exchange)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void validateRequest_unrecognisedMethod_throws() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.head("/api/pets"));
+
+        StepVerifier.create(underTest.validateRequest(exchange))
+                .expectError(MethodNotAllowedException.class)
+                .verify();
+    }
+
+    @Test
+    public void validateRequest_nonFieldError_fails() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/pets/fido"));
+
+        StepVerifier.create(underTest.validateRequest(exchange))
+                .expectErrorMatches(e -> new ValidationExceptionMatcher(
+                        "The path parameter id does not have the correct type").matches(e))
+                .verify();
+    }
+
+    @Test
+    public void validateRequest_bodyReadTwice_validatedEachTime() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/pets").body(VALID_JSON_REQUEST));
+
+        ServerWebExchange validated = underTest.validateRequest(exchange).block();
+
+        assertThat(readBody(validated).block(), equalTo(VALID_JSON_REQUEST));
+        assertThat(readBody(validated).block(), equalTo(VALID_JSON_REQUEST));
+    }
+
+    private Flux<DataBuffer> chunks(String body, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return Flux.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+                .map(i -> bufferFactory.wrap(Arrays.copyOfRange(bytes, i * chunkSize,
+                        Math.min(bytes.length, (i + 1) * chunkSize))));
+    }
+
+    private Mono<String> readBody(ServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getRequest().getBody()).map(buffer -> {
+            String body = buffer.toString(StandardCharsets.UTF_8);
+            DataBufferUtils.release(buffer);
+            return body;
+        });
+    }
+}
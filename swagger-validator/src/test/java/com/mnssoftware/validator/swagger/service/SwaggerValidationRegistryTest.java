@@ -0,0 +1,231 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.mnssoftware.validator.core.filter.BodyBufferPool;
+import com.mnssoftware.validator.core.filter.MultiReadHttpServletRequest;
+import com.mnssoftware.validator.core.service.ValidationExceptionMatcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class SwaggerValidationRegistryTest {
+    private static final String SWAGGER_PATH = "/petstore-simple.json";
+    private static final String EMPTY_JSON_REQUEST = "";
+    private static final long BUDGET = 1024 * 1024;
+
+    private SwaggerValidationRegistry underTest;
+
+    private MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+
+    @Rule
+    public ExpectedException expected = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        mockRequest.setMethod("POST");
+        mockRequest.setServerName("pets.example.com");
+        mockRequest.setRequestURI("/api/pets");
+        mockRequest.setContent(EMPTY_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() {
+        if (underTest != null) {
+            underTest.close();
+        }
+    }
+
+    @Test
+    public void validateRequest_routedByHost_validated() throws ServletException {
+        expected.expect(new ValidationExceptionMatcher("Request body is expected but not found"));
+        underTest = new SwaggerValidationRegistry(Collections.singletonList(
+                SpecificationRoute.builder().host("PETS.example.com").location(SWAGGER_PATH).build()), BUDGET);
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void validateRequest_routedByPathPrefix_validated() throws ServletException {
+        expected.expect(new ValidationExceptionMatcher("Request body is expected but not found"));
+        underTest = new SwaggerValidationRegistry(Collections.singletonList(
+                SpecificationRoute.builder().pathPrefix("/api/").location(SWAGGER_PATH).build()), BUDGET);
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void validateRequest_noMatchingRoute_ignored() throws ServletException {
+        underTest = new SwaggerValidationRegistry(Arrays.asList(
+                SpecificationRoute.builder().host("owners.example.com").location(SWAGGER_PATH).build(),
+                SpecificationRoute.builder().pathPrefix("/ap").location(SWAGGER_PATH).build()), BUDGET);
+
+        underTest.validateRequest(mockRequest);
+
+        assertThat(underTest.getMissCount(), equalTo(0L));
+        assertThat(underTest.getResidentCount(), equalTo(0));
+    }
+
+    @Test
+    public void validateRequest_overlappingRoutes_mostSpecificChosen() throws Exception {
+        Path lenient = writeSpec("lenient.json");
+        underTest = new SwaggerValidationRegistry(Arrays.asList(
+                SpecificationRoute.builder().location(SWAGGER_PATH).build(),
+                SpecificationRoute.builder().host("pets.example.com").location(SWAGGER_PATH).build(),
+                SpecificationRoute.builder().host("pets.example.com").pathPrefix("/api")
+                        .location(lenient.toString()).build()), BUDGET);
+
+        underTest.validateRequest(mockRequest);
+
+        assertThat(underTest.getResidentCount(), equalTo(1));
+    }
+
+    @Test
+    public void validateRequest_compiledOnFirstUse_hitsAndMissesCounted() throws ServletException {
+        underTest = new SwaggerValidationRegistry(Collections.singletonList(
+                SpecificationRoute.builder().location(SWAGGER_PATH).build()), BUDGET);
+        mockRequest.setRequestURI("/api/children");
+        assertThat(underTest.getResidentCount(), equalTo(0));
+
+        underTest.validateRequest(mockRequest);
+        underTest.validateRequest(mockRequest);
+
+        assertThat(underTest.getMissCount(), equalTo(1L));
+        assertThat(underTest.getHitCount(), equalTo(1L));
+        assertThat(underTest.getResidentCount(), equalTo(1));
+        assertThat(underTest.getResidentBytes(), greaterThan(0L));
+    }
+
+    @Test
+    public void validateRequest_overBudget_leastRecentlyUsedEvicted() throws ServletException {
+        underTest = new SwaggerValidationRegistry(Arrays.asList(
+                SpecificationRoute.builder().host("a.example.com").location(SWAGGER_PATH).build(),
+                SpecificationRoute.builder().host("b.example.com").location(SWAGGER_PATH).build()), 1);
+        mockRequest.setRequestURI("/api/children");
+
+        validate("a.example.com");
+        validate("b.example.com");
+        assertThat(underTest.getEvictionCount(), equalTo(1L));
+        assertThat(underTest.getResidentCount(), equalTo(1));
+        validate("b.example.com");
+        validate("a.example.com");
+
+        assertThat(underTest.getMissCount(), equalTo(3L));
+        assertThat(underTest.getHitCount(), equalTo(1L));
+        assertThat(underTest.getEvictionCount(), equalTo(2L));
+        assertThat(underTest.getResidentCount(), equalTo(1));
+    }
+
+    @Test
+    public void validateResponse_routed_validated() {
+        expected.expect(new ValidationExceptionMatcher("The response field message is mandatory"));
+        underTest = new SwaggerValidationRegistry(Collections.singletonList(
+                SpecificationRoute.builder().host("pets.example.com").location(SWAGGER_PATH).build()), BUDGET);
+        mockRequest.setMethod("GET");
+
+        underTest.validateResponse(mockRequest, 500, "{\"code\":500}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void validateResponse_detachedRequest_routedAfterOriginalReset() throws Exception {
+        expected.expect(new ValidationExceptionMatcher("The response field message is mandatory"));
+        underTest = new SwaggerValidationRegistry(Collections.singletonList(
+                SpecificationRoute.builder().host("pets.example.com").location(SWAGGER_PATH).build()), BUDGET);
+        mockRequest.setMethod("GET");
+        HttpServletRequest detached =
+                new MultiReadHttpServletRequest(mockRequest, new BodyBufferPool(), MultiReadHttpServletRequest.UNLIMITED)
+                        .detach();
+        // the container recycles the original request once it completes
+        mockRequest.setServerName("recycled.example.com");
+        mockRequest.setRequestURI("/recycled");
+
+        underTest.validateResponse(detached, 500, "{\"code\":500}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void validateRequest_uncompilableSpecification_notRetriedUntilRetryInterval() throws ServletException {
+        underTest = new SwaggerValidationRegistry(Collections.singletonList(
+                SpecificationRoute.builder().location("/missing.json").build()), BUDGET);
+
+        underTest.validateRequest(mockRequest);
+        underTest.validateRequest(mockRequest);
+
+        assertThat(underTest.getFailureCount(), equalTo(1L));
+        assertThat(underTest.getMissCount(), equalTo(1L));
+        assertThat(underTest.getResidentCount(), equalTo(0));
+    }
+
+    @Test
+    public void validateRequest_uncompilableSpecificationRetryIntervalPassed_retried() throws ServletException {
+        underTest = new SwaggerValidationRegistry(Collections.singletonList(
+                SpecificationRoute.builder().location("/missing.json").build()), BUDGET, Duration.ZERO);
+
+        underTest.validateRequest(mockRequest);
+        underTest.validateRequest(mockRequest);
+
+        assertThat(underTest.getFailureCount(), equalTo(2L));
+    }
+
+    @Test
+    public void validateRequest_specificationReloaded_retainedBytesEstimatedAgain() throws Exception {
+        Path spec = writeSpec("spec.json");
+        underTest = new SwaggerValidationRegistry(Collections.singletonList(SpecificationRoute.builder()
+                .location(spec.toString())
+                .config(SwaggerValidationConfig.builder().reloadInterval(Duration.ofMillis(10)).build())
+                .build()), BUDGET);
+        mockRequest.setRequestURI("/api/owners");
+        underTest.validateRequest(mockRequest);
+        long before = underTest.getResidentBytes();
+
+        Files.write(spec, ("{\"swagger\":\"2.0\",\"info\":{\"title\":\"pets\",\"version\":\"1\"},"
+                + "\"basePath\":\"/api\",\"paths\":{\"/pets\":{\"post\":{"
+                + "\"responses\":{\"200\":{\"description\":\"ok\"}}}},\"/children\":{\"post\":{"
+                + "\"responses\":{\"200\":{\"description\":\"ok\"}}}}}}").getBytes(StandardCharsets.UTF_8));
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (underTest.getResidentBytes() == before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            underTest.validateRequest(mockRequest);
+        }
+
+        assertThat(underTest.getResidentBytes(), greaterThan(before));
+        assertThat(underTest.getMissCount(), equalTo(1L));
+    }
+
+    @Test
+    public void constructor_noBudget_throws() {
+        expected.expect(IllegalArgumentException.class);
+
+        new SwaggerValidationRegistry(Collections.emptyList(), 0);
+    }
+
+    private void validate(final String host) throws ServletException {
+        mockRequest.setServerName(host);
+        underTest.validateRequest(mockRequest);
+    }
+
+    private Path writeSpec(final String name) throws Exception {
+        Path spec = folder.getRoot().toPath().resolve(name);
+        Files.write(spec, ("{\"swagger\":\"2.0\",\"info\":{\"title\":\"pets\",\"version\":\"1\"},"
+                + "\"basePath\":\"/api\",\"paths\":{\"/pets\":{\"post\":{"
+                + "\"responses\":{\"200\":{\"description\":\"ok\"}}}}}}").getBytes(StandardCharsets.UTF_8));
+        return spec;
+    }
+}
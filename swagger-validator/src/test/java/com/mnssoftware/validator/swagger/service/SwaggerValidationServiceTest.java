@@ -1,15 +1,25 @@
 package com.mnssoftware.validator.swagger.service;
 
+import com.mnssoftware.validator.core.metrics.HistogramValidationMetrics;
 import com.mnssoftware.validator.core.service.ValidationExceptionMatcher;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 
 import javax.servlet.ServletException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
 
 public class SwaggerValidationServiceTest {
     private static final String SWAGGER_PATH = "/petstore-simple.json";
@@ -24,6 +34,9 @@ public class SwaggerValidationServiceTest {
     @Rule
     public ExpectedException expected = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void setUp() {
         underTest = new SwaggerValidationService(SWAGGER_PATH);
@@ -81,4 +94,178 @@ public class SwaggerValidationServiceTest {
         underTest.validateRequest(mockRequest);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void validateRequest_streamingValidJsonRequestWithErrors_fails() throws ServletException {
+        expected.expect(new ValidationExceptionMatcher("The field name is mandatory", "The field tag does not have the correct enum value",
+                "The field details.code does not have the correct type"));
+        underTest = new SwaggerValidationService(SWAGGER_PATH, streamingConfig(false));
+        mockRequest.setContent(INVALID_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void validateRequest_streamingFailFast_reportsFirstError() throws ServletException {
+        expected.expect(new ValidationExceptionMatcher("The field tag does not have the correct enum value"));
+        underTest = new SwaggerValidationService(SWAGGER_PATH, streamingConfig(true));
+        mockRequest.setContent(INVALID_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void validateRequest_streamingEmptyRequest_fails() throws ServletException {
+        expected.expect(new ValidationExceptionMatcher("Request body is expected but not found"));
+        underTest = new SwaggerValidationService(SWAGGER_PATH, streamingConfig(false));
+        mockRequest.setContent(EMPTY_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void validateRequest_streamingValidJsonRequest_successful() throws ServletException {
+        underTest = new SwaggerValidationService(SWAGGER_PATH, streamingConfig(false));
+        mockRequest.setContent(VALID_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void validateResponse_validResponse_successful() {
+        underTest.validateResponse(mockRequest, 200, VALID_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void validateResponse_invalidResponse_fails() {
+        expected.expect(new ValidationExceptionMatcher("The response field name is mandatory",
+                "The response field tag does not have the correct enum value",
+                "The response field details.code does not have the correct type"));
+
+        underTest.validateResponse(mockRequest, 200, INVALID_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void validateResponse_defaultResponse_validatedAgainstDefaultSchema() {
+        expected.expect(new ValidationExceptionMatcher("The response field message is mandatory"));
+
+        underTest.validateResponse(mockRequest, 500, "{\"code\":500}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void validateResponse_unrecognisedMethod_ignored() {
+        mockRequest.setMethod("HEAD");
+
+        underTest.validateResponse(mockRequest, 418, new byte[0]);
+    }
+
+    @Test
+    public void constructor_warmUp_reportsAndRecordsNoMetrics() throws ServletException {
+        HistogramValidationMetrics metrics = new HistogramValidationMetrics();
+        underTest = new SwaggerValidationService(SWAGGER_PATH, SwaggerValidationConfig.builder()
+                .warmUpIterations(3).metrics(metrics).build());
+
+        WarmUpReport report = underTest.getWarmUpReport().orElseThrow(AssertionError::new);
+        assertThat(report.getOperations(), equalTo(6));
+        assertThat(report.getCompiledSchemas(), greaterThan(5));
+        assertThat(report.getSyntheticValidations(), greaterThan(30L));
+        assertThat(metrics.getOperations(), empty());
+
+        mockRequest.setContent(VALID_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void constructor_eagerCompilation_compilesWithoutWarmUpRequests() {
+        underTest = new SwaggerValidationService(SWAGGER_PATH, SwaggerValidationConfig.builder()
+                .eagerCompilation(true).build());
+
+        WarmUpReport report = underTest.getWarmUpReport().orElseThrow(AssertionError::new);
+        assertThat(report.getCompiledSchemas(), greaterThan(5));
+        assertThat(report.getSyntheticValidations(), equalTo(0L));
+    }
+
+    @Test
+    public void constructor_default_notWarmedUp() {
+        assertThat(underTest.getWarmUpReport().isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void constructor_fromSnapshot_validatesAsParsed() throws Exception {
+        expected.expect(new ValidationExceptionMatcher("The field name is mandatory", "The field tag does not have the correct enum value",
+                "The field details.code does not have the correct type"));
+        SwaggerValidationConfig config = SwaggerValidationConfig.builder()
+                .snapshotDirectory(folder.getRoot().toPath()).build();
+        new SwaggerValidationService(SWAGGER_PATH, config);
+        assertThat(folder.getRoot().list().length, equalTo(1));
+
+        underTest = new SwaggerValidationService(SWAGGER_PATH, config);
+        mockRequest.setContent(INVALID_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void reload_changedSpecification_validatesAgainstNewSpecification() throws Exception {
+        expected.expect(new ValidationExceptionMatcher("Request body is expected but not found"));
+        Path spec = writeSpec("/pets");
+        underTest = new SwaggerValidationService(spec.toString());
+        mockRequest.setRequestURI("/api/children");
+        mockRequest.setContent(EMPTY_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+        underTest.validateRequest(mockRequest);
+
+        writeSpec("/children");
+        assertThat(underTest.reload(), equalTo(true));
+        assertThat(underTest.getReloadCount(), equalTo(1L));
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void reload_unreadableSpecification_keepsCurrentSpecification() throws Exception {
+        expected.expect(new ValidationExceptionMatcher("Request body is expected but not found"));
+        Path spec = writeSpec("/pets");
+        underTest = new SwaggerValidationService(spec.toString());
+
+        Files.write(spec, "not a specification".getBytes(StandardCharsets.UTF_8));
+        assertThat(underTest.reload(), equalTo(false));
+        assertThat(underTest.getReloadCount(), equalTo(0L));
+        assertThat(underTest.getReloadFailureCount(), equalTo(1L));
+        mockRequest.setContent(EMPTY_JSON_REQUEST.getBytes(StandardCharsets.UTF_8));
+
+        underTest.validateRequest(mockRequest);
+    }
+
+    @Test
+    public void constructor_reloadInterval_reloadsChangedFile() throws Exception {
+        Path spec = writeSpec("/pets");
+        try (SwaggerValidationService service = new SwaggerValidationService(spec.toString(),
+                SwaggerValidationConfig.builder().reloadInterval(Duration.ofMillis(10)).build())) {
+            writeSpec("/children");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (service.getReloadCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(service.getReloadCount(), greaterThan(0L));
+            mockRequest.setRequestURI("/api/pets");
+            service.validateRequest(mockRequest);
+        }
+    }
+
+    private Path writeSpec(final String path) throws Exception {
+        Path spec = folder.getRoot().toPath().resolve("spec.json");
+        Files.write(spec, ("{\"swagger\":\"2.0\",\"info\":{\"title\":\"pets\",\"version\":\"1\"},"
+                + "\"basePath\":\"/api\",\"paths\":{\"" + path + "\":{\"post\":{\"parameters\":[{\"in\":\"body\","
+                + "\"name\":\"body\",\"required\":true,\"schema\":{\"type\":\"object\"}}],"
+                + "\"responses\":{\"200\":{\"description\":\"ok\"}}}}}}").getBytes(StandardCharsets.UTF_8));
+        return spec;
+    }
+
+    private static SwaggerValidationConfig streamingConfig(boolean failFast) {
+        return SwaggerValidationConfig.builder()
+                .bodyValidationMode(BodyValidationMode.STREAMING)
+                .validationPolicy(failFast ? ValidationPolicy.failFast() : ValidationPolicy.collectAll())
+                .build();
+    }
+}
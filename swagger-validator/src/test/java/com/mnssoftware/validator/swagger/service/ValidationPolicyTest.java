@@ -0,0 +1,39 @@
+package com.mnssoftware.validator.swagger.service;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ValidationPolicyTest {
+
+    @Test
+    public void failFast_stopsAtOneError() {
+        assertThat(ValidationPolicy.failFast().getMaxErrors(), equalTo(1));
+        assertThat(ValidationPolicy.failFast().isFailFast(), is(true));
+    }
+
+    @Test
+    public void collectAll_isUnbounded() {
+        assertThat(ValidationPolicy.collectAll().getMaxErrors(), equalTo(Integer.MAX_VALUE));
+        assertThat(ValidationPolicy.collectAll().isFailFast(), is(false));
+    }
+
+    @Test
+    public void collectUpTo_isCapped() {
+        assertThat(ValidationPolicy.collectUpTo(5).getMaxErrors(), equalTo(5));
+        assertThat(ValidationPolicy.collectUpTo(5).isFailFast(), is(false));
+    }
+
+    @Test
+    public void collectUpTo_one_isFailFast() {
+        assertThat(ValidationPolicy.collectUpTo(1), sameInstance(ValidationPolicy.failFast()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void collectUpTo_zero_throws() {
+        ValidationPolicy.collectUpTo(0);
+    }
+}
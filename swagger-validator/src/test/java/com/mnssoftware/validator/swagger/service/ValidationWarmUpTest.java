@@ -0,0 +1,79 @@
+package com.mnssoftware.validator.swagger.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mnssoftware.validator.core.converter.ParsedBodyHttpMessageConverter;
+import com.mnssoftware.validator.core.service.ApiNormalisedPath;
+import com.mnssoftware.validator.core.service.NormalisedPath;
+import com.mnssoftware.validator.swagger.service.plan.OperationPlan;
+import com.mnssoftware.validator.swagger.service.schema.JsonSchemaCache;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerOperation;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+public class ValidationWarmUpTest {
+    private static final String SWAGGER_PATH = "/petstore-simple.json";
+
+    private SchemaValidator schemaValidator;
+    private RequestValidator requestValidator;
+    private JsonNode definitions;
+    private OperationPlan plan;
+
+    @Before
+    public void setUp() {
+        Swagger swagger = new SwaggerParser().read(SWAGGER_PATH);
+        schemaValidator = new SchemaValidator(swagger, new JsonSchemaCache(), ValidationPolicy.collectAll());
+        requestValidator = spy(new RequestValidator(schemaValidator, SwaggerValidationConfig.defaults(),
+                swagger.getDefinitions()));
+        definitions = Json.mapper().valueToTree(swagger.getDefinitions());
+        plan = requestValidator.compile(new SwaggerOperation(new ApiNormalisedPath(swagger.getBasePath(), "/api/pets"),
+                swagger.getPath("/api/pets").getPost(), HttpMethod.POST));
+    }
+
+    @Test
+    public void run_servlet_requestsValidatedAsServletRequests() throws Exception {
+        new ValidationWarmUp(schemaValidator, requestValidator, new ResponseValidator(schemaValidator), definitions,
+                false, false).run(Collections.singletonList(plan), 1);
+
+        ArgumentCaptor<HttpServletRequest> requests = ArgumentCaptor.forClass(HttpServletRequest.class);
+        verify(requestValidator, atLeastOnce()).validateRequest(any(NormalisedPath.class), requests.capture(),
+                eq(plan));
+        verify(requestValidator, never()).startBodyValidation(any(OperationPlan.class));
+        List<Object> parsedBodies = new ArrayList<>();
+        for (HttpServletRequest request : requests.getAllValues()) {
+            parsedBodies.add(request.getAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE));
+        }
+        assertThat(parsedBodies, hasItem(notNullValue()));
+    }
+
+    @Test
+    public void run_nonBlocking_bodiesFedToNonBlockingValidator() throws Exception {
+        new ValidationWarmUp(schemaValidator, requestValidator, new ResponseValidator(schemaValidator), definitions,
+                false, true).run(Collections.singletonList(plan), 1);
+
+        verify(requestValidator, atLeastOnce()).startBodyValidation(plan);
+        verify(requestValidator, atLeastOnce()).completeBodyValidation(eq(plan), any(), anyLong(), anyLong());
+        verify(requestValidator, never()).validateRequest(any(NormalisedPath.class), any(HttpServletRequest.class),
+                any(OperationPlan.class));
+    }
+}
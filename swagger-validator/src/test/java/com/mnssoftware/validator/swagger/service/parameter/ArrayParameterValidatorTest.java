@@ -4,7 +4,9 @@ import com.mnssoftware.validator.swagger.service.SchemaValidator;
 import com.mnssoftware.validator.swagger.service.ValidatorTestUtil;
 import com.networknt.schema.ValidationMessage;
 import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.SerializableParameter;
 import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.StringProperty;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -15,6 +17,8 @@ import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ArrayParameterValidatorTest {
@@ -155,4 +159,51 @@ public class ArrayParameterValidatorTest {
         assertThat(messages, not(empty()));
         assertThat(messages.iterator().next().getCode(), equalTo("1008"));
     }
+
+    @Test
+    public void bind_withEnumValues_shouldFail_whenValueDoesntMatchEnum() {
+        BoundParameterValidator bound = classUnderTest.bind(
+                ValidatorTestUtil.enumeratedArrayParam(true, "csv", new IntegerProperty(), "1", "2", "3"));
+
+        assertThat(bound.validate("1,2,3"), empty());
+        assertThat(bound.validate("1,4").iterator().next().getCode(), equalTo("1008"));
+    }
+
+    @Test
+    public void validate_withManyItems_shouldStopScanning_whenMaxItemsExceeded() {
+        ArrayParameterValidator withValidator = new ArrayParameterValidator(schemaValidator);
+        StringBuilder value = new StringBuilder("1");
+        for (int i = 0; i < 50_000; i++) {
+            value.append(',').append(i);
+        }
+
+        Set<ValidationMessage> messages = withValidator.validate(value.toString(),
+                ValidatorTestUtil.arrayParam(true, "csv", null, 5, true, new IntegerProperty()));
+
+        assertThat(messages.iterator().next().getCode(), equalTo("1012"));
+        verifyNoMoreInteractions(schemaValidator);
+    }
+
+    @Test
+    public void validate_withTrailingSeparators_shouldIgnoreTrailingEmptyItems() {
+        ArrayParameterValidator classUnderTest = new ArrayParameterValidator(schemaValidator);
+
+        assertThat(classUnderTest.validate("1|2||", ValidatorTestUtil.arrayParam(true, "pipes", null, 2, null, new StringProperty())),
+                empty());
+        assertThat(classUnderTest.validate("|1", ValidatorTestUtil.arrayParam(true, "pipes", 2, 2, null, new StringProperty())),
+                empty());
+        assertThat(classUnderTest.validate("1,,2", ValidatorTestUtil.arrayParam(true, "csv", 3, 3, null, new StringProperty())),
+                empty());
+    }
+
+    @Test
+    public void validate_withDuplicatesAndEnumMismatch_shouldReportDuplicatesFirst() {
+        SerializableParameter parameter = ValidatorTestUtil.enumeratedArrayParam(true, "csv", new IntegerProperty(), "1", "2");
+        when(parameter.isUniqueItems()).thenReturn(true);
+
+        Set<ValidationMessage> messages = classUnderTest.validate("3,1,1", parameter);
+
+        assertThat(messages, hasSize(1));
+        assertThat(messages.iterator().next().getCode(), equalTo("1031"));
+    }
 }
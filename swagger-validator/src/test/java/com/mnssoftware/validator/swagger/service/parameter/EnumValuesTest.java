@@ -0,0 +1,67 @@
+package com.mnssoftware.validator.swagger.service.parameter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class EnumValuesTest {
+
+    @Test
+    public void of_noValues_allowsAny() {
+        assertThat(EnumValues.of(null), sameInstance(EnumValues.ANY));
+        assertThat(EnumValues.of(Collections.emptyList()), sameInstance(EnumValues.ANY));
+        assertThat(EnumValues.ANY.contains("anything"), equalTo(true));
+    }
+
+    @Test
+    public void of_fewValues_searchedLinearly() {
+        EnumValues underTest = EnumValues.of(asList("available", "pending", "sold"));
+
+        assertThat(underTest.getClass().getSimpleName(), equalTo("Linear"));
+        assertThat(underTest.contains("sold"), equalTo(true));
+        assertThat(underTest.contains("lost"), equalTo(false));
+        assertThat(underTest.contains(null), equalTo(false));
+    }
+
+    @Test
+    public void of_manyValues_hashed() {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            codes.add("C" + i);
+        }
+
+        EnumValues underTest = EnumValues.of(codes);
+
+        assertThat(underTest.getClass().getSimpleName(), equalTo("Hashed"));
+        assertThat(underTest.contains("C199"), equalTo(true));
+        assertThat(underTest.contains("C200"), equalTo(false));
+    }
+
+    @Test
+    public void of_sourceModified_unaffected() {
+        List<String> values = new ArrayList<>(asList("a", "b"));
+        EnumValues underTest = EnumValues.of(values);
+
+        values.add("c");
+
+        assertThat(underTest.contains("c"), equalTo(false));
+    }
+
+    @Test
+    public void view_values_lookedUpInList() {
+        EnumValues underTest = EnumValues.view(asList("a", "b"));
+
+        assertThat(underTest, not(sameInstance(EnumValues.ANY)));
+        assertThat(underTest.contains("b"), equalTo(true));
+        assertThat(underTest.contains("c"), equalTo(false));
+        assertThat(EnumValues.view(null), sameInstance(EnumValues.ANY));
+    }
+}
@@ -101,4 +101,33 @@ public class IntegerParameterValidatorTest {
         classUnderTest.validate("1", param);
     }
 
+    @Test
+    public void validate_withInt32Overflow_shouldFail() {
+        Set<ValidationMessage> messages = classUnderTest.validate("2147483648", ValidatorTestUtil.intParam());
+        assertThat(messages.iterator().next().getCode(), equalTo("1029"));
+    }
+
+    @Test
+    public void validate_withoutFormat_shouldValidateAsInt64() {
+        SerializableParameter param = ValidatorTestUtil.intParam();
+        when(param.getFormat()).thenReturn(null);
+        assertThat(classUnderTest.validate("2147483648", param), empty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bind_withNonIntegerFormat_shouldThrow() {
+        SerializableParameter param = ValidatorTestUtil.intParam();
+        when(param.getFormat()).thenReturn("float");
+        classUnderTest.bind(param);
+    }
+
+    @Test
+    public void bind_withMalformedValues_shouldReuseMessages() {
+        BoundParameterValidator validator = classUnderTest.bind(ValidatorTestUtil.intParam(new BigDecimal(1), new BigDecimal(3)));
+
+        assertThat(validator.validate("abc"), sameInstance(validator.validate("1.5")));
+        assertThat(validator.validate("0").iterator().next().getCode(), equalTo("1015"));
+        assertThat(validator.validate("4").iterator().next().getCode(), equalTo("1011"));
+        assertThat(validator.validate("2"), empty());
+    }
 }
@@ -90,4 +90,23 @@ public class NumberParameterValidatorTest {
         when(param.getFormat()).thenReturn("integer");
         classUnderTest.validate("1.1", param);
     }
+
+    @Test
+    public void validate_withoutFormat_shouldValidateAsDouble() {
+        SerializableParameter param = doubleParam();
+        when(param.getFormat()).thenReturn(null);
+        assertThat(classUnderTest.validate("1e3", param), empty());
+        assertThat(classUnderTest.validate("1e3x", param), not(empty()));
+    }
+
+    @Test
+    public void bind_withMalformedValues_shouldReuseMessages() {
+        BoundParameterValidator validator = classUnderTest.bind(floatParam(new BigDecimal("1.0"), new BigDecimal("1.2")));
+
+        assertThat(validator.validate("abc"), sameInstance(validator.validate("4,5")));
+        assertThat(validator.validate("abc").iterator().next().getCode(), equalTo("1029"));
+        assertThat(validator.validate("0.9").iterator().next().getCode(), equalTo("1015"));
+        assertThat(validator.validate("1.3").iterator().next().getCode(), equalTo("1011"));
+        assertThat(validator.validate("1.1"), empty());
+    }
 }
@@ -0,0 +1,120 @@
+package com.mnssoftware.validator.swagger.service.parameter;
+
+import com.mnssoftware.validator.swagger.service.parameter.NumericParser.Result;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class NumericParserTest {
+
+    private static final String[] LONGS = {
+            "0", "-0", "+0", "123", "-123", "+", "-", "", "12a", "1.0", " 1", "1 ", "٣",
+            "2147483647", "2147483648", "-2147483648", "-2147483649",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "99999999999999999999999"
+    };
+
+    private static final String[] DOUBLES = {
+            "0", "-0", "0.0", "1", "-1", "+1", "1.5", ".5", "5.", ".", "-.", "+", "", "  1.25  ", "1e10", "1E-10",
+            "1e", "1e+", "1e+5", "1.5e-3d", "2f", "2F", "2D", "2x", "1.2.3", "1..2", "NaN", "-NaN", "Infinity",
+            "-Infinity", "Infinityd", "nan", "0x1p3", "0X1.8P-1", "0x.8p1", "0x1", "0xp1", "0x1p", "0x1.8p1f",
+            "123456789012345", "1234567890123456789", "0.1234567890123456789", "1.7976931348623157e308", "1e400",
+            "1e-400", "4.9e-324", "0.1", "0.2", "0.30000000000000004", "9007199254740993", "1e22", "1e23",
+            "123.456e-7", "not-a-Number", "4,5", "1e99999999999", "1_000", "١", "0.000000000000000000001"
+    };
+
+    @Test
+    public void checkLong_matchesParseLong() {
+        for (String value : LONGS) {
+            assertThat(value, NumericParser.checkLong(value, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE),
+                    equalTo(isLong(value) ? Result.VALID : Result.MALFORMED));
+            assertThat(value, NumericParser.checkLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE),
+                    equalTo(isInt(value) ? Result.VALID : Result.MALFORMED));
+        }
+    }
+
+    @Test
+    public void checkLong_range_checked() {
+        assertThat(NumericParser.checkLong("0", Long.MIN_VALUE, Long.MAX_VALUE, 1, 3), equalTo(Result.BELOW_MINIMUM));
+        assertThat(NumericParser.checkLong("1", Long.MIN_VALUE, Long.MAX_VALUE, 1, 3), equalTo(Result.VALID));
+        assertThat(NumericParser.checkLong("3", Long.MIN_VALUE, Long.MAX_VALUE, 1, 3), equalTo(Result.VALID));
+        assertThat(NumericParser.checkLong("4", Long.MIN_VALUE, Long.MAX_VALUE, 1, 3), equalTo(Result.ABOVE_MAXIMUM));
+    }
+
+    @Test
+    public void checkDouble_matchesParseDouble() {
+        for (String value : DOUBLES) {
+            assertDoubleMatches(value);
+        }
+    }
+
+    @Test
+    public void checkDouble_randomDecimals_matchParseDouble() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder value = new StringBuilder();
+            if (random.nextBoolean()) {
+                value.append('-');
+            }
+            value.append(random.nextInt(1_000_000));
+            if (random.nextBoolean()) {
+                value.append('.').append(random.nextInt(1_000_000_000));
+            }
+            if (random.nextInt(4) == 0) {
+                value.append('e').append(random.nextInt(60) - 30);
+            }
+            assertDoubleMatches(value.toString());
+        }
+    }
+
+    @Test
+    public void checkDouble_range_checked() {
+        assertThat(NumericParser.checkDouble("0.9", 1.0, 1.2), equalTo(Result.BELOW_MINIMUM));
+        assertThat(NumericParser.checkDouble("1.1", 1.0, 1.2), equalTo(Result.VALID));
+        assertThat(NumericParser.checkDouble("1.3", 1.0, 1.2), equalTo(Result.ABOVE_MAXIMUM));
+        assertThat(NumericParser.checkDouble("NaN", 1.0, 1.2), equalTo(Result.VALID));
+    }
+
+    private static void assertDoubleMatches(String value) {
+        Double expected;
+        try {
+            expected = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            expected = null;
+        }
+        if (expected == null) {
+            assertThat(value, NumericParser.checkDouble(value, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY),
+                    equalTo(Result.MALFORMED));
+        } else {
+            // a value is only accepted by a range of a single double if it parsed to exactly that double
+            assertThat(value, NumericParser.checkDouble(value, expected, expected), equalTo(Result.VALID));
+            if (!expected.isNaN() && !expected.isInfinite()) {
+                assertThat(value, NumericParser.checkDouble(value, Math.nextUp(expected), Double.POSITIVE_INFINITY),
+                        equalTo(Result.BELOW_MINIMUM));
+                assertThat(value, NumericParser.checkDouble(value, Double.NEGATIVE_INFINITY, Math.nextDown(expected)),
+                        equalTo(Result.ABOVE_MAXIMUM));
+            }
+        }
+    }
+
+    private static boolean isLong(String value) {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isInt(String value) {
+        try {
+            Integer.parseInt(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -62,4 +62,21 @@ public class ParameterValidatorsTest {
         assertThat(parameterValidators.validate("1,2,3", new BodyParameter()), empty());
     }
 
+    @Test
+    public void bind_withInvalidIntegerParam_shouldFail() {
+        Set<ValidationMessage> messages = parameterValidators.bind(ValidatorTestUtil.intParam()).validate("1.0");
+        assertThat(messages, not(empty()));
+        assertThat(messages.iterator().next().getCode(), equalTo("1029"));
+    }
+
+    @Test
+    public void bind_withValidArrayParam_shouldPass() {
+        assertThat(parameterValidators.bind(ValidatorTestUtil.intArrayParam(true, "csv")).validate("1,2,3"), empty());
+    }
+
+    @Test
+    public void bind_withNonSerializableParam_shouldPass() {
+        assertThat(parameterValidators.bind(new BodyParameter()), equalTo(BoundParameterValidator.NONE));
+    }
+
 }
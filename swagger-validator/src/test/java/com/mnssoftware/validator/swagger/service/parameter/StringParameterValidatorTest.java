@@ -4,11 +4,14 @@ import com.networknt.schema.ValidationMessage;
 import io.swagger.models.parameters.SerializableParameter;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static com.mnssoftware.validator.swagger.service.ValidatorTestUtil.stringParam;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
 public class StringParameterValidatorTest {
@@ -56,9 +59,68 @@ public class StringParameterValidatorTest {
         assertThat(messages.iterator().next().getCode(), equalTo("1023"));
     }
 
+    @Test
+    public void validate_withEncodedValue_shouldPass_whenDecodedPatternMatches() {
+        assertThat(classUnderTest.validate("hello%20world", stringParamWithPattern("[a-z ]*")), empty());
+    }
+
+    @Test
+    public void bind_withValue_shouldPass_whenPatternMatches() {
+        BoundParameterValidator bound = classUnderTest.bind(stringParamWithPattern("[a-z]*"));
+
+        assertThat(bound.validate("hello"), empty());
+        assertThat(bound.validate("world"), empty());
+    }
+
+    @Test
+    public void bind_withValue_shouldFail_whenPatternNotMatches() {
+        Set<ValidationMessage> messages = classUnderTest.bind(stringParamWithPattern("[0-9]*")).validate("hello");
+        assertThat(messages, not(empty()));
+        assertThat(messages.iterator().next().getCode(), equalTo("1023"));
+    }
+
+    @Test
+    public void bind_withPartialMatch_shouldFail() {
+        assertThat(classUnderTest.bind(stringParamWithPattern("[a-z]")).validate("hello"), not(empty()));
+    }
+
+    @Test
+    public void bind_withInvalidPattern_shouldThrow() {
+        try {
+            classUnderTest.bind(stringParamWithPattern("[a-z"));
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("Test Parameter"));
+        }
+    }
+
+    @Test
+    public void validate_withInvalidPattern_shouldThrow() {
+        try {
+            classUnderTest.validate("hello", stringParamWithPattern("[a-z"));
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("Test Parameter"));
+        }
+    }
+
     private SerializableParameter stringParamWithPattern(String pattern) {
         SerializableParameter stringParam = stringParam(true);
         when(stringParam.getPattern()).thenReturn(pattern);
         return stringParam;
     }
+
+    @Test
+    public void bind_withLargeEnum_shouldCheckMembership() {
+        SerializableParameter parameter = stringParam();
+        List<String> currencies = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            currencies.add(String.format("C%02d", i));
+        }
+        when(parameter.getEnum()).thenReturn(currencies);
+        BoundParameterValidator bound = classUnderTest.bind(parameter);
+
+        assertThat(bound.validate("C42"), empty());
+        assertThat(bound.validate("XYZ").iterator().next().getCode(), equalTo("1008"));
+    }
 }
@@ -0,0 +1,107 @@
+package com.mnssoftware.validator.swagger.service.plan;
+
+import com.mnssoftware.validator.core.service.ApiNormalisedPath;
+import com.mnssoftware.validator.swagger.service.parameter.ParameterValidators;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerOperation;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.HeaderParameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.QueryParameter;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class OperationPlanTest {
+
+    private final ParameterValidators parameterValidators = new ParameterValidators(null);
+
+    @Test(expected = NullPointerException.class)
+    public void compile_nullOperation_throws() {
+        OperationPlan.compile(null, parameterValidators);
+    }
+
+    @Test
+    public void compile_noParameters_emptyPlan() {
+        OperationPlan underTest = OperationPlan.compile(operation("/api/pets", new Operation()), parameterValidators);
+
+        assertThat(underTest.getPathParameters(), empty());
+        assertThat(underTest.getQueryParameters(), empty());
+        assertThat(underTest.isBodyExpected(), equalTo(false));
+        assertThat(underTest.isBodyRequired(), equalTo(false));
+        assertThat(underTest.getBodySchema(), nullValue());
+    }
+
+    @Test
+    public void compile_pathParameters_boundToSegment() {
+        Operation operation = new Operation()
+                .parameter(new PathParameter().name("id").type("integer").format("int64"))
+                .parameter(new PathParameter().name("Name").type("string"));
+
+        OperationPlan underTest = OperationPlan.compile(operation("/api/{id}/pets/{name}", operation), parameterValidators);
+
+        assertThat(underTest.getPathParameters(), hasSize(2));
+        assertThat(underTest.getPathParameters().get(0).getIndex(), equalTo(2));
+        assertThat(underTest.getPathParameters().get(0).getName(), equalTo("id"));
+        assertThat(underTest.getPathParameters().get(1).getIndex(), equalTo(4));
+        assertThat(underTest.getPathParameters().get(1).getName(), equalTo("Name"));
+        assertThat(underTest.getPathParameters().get(0).getValidator().validate("abc"), not(empty()));
+        assertThat(underTest.getPathParameters().get(0).getValidator().validate("123"), empty());
+    }
+
+    @Test
+    public void compile_queryParameters_bound() {
+        Operation operation = new Operation()
+                .parameter(new QueryParameter().name("limit").type("integer").format("int32").required(true))
+                .parameter(new HeaderParameter().name("X-Trace").type("string"));
+
+        OperationPlan underTest = OperationPlan.compile(operation("/api/pets", operation), parameterValidators);
+
+        assertThat(underTest.getPathParameters(), empty());
+        assertThat(underTest.getQueryParameters(), hasSize(1));
+        ParameterSlot slot = underTest.getQueryParameters().get(0);
+        assertThat(slot.getIndex(), equalTo(-1));
+        assertThat(slot.getName(), equalTo("limit"));
+        assertThat(slot.isRequired(), equalTo(true));
+        assertThat(slot.getValidator().validate("ten"), not(empty()));
+    }
+
+    @Test
+    public void compile_bodyParameter_schemaResolved() {
+        ModelImpl schema = new ModelImpl();
+        BodyParameter body = new BodyParameter().schema(schema);
+        body.setRequired(true);
+
+        OperationPlan underTest = OperationPlan.compile(operation("/api/pets", new Operation().parameter(body)),
+                parameterValidators);
+
+        assertThat(underTest.isBodyExpected(), equalTo(true));
+        assertThat(underTest.isBodyRequired(), equalTo(true));
+        assertThat(underTest.getBodySchema(), sameInstance(schema));
+    }
+
+    @Test
+    public void compile_operationId_usedAsOperationName() {
+        OperationPlan underTest = OperationPlan.compile(operation("/api/pets", new Operation().operationId("findPets")),
+                parameterValidators);
+
+        assertThat(underTest.getOperationName(), equalTo("findPets"));
+    }
+
+    @Test
+    public void compile_noOperationId_methodAndPathUsedAsOperationName() {
+        SwaggerOperation swaggerOperation = new SwaggerOperation(new ApiNormalisedPath("", "/api/pets/{id}"),
+                new Operation(), HttpMethod.GET);
+
+        OperationPlan underTest = OperationPlan.compile(swaggerOperation, parameterValidators);
+
+        assertThat(underTest.getOperationName(), equalTo("GET /api/pets/{id}"));
+    }
+
+    private static SwaggerOperation operation(String path, Operation operation) {
+        return new SwaggerOperation(new ApiNormalisedPath("", path), operation);
+    }
+}
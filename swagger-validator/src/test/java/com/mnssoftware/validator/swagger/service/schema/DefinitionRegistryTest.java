@@ -0,0 +1,72 @@
+package com.mnssoftware.validator.swagger.service.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.ValidationMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class DefinitionRegistryTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String DEFINITIONS = "{"
+            + "\"Pet\":{\"type\":\"object\",\"required\":[\"name\"],\"properties\":{"
+            + "\"name\":{\"type\":\"string\"},\"details\":{\"$ref\":\"#/definitions/Details\"}}},"
+            + "\"Details\":{\"type\":\"object\",\"properties\":{\"code\":{\"type\":\"integer\"}}}}";
+
+    private DefinitionRegistry underTest;
+
+    @Before
+    public void setUp() throws IOException {
+        underTest = new DefinitionRegistry(MAPPER.readTree(DEFINITIONS), new SchemaValidatorsConfig());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructor_nullConfig_throws() {
+        new DefinitionRegistry(null, null);
+    }
+
+    @Test
+    public void constructor_noDefinitions_empty() {
+        DefinitionRegistry underTest = new DefinitionRegistry(null, new SchemaValidatorsConfig());
+
+        assertThat(underTest.getDefinitionStats().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void getDefinitionStats_reportsEachDefinition() {
+        assertThat(underTest.getDefinitionStats().keySet(), contains("Pet", "Details"));
+        DefinitionRegistry.DefinitionStats stats = underTest.getDefinitionStats().get("Pet");
+        assertThat(stats.getName(), equalTo("Pet"));
+        assertThat(stats.getCompileNanos(), greaterThan(0L));
+        assertThat(stats.getEstimatedRetainedBytes(), greaterThan(0L));
+    }
+
+    @Test
+    public void compile_referenceToDefinition_validates() throws IOException {
+        JsonSchema schema = underTest.compile(MAPPER.readTree("{\"$ref\":\"#/definitions/Pet\"}"));
+
+        Set<ValidationMessage> messages = schema.validate(MAPPER.readTree("{\"details\":{\"code\":\"abc\"}}"));
+
+        assertThat(messages, hasSize(2));
+        assertThat(messages.stream().map(ValidationMessage::getCode).collect(java.util.stream.Collectors.toSet()),
+                containsInAnyOrder("1028", "1029"));
+    }
+
+    @Test
+    public void compile_inlineSchemaWithReference_validates() throws IOException {
+        JsonNode schemaNode = MAPPER.readTree("{\"type\":\"array\",\"items\":{\"$ref\":\"#/definitions/Details\"}}");
+        JsonSchema schema = underTest.compile(schemaNode);
+
+        assertThat(schema.validate(MAPPER.readTree("[{\"code\":1},{\"code\":2}]")), empty());
+        assertThat(schema.validate(MAPPER.readTree("[{\"code\":1},{\"code\":\"two\"}]")), hasSize(1));
+    }
+}
@@ -0,0 +1,104 @@
+package com.mnssoftware.validator.swagger.service.schema;
+
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.SchemaValidatorsConfig;
+import io.swagger.models.ModelImpl;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class JsonSchemaCacheTest {
+
+    private final SchemaValidatorsConfig looseConfig = config(true);
+    private final SchemaValidatorsConfig strictConfig = config(false);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_zeroSize_throws() {
+        new JsonSchemaCache(0);
+    }
+
+    @Test
+    public void get_sameSchema_compiledOnce() throws IOException {
+        JsonSchemaCache underTest = new JsonSchemaCache();
+        ModelImpl model = new ModelImpl();
+
+        JsonSchema first = underTest.get(model, looseConfig, () -> mock(JsonSchema.class));
+        JsonSchema second = underTest.get(model, looseConfig, () -> mock(JsonSchema.class));
+
+        assertThat(second, sameInstance(first));
+        assertThat(underTest.getMissCount(), equalTo(1L));
+        assertThat(underTest.getHitCount(), equalTo(1L));
+        assertThat(underTest.size(), equalTo(1));
+    }
+
+    @Test
+    public void get_equalButDistinctSchemas_compiledSeparately() throws IOException {
+        JsonSchemaCache underTest = new JsonSchemaCache();
+
+        JsonSchema first = underTest.get(new ModelImpl(), looseConfig, () -> mock(JsonSchema.class));
+        JsonSchema second = underTest.get(new ModelImpl(), looseConfig, () -> mock(JsonSchema.class));
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(underTest.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    public void get_differentConfig_compiledSeparately() throws IOException {
+        JsonSchemaCache underTest = new JsonSchemaCache();
+        ModelImpl model = new ModelImpl();
+
+        JsonSchema loose = underTest.get(model, looseConfig, () -> mock(JsonSchema.class));
+        JsonSchema strict = underTest.get(model, strictConfig, () -> mock(JsonSchema.class));
+
+        assertThat(strict, not(sameInstance(loose)));
+        assertThat(underTest.getMissCount(), equalTo(2L));
+        assertThat(underTest.getHitCount(), equalTo(0L));
+    }
+
+    @Test
+    public void get_failFastConfig_compiledSeparately() throws IOException {
+        JsonSchemaCache underTest = new JsonSchemaCache();
+        ModelImpl model = new ModelImpl();
+        SchemaValidatorsConfig failFastConfig = config(true);
+        failFastConfig.setFailFast(true);
+
+        JsonSchema collecting = underTest.get(model, looseConfig, () -> mock(JsonSchema.class));
+        JsonSchema failFast = underTest.get(model, failFastConfig, () -> mock(JsonSchema.class));
+
+        assertThat(failFast, not(sameInstance(collecting)));
+        assertThat(underTest.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    public void get_beyondMaximumSize_evicts() throws IOException {
+        JsonSchemaCache underTest = new JsonSchemaCache(2);
+
+        for (int i = 0; i < 5; i++) {
+            underTest.get(new ModelImpl(), looseConfig, () -> mock(JsonSchema.class));
+        }
+
+        assertThat(underTest.size(), equalTo(2));
+        assertThat(underTest.getEvictionCount(), equalTo(3L));
+    }
+
+    @Test(expected = IOException.class)
+    public void get_compilerFails_throws() throws IOException {
+        JsonSchemaCache underTest = new JsonSchemaCache();
+
+        underTest.get(new ModelImpl(), looseConfig, () -> {
+            throw new IOException();
+        });
+    }
+
+    private static SchemaValidatorsConfig config(boolean typeLoose) {
+        SchemaValidatorsConfig config = new SchemaValidatorsConfig();
+        config.setTypeLoose(typeLoose);
+        return config;
+    }
+}
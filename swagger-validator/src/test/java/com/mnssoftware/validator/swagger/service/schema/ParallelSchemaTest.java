@@ -0,0 +1,127 @@
+package com.mnssoftware.validator.swagger.service.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.ValidationMessage;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ParallelSchemaTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private static final String DEFINITIONS = "{"
+            + "\"Pet\":{\"type\":\"object\",\"required\":[\"name\"],\"additionalProperties\":false,\"properties\":{"
+            + "\"name\":{\"type\":\"string\",\"minLength\":2},\"tag\":{\"type\":\"string\",\"enum\":[\"cat\",\"dog\"]},"
+            + "\"details\":{\"$ref\":\"#/definitions/Details\"}}},"
+            + "\"Details\":{\"type\":\"object\",\"required\":[\"code\"],\"properties\":{\"code\":{\"type\":\"integer\"}}},"
+            + "\"Pets\":{\"type\":\"array\",\"maxItems\":50,\"items\":{\"$ref\":\"#/definitions/Pet\"}},"
+            + "\"Either\":{\"allOf\":[{\"$ref\":\"#/definitions/Pet\"}]}}";
+
+    private JsonNode definitions;
+    private DefinitionRegistry registry;
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        definitions = MAPPER.readTree(DEFINITIONS);
+        registry = new DefinitionRegistry(definitions, new SchemaValidatorsConfig());
+    }
+
+    @Test
+    public void validate_array_sameFailuresInSameOrderAsWholeSchema() throws IOException {
+        ArrayNode pets = MAPPER.createArrayNode();
+        for (int i = 0; i < 60; i++) {
+            ObjectNode pet = pets.addObject();
+            if (i % 3 != 0) {
+                pet.put("name", i % 2 == 0 ? "x" : "tiddles");
+            }
+            pet.put("tag", i % 5 == 0 ? "lizard" : "cat");
+            pet.putObject("details").put("code", i % 7 == 0 ? "abc" : "1");
+            if (i % 11 == 0) {
+                pet.put("extra", true);
+            }
+        }
+
+        assertSameAsWholeSchema("{\"$ref\":\"#/definitions/Pets\"}", pets);
+    }
+
+    @Test
+    public void validate_object_sameFailuresInSameOrderAsWholeSchema() throws IOException {
+        assertSameAsWholeSchema("{\"$ref\":\"#/definitions/Pet\"}",
+                MAPPER.readTree("{\"tag\":\"lizard\",\"extra\":1,\"details\":{\"code\":true}}"));
+    }
+
+    @Test
+    public void validate_inlineArray_sameFailuresInSameOrderAsWholeSchema() throws IOException {
+        assertSameAsWholeSchema("{\"type\":\"array\",\"minItems\":3,\"items\":{\"type\":\"integer\",\"maximum\":5}}",
+                MAPPER.readTree("[1,\"two\",7,8.5]"));
+    }
+
+    @Test
+    public void validate_wrongType_onlyDocumentFailure() throws IOException {
+        assertSameAsWholeSchema("{\"$ref\":\"#/definitions/Pets\"}", MAPPER.readTree("{\"name\":\"tiddles\"}"));
+    }
+
+    @Test
+    public void validate_valid_noFailures() throws IOException {
+        ParallelSchema underTest = split("{\"$ref\":\"#/definitions/Pets\"}").orElseThrow(AssertionError::new);
+
+        assertThat(underTest.validate(MAPPER.readTree("[{\"name\":\"tiddles\"},{\"name\":\"rex\",\"tag\":\"dog\"}]"),
+                POOL), empty());
+    }
+
+    @Test
+    public void split_combiningKeywords_notSplit() throws IOException {
+        assertThat(split("{\"$ref\":\"#/definitions/Either\"}").isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void split_unknownReference_notSplit() throws IOException {
+        assertThat(split("{\"$ref\":\"#/definitions/Unknown\"}").isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void split_scalar_notSplit() throws IOException {
+        assertThat(split("{\"type\":\"string\"}").isPresent(), equalTo(false));
+    }
+
+    private Optional<ParallelSchema> split(String schema) throws IOException {
+        return ParallelSchema.split(MAPPER.readTree(schema), definitions, registry);
+    }
+
+    private void assertSameAsWholeSchema(String schema, JsonNode value) throws IOException {
+        List<String> expected = messages(registry.compile(MAPPER.readTree(schema)).validate(value));
+        ParallelSchema underTest = split(schema).orElseThrow(AssertionError::new);
+
+        List<String> actual = messages(underTest.validate(value, POOL));
+
+        assertThat(actual, not(empty()));
+        assertThat(actual, equalTo(expected));
+    }
+
+    private static List<String> messages(Iterable<ValidationMessage> messages) {
+        List<String> result = new ArrayList<>();
+        for (ValidationMessage message : messages) {
+            result.add(message.getMessage());
+        }
+        return result;
+    }
+}
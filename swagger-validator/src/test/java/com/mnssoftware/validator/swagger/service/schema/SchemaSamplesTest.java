@@ -0,0 +1,101 @@
+package com.mnssoftware.validator.swagger.service.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.ValidationMessage;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class SchemaSamplesTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String DEFINITIONS = "{\"Pet\":{\"type\":\"object\",\"required\":[\"name\",\"tag\"],"
+            + "\"properties\":{\"name\":{\"type\":\"string\",\"minLength\":3},"
+            + "\"tag\":{\"type\":\"string\",\"enum\":[\"cat\",\"dog\"]},"
+            + "\"born\":{\"type\":\"string\",\"format\":\"date\"},"
+            + "\"age\":{\"type\":\"integer\",\"minimum\":1,\"exclusiveMinimum\":true},"
+            + "\"weight\":{\"type\":\"number\",\"maximum\":10},"
+            + "\"vaccinated\":{\"type\":\"boolean\"},"
+            + "\"toys\":{\"type\":\"array\",\"minItems\":2,\"items\":{\"type\":\"string\"}}}}}";
+
+    @Test
+    public void valid_referencedObject_passesValidation() throws Exception {
+        JsonNode definitions = MAPPER.readTree(DEFINITIONS);
+        JsonNode schema = MAPPER.readTree("{\"type\":\"array\",\"items\":{\"$ref\":\"#/definitions/Pet\"}}");
+
+        JsonNode sample = SchemaSamples.valid(schema, definitions);
+
+        assertThat(sample.toString(), equalTo("[{\"name\":\"aaa\",\"tag\":\"cat\",\"born\":\"2020-01-01\","
+                + "\"age\":2,\"weight\":10.0,\"vaccinated\":true,\"toys\":[\"a\",\"a\"]}]"));
+        assertThat(validate(definitions.get("Pet"), sample.get(0)), empty());
+    }
+
+    @Test
+    public void invalid_referencedObject_failsValidation() throws Exception {
+        JsonNode definitions = MAPPER.readTree(DEFINITIONS);
+
+        JsonNode sample = SchemaSamples.invalid(MAPPER.readTree("{\"$ref\":\"#/definitions/Pet\"}"), definitions);
+
+        assertThat(sample.get("name").isObject(), equalTo(true));
+        assertThat(sample.get("toys").get(0).isObject(), equalTo(true));
+        assertThat(validate(definitions.get("Pet"), sample), not(empty()));
+    }
+
+    @Test
+    public void valid_unresolvableReference_emptyObject() throws Exception {
+        JsonNode sample = SchemaSamples.valid(MAPPER.readTree("{\"$ref\":\"#/definitions/Missing\"}"), null);
+
+        assertThat(sample.toString(), equalTo("{}"));
+    }
+
+    @Test
+    public void valid_recursiveSchema_bounded() throws Exception {
+        JsonNode definitions = MAPPER.readTree(
+                "{\"Node\":{\"type\":\"object\",\"properties\":{\"next\":{\"$ref\":\"#/definitions/Node\"}}}}");
+
+        JsonNode sample = SchemaSamples.valid(MAPPER.readTree("{\"$ref\":\"#/definitions/Node\"}"), definitions);
+
+        assertThat(sample.isObject(), equalTo(true));
+    }
+
+    @Test
+    public void valid_defaultAndExample_preferred() throws Exception {
+        assertThat(SchemaSamples.valid(MAPPER.readTree("{\"type\":\"integer\",\"default\":7}"), null).asInt(),
+                equalTo(7));
+        assertThat(SchemaSamples.valid(MAPPER.readTree("{\"type\":\"string\",\"example\":\"rex\"}"), null).asText(),
+                equalTo("rex"));
+    }
+
+    @Test
+    public void text_array_commaSeparated() throws Exception {
+        JsonNode sample = SchemaSamples.valid(
+                MAPPER.readTree("{\"type\":\"array\",\"minItems\":2,\"items\":{\"type\":\"integer\"}}"), null);
+
+        assertThat(SchemaSamples.text(sample), equalTo("1,1"));
+    }
+
+    @Test
+    public void invalidText_parameterTypes_failValidation() throws Exception {
+        assertThat(SchemaSamples.invalidText(MAPPER.readTree("{\"type\":\"integer\"}")), equalTo("x"));
+        assertThat(SchemaSamples.invalidText(MAPPER.readTree("{\"type\":\"string\",\"enum\":[\"cat\"]}")),
+                equalTo("not-cat"));
+        assertThat(SchemaSamples.invalidText(MAPPER.readTree("{\"type\":\"string\",\"minLength\":2}")),
+                equalTo(""));
+        assertThat(SchemaSamples.invalidText(MAPPER.readTree("{\"type\":\"string\"}")), equalTo("a"));
+    }
+
+    private static Set<ValidationMessage> validate(JsonNode schema, JsonNode value) {
+        SchemaValidatorsConfig config = new SchemaValidatorsConfig();
+        config.setTypeLoose(true);
+        return JsonSchemaFactory.getInstance().getSchema(schema, config).validate(value);
+    }
+}
@@ -0,0 +1,157 @@
+package com.mnssoftware.validator.swagger.service.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.mnssoftware.validator.swagger.service.SchemaValidator;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
+import com.networknt.schema.ValidationMessage;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.StringProperty;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class NonBlockingBodyValidatorTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String INVALID_PET = "{\"tag\":\"lizard\",\"nicknames\":[\"a\",\"b\",\"c\"],"
+            + "\"extra\":{\"deep\":[[{\"x\":1}]]},\"details\":{\"code\":true}}";
+
+    private Swagger swagger;
+    private StreamingSchema schema;
+    private StreamingBodyValidator streamingValidator = new StreamingBodyValidator(Integer.MAX_VALUE);
+
+    @Before
+    public void setUp() {
+        ArrayProperty nicknames = new ArrayProperty(new StringProperty());
+        nicknames.setMaxItems(2);
+        swagger = new Swagger()
+                .model("Pet", new ModelImpl().type("object")
+                        .property("name", new StringProperty().minLength(2))
+                        .property("tag", new StringProperty()._enum(Arrays.asList("cat", "dog")))
+                        .property("nicknames", nicknames)
+                        .property("details", new ObjectProperty(Collections.singletonMap("code", new IntegerProperty())))
+                        .required("name"));
+        schema = new StreamingSchemaCompiler(swagger.getDefinitions()).compile(pet()).orElseThrow(AssertionError::new);
+    }
+
+    @Test
+    public void feed_anyChunkSize_sameAsBlockingValidation() throws IOException {
+        Set<String> expected = fields(validateBlocking(INVALID_PET));
+
+        for (int chunkSize = 1; chunkSize <= INVALID_PET.length(); chunkSize++) {
+            NonBlockingBodyValidator underTest = NonBlockingBodyValidator.streaming(streamingValidator, schema);
+
+            feed(underTest, INVALID_PET, chunkSize);
+
+            assertThat("chunk size " + chunkSize, fields(underTest.finish()), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void feed_failFast_completesBeforeEndOfBody() throws IOException {
+        NonBlockingBodyValidator underTest = NonBlockingBodyValidator.streaming(new StreamingBodyValidator(1), schema);
+        byte[] body = INVALID_PET.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(underTest.feed(ByteBuffer.wrap(body, 0, 20)), equalTo(true));
+        assertThat(underTest.finish(), hasSize(1));
+    }
+
+    @Test
+    public void feed_leavesChunkPositionUnchanged() throws IOException {
+        NonBlockingBodyValidator underTest = NonBlockingBodyValidator.streaming(streamingValidator, schema);
+        ByteBuffer chunk = ByteBuffer.wrap("{\"name\":\"tiddles\"}".getBytes(StandardCharsets.UTF_8));
+
+        underTest.feed(chunk);
+
+        assertThat(chunk.position(), equalTo(0));
+        assertThat(underTest.isComplete(), equalTo(true));
+        assertThat(underTest.finish(), empty());
+    }
+
+    @Test
+    public void finish_tree_validatesWholeDocument() throws IOException {
+        SchemaValidator treeValidator = new SchemaValidator(swagger);
+        NonBlockingBodyValidator underTest = NonBlockingBodyValidator.tree(body -> treeValidator.validate(body, pet()));
+
+        feed(underTest, INVALID_PET, 3);
+
+        assertThat(underTest.isComplete(), equalTo(true));
+        assertThat(fields(underTest.finish()), equalTo(fields(validateBlocking(INVALID_PET))));
+    }
+
+    @Test
+    public void finish_rejecting_rejectsAnyContent() throws IOException {
+        Set<ValidationMessage> unexpected = Collections.singleton(SwaggerHelper.buildValidationMessage("9001", "body"));
+        NonBlockingBodyValidator underTest = NonBlockingBodyValidator.rejecting(unexpected);
+
+        assertThat(underTest.feed(ByteBuffer.wrap("  {".getBytes(StandardCharsets.UTF_8))), equalTo(true));
+        assertThat(underTest.finish(), equalTo(unexpected));
+    }
+
+    @Test
+    public void finish_whitespaceOnly_empty() throws IOException {
+        NonBlockingBodyValidator underTest = NonBlockingBodyValidator.streaming(streamingValidator, schema);
+
+        feed(underTest, "  \n ", 1);
+
+        assertThat(underTest.finish(), empty());
+        assertThat(underTest.isEmpty(), equalTo(true));
+    }
+
+    @Test(expected = IOException.class)
+    public void finish_truncatedDocument_throws() throws IOException {
+        NonBlockingBodyValidator underTest = NonBlockingBodyValidator.streaming(streamingValidator, schema);
+
+        feed(underTest, "{\"name\":\"tiddles\",\"details\":{", 4);
+        underTest.finish();
+    }
+
+    @Test(expected = IOException.class)
+    public void feed_malformedDocument_throws() throws IOException {
+        NonBlockingBodyValidator underTest = NonBlockingBodyValidator.streaming(streamingValidator, schema);
+
+        feed(underTest, "{\"name\":tiddles}", 4);
+    }
+
+    private Model pet() {
+        return new RefModel("#/definitions/Pet");
+    }
+
+    private Set<ValidationMessage> validateBlocking(String body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return streamingValidator.validate(parser, schema);
+        }
+    }
+
+    private static void feed(NonBlockingBodyValidator underTest, String body, int chunkSize) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            underTest.feed(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)).slice());
+        }
+    }
+
+    private static Set<String> fields(final Set<ValidationMessage> messages) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (ValidationMessage message : messages) {
+            fields.add(message.getCode() + " " + message.getMessage().split(":")[0]);
+        }
+        return fields;
+    }
+}
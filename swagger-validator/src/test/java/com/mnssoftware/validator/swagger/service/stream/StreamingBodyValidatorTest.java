@@ -0,0 +1,155 @@
+package com.mnssoftware.validator.swagger.service.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.mnssoftware.validator.swagger.service.SchemaValidator;
+import com.networknt.schema.ValidationMessage;
+import io.swagger.models.ArrayModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.BooleanProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.util.Json;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class StreamingBodyValidatorTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private Swagger swagger;
+    private SchemaValidator treeValidator;
+    private StreamingSchemaCompiler compiler;
+    private StreamingBodyValidator underTest = new StreamingBodyValidator(Integer.MAX_VALUE);
+
+    @Before
+    public void setUp() {
+        IntegerProperty code = new IntegerProperty();
+        code.setMinimum(new BigDecimal(100));
+        code.setMaximum(new BigDecimal(599));
+        StringProperty tag = new StringProperty()._enum(Arrays.asList("cat", "dog"));
+        StringProperty name = new StringProperty().minLength(2).maxLength(10).pattern("^[a-z]+$");
+        ArrayProperty nicknames = new ArrayProperty(new StringProperty());
+        nicknames.setMinItems(1);
+        nicknames.setMaxItems(2);
+
+        swagger = new Swagger()
+                .model("Details", new ModelImpl().type("object")
+                        .property("code", code)
+                        .property("message", new StringProperty())
+                        .required("code")
+                        .required("message"))
+                .model("Pet", new ModelImpl().type("object")
+                        .property("name", name)
+                        .property("tag", tag)
+                        .property("weight", new DoubleProperty())
+                        .property("vaccinated", new BooleanProperty())
+                        .property("nicknames", nicknames)
+                        .property("details", new RefProperty("#/definitions/Details"))
+                        .property("owner", new ObjectProperty(Collections.singletonMap("age", new IntegerProperty())))
+                        .property("labels", new MapProperty(new IntegerProperty()))
+                        .required("name"));
+        treeValidator = new SchemaValidator(swagger);
+        compiler = new StreamingSchemaCompiler(swagger.getDefinitions());
+    }
+
+    @Test
+    public void validate_validPet_successful() throws IOException {
+        Set<ValidationMessage> messages = validate(pet(), "{\"name\":\"tiddles\",\"tag\":\"cat\",\"weight\":4.5,"
+                + "\"vaccinated\":true,\"nicknames\":[\"tid\"],\"details\":{\"code\":200,\"message\":\"ok\"},"
+                + "\"owner\":{\"age\":30},\"labels\":{\"a\":1},\"extra\":{\"deep\":[[{}]]}}");
+
+        assertThat(messages, empty());
+    }
+
+    @Test
+    public void validate_invalidPet_matchesTreeValidation() throws IOException {
+        assertSameAsTree(pet(), "{\"tag\":\"lizard\",\"details\":{\"code\":true,\"message\":\"a message\"}}");
+        assertSameAsTree(pet(), "{\"name\":\"A\",\"weight\":\"heavy\",\"vaccinated\":\"maybe\"}");
+        assertSameAsTree(pet(), "{\"name\":\"abcdefghijkl\",\"nicknames\":[],\"details\":{\"code\":700}}");
+        assertSameAsTree(pet(), "{\"name\":\"tiddles\",\"nicknames\":[\"a\",\"b\",1],\"details\":{\"code\":50,\"message\":1}}");
+        assertSameAsTree(pet(), "{\"name\":\"tiddles\",\"owner\":{\"age\":\"old\"},\"labels\":{\"a\":\"b\",\"c\":2}}");
+        assertSameAsTree(pet(), "{\"name\":null,\"tag\":5}");
+        assertSameAsTree(pet(), "[1,2]");
+        assertSameAsTree(pet(), "\"pet\"");
+    }
+
+    @Test
+    public void validate_looseTypes_matchesTreeValidation() throws IOException {
+        assertSameAsTree(pet(), "{\"name\":\"tiddles\",\"weight\":\"4.5\",\"vaccinated\":\"true\",\"nicknames\":\"tid\","
+                + "\"details\":{\"code\":\"200\",\"message\":\"ok\"}}");
+        assertSameAsTree(pet(), "{\"name\":\"tiddles\",\"details\":{\"code\":\"700\",\"message\":\"ok\"}}");
+    }
+
+    @Test
+    public void validate_arrayOfPets_reportsItemPaths() throws IOException {
+        ArrayModel pets = new ArrayModel().items(new RefProperty("#/definitions/Pet"));
+        String body = "[{\"name\":\"tiddles\"},{\"tag\":\"cat\"},{\"name\":\"rex\",\"nicknames\":[\"r\",\"x\",\"y\"]}]";
+
+        assertSameAsTree(pets, body);
+        assertThat(fields(validate(pets, body)), contains("1028 $[1].name", "1012 $[2].nicknames"));
+    }
+
+    @Test
+    public void validate_failFast_stopsAtFirstViolation() throws IOException {
+        underTest = new StreamingBodyValidator(1);
+
+        Set<ValidationMessage> messages = validate(pet(), "{\"tag\":\"lizard\",\"details\":{\"code\":true}}");
+
+        assertThat(fields(messages), contains("1008 $.tag"));
+    }
+
+    @Test
+    public void validate_emptyDocument_successful() throws IOException {
+        assertThat(validate(pet(), ""), empty());
+    }
+
+    @Test(expected = IOException.class)
+    public void validate_truncatedDocument_throws() throws IOException {
+        validate(pet(), "{\"name\":\"tiddles\",\"details\":{");
+    }
+
+    private Model pet() {
+        return new RefModel("#/definitions/Pet");
+    }
+
+    private Set<ValidationMessage> validate(final Model model, final String body) throws IOException {
+        StreamingSchema schema = compiler.compile(model).orElseThrow(AssertionError::new);
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return underTest.validate(parser, schema);
+        }
+    }
+
+    private void assertSameAsTree(final Model model, final String body) throws IOException {
+        Set<String> expected = fields(treeValidator.validate(Json.mapper().readTree(body), model));
+
+        assertThat(body, new TreeSet<>(fields(validate(model, body))), equalTo(new TreeSet<>(expected)));
+    }
+
+    private static Set<String> fields(final Set<ValidationMessage> messages) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (ValidationMessage message : messages) {
+            fields.add(message.getCode() + " " + message.getMessage().split(":")[0]);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,117 @@
+package com.mnssoftware.validator.swagger.service.stream;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.DateTimeProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class StreamingSchemaCompilerTest {
+
+    private final Map<String, Model> definitions = new HashMap<>();
+    private final StreamingSchemaCompiler underTest = new StreamingSchemaCompiler(definitions);
+
+    @Test
+    public void compile_nullModel_empty() {
+        assertThat(underTest.compile(null).isPresent(), is(false));
+    }
+
+    @Test
+    public void compile_objectModel_compiled() {
+        ModelImpl model = new ModelImpl().type("object")
+                .property("name", new StringProperty().minLength(1).pattern("^[a-z]+$"))
+                .property("age", new IntegerProperty())
+                .required("name");
+
+        StreamingSchema schema = underTest.compile(model).orElseThrow(AssertionError::new);
+
+        assertThat(schema.getType(), equalTo(StreamingSchema.Type.OBJECT));
+        assertThat(schema.getRequired(), contains("name"));
+        assertThat(schema.requiredIndex("name"), equalTo(0));
+        assertThat(schema.requiredIndex("age"), equalTo(-1));
+        assertThat(schema.property("name").getMinLength(), equalTo(1));
+        assertThat(schema.property("name").getPattern().pattern(), equalTo("^[a-z]+$"));
+        assertThat(schema.property("age").getType(), equalTo(StreamingSchema.Type.INTEGER));
+        assertThat(schema.property("unknown"), nullValue());
+    }
+
+    @Test
+    public void compile_arrayModel_compiled() {
+        ArrayModel model = new ArrayModel().items(new StringProperty()).minItems(1).maxItems(3);
+
+        StreamingSchema schema = underTest.compile(model).orElseThrow(AssertionError::new);
+
+        assertThat(schema.getType(), equalTo(StreamingSchema.Type.ARRAY));
+        assertThat(schema.getItems().getType(), equalTo(StreamingSchema.Type.STRING));
+        assertThat(schema.getMinItems(), equalTo(1));
+        assertThat(schema.getMaxItems(), equalTo(3));
+    }
+
+    @Test
+    public void compile_recursiveReference_sharesInstance() {
+        definitions.put("Node", new ModelImpl().type("object")
+                .property("children", new ArrayProperty(new RefProperty("#/definitions/Node"))));
+
+        StreamingSchema schema = underTest.compile(new RefModel("#/definitions/Node")).orElseThrow(AssertionError::new);
+
+        assertThat(schema.property("children").getItems(), sameInstance(schema));
+    }
+
+    @Test
+    public void compile_sameDefinitionTwice_sharesInstance() {
+        definitions.put("Pet", new ModelImpl().type("object").property("name", new StringProperty()));
+
+        Optional<StreamingSchema> first = underTest.compile(new RefModel("#/definitions/Pet"));
+        Optional<StreamingSchema> second = underTest.compile(new RefModel("#/definitions/Pet"));
+
+        assertThat(second.get(), sameInstance(first.get()));
+    }
+
+    @Test
+    public void compile_unknownDefinition_empty() {
+        assertThat(underTest.compile(new RefModel("#/definitions/Missing")).isPresent(), is(false));
+    }
+
+    @Test
+    public void compile_composedModel_empty() {
+        assertThat(underTest.compile(new ComposedModel()).isPresent(), is(false));
+    }
+
+    @Test
+    public void compile_formattedProperty_empty() {
+        ModelImpl model = new ModelImpl().type("object").property("born", new DateTimeProperty());
+
+        assertThat(underTest.compile(model).isPresent(), is(false));
+    }
+
+    @Test
+    public void compile_uniqueItems_empty() {
+        ArrayModel model = new ArrayModel().items(new StringProperty()).uniqueItems(true);
+
+        assertThat(underTest.compile(model).isPresent(), is(false));
+    }
+
+    @Test
+    public void compile_unsupportedDefinition_notShared() {
+        definitions.put("Event", new ModelImpl().type("object").property("at", new DateTimeProperty()));
+        definitions.put("Pet", new ModelImpl().type("object").property("name", new StringProperty()));
+
+        assertThat(underTest.compile(new ModelImpl().type("object")
+                .property("pet", new RefProperty("#/definitions/Pet"))
+                .property("event", new RefProperty("#/definitions/Event"))).isPresent(), is(false));
+        assertThat(underTest.compile(new RefModel("#/definitions/Pet")).isPresent(), is(true));
+    }
+}
@@ -0,0 +1,94 @@
+package com.mnssoftware.validator.swagger.service.swagger;
+
+import com.mnssoftware.validator.core.service.ApiNormalisedPath;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class PathRouterTest {
+
+    private PathRouter<String> underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new PathRouter<String>()
+                .add(path("/api/pets"), "pets")
+                .add(path("/api/pets/{id}"), "pet")
+                .add(path("/api/pets/mine"), "mine")
+                .add(path("/api/pets/{id}/toys/{toyId}"), "toy")
+                .add(path("/api/{kind}/{id}/owners"), "owners");
+    }
+
+    @Test
+    public void size_countsRoutes() {
+        assertThat(underTest.size(), equalTo(5));
+    }
+
+    @Test
+    public void match_literalPath_successful() {
+        Optional<RouteMatch<String>> match = underTest.match(path("/api/pets"));
+
+        assertThat(match.isPresent(), equalTo(true));
+        assertThat(match.get().getValue(), equalTo("pets"));
+        assertThat(match.get().getApiPath().original(), equalTo("/api/pets"));
+        assertThat(match.get().getPathParameters().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void match_ignoresCase_successful() {
+        Optional<RouteMatch<String>> match = underTest.match(path("/API/Pets"));
+
+        assertThat(match.isPresent(), equalTo(true));
+        assertThat(match.get().getValue(), equalTo("pets"));
+    }
+
+    @Test
+    public void match_literalPreferredOverParam_successful() {
+        Optional<RouteMatch<String>> match = underTest.match(path("/api/pets/mine"));
+
+        assertThat(match.isPresent(), equalTo(true));
+        assertThat(match.get().getValue(), equalTo("mine"));
+    }
+
+    @Test
+    public void match_withParams_extractsValues() {
+        Optional<RouteMatch<String>> match = underTest.match(path("/api/pets/12/toys/ball"));
+
+        assertThat(match.isPresent(), equalTo(true));
+        assertThat(match.get().getValue(), equalTo("toy"));
+        assertThat(match.get().getPathParameters(), hasEntry("id", "12"));
+        assertThat(match.get().getPathParameters(), hasEntry("toyId", "ball"));
+    }
+
+    @Test
+    public void match_literalDeadEnd_fallsBackToParam() {
+        Optional<RouteMatch<String>> match = underTest.match(path("/api/pets/12/owners"));
+
+        assertThat(match.isPresent(), equalTo(true));
+        assertThat(match.get().getValue(), equalTo("owners"));
+        assertThat(match.get().getPathParameters(), hasEntry("kind", "pets"));
+        assertThat(match.get().getPathParameters(), hasEntry("id", "12"));
+    }
+
+    @Test
+    public void match_unknownPath_empty() {
+        assertThat(underTest.match(path("/api/children")).isPresent(), equalTo(false));
+        assertThat(underTest.match(path("/api/pets/12/toys")).isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void add_sameTemplateTwice_replacesValue() {
+        underTest.add(path("/api/pets"), "replaced");
+
+        assertThat(underTest.size(), equalTo(5));
+        assertThat(underTest.match(path("/api/pets")).get().getValue(), equalTo("replaced"));
+    }
+
+    private static ApiNormalisedPath path(String path) {
+        return new ApiNormalisedPath("", path);
+    }
+}
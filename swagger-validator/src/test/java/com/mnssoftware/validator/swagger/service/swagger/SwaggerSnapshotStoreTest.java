@@ -0,0 +1,109 @@
+package com.mnssoftware.validator.swagger.service.swagger;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class SwaggerSnapshotStoreTest {
+
+    private static final String SWAGGER_PATH = "/petstore-simple.json";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path snapshots;
+    private SwaggerSnapshotStore underTest;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshots = folder.getRoot().toPath().resolve("snapshots");
+        underTest = new SwaggerSnapshotStore(snapshots);
+    }
+
+    @Test
+    public void read_noSnapshot_parsedAndSnapshotWritten() throws Exception {
+        Swagger swagger = underTest.read(SWAGGER_PATH);
+
+        assertThat(Json.pretty(swagger), equalTo(Json.pretty(new SwaggerParser().read(SWAGGER_PATH))));
+        Path snapshot = underTest.getSnapshotPath(SWAGGER_PATH).orElseThrow(AssertionError::new);
+        assertThat(Files.isRegularFile(snapshot), equalTo(true));
+        assertThat(Files.list(snapshots).count(), equalTo(1L));
+    }
+
+    @Test
+    public void read_snapshotWritten_sameModelLoaded() {
+        Swagger parsed = underTest.read(SWAGGER_PATH);
+
+        Swagger loaded = new SwaggerSnapshotStore(snapshots).read(SWAGGER_PATH);
+
+        assertThat(Json.pretty(loaded), equalTo(Json.pretty(parsed)));
+    }
+
+    @Test
+    public void read_matchingSnapshot_notParsed() throws Exception {
+        Path first = writeSpec("first.json", "first");
+        Path second = writeSpec("second.json", "second");
+        underTest.read(first.toString());
+        underTest.read(second.toString());
+        // a snapshot is trusted when its name matches the hash of the document
+        Files.copy(underTest.getSnapshotPath(second.toString()).orElseThrow(AssertionError::new),
+                underTest.getSnapshotPath(first.toString()).orElseThrow(AssertionError::new),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        Swagger loaded = underTest.read(first.toString());
+
+        assertThat(loaded.getInfo().getTitle(), equalTo("second"));
+    }
+
+    @Test
+    public void read_changedDocument_newSnapshot() throws Exception {
+        Path spec = writeSpec("spec.json", "before");
+        underTest.read(spec.toString());
+        Path before = underTest.getSnapshotPath(spec.toString()).orElseThrow(AssertionError::new);
+
+        writeSpec("spec.json", "after");
+        Swagger swagger = underTest.read(spec.toString());
+
+        assertThat(swagger.getInfo().getTitle(), equalTo("after"));
+        assertThat(underTest.getSnapshotPath(spec.toString()).orElseThrow(AssertionError::new), not(equalTo(before)));
+        assertThat(Files.list(snapshots).count(), equalTo(2L));
+    }
+
+    @Test
+    public void read_corruptSnapshot_parsedAndSnapshotRewritten() throws Exception {
+        underTest.read(SWAGGER_PATH);
+        Path snapshot = underTest.getSnapshotPath(SWAGGER_PATH).orElseThrow(AssertionError::new);
+        Files.write(snapshot, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+
+        Swagger swagger = underTest.read(SWAGGER_PATH);
+
+        assertThat(Json.pretty(swagger), equalTo(Json.pretty(new SwaggerParser().read(SWAGGER_PATH))));
+        assertThat(Json.pretty(new SwaggerSnapshotStore(snapshots).read(SWAGGER_PATH)), equalTo(Json.pretty(swagger)));
+    }
+
+    @Test
+    public void getSnapshotPath_remoteDocument_empty() {
+        assertThat(underTest.getSnapshotPath("https://example.com/swagger.json").isPresent(), equalTo(false));
+    }
+
+    private Path writeSpec(final String name, final String title) throws Exception {
+        Path spec = folder.getRoot().toPath().resolve(name);
+        Files.write(spec, ("{\"swagger\":\"2.0\",\"info\":{\"title\":\"" + title + "\",\"version\":\"1\"},"
+                + "\"paths\":{\"/pets\":{\"get\":{\"responses\":{\"200\":{\"description\":\"ok\"}}}}}}")
+                .getBytes(StandardCharsets.UTF_8));
+        return spec;
+    }
+}
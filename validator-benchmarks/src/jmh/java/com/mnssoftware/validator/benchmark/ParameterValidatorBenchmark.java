@@ -0,0 +1,115 @@
+package com.mnssoftware.validator.benchmark;
+
+import com.mnssoftware.validator.swagger.service.SchemaValidator;
+import com.mnssoftware.validator.swagger.service.parameter.ArrayParameterValidator;
+import com.mnssoftware.validator.swagger.service.parameter.BoundParameterValidator;
+import com.mnssoftware.validator.swagger.service.parameter.IntegerParameterValidator;
+import com.mnssoftware.validator.swagger.service.parameter.NumberParameterValidator;
+import com.mnssoftware.validator.swagger.service.parameter.StringParameterValidator;
+import com.networknt.schema.ValidationMessage;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.StringProperty;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each parameter validator on its own, bound to its parameter the way operation plans bind them, for well
+ * formed and malformed input.
+ *
+ * @author msilcox
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterValidatorBenchmark {
+
+    @Param({"valid", "malformed"})
+    private String input;
+
+    private BoundParameterValidator stringValidator;
+    private BoundParameterValidator enumValidator;
+    private BoundParameterValidator integerValidator;
+    private BoundParameterValidator numberValidator;
+    private BoundParameterValidator arrayValidator;
+
+    private String stringValue;
+    private String enumValue;
+    private String integerValue;
+    private String numberValue;
+    private String arrayValue;
+
+    @Setup
+    public void setUp() {
+        final StringParameterValidator strings = new StringParameterValidator();
+        final QueryParameter name = query("name", "string");
+        name.setPattern("^[a-z]+$");
+        stringValidator = strings.bind(name);
+        final QueryParameter status = query("status", "string");
+        status.setEnum(Arrays.asList("available", "pending", "sold"));
+        enumValidator = strings.bind(status);
+
+        final QueryParameter limit = query("limit", "integer");
+        limit.setFormat("int32");
+        limit.setMinimum(BigDecimal.ONE);
+        limit.setMaximum(BigDecimal.valueOf(100));
+        integerValidator = new IntegerParameterValidator().bind(limit);
+
+        final QueryParameter weight = query("weight", "number");
+        weight.setFormat("double");
+        weight.setMinimum(BigDecimal.ZERO);
+        weight.setMaximum(BigDecimal.valueOf(1000));
+        numberValidator = new NumberParameterValidator().bind(weight);
+
+        final QueryParameter tags = query("tags", "array");
+        tags.setCollectionFormat("csv");
+        tags.setItems(new StringProperty());
+        tags.setMaxItems(10);
+        arrayValidator = new ArrayParameterValidator(new SchemaValidator()).bind(tags);
+
+        final boolean valid = "valid".equals(input);
+        stringValue = valid ? "tiddles" : "TIDDLES!";
+        enumValue = valid ? "sold" : "lost";
+        integerValue = valid ? "42" : "forty-two";
+        numberValue = valid ? "4.5" : "4,5kg";
+        arrayValue = valid ? "cat,tabby,indoor" : "cat,tabby,indoor,grey,small,fluffy,old,fat,lazy,loud,hungry";
+    }
+
+    private static QueryParameter query(final String name, final String type) {
+        final QueryParameter parameter = new QueryParameter();
+        parameter.setName(name);
+        parameter.setType(type);
+        return parameter;
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> stringParameter() {
+        return stringValidator.validate(stringValue);
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> enumParameter() {
+        return enumValidator.validate(enumValue);
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> integerParameter() {
+        return integerValidator.validate(integerValue);
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> numberParameter() {
+        return numberValidator.validate(numberValue);
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> arrayParameter() {
+        return arrayValidator.validate(arrayValue);
+    }
+}
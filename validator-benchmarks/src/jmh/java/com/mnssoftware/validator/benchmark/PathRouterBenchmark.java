@@ -0,0 +1,58 @@
+package com.mnssoftware.validator.benchmark;
+
+import com.mnssoftware.validator.core.service.ApiNormalisedPath;
+import com.mnssoftware.validator.core.service.NormalisedPath;
+import com.mnssoftware.validator.swagger.service.swagger.PathRouter;
+import com.mnssoftware.validator.swagger.service.swagger.RouteMatch;
+import com.mnssoftware.validator.swagger.service.swagger.SwaggerHelper;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares routing a request path with the {@link PathRouter} trie against the linear scan in
+ * {@link SwaggerHelper#findMatchingApiPath}. The request always targets the last path in the specification, which is
+ * the worst case for the linear scan; the router cost should stay flat as the number of paths grows.
+ *
+ * @author msilcox
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathRouterBenchmark {
+
+    @Param({"10", "100", "1400"})
+    private int pathCount;
+
+    private Swagger swagger;
+    private PathRouter<String> router;
+    private NormalisedPath requestPath;
+
+    @Setup
+    public void setUp() {
+        swagger = new Swagger();
+        router = new PathRouter<>();
+        for (int i = 0; i < pathCount; i++) {
+            final String template = "/api/resource" + i + "/{id}/items";
+            swagger.path(template, new Path());
+            router.add(new ApiNormalisedPath(swagger.getBasePath(), template), template);
+        }
+        requestPath = new ApiNormalisedPath(swagger.getBasePath(), "/api/resource" + (pathCount - 1) + "/42/items");
+    }
+
+    @Benchmark
+    public Optional<RouteMatch<String>> router() {
+        return router.match(requestPath);
+    }
+
+    @Benchmark
+    public Optional<NormalisedPath> linearScan() {
+        return SwaggerHelper.findMatchingApiPath(swagger, requestPath);
+    }
+}
@@ -0,0 +1,200 @@
+package com.mnssoftware.validator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Generated Swagger specifications of increasing size used as benchmark input.
+ * <p>
+ * Every specification has the same shape, only the number of paths and definitions grows: each resource path has a
+ * <code>GET</code> with a path parameter and typical query parameters, and a <code>POST</code> whose body refers to a
+ * per-resource definition that in turn refers to shared definitions. Requests built by the benchmarks target the
+ * last resource, the worst case for anything that scans the specification.
+ *
+ * @author msilcox
+ */
+public enum SampleSpec {
+    SMALL(5),
+    MEDIUM(100),
+    LARGE(2000);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final Map<SampleSpec, String> LOCATIONS = new EnumMap<>(SampleSpec.class);
+
+    private final int resourceCount;
+
+    SampleSpec(final int resourceCount) {
+        this.resourceCount = resourceCount;
+    }
+
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    /**
+     * @return the name of the resource the sample requests target
+     */
+    public String targetResource() {
+        return "resource" + (resourceCount - 1);
+    }
+
+    /**
+     * @return the location of the specification, written to a temporary file on first use
+     */
+    public synchronized String location() {
+        return LOCATIONS.computeIfAbsent(this, spec -> {
+            try {
+                final File file = File.createTempFile("sample-spec-" + name().toLowerCase() + "-", ".json");
+                file.deleteOnExit();
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, spec.build());
+                return file.getAbsolutePath();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return a request body valid against the target resource
+     */
+    public static String validBody() {
+        return "{\"name\":\"tiddles\",\"status\":\"available\",\"age\":4,\"weight\":4.5,"
+                + "\"tags\":[\"cat\",\"tabby\",\"indoor\"],"
+                + "\"owner\":{\"name\":\"sam\",\"address\":{\"street\":\"1 high street\",\"postcode\":\"AB1 2CD\"}},"
+                + "\"vaccinations\":[{\"name\":\"rabies\",\"year\":2019},{\"name\":\"flu\",\"year\":2020}]}";
+    }
+
+    /**
+     * @return a request body violating several constraints of the target resource
+     */
+    public static String invalidBody() {
+        return "{\"status\":\"lost\",\"age\":-1,\"weight\":\"heavy\","
+                + "\"tags\":[\"cat\",\"tabby\",\"indoor\",\"fluffy\",\"small\",\"grey\"],"
+                + "\"owner\":{\"address\":{\"street\":\"1 high street\",\"postcode\":\"?\"}},"
+                + "\"vaccinations\":[{\"name\":\"rabies\",\"year\":\"last year\"}]}";
+    }
+
+    /**
+     * @return a query string valid for the target resource
+     */
+    public static String validQuery() {
+        return "name=tid&status=available&limit=20&minWeight=2.5&tags=cat,tabby";
+    }
+
+    /**
+     * @return a query string violating several parameter constraints of the target resource
+     */
+    public static String invalidQuery() {
+        return "name=TID!&status=lost&limit=many&minWeight=-3&tags=cat,cat";
+    }
+
+    private ObjectNode build() {
+        final ObjectNode spec = NODES.objectNode();
+        spec.put("swagger", "2.0");
+        spec.putObject("info").put("title", "Sample " + name().toLowerCase()).put("version", "1.0.0");
+        spec.put("basePath", "/");
+        spec.putArray("consumes").add("application/json");
+
+        final ObjectNode paths = spec.putObject("paths");
+        final ObjectNode definitions = spec.putObject("definitions");
+        definitions.set("Address", object(
+                properties("street", string(), "postcode", string().put("pattern", "^[A-Z0-9 ]+$")),
+                "street", "postcode"));
+        definitions.set("Owner", object(properties("name", string().put("minLength", 1), "address", ref("Address")),
+                "name"));
+        definitions.set("Vaccination", object(properties("name", string(), "year", integer().put("minimum", 1900)),
+                "name", "year"));
+
+        for (int i = 0; i < resourceCount; i++) {
+            final String resource = "resource" + i;
+            final String definition = "Resource" + i;
+            definitions.set(definition, resourceDefinition());
+
+            final ObjectNode collection = paths.putObject("/api/" + resource);
+            collection.putObject("post").set("parameters", NODES.arrayNode().add(NODES.objectNode()
+                    .put("name", "body").put("in", "body").put("required", true)
+                    .set("schema", ref(definition))));
+            collection.putObject("get").set("parameters", queryParameters());
+
+            final ObjectNode item = paths.putObject("/api/" + resource + "/{id}");
+            item.putObject("get").set("parameters", NODES.arrayNode().add(NODES.objectNode()
+                    .put("name", "id").put("in", "path").put("required", true).put("type", "integer")
+                    .put("format", "int64")));
+        }
+        return spec;
+    }
+
+    private static ObjectNode resourceDefinition() {
+        final ObjectNode tags = NODES.objectNode().put("type", "array").put("maxItems", 5);
+        tags.set("items", string());
+        final ObjectNode vaccinations = NODES.objectNode().put("type", "array");
+        vaccinations.set("items", ref("Vaccination"));
+        return object(properties(
+                "name", string().put("minLength", 1).put("maxLength", 50),
+                "status", string().set("enum", NODES.arrayNode().add("available").add("pending").add("sold")),
+                "age", integer().put("minimum", 0).put("maximum", 40),
+                "weight", NODES.objectNode().put("type", "number"),
+                "tags", tags,
+                "owner", ref("Owner"),
+                "vaccinations", vaccinations), "name");
+    }
+
+    private static ArrayNode queryParameters() {
+        final ArrayNode parameters = NODES.arrayNode();
+        parameters.add(query("name", "string").put("pattern", "^[a-z]+$"));
+        parameters.add(query("status", "string")
+                .set("enum", NODES.arrayNode().add("available").add("pending").add("sold")));
+        parameters.add(query("limit", "integer").put("format", "int32").put("minimum", 1).put("maximum", 100));
+        parameters.add(query("minWeight", "number").put("format", "double").put("minimum", 0));
+        final ObjectNode tags = query("tags", "array").put("collectionFormat", "csv").put("uniqueItems", true);
+        tags.putObject("items").put("type", "string");
+        parameters.add(tags);
+        for (int i = 0; i < 5; i++) {
+            parameters.add(query("filter" + i, "string"));
+        }
+        return parameters;
+    }
+
+    private static ObjectNode query(final String name, final String type) {
+        return NODES.objectNode().put("name", name).put("in", "query").put("required", false).put("type", type);
+    }
+
+    private static ObjectNode object(final ObjectNode properties, final String... required) {
+        final ObjectNode object = NODES.objectNode().put("type", "object");
+        final ArrayNode requiredNames = object.putArray("required");
+        for (String name : required) {
+            requiredNames.add(name);
+        }
+        object.set("properties", properties);
+        return object;
+    }
+
+    private static ObjectNode properties(final Object... namesAndSchemas) {
+        final ObjectNode properties = NODES.objectNode();
+        for (int i = 0; i < namesAndSchemas.length; i += 2) {
+            properties.set((String) namesAndSchemas[i], (ObjectNode) namesAndSchemas[i + 1]);
+        }
+        return properties;
+    }
+
+    private static ObjectNode string() {
+        return NODES.objectNode().put("type", "string");
+    }
+
+    private static ObjectNode integer() {
+        return NODES.objectNode().put("type", "integer").put("format", "int32");
+    }
+
+    private static ObjectNode ref(final String definition) {
+        return NODES.objectNode().put("$ref", "#/definitions/" + definition);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mnssoftware.validator.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mnssoftware.validator.swagger.service.SchemaValidator;
+import com.networknt.schema.ValidationMessage;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SchemaValidator#validate(Object, io.swagger.models.Model)} of a parsed request body against a
+ * definition that refers to shared definitions, for specifications with an increasing number of definitions.
+ *
+ * @author msilcox
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidatorBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private SampleSpec spec;
+
+    private SchemaValidator schemaValidator;
+    private RefModel model;
+    private JsonNode validBody;
+    private JsonNode invalidBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Swagger swagger = new SwaggerParser().read(spec.location());
+        schemaValidator = new SchemaValidator(swagger);
+        model = new RefModel("#/definitions/Resource" + (spec.getResourceCount() - 1));
+        validBody = Json.mapper().readTree(SampleSpec.validBody());
+        invalidBody = Json.mapper().readTree(SampleSpec.invalidBody());
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> validBody() {
+        return schemaValidator.validate(validBody, model);
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> invalidBody() {
+        return schemaValidator.validate(invalidBody, model);
+    }
+}
@@ -0,0 +1,103 @@
+package com.mnssoftware.validator.benchmark;
+
+import com.mnssoftware.validator.core.filter.MultiReadHttpServletRequest;
+import com.mnssoftware.validator.core.service.ParsedQueryString;
+import com.mnssoftware.validator.core.service.ValidationException;
+import com.mnssoftware.validator.swagger.service.SwaggerValidationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SwaggerValidationService#validateRequest} end to end, from routing the request to validating its
+ * parameters and body, for valid and invalid requests against specifications of increasing size.
+ *
+ * @author msilcox
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationServiceBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private SampleSpec spec;
+
+    private SwaggerValidationService validationService;
+    private HttpServletRequest validPost;
+    private HttpServletRequest invalidPost;
+    private HttpServletRequest validGet;
+    private HttpServletRequest invalidGet;
+
+    @Setup
+    public void setUp() {
+        validationService = new SwaggerValidationService(spec.location());
+        final String collectionUri = "/api/" + spec.targetResource();
+        validPost = request("POST", collectionUri, null, SampleSpec.validBody());
+        invalidPost = request("POST", collectionUri, null, SampleSpec.invalidBody());
+        validGet = request("GET", collectionUri, SampleSpec.validQuery(), null);
+        invalidGet = request("GET", collectionUri, SampleSpec.invalidQuery(), null);
+    }
+
+    @Benchmark
+    public void validPost() throws ServletException {
+        validationService.validateRequest(validPost);
+    }
+
+    @Benchmark
+    public ValidationException invalidPost() throws ServletException {
+        return validate(invalidPost);
+    }
+
+    @Benchmark
+    public void validGet() throws ServletException {
+        validationService.validateRequest(fresh(validGet));
+    }
+
+    @Benchmark
+    public ValidationException invalidGet() throws ServletException {
+        return validate(fresh(invalidGet));
+    }
+
+    private ValidationException validate(final HttpServletRequest request) throws ServletException {
+        try {
+            validationService.validateRequest(request);
+            throw new IllegalStateException("Expected the request to be invalid");
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Forget the query string parsed by the previous invocation, as every real request arrives unparsed.
+     */
+    private static HttpServletRequest fresh(final HttpServletRequest request) {
+        request.removeAttribute(ParsedQueryString.ATTRIBUTE);
+        return request;
+    }
+
+    /**
+     * Build a request wrapped the way {@code ValidationFilter} wraps it, so its body can be read on every invocation.
+     */
+    static HttpServletRequest request(final String method, final String uri, final String query, final String body) {
+        final MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setContentType("application/json");
+        if (query != null) {
+            request.setQueryString(query);
+            for (String parameter : query.split("&")) {
+                final String[] nameAndValue = parameter.split("=", 2);
+                request.addParameter(nameAndValue[0], nameAndValue[1]);
+            }
+        }
+        if (body != null) {
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return new MultiReadHttpServletRequest(request);
+    }
+}
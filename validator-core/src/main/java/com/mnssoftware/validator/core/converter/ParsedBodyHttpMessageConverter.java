@@ -0,0 +1,128 @@
+package com.mnssoftware.validator.core.converter;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link MappingJackson2HttpMessageConverter} that binds request bodies from the tree parsed during validation
+ * rather than parsing the body again.
+ * <p>
+ * Validation stores the parsed body under {@link #PARSED_BODY_ATTRIBUTE}. When the attribute is present the body is
+ * converted with {@code treeToValue}, otherwise it is read from the request as usual. The parsed tree holds floating
+ * point numbers as doubles, so mappers that read them as {@link BigDecimal}, and types with a {@link BigDecimal}
+ * anywhere in them, always read the body, keeping every digit of the number.
+ *
+ * @author msilcox
+ */
+@Slf4j
+public class ParsedBodyHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Request attribute holding the {@link JsonNode} parsed from the request body during validation
+     */
+    public static final String PARSED_BODY_ATTRIBUTE = ParsedBodyHttpMessageConverter.class.getName() + ".PARSED_BODY";
+
+    private final Map<JavaType, Boolean> bigDecimalTypes = new ConcurrentHashMap<>();
+
+    public ParsedBodyHttpMessageConverter() {
+        super();
+    }
+
+    public ParsedBodyHttpMessageConverter(final ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Object read(final Type type, final Class<?> contextClass, final HttpInputMessage inputMessage)
+            throws IOException {
+        final JavaType javaType = getJavaType(type, contextClass);
+        final JsonNode parsedBody = getParsedBody(javaType);
+        if (parsedBody == null) {
+            return super.read(type, contextClass, inputMessage);
+        }
+        return convert(javaType, parsedBody, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) throws IOException {
+        final JavaType javaType = getJavaType(clazz, null);
+        final JsonNode parsedBody = getParsedBody(javaType);
+        if (parsedBody == null) {
+            return super.readInternal(clazz, inputMessage);
+        }
+        return convert(javaType, parsedBody, inputMessage);
+    }
+
+    private Object convert(final JavaType javaType, final JsonNode parsedBody, final HttpInputMessage inputMessage) {
+        if (javaType.isTypeOrSubTypeOf(JsonNode.class)) {
+            // the parsed tree is shared, so hand out a copy the controller can modify
+            return parsedBody.deepCopy();
+        }
+        try {
+            return getObjectMapper().readerFor(javaType).readValue(parsedBody);
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("JSON conversion problem: " + ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    private JsonNode getParsedBody(final JavaType javaType) {
+        if (getObjectMapper().isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                || bigDecimalTypes.computeIfAbsent(javaType, type -> containsBigDecimal(type, new HashSet<>()))) {
+            return null;
+        }
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        final Object parsedBody = requestAttributes.getAttribute(PARSED_BODY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (parsedBody instanceof JsonNode && !((JsonNode) parsedBody).isMissingNode()) {
+            log.debug("Binding request body from the tree parsed during validation");
+            return (JsonNode) parsedBody;
+        }
+        return null;
+    }
+
+    /**
+     * @return whether the given type is, or holds in its content or bean properties, a {@link BigDecimal}
+     */
+    private boolean containsBigDecimal(final JavaType javaType, final Set<JavaType> visited) {
+        if (javaType == null || !visited.add(javaType)) {
+            return false;
+        }
+        if (javaType.isTypeOrSubTypeOf(BigDecimal.class)) {
+            return true;
+        }
+        if (javaType.isContainerType() || javaType.isReferenceType()) {
+            return containsBigDecimal(javaType.getKeyType(), visited)
+                    || containsBigDecimal(javaType.getContentType(), visited);
+        }
+        if (javaType.isPrimitive() || javaType.isEnumType() || javaType.getRawClass().getName().startsWith("java.")) {
+            return false;
+        }
+        final BeanDescription description = getObjectMapper().getDeserializationConfig().introspect(javaType);
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (containsBigDecimal(property.getPrimaryType(), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
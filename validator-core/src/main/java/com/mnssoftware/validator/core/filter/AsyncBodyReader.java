@@ -0,0 +1,150 @@
+package com.mnssoftware.validator.core.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Collects a request body with non-blocking reads, so no container thread waits on a slow client, then dispatches
+ * the request back to the container with the body attached as a {@link MultiReadHttpServletRequest} under
+ * {@link #BODY_ATTRIBUTE}.
+ * <p>
+ * The body buffer is released when the request completes, whether or not the body was read in full.
+ *
+ * @author msilcox
+ */
+@Slf4j
+class AsyncBodyReader implements ReadListener, AsyncListener {
+
+    /**
+     * The request attribute the request wrapping the collected body is kept in until the request is dispatched
+     */
+    static final String BODY_ATTRIBUTE = AsyncBodyReader.class.getName() + ".BODY";
+
+    private final HttpServletRequest request;
+    private final AsyncContext asyncContext;
+    private final ServletInputStream inputStream;
+    private final BodyBufferPool bufferPool;
+    private final long maxBodySize;
+    private final long readLimit;
+    private final long contentLength;
+
+    private byte[] buffer;
+    private int length;
+    private MultiReadHttpServletRequest body;
+
+    private AsyncBodyReader(final HttpServletRequest request, final AsyncContext asyncContext,
+                            final ServletInputStream inputStream, final BodyBufferPool bufferPool,
+                            final long maxBodySize) {
+        this.request = request;
+        this.asyncContext = asyncContext;
+        this.inputStream = inputStream;
+        this.bufferPool = bufferPool;
+        this.maxBodySize = maxBodySize;
+        this.readLimit = MultiReadHttpServletRequest.readLimit(maxBodySize);
+        this.contentLength = request.getContentLengthLong();
+        this.buffer = MultiReadHttpServletRequest.allocate(bufferPool,
+                MultiReadHttpServletRequest.initialBufferSize(contentLength, readLimit));
+    }
+
+    /**
+     * Put the request into asynchronous mode and start reading its body.
+     *
+     * @param request     the request to read the body of
+     * @param response    the response to the request
+     * @param bufferPool  the pool to take the body buffer from, or {@code null} to allocate a new buffer
+     * @param maxBodySize the maximum number of bytes accepted, or {@link MultiReadHttpServletRequest#UNLIMITED}
+     * @throws IOException if the body cannot be read
+     */
+    static void start(final HttpServletRequest request, final HttpServletResponse response,
+                      final BodyBufferPool bufferPool, final long maxBodySize) throws IOException {
+        final AsyncContext asyncContext = request.startAsync(request, response);
+        final AsyncBodyReader reader = new AsyncBodyReader(request, asyncContext, request.getInputStream(),
+                bufferPool, maxBodySize);
+        asyncContext.addListener(reader);
+        reader.inputStream.setReadListener(reader);
+    }
+
+    @Override
+    public synchronized void onDataAvailable() throws IOException {
+        while (buffer != null && inputStream.isReady()) {
+            if (length == buffer.length) {
+                // a full buffer usually holds the whole body, so only grow it if there is more to come
+                if (length == contentLength || inputStream.isFinished()) {
+                    return;
+                }
+                buffer = MultiReadHttpServletRequest.grow(bufferPool, buffer, length, readLimit);
+            }
+            final int count = inputStream.read(buffer, length, buffer.length - length);
+            if (count < 0) {
+                return;
+            }
+            length += count;
+            if (maxBodySize >= 0 && length > maxBodySize) {
+                throw new PayloadTooLargeException(maxBodySize);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onAllDataRead() {
+        if (buffer == null) {
+            return;
+        }
+        body = new MultiReadHttpServletRequest(request, bufferPool, buffer, length);
+        buffer = null;
+        request.setAttribute(BODY_ATTRIBUTE, body);
+        asyncContext.dispatch();
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+        try {
+            if (t instanceof PayloadTooLargeException) {
+                log.debug("Rejecting request to '{}': {}", request.getRequestURI(), t.getMessage());
+                ((HttpServletResponse) asyncContext.getResponse())
+                        .sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), t.getMessage());
+            } else {
+                log.debug("Unable to read the body of request to '{}'", request.getRequestURI(), t);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Unable to reject request to '{}'", request.getRequestURI(), e);
+        } finally {
+            asyncContext.complete();
+        }
+    }
+
+    @Override
+    public synchronized void onComplete(final AsyncEvent event) {
+        if (body != null) {
+            body.release();
+        } else {
+            MultiReadHttpServletRequest.free(bufferPool, buffer);
+            buffer = null;
+        }
+    }
+
+    @Override
+    public void onTimeout(final AsyncEvent event) {
+        // completion follows a timeout
+    }
+
+    @Override
+    public void onError(final AsyncEvent event) {
+        // completion follows an error
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) {
+        // keep listening when the request is put into asynchronous mode again after being dispatched
+        event.getAsyncContext().addListener(this);
+    }
+}
@@ -0,0 +1,125 @@
+package com.mnssoftware.validator.core.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe pool of byte buffers used to hold request bodies.
+ * <p>
+ * Buffers come in power-of-two sizes between the minimum and maximum buffer size, and a limited number of buffers of
+ * each size is retained once released. Requests for more than the maximum buffer size are served with a new buffer
+ * that is not pooled.
+ *
+ * @author msilcox
+ */
+public class BodyBufferPool {
+
+    public static final int DEFAULT_MIN_BUFFER_SIZE = 1024;
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 1024 * 1024;
+    public static final int DEFAULT_BUFFERS_PER_SIZE = 32;
+
+    private final int minBufferSize;
+    private final int maxBufferSize;
+    private final List<BlockingQueue<byte[]>> buffers = new ArrayList<>();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+
+    /**
+     * Create a pool with the default buffer sizes.
+     */
+    public BodyBufferPool() {
+        this(DEFAULT_MIN_BUFFER_SIZE, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_BUFFERS_PER_SIZE);
+    }
+
+    /**
+     * Create a pool with the given buffer sizes.
+     *
+     * @param minBufferSize  the smallest buffer handed out, rounded up to a power of two
+     * @param maxBufferSize  the largest buffer pooled, rounded up to a power of two
+     * @param buffersPerSize the number of released buffers retained for each size
+     */
+    public BodyBufferPool(final int minBufferSize, final int maxBufferSize, final int buffersPerSize) {
+        if (minBufferSize < 1 || maxBufferSize < minBufferSize || maxBufferSize > (1 << 30)) {
+            throw new IllegalArgumentException("Buffer sizes must satisfy 0 < minBufferSize <= maxBufferSize <= 2^30");
+        }
+        if (buffersPerSize < 1) {
+            throw new IllegalArgumentException("buffersPerSize must be greater than zero");
+        }
+        this.minBufferSize = roundUpToPowerOfTwo(minBufferSize);
+        this.maxBufferSize = roundUpToPowerOfTwo(maxBufferSize);
+        for (int size = this.minBufferSize; size <= this.maxBufferSize && size > 0; size <<= 1) {
+            buffers.add(new ArrayBlockingQueue<>(buffersPerSize));
+        }
+    }
+
+    /**
+     * Take a buffer holding at least the given number of bytes from the pool, allocating one if none is available.
+     *
+     * @param minimumCapacity the number of bytes the buffer must hold
+     * @return a buffer of at least the given capacity, its content is undefined
+     */
+    public byte[] acquire(final int minimumCapacity) {
+        if (minimumCapacity > maxBufferSize) {
+            allocations.increment();
+            return new byte[minimumCapacity];
+        }
+
+        final int size = Math.max(minBufferSize, roundUpToPowerOfTwo(minimumCapacity));
+        final byte[] buffer = buffers.get(indexOf(size)).poll();
+        if (buffer != null) {
+            reuses.increment();
+            return buffer;
+        }
+        allocations.increment();
+        return new byte[size];
+    }
+
+    /**
+     * Return a buffer to the pool. Buffers that were not handed out by the pool, or that do not fit because enough
+     * buffers of the same size are already retained, are left to the garbage collector.
+     *
+     * @param buffer the buffer to return, may be {@code null}
+     */
+    public void release(final byte[] buffer) {
+        if (buffer == null || buffer.length < minBufferSize || buffer.length > maxBufferSize
+                || Integer.bitCount(buffer.length) != 1) {
+            return;
+        }
+        buffers.get(indexOf(buffer.length)).offer(buffer);
+    }
+
+    /**
+     * @return the number of buffers allocated because no pooled buffer was available
+     */
+    public long getAllocationCount() {
+        return allocations.sum();
+    }
+
+    /**
+     * @return the number of buffers served from the pool
+     */
+    public long getReuseCount() {
+        return reuses.sum();
+    }
+
+    /**
+     * @return the largest buffer size that is pooled
+     */
+    public int getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    private int indexOf(final int size) {
+        return Integer.numberOfTrailingZeros(size) - Integer.numberOfTrailingZeros(minBufferSize);
+    }
+
+    private static int roundUpToPowerOfTwo(final int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,229 @@
+package com.mnssoftware.validator.core.filter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link HttpServletResponseWrapper} keeping a copy of the body written to it, so the response can be validated
+ * once it has been sent.
+ * <p>
+ * The body is passed on to the client as it is written, never held back, so capturing it does not delay the
+ * response. Only the first bytes of the body, up to a maximum size, are copied: a larger body is marked as
+ * overflowed and no copy of it is kept.
+ *
+ * @author msilcox
+ */
+public class CapturingHttpServletResponse extends HttpServletResponseWrapper {
+
+    private final int maxBodySize;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final CharArrayWriter chars = new CharArrayWriter();
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean overflowed;
+
+    /**
+     * @param response    the response to wrap
+     * @param maxBodySize the maximum number of bytes of the body to copy
+     */
+    public CapturingHttpServletResponse(final HttpServletResponse response, final int maxBodySize) {
+        super(response);
+        if (maxBodySize < 0) {
+            throw new IllegalArgumentException("The maximum body size must not be negative: " + maxBodySize);
+        }
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called for this response");
+        }
+        if (writer == null) {
+            // the writer of the response is kept, so characters are encoded and flushed as the container does
+            writer = new PrintWriter(new CapturingWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        bytes.reset();
+        chars.reset();
+        overflowed = false;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        bytes.reset();
+        chars.reset();
+        overflowed = false;
+    }
+
+    /**
+     * @return whether the body is larger than the maximum size, in which case it is not copied
+     */
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * @return a copy of the body written so far, encoded with the character encoding of the response if it was
+     * written as characters, or {@code null} if the body is larger than the maximum size
+     */
+    public byte[] getCapturedBody() {
+        if (overflowed) {
+            return null;
+        }
+        if (chars.size() == 0) {
+            return bytes.toByteArray();
+        }
+        final byte[] body = encode(chars.toString());
+        if (body.length > maxBodySize) {
+            overflowed = true;
+            return null;
+        }
+        return body;
+    }
+
+    private byte[] encode(final String body) {
+        final String encoding = getCharacterEncoding();
+        try {
+            return encoding == null ? body.getBytes(StandardCharsets.ISO_8859_1) : body.getBytes(encoding);
+        } catch (UnsupportedEncodingException e) {
+            // the container could not have written the body either
+            return body.getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private void captureBytes(final byte[] data, final int offset, final int length) {
+        if (overflowed) {
+            return;
+        }
+        if (bytes.size() + length > maxBodySize) {
+            overflow();
+            return;
+        }
+        bytes.write(data, offset, length);
+    }
+
+    private void captureChars(final char[] data, final int offset, final int length) {
+        // every character is encoded as at least one byte, so more characters than the maximum can never fit
+        if (overflowed) {
+            return;
+        }
+        if (chars.size() + length > maxBodySize) {
+            overflow();
+            return;
+        }
+        chars.write(data, offset, length);
+    }
+
+    private void overflow() {
+        overflowed = true;
+        bytes.reset();
+        chars.reset();
+    }
+
+    /**
+     * Passes bytes on to the response, copying them as they are written.
+     */
+    private final class CapturingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final byte[] single = new byte[1];
+
+        private CapturingOutputStream(final ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            delegate.write(b);
+            single[0] = (byte) b;
+            captureBytes(single, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            delegate.write(b, off, len);
+            captureBytes(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    /**
+     * Passes characters on to the writer of the response, copying them as they are written.
+     */
+    private final class CapturingWriter extends Writer {
+        private final Writer delegate;
+
+        private CapturingWriter(final Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            delegate.write(cbuf, off, len);
+            captureChars(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.mnssoftware.validator.core.filter;
+
+import org.apache.commons.io.IOUtils;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A copy of the parts of a request read by validation, which stays readable after the request completes and the
+ * container recycles it, so the request can be validated on another thread.
+ * <p>
+ * The method, URI, query string, scheme, server name and port, headers and body are copied, and attributes are kept
+ * apart from those of the original request. Anything else is read from the original request and must not be relied on
+ * once it completes.
+ *
+ * @author msilcox
+ */
+class DetachedHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final String method;
+    private final String requestUri;
+    private final String queryString;
+    private final String scheme;
+    private final String serverName;
+    private final int serverPort;
+    private final String contentType;
+    private final String characterEncoding;
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final byte[] body;
+
+    /**
+     * @param request the request to copy, whose body must be readable again
+     * @throws IOException if the body cannot be read
+     */
+    DetachedHttpServletRequest(final HttpServletRequest request) throws IOException {
+        this(request, IOUtils.toByteArray(request.getInputStream()));
+    }
+
+    /**
+     * @param request the request to copy
+     * @param body    the body of the copy
+     */
+    DetachedHttpServletRequest(final HttpServletRequest request, final byte[] body) {
+        super(request);
+        this.method = request.getMethod();
+        this.requestUri = request.getRequestURI();
+        this.queryString = request.getQueryString();
+        this.scheme = request.getScheme();
+        this.serverName = request.getServerName();
+        this.serverPort = request.getServerPort();
+        this.contentType = request.getContentType();
+        this.characterEncoding = request.getCharacterEncoding();
+        final Enumeration<String> names = request.getHeaderNames();
+        while (names != null && names.hasMoreElements()) {
+            final String name = names.nextElement();
+            headers.put(name.toLowerCase(), Collections.list(request.getHeaders(name)));
+        }
+        this.body = body;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getScheme() {
+        return scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return serverPort;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getHeader(final String name) {
+        final List<String> values = headers.get(name.toLowerCase());
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(final String name) {
+        final List<String> values = headers.get(name.toLowerCase());
+        return Collections.enumeration(values == null ? Collections.emptyList() : values);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(new ArrayList<>(headers.keySet()));
+    }
+
+    @Override
+    public Object getAttribute(final String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(final String name, final Object value) {
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new MultiReadHttpServletRequest.DelegatingServletInputStream(new ByteArrayInputStream(body));
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream()));
+    }
+}
@@ -8,26 +8,76 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import java.io.*;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * A {@link javax.servlet.http.HttpServletRequestWrapper} those {@link ServletInputStream} is cached and can be reset and read again as
  * often as necessary.
+ * <p>
+ * When created with a {@link BodyBufferPool} the body is read into a buffer presized from the request
+ * <code>Content-Length</code> and taken from the pool, which must be given back with {@link #release()} once the
+ * request completes.
  */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
 
+    /**
+     * Maximum body size meaning the body size is not limited
+     */
+    public static final long UNLIMITED = -1;
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int UNKNOWN_LENGTH_BUFFER_SIZE = 4096;
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    private final BodyBufferPool bufferPool;
     private byte[] body;
+    private int length;
 
     public MultiReadHttpServletRequest(HttpServletRequest request) {
         super(request);
+        this.bufferPool = null;
         try {
             body = IOUtils.toByteArray(request.getInputStream());
         } catch (IOException ex) {
-            body = new byte[0];
+            body = EMPTY;
         }
+        length = body.length;
+    }
+
+    /**
+     * Wrap the given request, reading its body into a buffer presized from its <code>Content-Length</code>.
+     *
+     * @param request     the request to wrap
+     * @param bufferPool  the pool to take the body buffer from, or {@code null} to allocate a new buffer
+     * @param maxBodySize the maximum number of bytes accepted, or {@link #UNLIMITED}
+     * @throws PayloadTooLargeException if the declared or actual body size exceeds the maximum
+     * @throws IOException              if the body cannot be read
+     */
+    public MultiReadHttpServletRequest(HttpServletRequest request, BodyBufferPool bufferPool, long maxBodySize)
+            throws IOException {
+        super(request);
+        this.bufferPool = bufferPool;
+        readBody(request.getContentLengthLong(), request.getInputStream(), maxBodySize);
+    }
+
+    /**
+     * Wrap the given request with a body that has already been read, such as by an {@link AsyncBodyReader}.
+     *
+     * @param request    the request to wrap
+     * @param bufferPool the pool the body buffer was taken from, or {@code null}
+     * @param body       the buffer holding the body
+     * @param length     the number of bytes of the body in the buffer
+     */
+    MultiReadHttpServletRequest(HttpServletRequest request, BodyBufferPool bufferPool, byte[] body, int length) {
+        super(request);
+        this.bufferPool = bufferPool;
+        this.body = body;
+        this.length = length;
     }
 
     @Override
     public ServletInputStream getInputStream() {
-        return new DelegatingServletInputStream(new ByteArrayInputStream(body));
+        return new DelegatingServletInputStream(new ByteArrayInputStream(body, 0, length));
     }
 
     @Override
@@ -35,12 +85,122 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedReader(new InputStreamReader(getInputStream()));
     }
 
+    /**
+     * @return the number of bytes in the body
+     */
+    public int getBodyLength() {
+        return length;
+    }
+
+    /**
+     * Copy this request so it can be read on another thread once it completes, such as to validate it in the
+     * background. The copy holds its own body, so this request can be released.
+     *
+     * @return a copy of the method, URI, query string, headers and body of this request
+     * @throws IOException if the body cannot be copied
+     */
+    public HttpServletRequest detach() throws IOException {
+        return new DetachedHttpServletRequest(this);
+    }
+
+    /**
+     * Give the body buffer back to its pool. The body reads as empty afterwards.
+     */
+    public synchronized void release() {
+        final byte[] buffer = body;
+        body = EMPTY;
+        length = 0;
+        if (bufferPool != null) {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private void readBody(final long contentLength, final InputStream inputStream, final long maxBodySize)
+            throws IOException {
+        final boolean limited = maxBodySize >= 0;
+        if (limited && contentLength > maxBodySize) {
+            throw new PayloadTooLargeException(maxBodySize);
+        }
+        body = EMPTY;
+        length = 0;
+        if (contentLength == 0) {
+            return;
+        }
+
+        // buffers never grow beyond one byte over the limit, which is enough to detect bodies larger than it
+        final long readLimit = readLimit(maxBodySize);
+        byte[] buffer = allocate(bufferPool, initialBufferSize(contentLength, readLimit));
+        int read = 0;
+        try {
+            while (true) {
+                if (read == buffer.length) {
+                    // a full buffer usually holds the whole body, so probe for its end before growing
+                    final int next = inputStream.read();
+                    if (next < 0) {
+                        break;
+                    }
+                    buffer = grow(bufferPool, buffer, read, readLimit);
+                    buffer[read++] = (byte) next;
+                } else {
+                    final int count = inputStream.read(buffer, read, buffer.length - read);
+                    if (count < 0) {
+                        break;
+                    }
+                    read += count;
+                }
+                if (limited && read > maxBodySize) {
+                    throw new PayloadTooLargeException(maxBodySize);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            free(bufferPool, buffer);
+            throw e;
+        }
+        body = buffer;
+        length = read;
+    }
+
+    /**
+     * @return the read limit for the given maximum body size, one byte over it so that larger bodies are detected
+     */
+    static long readLimit(final long maxBodySize) {
+        return maxBodySize >= 0 ? maxBodySize + 1 : MAX_BUFFER_SIZE;
+    }
+
+    static int initialBufferSize(final long contentLength, final long readLimit) {
+        return (int) Math.min(contentLength > 0 ? contentLength : UNKNOWN_LENGTH_BUFFER_SIZE, readLimit);
+    }
+
+    static byte[] grow(final BodyBufferPool bufferPool, final byte[] buffer, final int used, final long readLimit)
+            throws IOException {
+        if (used >= readLimit) {
+            throw new IOException("Request body is too large to buffer");
+        }
+        // doubling keeps to the size classes of the pool; only the read limit adds the byte over the maximum size
+        final byte[] grown = allocate(bufferPool, (int) Math.min((long) buffer.length * 2, readLimit));
+        System.arraycopy(buffer, 0, grown, 0, used);
+        free(bufferPool, buffer);
+        return grown;
+    }
+
+    static byte[] allocate(final BodyBufferPool bufferPool, final int capacity) {
+        return bufferPool == null ? new byte[capacity] : bufferPool.acquire(capacity);
+    }
+
+    static void free(final BodyBufferPool bufferPool, final byte[] buffer) {
+        if (bufferPool != null) {
+            bufferPool.release(buffer);
+        }
+    }
+
     static class DelegatingServletInputStream extends ServletInputStream {
 
         private final InputStream sourceStream;
 
         private boolean finished = false;
 
+        private ReadListener readListener;
+
         /**
          * Create a DelegatingServletInputStream for the given source stream.
          *
@@ -59,6 +219,15 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             return data;
         }
 
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = this.sourceStream.read(b, off, len);
+            if (count == -1) {
+                this.finished = true;
+            }
+            return count;
+        }
+
         @Override
         public int available() throws IOException {
             return this.sourceStream.available();
@@ -80,9 +249,28 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             return true;
         }
 
+        /**
+         * The body is already in memory, so it is available at once and never blocks: the listener is told so before
+         * this method returns, and told all data has been read once it has drained the stream.
+         */
         @Override
         public void setReadListener(ReadListener readListener) {
-            throw new UnsupportedOperationException();
+            requireNonNull(readListener, "A read listener is required");
+            if (this.readListener != null) {
+                throw new IllegalStateException("A read listener has already been set");
+            }
+            this.readListener = readListener;
+            try {
+                if (!this.finished) {
+                    readListener.onDataAvailable();
+                }
+                if (this.finished || this.sourceStream.available() == 0) {
+                    this.finished = true;
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException | RuntimeException e) {
+                readListener.onError(e);
+            }
         }
 
     }
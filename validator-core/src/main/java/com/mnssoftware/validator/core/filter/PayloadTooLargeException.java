@@ -0,0 +1,24 @@
+package com.mnssoftware.validator.core.filter;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a request body is larger than the configured maximum body size.
+ *
+ * @author msilcox
+ */
+public class PayloadTooLargeException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long maxBodySize;
+
+    public PayloadTooLargeException(final long maxBodySize) {
+        super("Request body exceeds the maximum size of " + maxBodySize + " bytes");
+        this.maxBodySize = maxBodySize;
+    }
+
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+}
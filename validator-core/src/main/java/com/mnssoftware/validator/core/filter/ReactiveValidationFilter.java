@@ -0,0 +1,33 @@
+package com.mnssoftware.validator.core.filter;
+
+import com.mnssoftware.validator.core.service.ReactiveValidationService;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validator WebFilter for reactive (WebFlux) applications, the counterpart of {@link ValidationFilter} and the
+ * validation interceptor of servlet applications.
+ * <p>
+ * Request bodies are not buffered: they are validated chunk by chunk as the application reads them, so a
+ * {@link com.mnssoftware.validator.core.service.ValidationException} can be signalled from the body as well as
+ * from this filter.
+ *
+ * @author msilcox
+ */
+public class ReactiveValidationFilter implements WebFilter {
+
+    private final ReactiveValidationService validationService;
+
+    public ReactiveValidationFilter(final ReactiveValidationService validationService) {
+        this.validationService = requireNonNull(validationService, "validationService must not be null");
+    }
+
+    @Override
+    public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+        return validationService.validateRequest(exchange).flatMap(chain::filter);
+    }
+}
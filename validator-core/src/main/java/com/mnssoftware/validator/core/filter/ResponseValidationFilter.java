@@ -0,0 +1,171 @@
+package com.mnssoftware.validator.core.filter;
+
+import com.mnssoftware.validator.core.service.ValidationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validates a sample of responses against the specification, after they have been sent.
+ * <p>
+ * The body of a sampled response is copied as it is written to the client, see {@link CapturingHttpServletResponse},
+ * and once the chain returns, or its asynchronous processing completes, the status and a snapshot of the body are
+ * validated on the given executor, so the latency of the response is unchanged. The status is taken at that point, so a
+ * status set afterwards by filters further out is not what is validated. The response is left for the container to
+ * commit, so those filters can still set its headers. Responses cannot be rejected once sent, so failures are only
+ * counted and logged. Responses whose body is larger than the maximum size are not validated, and validations the
+ * executor rejects are dropped, so a bounded executor limits the work done when responses are sent faster than they can
+ * be validated.
+ *
+ * @author msilcox
+ */
+@Slf4j
+public class ResponseValidationFilter extends OncePerRequestFilter {
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final ValidationService validationService;
+    private final double sampleRate;
+    private final Executor executor;
+    private final int maxBodySize;
+
+    private final LongAdder validated = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param validationService the service to validate responses with
+     * @param sampleRate        the fraction of responses to validate, between 0 and 1
+     * @param executor          the executor to validate responses on, ideally bounded
+     * @param maxBodySize       the maximum number of bytes of a response body to copy for validation
+     * @throws IllegalArgumentException if the sample rate is not between 0 and 1, or the maximum body size is negative
+     */
+    public ResponseValidationFilter(final ValidationService validationService, final double sampleRate,
+                                    final Executor executor, final int maxBodySize) {
+        this.validationService = requireNonNull(validationService, "validationService must not be null");
+        this.executor = requireNonNull(executor, "executor must not be null");
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + sampleRate);
+        }
+        if (maxBodySize < 0) {
+            throw new IllegalArgumentException("The maximum body size must not be negative: " + maxBodySize);
+        }
+        this.sampleRate = sampleRate;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!isSampled()) {
+            skipped.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final CapturingHttpServletResponse capturingResponse = new CapturingHttpServletResponse(response, maxBodySize);
+        filterChain.doFilter(request, capturingResponse);
+        if (request.isAsyncStarted()) {
+            // the response is only complete once the asynchronous processing completes
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    submit(request, capturingResponse);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    // the response is validated when the request completes
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    // the response is validated when the request completes
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                    // the listener is kept for the new asynchronous cycle
+                }
+            });
+            return;
+        }
+        submit(request, capturingResponse);
+    }
+
+    /**
+     * @return the number of responses validated
+     */
+    public long getValidatedCount() {
+        return validated.sum();
+    }
+
+    /**
+     * @return the number of responses not validated because they were not sampled or their body was too large
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * @return the number of responses that failed validation
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the number of responses not validated because the executor rejected their validation
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void submit(final HttpServletRequest request, final CapturingHttpServletResponse response) {
+        final byte[] body = response.getCapturedBody();
+        if (body == null) {
+            log.debug("Response to '{}' is too large to validate", request.getRequestURI());
+            skipped.increment();
+            return;
+        }
+        final int status = response.getStatus();
+        // the request is recycled once it completes, so only the parts read by validation are kept
+        final HttpServletRequest detached = new DetachedHttpServletRequest(request, NO_BODY);
+        try {
+            executor.execute(() -> validate(detached, status, body));
+        } catch (RejectedExecutionException e) {
+            log.debug("Dropped validation of response to '{}'", detached.getRequestURI());
+            dropped.increment();
+        }
+    }
+
+    private void validate(final HttpServletRequest request, final int status, final byte[] body) {
+        validated.increment();
+        try {
+            validationService.validateResponse(request, status, body);
+        } catch (Exception e) {
+            failed.increment();
+            if (log.isInfoEnabled()) {
+                log.info("Response {} to {} '{}' failed validation: {}", status, request.getMethod(),
+                        request.getRequestURI(), e.getMessage());
+            }
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.mnssoftware.validator.core.filter;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -10,17 +16,147 @@ import java.io.IOException;
 
 /**
  * Validator Filter that wraps the request to allow multiple reads of the body for validation
+ * <p>
+ * When created with a {@link BodyBufferPool} bodies are buffered in pooled buffers that are returned to the pool
+ * when the request completes, and bodies larger than the maximum body size are rejected with
+ * <code>413 Payload Too Large</code> before being read into memory.
+ * <p>
+ * In non-blocking mode request bodies are collected with a {@link javax.servlet.ReadListener} rather than by a
+ * container thread waiting on the client, and the request is dispatched back through the filter chain once its
+ * body is complete. The filter, and any filter after it, must then be registered with asynchronous support for the
+ * <code>ASYNC</code> dispatcher type. Requests that do not support asynchronous processing fall back to blocking
+ * reads.
  *
  * @author msilcox
  */
+@Slf4j
 public class ValidationFilter extends OncePerRequestFilter {
 
+    private final boolean pooled;
+    private final BodyBufferPool bufferPool;
+    private final long maxBodySize;
+    private final boolean nonBlocking;
+
+    public ValidationFilter() {
+        this.pooled = false;
+        this.bufferPool = null;
+        this.maxBodySize = MultiReadHttpServletRequest.UNLIMITED;
+        this.nonBlocking = false;
+    }
+
+    /**
+     * Create a filter buffering request bodies in the given pool.
+     *
+     * @param bufferPool  the pool to take body buffers from, or {@code null} to allocate a new buffer per request
+     * @param maxBodySize the maximum request body size in bytes, or {@link MultiReadHttpServletRequest#UNLIMITED}
+     */
+    public ValidationFilter(final BodyBufferPool bufferPool, final long maxBodySize) {
+        this(bufferPool, maxBodySize, false);
+    }
+
+    /**
+     * Create a filter buffering request bodies in the given pool, reading them without blocking if asked to.
+     *
+     * @param bufferPool  the pool to take body buffers from, or {@code null} to allocate a new buffer per request
+     * @param maxBodySize the maximum request body size in bytes, or {@link MultiReadHttpServletRequest#UNLIMITED}
+     * @param nonBlocking whether bodies are read with non-blocking I/O when the request supports it
+     */
+    public ValidationFilter(final BodyBufferPool bufferPool, final long maxBodySize, final boolean nonBlocking) {
+        this.pooled = true;
+        this.bufferPool = bufferPool;
+        this.maxBodySize = maxBodySize;
+        this.nonBlocking = nonBlocking;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        HttpServletRequest wrappedRequest = request;
-        if (!(request instanceof MultiReadHttpServletRequest)) {
-            wrappedRequest = new MultiReadHttpServletRequest(request);
+        if (request instanceof MultiReadHttpServletRequest) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!pooled) {
+            filterChain.doFilter(new MultiReadHttpServletRequest(request), response);
+            return;
+        }
+        if (nonBlocking && request.getDispatcherType() == DispatcherType.ASYNC) {
+            // the body was collected before the request was dispatched, or was consumed by an earlier dispatch
+            final Object body = request.getAttribute(AsyncBodyReader.BODY_ATTRIBUTE);
+            request.removeAttribute(AsyncBodyReader.BODY_ATTRIBUTE);
+            filterChain.doFilter(body instanceof MultiReadHttpServletRequest ? (HttpServletRequest) body : request,
+                    response);
+            return;
+        }
+        if (nonBlocking && request.isAsyncSupported() && hasBody(request)) {
+            if (maxBodySize >= 0 && request.getContentLengthLong() > maxBodySize) {
+                reject(request, response, new PayloadTooLargeException(maxBodySize));
+                return;
+            }
+            AsyncBodyReader.start(request, response, bufferPool, maxBodySize);
+            return;
+        }
+
+        final MultiReadHttpServletRequest wrappedRequest;
+        try {
+            wrappedRequest = new MultiReadHttpServletRequest(request, bufferPool, maxBodySize);
+        } catch (PayloadTooLargeException e) {
+            reject(request, response, e);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(wrappedRequest, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(wrappedRequest));
+            } else {
+                wrappedRequest.release();
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return !nonBlocking;
+    }
+
+    private static boolean hasBody(final HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    private static void reject(final HttpServletRequest request, final HttpServletResponse response,
+                               final PayloadTooLargeException e) throws IOException {
+        log.debug("Rejecting request to '{}': {}", request.getRequestURI(), e.getMessage());
+        response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), e.getMessage());
+    }
+
+    /**
+     * Releases the body buffer of an asynchronous request once it completes.
+     */
+    private static final class ReleasingAsyncListener implements AsyncListener {
+        private final MultiReadHttpServletRequest request;
+
+        private ReleasingAsyncListener(final MultiReadHttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            request.release();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            // completion follows a timeout
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            // completion follows an error
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
         }
-        filterChain.doFilter(wrappedRequest, response);
     }
 }
@@ -7,16 +7,56 @@ import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Validates requests before they are handled, as set by its {@link ValidationMode}: by default every request is
+ * validated and invalid requests are rejected.
+ * <p>
+ * In shadow mode the numbers of requests validated, skipped by sampling, found invalid and dropped by the executor
+ * are counted, so the traffic that would fail validation can be measured before it is enforced.
+ */
 @Slf4j
 public class ValidationInterceptor extends HandlerInterceptorAdapter {
 
-    private ValidationService validationService;
+    private final ValidationService validationService;
+    private final boolean enforcing;
+    private final double sampleRate;
+    private final Executor executor;
+
+    private final LongAdder validated = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
 
     public ValidationInterceptor(final ValidationService validationService) {
+        this(validationService, ValidationMode.enforce());
+    }
+
+    /**
+     * @param validationService the service to validate requests with
+     * @param mode              how validation is applied
+     * @throws IllegalArgumentException if the sample rate is not between 0 and 1, or an enforcing mode has an
+     *                                  executor, as requests cannot be rejected once they have been let through
+     */
+    public ValidationInterceptor(final ValidationService validationService, final ValidationMode mode) {
         this.validationService = requireNonNull(validationService, "validationService must not be null");
+        requireNonNull(mode, "mode must not be null");
+        if (!(mode.getSampleRate() >= 0 && mode.getSampleRate() <= 1)) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + mode.getSampleRate());
+        }
+        if (mode.isEnforcing() && mode.getExecutor() != null) {
+            throw new IllegalArgumentException("Only shadow validation can run on an executor");
+        }
+        this.enforcing = mode.isEnforcing();
+        this.sampleRate = mode.getSampleRate();
+        this.executor = mode.getExecutor();
     }
 
     @Override
@@ -28,9 +68,83 @@ public class ValidationInterceptor extends HandlerInterceptorAdapter {
             log.debug("Request validation disabled");
             return super.preHandle(servletRequest, servletResponse, handler);
         }
+        if (!isSampled()) {
+            skipped.increment();
+            return true;
+        }
 
-        validationService.validateRequest(servletRequest);
-
+        if (enforcing) {
+            validated.increment();
+            validationService.validateRequest(servletRequest);
+        } else if (executor == null) {
+            validateShadow(servletRequest);
+        } else {
+            submitShadow((MultiReadHttpServletRequest) servletRequest);
+        }
         return true;
     }
+
+    /**
+     * @return the number of requests validated
+     */
+    public long getValidatedCount() {
+        return validated.sum();
+    }
+
+    /**
+     * @return the number of requests not validated because they were not sampled
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * @return the number of requests that failed shadow validation, and would have been rejected
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the number of requests not validated because the executor rejected their validation
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void submitShadow(final MultiReadHttpServletRequest servletRequest) {
+        final HttpServletRequest detached;
+        try {
+            // the request and its body buffer are recycled once it completes, which may be before it is validated
+            detached = servletRequest.detach();
+        } catch (IOException e) {
+            log.debug("Unable to copy request to '{}' for validation", servletRequest.getRequestURI(), e);
+            dropped.increment();
+            return;
+        }
+        try {
+            executor.execute(() -> validateShadow(detached));
+        } catch (RejectedExecutionException e) {
+            log.debug("Dropped validation of request to '{}'", detached.getRequestURI());
+            dropped.increment();
+        }
+    }
+
+    private void validateShadow(final HttpServletRequest request) {
+        validated.increment();
+        try {
+            validationService.validateRequest(request);
+        } catch (Exception e) {
+            // failures are already recorded by the validation service's metrics, if it has any
+            failed.increment();
+            if (log.isInfoEnabled()) {
+                log.info("Request {} '{}' failed validation: {}", request.getMethod(), request.getRequestURI(),
+                        e.getMessage());
+            }
+        }
+    }
 }
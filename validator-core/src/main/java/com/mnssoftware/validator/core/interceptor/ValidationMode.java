@@ -0,0 +1,77 @@
+package com.mnssoftware.validator.core.interceptor;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How a {@link ValidationInterceptor} applies validation: to which requests, on which thread and with what effect.
+ * <p>
+ * In shadow mode invalid requests are never rejected, their failures only being logged and recorded by the
+ * validation service's metrics, which allows the traffic that would fail validation to be measured before
+ * validation is enforced. Shadow validation can run on a background executor, in which case validation work that
+ * the executor rejects, such as when its queue is full, is dropped rather than delaying the request.
+ *
+ * @author msilcox
+ */
+@Value
+@Builder(toBuilder = true)
+public class ValidationMode {
+
+    /**
+     * Whether invalid requests are rejected, true by default
+     */
+    @Builder.Default
+    boolean enforcing = true;
+
+    /**
+     * The fraction of requests validated, between 0 and 1, every request by default
+     */
+    @Builder.Default
+    double sampleRate = 1.0;
+
+    /**
+     * The executor shadow validation runs on, or {@code null} to validate on the request thread, the default
+     */
+    Executor executor;
+
+    /**
+     * @return the default mode, validating every request on the request thread and rejecting invalid ones
+     */
+    public static ValidationMode enforce() {
+        return builder().build();
+    }
+
+    /**
+     * @param sampleRate the fraction of requests validated, between 0 and 1
+     * @param executor   the executor to validate on, or {@code null} to validate on the request thread
+     * @return a mode validating a sample of requests without ever rejecting them
+     */
+    public static ValidationMode shadow(final double sampleRate, final Executor executor) {
+        return builder().enforcing(false).sampleRate(sampleRate).executor(executor).build();
+    }
+
+    /**
+     * Create an executor suitable for shadow validation, which rejects work rather than queueing it without bound.
+     * Its threads are daemon threads, so it need not be shut down.
+     *
+     * @param threads       the number of validation threads
+     * @param queueCapacity the number of requests that can wait to be validated
+     * @return the executor
+     */
+    public static ExecutorService boundedExecutor(final int threads, final int queueCapacity) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            final Thread thread = new Thread(runnable, "shadow-validation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,57 @@
+package com.mnssoftware.validator.core.metrics;
+
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records validation metrics in memory, keeping latency histograms and failure counts for each operation.
+ * <p>
+ * Recording is lock-free and, once an operation has been seen, does not allocate.
+ *
+ * @author msilcox
+ */
+public class HistogramValidationMetrics implements ValidationMetrics {
+
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordValidation(final String operation, final long nanos, final boolean valid) {
+        operationMetrics(operation).recordValidation(nanos, valid);
+    }
+
+    @Override
+    public void recordStage(final String operation, final ValidationStage stage, final long nanos) {
+        operationMetrics(operation).recordStage(stage, nanos);
+    }
+
+    @Override
+    public void recordFailure(final String operation, final ValidationKeyMessage failure) {
+        operationMetrics(operation).recordFailure(failure);
+    }
+
+    /**
+     * @param operation the name of an operation
+     * @return the metrics recorded for the operation, or empty if nothing was recorded for it
+     */
+    public Optional<OperationMetrics> getOperation(final String operation) {
+        return Optional.ofNullable(operations.get(operation));
+    }
+
+    /**
+     * @return the metrics of every operation something was recorded for
+     */
+    public Collection<OperationMetrics> getOperations() {
+        return Collections.unmodifiableCollection(operations.values());
+    }
+
+    private OperationMetrics operationMetrics(final String operation) {
+        // look up first, computeIfAbsent locks the bin even when the operation is present
+        final OperationMetrics metrics = operations.get(operation);
+        return metrics != null ? metrics : operations.computeIfAbsent(operation, OperationMetrics::new);
+    }
+}
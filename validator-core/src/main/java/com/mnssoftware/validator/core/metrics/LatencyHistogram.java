@@ -0,0 +1,173 @@
+package com.mnssoftware.validator.core.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Latencies are counted in power-of-two buckets, so bucket {@code i} holds the latencies between {@code 2^i} and
+ * {@code 2^(i+1) - 1} nanoseconds. Counts are striped by thread across several cache-line separated rows so
+ * concurrent requests rarely write to the same counter, and recording a latency never allocates.
+ *
+ * @author msilcox
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of buckets, the last bucket holds every latency of {@code 2^(BUCKETS - 1)} nanoseconds or more
+     */
+    public static final int BUCKETS = 40;
+
+    private static final int MAX_STRIPES = 8;
+    // each stripe holds the bucket counts followed by the sum of its latencies
+    private static final int STRIDE = BUCKETS + 1;
+    private static final int SUM = BUCKETS;
+
+    private final int stripeMask;
+    private final AtomicLongArray counts;
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Create a histogram striped by the number of available processors.
+     */
+    public LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a histogram with the given number of stripes.
+     *
+     * @param stripes the number of stripes, rounded up to a power of two and capped at {@value #MAX_STRIPES}
+     */
+    public LatencyHistogram(final int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be greater than zero");
+        }
+        final int stripeCount = stripes == 1 ? 1 : Math.min(MAX_STRIPES, Integer.highestOneBit(stripes - 1) << 1);
+        this.stripeMask = stripeCount - 1;
+        this.counts = new AtomicLongArray(stripeCount * STRIDE);
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are counted as zero
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0L, nanos);
+        final int offset = (int) (Thread.currentThread().getId() & stripeMask) * STRIDE;
+        counts.incrementAndGet(offset + bucketOf(value));
+        counts.addAndGet(offset + SUM, value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Take a snapshot of the recorded latencies. Latencies recorded while the snapshot is taken may or may not be
+     * included.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        final long[] buckets = new long[BUCKETS];
+        long sum = 0L;
+        for (int offset = 0; offset < counts.length(); offset += STRIDE) {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] += counts.get(offset + i);
+            }
+            sum += counts.get(offset + SUM);
+        }
+        return new Snapshot(buckets, sum, max.get());
+    }
+
+    /**
+     * @param bucket the index of a bucket
+     * @return the largest latency counted in the bucket, in nanoseconds
+     */
+    public static long bucketUpperBound(final int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (2L << bucket) - 1;
+    }
+
+    static int bucketOf(final long nanos) {
+        return nanos == 0 ? 0 : Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * A point in time copy of the histogram.
+     */
+    public static final class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(final long[] buckets, final long totalNanos, final long maxNanos) {
+            this.buckets = buckets;
+            this.count = Arrays.stream(buckets).sum();
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @return the number of recorded latencies
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the sum of the recorded latencies, in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return the largest recorded latency, in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return the mean of the recorded latencies in nanoseconds, or zero if none were recorded
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+
+        /**
+         * @param bucket the index of a bucket
+         * @return the number of latencies counted in the bucket
+         */
+        public long getBucketCount(final int bucket) {
+            return buckets[bucket];
+        }
+
+        /**
+         * Estimate the latency below which the given percentage of recorded latencies fall. The estimate is the upper
+         * bound of the bucket holding the percentile, so is at most twice the actual value.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the estimated latency in nanoseconds, or zero if none were recorded
+         */
+        public long getValueAtPercentile(final double percentile) {
+            if (percentile < 0.0 || percentile > 100.0) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100");
+            }
+            if (count == 0) {
+                return 0L;
+            }
+            final long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(maxNanos, bucketUpperBound(i));
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
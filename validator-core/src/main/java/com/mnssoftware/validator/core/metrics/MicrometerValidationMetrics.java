@@ -0,0 +1,118 @@
+package com.mnssoftware.validator.core.metrics;
+
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records validation metrics in a Micrometer {@link MeterRegistry}.
+ * <p>
+ * The following meters are registered, each tagged with the <code>operation</code> name:
+ * <ul>
+ * <li><code>validation.requests</code>, a timer of whole requests tagged with the <code>outcome</code>,
+ * either <code>valid</code> or <code>invalid</code></li>
+ * <li><code>validation.stage</code>, a timer of each stage tagged with the <code>stage</code></li>
+ * <li><code>validation.failures</code>, a counter of failures tagged with the failure <code>code</code> and
+ * <code>reason</code></li>
+ * </ul>
+ * Meters are looked up once per operation, so recording does not go through the registry. Micrometer must be on the
+ * classpath to use this class.
+ *
+ * @author msilcox
+ */
+public class MicrometerValidationMetrics implements ValidationMetrics {
+
+    public static final String REQUESTS_METER = "validation.requests";
+    public static final String STAGE_METER = "validation.stage";
+    public static final String FAILURES_METER = "validation.failures";
+
+    private static final String OPERATION_TAG = "operation";
+    private static final ValidationStage[] STAGES = ValidationStage.values();
+    private static final ValidationKeyMessage[] FAILURES = ValidationKeyMessage.values();
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, OperationMeters> operations = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry the registry to record metrics in
+     */
+    public MicrometerValidationMetrics(final MeterRegistry registry) {
+        this.registry = requireNonNull(registry, "A meter registry is required");
+    }
+
+    @Override
+    public void recordValidation(final String operation, final long nanos, final boolean valid) {
+        final OperationMeters meters = operationMeters(operation);
+        (valid ? meters.valid : meters.invalid).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordStage(final String operation, final ValidationStage stage, final long nanos) {
+        operationMeters(operation).stages[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFailure(final String operation, final ValidationKeyMessage failure) {
+        operationMeters(operation).failure(failure).increment();
+    }
+
+    private OperationMeters operationMeters(final String operation) {
+        final OperationMeters meters = operations.get(operation);
+        return meters != null ? meters : operations.computeIfAbsent(operation, this::register);
+    }
+
+    private OperationMeters register(final String operation) {
+        return new OperationMeters(operation);
+    }
+
+    private final class OperationMeters {
+        private final String operation;
+        private final Timer valid;
+        private final Timer invalid;
+        private final Timer[] stages = new Timer[STAGES.length];
+        // failure counters are registered on first use so operations without failures do not report zero counters
+        private final AtomicReferenceArray<Counter> failures = new AtomicReferenceArray<>(FAILURES.length);
+
+        private OperationMeters(final String operation) {
+            this.operation = operation;
+            this.valid = requestTimer("valid");
+            this.invalid = requestTimer("invalid");
+            for (ValidationStage stage : STAGES) {
+                stages[stage.ordinal()] = Timer.builder(STAGE_METER)
+                        .tag(OPERATION_TAG, operation)
+                        .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+        }
+
+        private Timer requestTimer(final String outcome) {
+            return Timer.builder(REQUESTS_METER)
+                    .tag(OPERATION_TAG, operation)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        private Counter failure(final ValidationKeyMessage failure) {
+            Counter counter = failures.get(failure.ordinal());
+            if (counter == null) {
+                // registering is idempotent, so racing threads end up with the same counter
+                counter = Counter.builder(FAILURES_METER)
+                        .tag(OPERATION_TAG, operation)
+                        .tag("code", failure.getCode())
+                        .tag("reason", failure.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+                failures.set(failure.ordinal(), counter);
+            }
+            return counter;
+        }
+    }
+}
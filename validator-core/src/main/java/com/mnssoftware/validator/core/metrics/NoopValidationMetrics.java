@@ -0,0 +1,32 @@
+package com.mnssoftware.validator.core.metrics;
+
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+
+/**
+ * Metrics that record nothing, used when no metrics are configured.
+ *
+ * @author msilcox
+ */
+enum NoopValidationMetrics implements ValidationMetrics {
+    INSTANCE;
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordValidation(final String operation, final long nanos, final boolean valid) {
+        // nothing to record
+    }
+
+    @Override
+    public void recordStage(final String operation, final ValidationStage stage, final long nanos) {
+        // nothing to record
+    }
+
+    @Override
+    public void recordFailure(final String operation, final ValidationKeyMessage failure) {
+        // nothing to record
+    }
+}
@@ -0,0 +1,101 @@
+package com.mnssoftware.validator.core.metrics;
+
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The latencies and failures recorded for a single operation by {@link HistogramValidationMetrics}.
+ *
+ * @author msilcox
+ */
+public final class OperationMetrics {
+    private static final ValidationKeyMessage[] FAILURES = ValidationKeyMessage.values();
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram[] stageLatencies = new LatencyHistogram[ValidationStage.values().length];
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder[] failures = new LongAdder[FAILURES.length];
+
+    OperationMetrics(final String name) {
+        this.name = requireNonNull(name, "An operation name is required");
+        for (int i = 0; i < stageLatencies.length; i++) {
+            stageLatencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    void recordValidation(final long nanos, final boolean valid) {
+        latency.record(nanos);
+        if (!valid) {
+            invalid.increment();
+        }
+    }
+
+    void recordStage(final ValidationStage stage, final long nanos) {
+        stageLatencies[stage.ordinal()].record(nanos);
+    }
+
+    void recordFailure(final ValidationKeyMessage failure) {
+        failures[failure.ordinal()].increment();
+    }
+
+    /**
+     * @return the name of the operation
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the latencies of validating whole requests to the operation
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param stage the validation stage
+     * @return the latencies of the given stage for requests to the operation
+     */
+    public LatencyHistogram getStageLatency(final ValidationStage stage) {
+        return stageLatencies[stage.ordinal()];
+    }
+
+    /**
+     * @return the number of requests to the operation that failed validation
+     */
+    public long getInvalidCount() {
+        return invalid.sum();
+    }
+
+    /**
+     * @param failure the reason validation failed
+     * @return the number of times validation failed for the given reason
+     */
+    public long getFailureCount(final ValidationKeyMessage failure) {
+        return failures[failure.ordinal()].sum();
+    }
+
+    /**
+     * @return the number of failures for each reason that occurred at least once
+     */
+    public Map<ValidationKeyMessage, Long> getFailureCounts() {
+        final Map<ValidationKeyMessage, Long> counts = new EnumMap<>(ValidationKeyMessage.class);
+        for (ValidationKeyMessage failure : FAILURES) {
+            final long count = getFailureCount(failure);
+            if (count > 0) {
+                counts.put(failure, count);
+            }
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mnssoftware.validator.core.metrics;
+
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+
+/**
+ * Receives timings and failures of request validation.
+ * <p>
+ * Operations are identified by name, which is the operation id of the API operation when it has one. Implementations
+ * are called on the request thread and must be thread-safe and cheap.
+ *
+ * @author msilcox
+ */
+public interface ValidationMetrics {
+
+    /**
+     * @return a metrics implementation that records nothing
+     */
+    static ValidationMetrics noop() {
+        return NoopValidationMetrics.INSTANCE;
+    }
+
+    /**
+     * Whether anything is recorded, allowing callers to skip taking timings when it is not.
+     *
+     * @return {@code true} if this implementation records metrics
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Record the time taken to validate a request.
+     *
+     * @param operation the name of the validated operation
+     * @param nanos     the time taken to validate the request, in nanoseconds
+     * @param valid     whether the request passed validation
+     */
+    void recordValidation(String operation, long nanos, boolean valid);
+
+    /**
+     * Record the time taken by a single validation stage.
+     *
+     * @param operation the name of the validated operation
+     * @param stage     the validation stage
+     * @param nanos     the time taken by the stage, in nanoseconds
+     */
+    void recordStage(String operation, ValidationStage stage, long nanos);
+
+    /**
+     * Record a validation failure.
+     *
+     * @param operation the name of the validated operation
+     * @param failure   the reason validation failed
+     */
+    void recordFailure(String operation, ValidationKeyMessage failure);
+}
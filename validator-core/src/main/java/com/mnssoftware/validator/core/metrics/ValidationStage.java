@@ -0,0 +1,12 @@
+package com.mnssoftware.validator.core.metrics;
+
+/**
+ * The stages a request passes through while it is validated.
+ *
+ * @author msilcox
+ */
+public enum ValidationStage {
+    PATH,
+    QUERY,
+    BODY
+}
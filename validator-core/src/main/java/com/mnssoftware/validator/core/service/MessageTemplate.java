@@ -0,0 +1,82 @@
+package com.mnssoftware.validator.core.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A message template split on its {@code %s} placeholders once, so rendering it is a matter of appending the
+ * fragments and arguments in turn rather than parsing a format string for every message.
+ * <p>
+ * Renders the same text as {@link String#format(String, Object...)} for templates whose only conversions are
+ * {@code %s}.
+ *
+ * @author msilcox
+ */
+final class MessageTemplate {
+
+    private static final String PLACEHOLDER = "%s";
+    // a guess at the length of each argument, to size the builder
+    private static final int ARGUMENT_LENGTH = 16;
+
+    private final String template;
+    private final String[] fragments;
+    private final int capacity;
+
+    private MessageTemplate(final String template, final String[] fragments) {
+        this.template = template;
+        this.fragments = fragments;
+        this.capacity = template.length() + (fragments.length - 1) * (ARGUMENT_LENGTH - PLACEHOLDER.length());
+    }
+
+    /**
+     * @param template a message template with {@code %s} placeholders
+     * @return the parsed template
+     */
+    static MessageTemplate parse(final String template) {
+        requireNonNull(template, "A template is required");
+        final List<String> fragments = new ArrayList<>();
+        int start = 0;
+        int placeholder;
+        while ((placeholder = template.indexOf(PLACEHOLDER, start)) >= 0) {
+            fragments.add(template.substring(start, placeholder));
+            start = placeholder + PLACEHOLDER.length();
+        }
+        fragments.add(template.substring(start));
+        return new MessageTemplate(template, fragments.toArray(new String[0]));
+    }
+
+    /**
+     * @return the number of placeholders in the template
+     */
+    int getArgumentCount() {
+        return fragments.length - 1;
+    }
+
+    /**
+     * Render the template, ignoring any arguments beyond the number of placeholders.
+     *
+     * @param arguments the values of the placeholders, in order
+     * @return the rendered message
+     * @throws IllegalArgumentException if there are fewer arguments than placeholders
+     */
+    String render(final Object... arguments) {
+        if (arguments.length < getArgumentCount()) {
+            throw new IllegalArgumentException("Expected " + getArgumentCount() + " arguments for '" + template + "'");
+        }
+        if (fragments.length == 1) {
+            return template;
+        }
+        final StringBuilder message = new StringBuilder(capacity).append(fragments[0]);
+        for (int i = 1; i < fragments.length; i++) {
+            message.append(arguments[i - 1]).append(fragments[i]);
+        }
+        return message.toString();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,203 @@
+package com.mnssoftware.validator.core.service;
+
+import org.springframework.web.util.UriUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A view of a request query string, split into its parameters once.
+ * <p>
+ * Parameters are held as offsets into the original query string, so values are only copied out of it when they are
+ * asked for. Parameter names are percent-decoded, values are returned as they appear in the query string, still
+ * percent-encoded, for validators to decode as the parameter type requires.
+ *
+ * @author msilcox
+ */
+public final class ParsedQueryString {
+
+    /**
+     * The request attribute the parsed query string of a request is kept in
+     */
+    public static final String ATTRIBUTE = ParsedQueryString.class.getName();
+
+    private static final int NO_VALUE = -1;
+    // offsets of each parameter: name start, name end, value start (or NO_VALUE), value end
+    private static final int STRIDE = 4;
+
+    private final String query;
+    private final int[] offsets;
+    private final int size;
+    private final String[] decodedNames;
+
+    private ParsedQueryString(final String query) {
+        this.query = query == null ? "" : query;
+        int[] parsed = new int[STRIDE * 4];
+        String[] decoded = new String[4];
+        int count = 0;
+        int start = 0;
+        int nameEnd = -1;
+        boolean encoded = false;
+        for (int i = 0; i <= this.query.length(); i++) {
+            final char c = i == this.query.length() ? '&' : this.query.charAt(i);
+            if (c == '=' && nameEnd < 0) {
+                nameEnd = i;
+            } else if (c == '%' && nameEnd < 0) {
+                encoded = true;
+            } else if (c == '&') {
+                final int end = nameEnd < 0 ? i : nameEnd;
+                if (end > start) {
+                    if (count == decoded.length) {
+                        parsed = Arrays.copyOf(parsed, parsed.length * 2);
+                        decoded = Arrays.copyOf(decoded, decoded.length * 2);
+                    }
+                    final int offset = count * STRIDE;
+                    parsed[offset] = start;
+                    parsed[offset + 1] = end;
+                    parsed[offset + 2] = nameEnd < 0 ? NO_VALUE : nameEnd + 1;
+                    parsed[offset + 3] = i;
+                    // names are compared in place unless they hold escapes, which are decoded up front
+                    decoded[count] = encoded ? decode(this.query.substring(start, end)) : null;
+                    count++;
+                }
+                start = i + 1;
+                nameEnd = -1;
+                encoded = false;
+            }
+        }
+        this.offsets = parsed;
+        this.size = count;
+        this.decodedNames = decoded;
+    }
+
+    /**
+     * Parse the given query string.
+     *
+     * @param query the raw query string, may be {@code null}
+     * @return the parsed query string
+     */
+    public static ParsedQueryString parse(final String query) {
+        return new ParsedQueryString(query);
+    }
+
+    /**
+     * Get the parsed query string of the given request, parsing it only if it was not already parsed for the request.
+     *
+     * @param request the request
+     * @return the parsed query string
+     */
+    public static ParsedQueryString of(final HttpServletRequest request) {
+        requireNonNull(request, "A request is required");
+        final String query = request.getQueryString();
+        final Object parsed = request.getAttribute(ATTRIBUTE);
+        if (parsed instanceof ParsedQueryString && ((ParsedQueryString) parsed).query.equals(query == null ? "" : query)) {
+            return (ParsedQueryString) parsed;
+        }
+        final ParsedQueryString queryString = parse(query);
+        request.setAttribute(ATTRIBUTE, queryString);
+        return queryString;
+    }
+
+    /**
+     * @return the number of parameters in the query string, counting repeated parameters once per occurrence
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index the index of a parameter occurrence
+     * @return the percent-decoded name of the parameter
+     */
+    public String name(final int index) {
+        checkIndex(index);
+        final String name = decodedNames[index];
+        return name != null ? name : query.substring(offsets[index * STRIDE], offsets[index * STRIDE + 1]);
+    }
+
+    /**
+     * @param index the index of a parameter occurrence
+     * @return the still percent-encoded value of the parameter, empty if it has an empty value and {@code null} if it
+     * has no value at all
+     */
+    public String value(final int index) {
+        checkIndex(index);
+        final int valueStart = offsets[index * STRIDE + 2];
+        return valueStart == NO_VALUE ? null : query.substring(valueStart, offsets[index * STRIDE + 3]);
+    }
+
+    /**
+     * @param name the percent-decoded name of a parameter
+     * @return the values of every occurrence of the parameter in order, empty if the parameter is not present
+     */
+    public List<String> getValues(final String name) {
+        List<String> values = Collections.emptyList();
+        String first = null;
+        boolean found = false;
+        for (int i = 0; i < size; i++) {
+            if (!nameEquals(i, name)) {
+                continue;
+            }
+            if (!found) {
+                first = value(i);
+                found = true;
+            } else {
+                if (values.isEmpty()) {
+                    values = new ArrayList<>();
+                    values.add(first);
+                }
+                values.add(value(i));
+            }
+        }
+        if (found && values.isEmpty()) {
+            return Collections.singletonList(first);
+        }
+        return values;
+    }
+
+    /**
+     * @param name the percent-decoded name of a parameter
+     * @return whether the parameter is present in the query string
+     */
+    public boolean contains(final String name) {
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(i, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean nameEquals(final int index, final String name) {
+        if (decodedNames[index] != null) {
+            return decodedNames[index].equals(name);
+        }
+        final int nameStart = offsets[index * STRIDE];
+        final int nameLength = offsets[index * STRIDE + 1] - nameStart;
+        return nameLength == name.length() && query.regionMatches(nameStart, name, 0, nameLength);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static String decode(final String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        try {
+            return UriUtils.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // leave malformed escapes as they are, as they would have been before parsing
+            return value;
+        }
+    }
+}
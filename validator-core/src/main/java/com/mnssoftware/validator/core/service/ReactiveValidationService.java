@@ -0,0 +1,22 @@
+package com.mnssoftware.validator.core.service;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface for Validation Services of reactive (WebFlux) applications
+ */
+public interface ReactiveValidationService {
+
+    /**
+     * <p>Validate the given exchange without blocking.</p>
+     * <p>The request parameters are validated before the returned exchange is emitted, and a
+     * {@link ValidationException} is signalled instead if they are invalid. The request body is validated while it
+     * is read from the returned exchange: once it is found to be invalid a {@link ValidationException} is signalled
+     * in place of the rest of the body.</p>
+     *
+     * @param exchange exchange to validate
+     * @return the exchange to continue processing, with a request body that is validated as it is read
+     */
+    Mono<ServerWebExchange> validateRequest(ServerWebExchange exchange);
+}
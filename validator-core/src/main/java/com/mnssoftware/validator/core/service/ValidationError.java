@@ -0,0 +1,52 @@
+package com.mnssoftware.validator.core.service;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * A single validation failure: what went wrong, where in the request and with which field.
+ * <p>
+ * The message describing the failure is only rendered when it is asked for.
+ *
+ * @author msilcox
+ */
+@Value
+public class ValidationError implements Serializable {
+
+    private static final long serialVersionUID = -2164127795036474107L;
+
+    /**
+     * What went wrong
+     */
+    ValidationKeyMessage key;
+
+    /**
+     * Where in the request the field was found, e.g. "query parameter"
+     */
+    String location;
+
+    /**
+     * The name of the field that failed validation
+     */
+    String field;
+
+    /**
+     * @return the code of the failure
+     */
+    public String getCode() {
+        return key.getCode();
+    }
+
+    /**
+     * @return the message describing the failure, e.g. "The query parameter limit is mandatory"
+     */
+    public String getMessage() {
+        return key.format(location, field);
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
@@ -2,23 +2,64 @@ package com.mnssoftware.validator.core.service;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * <p>Thrown when there is a JSON schema validation error</p>
+ * <p>
+ * Validation failures are expected, and may make up most of the traffic of a service under attack, so the exception
+ * does not capture a stack trace and its messages are only rendered when they are asked for.
  */
 public class ValidationException extends RuntimeException {
 
     private static final long serialVersionUID = 3803415613233272388L;
-    private final List<String> validationErrors;
+    private final List<ValidationError> errors;
+    private volatile List<String> validationErrors;
 
     public ValidationException(List<String> validationErrors) {
-        super("[" + StringUtils.join(validationErrors, ",") + "]");
+        this(Collections.emptyList(), validationErrors);
+    }
+
+    private ValidationException(List<ValidationError> errors, List<String> validationErrors) {
+        super(null, null, false, false);
+        this.errors = errors;
         this.validationErrors = validationErrors;
     }
 
+    /**
+     * @param errors the validation failures
+     * @return an exception reporting the given failures
+     */
+    public static ValidationException of(List<ValidationError> errors) {
+        return new ValidationException(requireNonNull(errors, "Validation errors are required"), null);
+    }
+
+    /**
+     * @return the validation failures, or an empty list if this exception was only given their messages
+     */
+    public List<ValidationError> getErrors() {
+        return errors;
+    }
+
     public List<String> getValidationErrors() {
-        return validationErrors;
+        List<String> result = validationErrors;
+        if (result == null) {
+            result = new ArrayList<>(errors.size());
+            for (ValidationError error : errors) {
+                result.add(error.getMessage());
+            }
+            validationErrors = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String getMessage() {
+        return "[" + StringUtils.join(getValidationErrors(), ",") + "]";
     }
 
 }
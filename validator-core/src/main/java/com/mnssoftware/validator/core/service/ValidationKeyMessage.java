@@ -1,8 +1,7 @@
 package com.mnssoftware.validator.core.service;
 
-import org.apache.commons.lang3.StringUtils;
-
-import java.util.stream.Stream;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Enumeration to give abstraction from 3rd party {@link com.networknt.schema.ValidatorTypeCode}
@@ -23,14 +22,26 @@ public enum ValidationKeyMessage {
     DUPLICATES("1031", "The %s %s does not allow duplicate values"),
     UNEXPECTED_BODY("9001", "No request body is expected but one was found"),
     MISSING_BODY("9002", "Request body is expected but not found"),
+    UNDOCUMENTED_STATUS("9003", "The %s %s is not documented"),
+    MISSING_RESPONSE_BODY("9004", "Response body is expected but not found"),
     DEFAULT("9999", "The payload could not be parsed");
 
+    private static final Map<String, ValidationKeyMessage> BY_CODE = new HashMap<>();
+
+    static {
+        for (ValidationKeyMessage value : values()) {
+            BY_CODE.put(value.code, value);
+        }
+    }
+
     private final String code;
     private final String message;
+    private final MessageTemplate template;
 
     ValidationKeyMessage(String code, String message) {
         this.message = message;
         this.code = code;
+        this.template = MessageTemplate.parse(message);
     }
 
     public String getCode() {
@@ -41,9 +52,28 @@ public enum ValidationKeyMessage {
         return message;
     }
 
+    /**
+     * Render the message for a failure of the given field.
+     *
+     * @param location where the field was found, e.g. "query parameter"
+     * @param field    the name of the field
+     * @return the message with the location and field filled in
+     */
+    public String format(Object location, Object field) {
+        return template.render(location, field);
+    }
+
+    /**
+     * @param code a validation message code
+     * @return the key message with the given code, or {@link #DEFAULT} if there is none
+     */
+    public static ValidationKeyMessage fromCode(String code) {
+        final ValidationKeyMessage value = code == null ? null : BY_CODE.get(code);
+        return value == null ? DEFAULT : value;
+    }
+
     public static String getMessageFromCode(String code) {
-        return Stream.of(ValidationKeyMessage.values()).filter(v -> StringUtils.equals(v.getCode(), code)).findFirst().map(
-                ValidationKeyMessage::getMessage).orElse(DEFAULT.getMessage());
+        return fromCode(code).getMessage();
     }
 
 }
@@ -19,4 +19,19 @@ public interface ValidationService {
      * @throws ServletException if request fails validations
      */
     void validateRequest(HttpServletRequest request) throws ServletException;
+
+    /**
+     * <p>Validate the response sent to the given request.</p>
+     * <p>Responses are validated after they have been sent, so failures can only be reported. Services that do not
+     * validate responses accept any response.</p>
+     *
+     * <p>Throws ValidationException if validation fails</p>
+     *
+     * @param request the request the response was sent to, of which the method and URI are read
+     * @param status  the status code of the response
+     * @param body    the body of the response
+     */
+    default void validateResponse(HttpServletRequest request, int status, byte[] body) {
+        // responses are not validated unless the service supports it
+    }
 }
@@ -1,6 +1,7 @@
 package com.mnssoftware.validator.core.utils;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -51,4 +52,50 @@ public final class JsonUtils {
         return Optional.ofNullable(jsonNode).orElse(MissingNode.getInstance());
     }
 
+    /**
+     * Read the given UTF-8, UTF-16 or UTF-32 encoded bytes to a JsonNode
+     *
+     * @param content the bytes to read
+     * @return JsonNode from the bytes or MissingNode if empty
+     * @throws IOException if unable to read the bytes
+     */
+    public static JsonNode readTree(byte[] content) throws IOException {
+        JsonNode jsonNode = OBJECT_MAPPER.readTree(content);
+        return Optional.ofNullable(jsonNode).orElse(MissingNode.getInstance());
+    }
+
+    /**
+     * Create a streaming parser over the given reader
+     *
+     * @param reader the reader to read
+     * @return JsonParser positioned before the first token
+     * @throws IOException if unable to create the parser
+     */
+    public static JsonParser createParser(Reader reader) throws IOException {
+        return OBJECT_MAPPER.getFactory().createParser(reader);
+    }
+
+    /**
+     * Create a parser that is fed its input in chunks and never blocks waiting for more, reporting
+     * {@link com.fasterxml.jackson.core.JsonToken#NOT_AVAILABLE} instead
+     *
+     * @return JsonParser fed through its {@link com.fasterxml.jackson.core.async.ByteArrayFeeder}
+     * @throws IOException if unable to create the parser
+     */
+    public static JsonParser createNonBlockingParser() throws IOException {
+        return OBJECT_MAPPER.getFactory().createNonBlockingByteArrayParser();
+    }
+
+    /**
+     * Read the value the given parser is positioned before to a JsonNode
+     *
+     * @param parser the parser to read
+     * @return JsonNode from parser or MissingNode if empty
+     * @throws IOException if unable to read parser
+     */
+    public static JsonNode readTree(JsonParser parser) throws IOException {
+        JsonNode jsonNode = OBJECT_MAPPER.readTree(parser);
+        return Optional.ofNullable(jsonNode).orElse(MissingNode.getInstance());
+    }
+
 }
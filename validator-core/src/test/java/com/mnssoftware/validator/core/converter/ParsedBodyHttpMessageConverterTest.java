@@ -0,0 +1,147 @@
+package com.mnssoftware.validator.core.converter;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ParsedBodyHttpMessageConverterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private MockHttpServletRequest request = new MockHttpServletRequest();
+    private ParsedBodyHttpMessageConverter underTest = new ParsedBodyHttpMessageConverter();
+
+    @Before
+    public void setUp() {
+        request.setContentType("application/json");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void read_withParsedBody_bindsFromTree() throws IOException {
+        request.setContent("{\"name\":\"from bytes\"}".getBytes(StandardCharsets.UTF_8));
+        request.setAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE,
+                MAPPER.readTree("{\"name\":\"from tree\",\"age\":3}"));
+
+        Pet pet = (Pet) underTest.read(Pet.class, null, new ServletServerHttpRequest(request));
+
+        assertThat(pet.getName(), equalTo("from tree"));
+        assertThat(pet.getAge(), equalTo(3));
+    }
+
+    @Test
+    public void read_withoutParsedBody_readsBody() throws IOException {
+        request.setContent("{\"name\":\"from bytes\"}".getBytes(StandardCharsets.UTF_8));
+
+        Pet pet = (Pet) underTest.read(Pet.class, null, new ServletServerHttpRequest(request));
+
+        assertThat(pet.getName(), equalTo("from bytes"));
+    }
+
+    @Test
+    public void read_withoutRequestContext_readsBody() throws IOException {
+        RequestContextHolder.resetRequestAttributes();
+        request.setContent("{\"name\":\"from bytes\"}".getBytes(StandardCharsets.UTF_8));
+
+        Pet pet = (Pet) underTest.read(Pet.class, null, new ServletServerHttpRequest(request));
+
+        assertThat(pet.getName(), equalTo("from bytes"));
+    }
+
+    @Test
+    public void read_jsonNodeTarget_returnsCopy() throws IOException {
+        JsonNode parsedBody = MAPPER.readTree("{\"name\":\"from tree\"}");
+        request.setAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE, parsedBody);
+
+        JsonNode result = (JsonNode) underTest.read(JsonNode.class, null, new ServletServerHttpRequest(request));
+
+        assertThat(result, equalTo(parsedBody));
+        assertThat(result, not(sameInstance(parsedBody)));
+    }
+
+    @Test
+    public void read_bigDecimalMapper_readsBody() throws IOException {
+        underTest = new ParsedBodyHttpMessageConverter(
+                new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+        request.setContent("{\"name\":\"from bytes\"}".getBytes(StandardCharsets.UTF_8));
+        request.setAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE,
+                MAPPER.readTree("{\"name\":\"from tree\"}"));
+
+        Pet pet = (Pet) underTest.read(Pet.class, null, new ServletServerHttpRequest(request));
+
+        assertThat(pet.getName(), equalTo("from bytes"));
+    }
+
+    @Test
+    public void read_bigDecimalProperty_readsBodyExactly() throws IOException {
+        String body = "{\"name\":\"tiddles\",\"price\":12345678901234567890.123456789}";
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE, MAPPER.readTree(body));
+
+        Order order = (Order) underTest.read(Order.class, null, new ServletServerHttpRequest(request));
+
+        assertThat(order.getPet().getPrice(), nullValue());
+        assertThat(order.getPrice(), equalTo(new BigDecimal("12345678901234567890.123456789")));
+    }
+
+    @Test
+    public void read_nestedBigDecimal_readsBodyExactly() throws IOException {
+        String body = "[{\"pet\":{\"price\":0.12345678901234567890123}}]";
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE, MAPPER.readTree(body));
+
+        Order[] orders = (Order[]) underTest.read(Order[].class, null, new ServletServerHttpRequest(request));
+
+        assertThat(orders[0].getPet().getPrice(), equalTo(new BigDecimal("0.12345678901234567890123")));
+    }
+
+    @Test(expected = HttpMessageNotReadableException.class)
+    public void read_treeNotConvertible_throws() throws IOException {
+        request.setAttribute(ParsedBodyHttpMessageConverter.PARSED_BODY_ATTRIBUTE,
+                MAPPER.readTree("{\"age\":\"old\"}"));
+
+        underTest.read(Pet.class, null, new ServletServerHttpRequest(request));
+    }
+
+    @Data
+    static class Order {
+        private String name;
+        private BigDecimal price;
+        private PricedPet pet = new PricedPet();
+    }
+
+    @Data
+    static class PricedPet {
+        private BigDecimal price;
+    }
+
+    @Data
+    static class Pet {
+        private String name;
+        private int age;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mnssoftware.validator.core.filter;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BodyBufferPoolTest {
+
+    private BodyBufferPool underTest = new BodyBufferPool(16, 64, 1);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_maxBelowMin_throws() {
+        new BodyBufferPool(64, 16, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_zeroBuffersPerSize_throws() {
+        new BodyBufferPool(16, 64, 0);
+    }
+
+    @Test
+    public void acquire_roundsUpToPowerOfTwo() {
+        assertThat(underTest.acquire(0).length, equalTo(16));
+        assertThat(underTest.acquire(17).length, equalTo(32));
+        assertThat(underTest.acquire(64).length, equalTo(64));
+    }
+
+    @Test
+    public void acquire_beyondMaximum_notPooled() {
+        byte[] buffer = underTest.acquire(100);
+        underTest.release(buffer);
+
+        assertThat(buffer.length, equalTo(100));
+        assertThat(underTest.acquire(100), not(sameInstance(buffer)));
+        assertThat(underTest.getReuseCount(), equalTo(0L));
+    }
+
+    @Test
+    public void release_reusesBuffer() {
+        byte[] buffer = underTest.acquire(20);
+        underTest.release(buffer);
+
+        assertThat(underTest.acquire(30), sameInstance(buffer));
+        assertThat(underTest.getAllocationCount(), equalTo(1L));
+        assertThat(underTest.getReuseCount(), equalTo(1L));
+    }
+
+    @Test
+    public void release_poolFull_discardsBuffer() {
+        byte[] first = underTest.acquire(16);
+        byte[] second = underTest.acquire(16);
+        underTest.release(first);
+        underTest.release(second);
+
+        assertThat(underTest.acquire(16), sameInstance(first));
+        assertThat(underTest.acquire(16), not(sameInstance(second)));
+    }
+
+    @Test
+    public void release_foreignBuffer_ignored() {
+        underTest.release(new byte[20]);
+        underTest.release(null);
+
+        assertThat(underTest.acquire(20).length, equalTo(32));
+        assertThat(underTest.getReuseCount(), equalTo(0L));
+    }
+}
@@ -0,0 +1,97 @@
+package com.mnssoftware.validator.core.filter;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CapturingHttpServletResponseTest {
+
+    private MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_negativeMaxBodySize_throws() {
+        new CapturingHttpServletResponse(response, -1);
+    }
+
+    @Test
+    public void getOutputStream_written_passedOnAndCaptured() throws Exception {
+        CapturingHttpServletResponse underTest = new CapturingHttpServletResponse(response, 64);
+
+        underTest.getOutputStream().write("{\"name\":".getBytes(StandardCharsets.UTF_8));
+        underTest.getOutputStream().write('1');
+        underTest.getOutputStream().write('}');
+
+        assertThat(response.getContentAsString(), equalTo("{\"name\":1}"));
+        assertThat(new String(underTest.getCapturedBody(), StandardCharsets.UTF_8), equalTo("{\"name\":1}"));
+    }
+
+    @Test
+    public void getWriter_written_passedOnAndCapturedInResponseEncoding() throws Exception {
+        CapturingHttpServletResponse underTest = new CapturingHttpServletResponse(response, 64);
+        underTest.setCharacterEncoding("UTF-8");
+
+        PrintWriter writer = underTest.getWriter();
+        writer.print("{\"name\":\"café\"}");
+        underTest.flushBuffer();
+
+        assertThat(response.getContentAsString(), equalTo("{\"name\":\"café\"}"));
+        assertThat(response.isCommitted(), equalTo(true));
+        assertThat(underTest.getCapturedBody(), equalTo("{\"name\":\"café\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void getOutputStream_bodyTooLarge_passedOnAndOverflowed() throws Exception {
+        CapturingHttpServletResponse underTest = new CapturingHttpServletResponse(response, 4);
+
+        underTest.getOutputStream().write("1234".getBytes(StandardCharsets.UTF_8));
+        assertThat(underTest.isOverflowed(), equalTo(false));
+        underTest.getOutputStream().write('5');
+
+        assertThat(response.getContentAsString(), equalTo("12345"));
+        assertThat(underTest.isOverflowed(), equalTo(true));
+        assertThat(underTest.getCapturedBody(), nullValue());
+    }
+
+    @Test
+    public void getWriter_encodedBodyTooLarge_overflowed() throws Exception {
+        CapturingHttpServletResponse underTest = new CapturingHttpServletResponse(response, 4);
+        underTest.setCharacterEncoding("UTF-8");
+
+        underTest.getWriter().print("ééé");
+
+        assertThat(underTest.getCapturedBody(), nullValue());
+        assertThat(underTest.isOverflowed(), equalTo(true));
+    }
+
+    @Test
+    public void resetBuffer_afterOverflow_capturesAgain() throws Exception {
+        CapturingHttpServletResponse underTest = new CapturingHttpServletResponse(response, 4);
+        underTest.getOutputStream().write("12345".getBytes(StandardCharsets.UTF_8));
+
+        underTest.resetBuffer();
+        underTest.getOutputStream().write("12".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new String(underTest.getCapturedBody(), StandardCharsets.UTF_8), equalTo("12"));
+    }
+
+    @Test
+    public void getCapturedBody_nothingWritten_empty() {
+        CapturingHttpServletResponse underTest = new CapturingHttpServletResponse(response, 4);
+
+        assertThat(underTest.getCapturedBody().length, equalTo(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getOutputStream_afterWriter_throws() throws Exception {
+        CapturingHttpServletResponse underTest = new CapturingHttpServletResponse(response, 4);
+        underTest.getWriter();
+
+        underTest.getOutputStream();
+    }
+}
@@ -0,0 +1,71 @@
+package com.mnssoftware.validator.core.filter;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+public class DetachedHttpServletRequestTest {
+
+    private MockHttpServletRequest mockRequest = new MockHttpServletRequest("POST", "/api/pets");
+    private MultiReadHttpServletRequest request;
+
+    @Before
+    public void setUp() throws IOException {
+        mockRequest.setQueryString("limit=10");
+        mockRequest.setScheme("https");
+        mockRequest.setServerName("pets.example.com");
+        mockRequest.setServerPort(8443);
+        mockRequest.setContentType("application/json");
+        mockRequest.addHeader("X-Tag", "cat");
+        mockRequest.addHeader("X-Tag", "dog");
+        mockRequest.setContent("{\"name\":\"tiddles\"}".getBytes(StandardCharsets.UTF_8));
+        request = new MultiReadHttpServletRequest(mockRequest, new BodyBufferPool(), MultiReadHttpServletRequest.UNLIMITED);
+    }
+
+    @Test
+    public void detach_originalReleasedAndChanged_copyUnchanged() throws IOException {
+        HttpServletRequest underTest = request.detach();
+        request.release();
+        mockRequest.setMethod("GET");
+        mockRequest.setRequestURI("/api/children");
+        mockRequest.setQueryString(null);
+        mockRequest.removeHeader("X-Tag");
+        mockRequest.setScheme("http");
+        mockRequest.setServerName("recycled.example.com");
+        mockRequest.setServerPort(80);
+
+        assertThat(underTest.getMethod(), equalTo("POST"));
+        assertThat(underTest.getRequestURI(), equalTo("/api/pets"));
+        assertThat(underTest.getQueryString(), equalTo("limit=10"));
+        assertThat(underTest.getScheme(), equalTo("https"));
+        assertThat(underTest.getServerName(), equalTo("pets.example.com"));
+        assertThat(underTest.getServerPort(), equalTo(8443));
+        assertThat(underTest.getContentType(), equalTo("application/json"));
+        assertThat(underTest.getHeader("x-tag"), equalTo("cat"));
+        assertThat(Collections.list(underTest.getHeaders("X-TAG")), contains("cat", "dog"));
+        assertThat(IOUtils.toString(underTest.getReader()), equalTo("{\"name\":\"tiddles\"}"));
+        assertThat(IOUtils.toString(underTest.getInputStream(), StandardCharsets.UTF_8), equalTo("{\"name\":\"tiddles\"}"));
+        assertThat(underTest.getContentLength(), equalTo(18));
+    }
+
+    @Test
+    public void setAttribute_keptApartFromOriginal() throws IOException {
+        HttpServletRequest underTest = request.detach();
+
+        underTest.setAttribute("parsed", "value");
+
+        assertThat(underTest.getAttribute("parsed"), equalTo("value"));
+        assertThat(mockRequest.getAttribute("parsed"), nullValue());
+    }
+}
@@ -1,12 +1,17 @@
 package com.mnssoftware.validator.core.filter;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.springframework.mock.web.MockHttpServletRequest;
 
+import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -14,8 +19,9 @@ import java.nio.charset.StandardCharsets;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 public class MultiReadHttpServletRequestTest {
 
@@ -52,6 +58,111 @@ public class MultiReadHttpServletRequestTest {
         assertThat(readReader(underTest.getReader()), equalTo("I am the content"));
     }
 
+    @Test
+    public void constructor_pooled_readsPresizedBody() throws IOException {
+        BodyBufferPool bufferPool = new BodyBufferPool(16, 1024, 1);
+        mockRequest.setContent("I am the content".getBytes(StandardCharsets.UTF_8));
+
+        MultiReadHttpServletRequest underTest = new MultiReadHttpServletRequest(mockRequest, bufferPool,
+                MultiReadHttpServletRequest.UNLIMITED);
+
+        assertThat(underTest.getBodyLength(), equalTo(16));
+        assertThat(readStream(underTest.getInputStream()), equalTo("I am the content"));
+        assertThat(readReader(underTest.getReader()), equalTo("I am the content"));
+        assertThat(bufferPool.getAllocationCount(), equalTo(1L));
+    }
+
+    @Test
+    public void constructor_unknownLength_growsBuffer() throws IOException {
+        String content = StringUtils.repeat("content ", 1000);
+        HttpServletRequest request = requestWithUnknownLength(content);
+
+        MultiReadHttpServletRequest underTest = new MultiReadHttpServletRequest(request, new BodyBufferPool(),
+                MultiReadHttpServletRequest.UNLIMITED);
+
+        assertThat(readStream(underTest.getInputStream()), equalTo(content));
+    }
+
+    @Test
+    public void grow_pooled_doublesWithinSizeClass() throws IOException {
+        BodyBufferPool pool = new BodyBufferPool();
+
+        byte[] grown = MultiReadHttpServletRequest.grow(pool, pool.acquire(1024), 1024,
+                MultiReadHttpServletRequest.readLimit(MultiReadHttpServletRequest.UNLIMITED));
+
+        assertThat(grown.length, equalTo(2048));
+    }
+
+    @Test
+    public void grow_nearLimit_cappedAtReadLimit() throws IOException {
+        byte[] grown = MultiReadHttpServletRequest.grow(null, new byte[1024], 1024,
+                MultiReadHttpServletRequest.readLimit(1500));
+
+        assertThat(grown.length, equalTo(1501));
+    }
+
+    @Test
+    public void constructor_noPool_readsBody() throws IOException {
+        mockRequest.setContent("I am the content".getBytes(StandardCharsets.UTF_8));
+
+        MultiReadHttpServletRequest underTest = new MultiReadHttpServletRequest(mockRequest, null, 16);
+
+        assertThat(readStream(underTest.getInputStream()), equalTo("I am the content"));
+    }
+
+    @Test(expected = PayloadTooLargeException.class)
+    public void constructor_declaredLengthTooLarge_throws() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getContentLengthLong()).thenReturn(100L);
+
+        new MultiReadHttpServletRequest(request, new BodyBufferPool(), 99);
+    }
+
+    @Test
+    public void constructor_actualLengthTooLarge_throwsAndReleases() throws IOException {
+        BodyBufferPool bufferPool = new BodyBufferPool(16, 1024, 1);
+        HttpServletRequest request = requestWithUnknownLength("I am the content");
+
+        try {
+            new MultiReadHttpServletRequest(request, bufferPool, 15);
+            fail("Expected a PayloadTooLargeException");
+        } catch (PayloadTooLargeException e) {
+            assertThat(e.getMaxBodySize(), equalTo(15L));
+        }
+        bufferPool.acquire(16);
+        assertThat(bufferPool.getReuseCount(), equalTo(1L));
+    }
+
+    @Test(expected = IOException.class)
+    public void constructor_pooledErrorReadingContent_throws() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getInputStream()).thenThrow(new IOException());
+
+        new MultiReadHttpServletRequest(request, new BodyBufferPool(), MultiReadHttpServletRequest.UNLIMITED);
+    }
+
+    @Test
+    public void release_returnsBufferAndEmptiesBody() throws IOException {
+        BodyBufferPool bufferPool = new BodyBufferPool(16, 1024, 1);
+        mockRequest.setContent("I am the content".getBytes(StandardCharsets.UTF_8));
+        MultiReadHttpServletRequest underTest = new MultiReadHttpServletRequest(mockRequest, bufferPool,
+                MultiReadHttpServletRequest.UNLIMITED);
+
+        underTest.release();
+
+        assertThat(readStream(underTest.getInputStream()), equalTo(""));
+        bufferPool.acquire(16);
+        assertThat(bufferPool.getReuseCount(), equalTo(1L));
+    }
+
+    private HttpServletRequest requestWithUnknownLength(String content) throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getContentLengthLong()).thenReturn(-1L);
+        when(request.getInputStream()).thenReturn(new MultiReadHttpServletRequest.DelegatingServletInputStream(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+        return request;
+    }
+
     private String readStream(ServletInputStream inputStream) throws IOException {
         return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
     }
@@ -62,12 +173,52 @@ public class MultiReadHttpServletRequestTest {
 
     // DelegatingServletInputStream tests
 
-    @Test(expected = UnsupportedOperationException.class)
-    public void delegatingServletInputStream_setReadListener_throws() throws IOException {
+    @Test
+    public void delegatingServletInputStream_setReadListener_notifiesListener() throws IOException {
+        MultiReadHttpServletRequest.DelegatingServletInputStream underTest = new MultiReadHttpServletRequest.DelegatingServletInputStream(
+                new ByteArrayInputStream("I am the content".getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ReadListener readListener = mock(ReadListener.class);
+        doAnswer(invocation -> {
+            byte[] buffer = new byte[4];
+            int count;
+            while (underTest.isReady() && (count = underTest.read(buffer)) != -1) {
+                content.write(buffer, 0, count);
+            }
+            return null;
+        }).when(readListener).onDataAvailable();
+
+        underTest.setReadListener(readListener);
+
+        assertThat(content.toString("UTF-8"), equalTo("I am the content"));
+        assertThat(underTest.isFinished(), equalTo(true));
+        InOrder inOrder = inOrder(readListener);
+        inOrder.verify(readListener).onDataAvailable();
+        inOrder.verify(readListener).onAllDataRead();
+        verify(readListener, never()).onError(any());
+    }
+
+    @Test
+    public void delegatingServletInputStream_listenerFails_notifiesError() throws IOException {
+        MultiReadHttpServletRequest.DelegatingServletInputStream underTest = new MultiReadHttpServletRequest.DelegatingServletInputStream(
+                new ByteArrayInputStream("I am the content".getBytes(StandardCharsets.UTF_8)));
+        ReadListener readListener = mock(ReadListener.class);
+        IOException failure = new IOException();
+        doThrow(failure).when(readListener).onDataAvailable();
+
+        underTest.setReadListener(readListener);
+
+        verify(readListener).onError(failure);
+        verify(readListener, never()).onAllDataRead();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void delegatingServletInputStream_secondReadListener_throws() throws IOException {
         try (MultiReadHttpServletRequest.DelegatingServletInputStream underTest = new MultiReadHttpServletRequest.DelegatingServletInputStream(
                 mock(InputStream.class))) {
+            underTest.setReadListener(mock(ReadListener.class));
 
-            underTest.setReadListener(null);
+            underTest.setReadListener(mock(ReadListener.class));
         }
     }
 
@@ -0,0 +1,58 @@
+package com.mnssoftware.validator.core.filter;
+
+import com.mnssoftware.validator.core.service.ReactiveValidationService;
+import com.mnssoftware.validator.core.service.ValidationException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveValidationFilterTest {
+
+    @Mock
+    private ReactiveValidationService validationService;
+    @Mock
+    private WebFilterChain filterChain;
+
+    private MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/pets"));
+
+    @Test
+    public void filter_valid_continuesWithValidatedExchange() {
+        ServerWebExchange validated = MockServerWebExchange.from(MockServerHttpRequest.post("/pets"));
+        when(validationService.validateRequest(exchange)).thenReturn(Mono.just(validated));
+        when(filterChain.filter(validated)).thenReturn(Mono.empty());
+
+        StepVerifier.create(new ReactiveValidationFilter(validationService).filter(exchange, filterChain))
+                .verifyComplete();
+
+        verify(filterChain).filter(validated);
+    }
+
+    @Test
+    public void filter_invalid_signalsError() {
+        ValidationException failure = new ValidationException(Collections.singletonList("failed"));
+        when(validationService.validateRequest(exchange)).thenReturn(Mono.error(failure));
+
+        StepVerifier.create(new ReactiveValidationFilter(validationService).filter(exchange, filterChain))
+                .expectErrorMatches(e -> e == failure)
+                .verify();
+
+        verifyZeroInteractions(filterChain);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructor_noService_throws() {
+        new ReactiveValidationFilter(null);
+    }
+}
@@ -0,0 +1,167 @@
+package com.mnssoftware.validator.core.filter;
+
+import com.mnssoftware.validator.core.service.ValidationException;
+import com.mnssoftware.validator.core.service.ValidationService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResponseValidationFilterTest {
+
+    private static final byte[] BODY = "{\"name\":\"tiddles\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private ValidationService validationService;
+    @Mock
+    private FilterChain filterChain;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final Executor executor = submitted::add;
+    private MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pets/1");
+    private MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_sampleRateAboveOne_throws() {
+        new ResponseValidationFilter(validationService, 1.5, executor, 1024);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructor_nullExecutor_throws() {
+        new ResponseValidationFilter(validationService, 1, null, 1024);
+    }
+
+    @Test
+    public void doFilterInternal_sampled_validatedWithoutCommitting() throws Exception {
+        ResponseValidationFilter underTest = new ResponseValidationFilter(validationService, 1, executor, 1024);
+        doAnswer(invocation -> {
+            HttpServletResponse wrapped = invocation.getArgument(1);
+            wrapped.setStatus(200);
+            wrapped.getOutputStream().write(BODY);
+            return null;
+        }).when(filterChain).doFilter(eq(request), any(CapturingHttpServletResponse.class));
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        assertThat(response.isCommitted(), equalTo(false));
+        assertThat(response.getContentAsByteArray(), equalTo(BODY));
+        verify(validationService, never()).validateResponse(any(), anyInt(), any());
+
+        assertThat(submitted.size(), equalTo(1));
+        submitted.get(0).run();
+        ArgumentCaptor<HttpServletRequest> validated = ArgumentCaptor.forClass(HttpServletRequest.class);
+        verify(validationService).validateResponse(validated.capture(), eq(200), eq(BODY));
+        assertThat(validated.getValue(), instanceOf(DetachedHttpServletRequest.class));
+        assertThat(validated.getValue().getMethod(), equalTo("GET"));
+        assertThat(validated.getValue().getRequestURI(), equalTo("/api/pets/1"));
+        assertThat(underTest.getValidatedCount(), equalTo(1L));
+        assertThat(underTest.getFailedCount(), equalTo(0L));
+    }
+
+    @Test
+    public void doFilterInternal_outerFilterSetsHeader_headerKept() throws Exception {
+        ResponseValidationFilter underTest = new ResponseValidationFilter(validationService, 1, executor, 1024);
+        doAnswer(invocation -> {
+            HttpServletResponse wrapped = invocation.getArgument(1);
+            wrapped.getWriter().write("{\"name\":\"tiddles\"}");
+            return null;
+        }).when(filterChain).doFilter(eq(request), any(CapturingHttpServletResponse.class));
+
+        underTest.doFilterInternal(request, response, filterChain);
+        response.setHeader("ETag", "\"1\"");
+        submitted.get(0).run();
+
+        assertThat(response.getHeader("ETag"), equalTo("\"1\""));
+        verify(validationService).validateResponse(any(), eq(200), eq(BODY));
+    }
+
+    @Test
+    public void doFilterInternal_notSampled_passedThroughAndSkipped() throws Exception {
+        ResponseValidationFilter underTest = new ResponseValidationFilter(validationService, 0, executor, 1024);
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(submitted.isEmpty(), equalTo(true));
+        assertThat(underTest.getSkippedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void doFilterInternal_bodyTooLarge_skipped() throws Exception {
+        ResponseValidationFilter underTest = new ResponseValidationFilter(validationService, 1, executor, 4);
+        doAnswer(invocation -> {
+            HttpServletResponse wrapped = invocation.getArgument(1);
+            wrapped.getOutputStream().write(BODY);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        assertThat(response.getContentAsByteArray(), equalTo(BODY));
+        assertThat(submitted.isEmpty(), equalTo(true));
+        assertThat(underTest.getSkippedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void doFilterInternal_invalidResponse_counted() throws Exception {
+        ResponseValidationFilter underTest = new ResponseValidationFilter(validationService, 1, executor, 1024);
+        doThrow(ValidationException.of(Collections.emptyList()))
+                .when(validationService).validateResponse(any(), anyInt(), any());
+
+        underTest.doFilterInternal(request, response, filterChain);
+        submitted.get(0).run();
+
+        assertThat(underTest.getValidatedCount(), equalTo(1L));
+        assertThat(underTest.getFailedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void doFilterInternal_executorRejects_dropped() throws Exception {
+        ResponseValidationFilter underTest = new ResponseValidationFilter(validationService, 1, command -> {
+            throw new RejectedExecutionException("full");
+        }, 1024);
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        assertThat(underTest.getDroppedCount(), equalTo(1L));
+        verify(validationService, never()).validateResponse(any(), anyInt(), any());
+    }
+
+    @Test
+    public void doFilterInternal_asyncStarted_validatedOnComplete() throws Exception {
+        ResponseValidationFilter underTest = new ResponseValidationFilter(validationService, 1, executor, 1024);
+        request.setAsyncSupported(true);
+        doAnswer(invocation -> request.startAsync()).when(filterChain).doFilter(any(), any());
+
+        underTest.doFilterInternal(request, response, filterChain);
+        assertThat(submitted.isEmpty(), equalTo(true));
+
+        request.getAsyncContext().complete();
+        assertThat(submitted.size(), equalTo(1));
+    }
+}
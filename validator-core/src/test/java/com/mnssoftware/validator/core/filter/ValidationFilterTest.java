@@ -1,14 +1,25 @@
 package com.mnssoftware.validator.core.filter;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.FilterChain;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -30,10 +41,116 @@ public class ValidationFilterTest {
         verify(filterChain).doFilter(isA(MultiReadHttpServletRequest.class), eq(response));
     }
 
+    @Test
+    public void doFilterInternal_pooled_wrapsAndReleasesRequest() throws Exception {
+        BodyBufferPool bufferPool = new BodyBufferPool(16, 1024, 1);
+        request.setContent("I am the content".getBytes(StandardCharsets.UTF_8));
+        underTest = new ValidationFilter(bufferPool, 1024);
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(isA(MultiReadHttpServletRequest.class), eq(response));
+        bufferPool.acquire(16);
+        assertThat(bufferPool.getReuseCount(), equalTo(1L));
+    }
+
+    @Test
+    public void doFilterInternal_bodyTooLarge_rejected() throws Exception {
+        request.setContent("I am the content".getBytes(StandardCharsets.UTF_8));
+        underTest = new ValidationFilter(new BodyBufferPool(), 8);
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        verifyNoInteractions(filterChain);
+        assertThat(response.getStatus(), equalTo(413));
+    }
+
+    @Test
+    public void doFilterInternal_asyncStarted_releasesOnComplete() throws Exception {
+        BodyBufferPool bufferPool = new BodyBufferPool(16, 1024, 1);
+        request.setContent("I am the content".getBytes(StandardCharsets.UTF_8));
+        request.setAsyncSupported(true);
+        underTest = new ValidationFilter(bufferPool, MultiReadHttpServletRequest.UNLIMITED);
+        doAnswer(invocation -> request.startAsync()).when(filterChain).doFilter(any(), any());
+
+        underTest.doFilterInternal(request, response, filterChain);
+        bufferPool.acquire(16);
+        assertThat(bufferPool.getReuseCount(), equalTo(0L));
+
+        request.getAsyncContext().complete();
+        bufferPool.acquire(16);
+        assertThat(bufferPool.getReuseCount(), equalTo(1L));
+    }
+
     @Test
     public void doFilterInternal_doesNotWrapWrappedRequest_successful() throws Exception {
         underTest.doFilterInternal(wrappedRequest, response, filterChain);
 
         verify(filterChain).doFilter(wrappedRequest, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void doFilterInternal_nonBlocking_dispatchesWithBody() throws Exception {
+        BodyBufferPool bufferPool = new BodyBufferPool(16, 1024, 1);
+        MockHttpServletRequest request = nonBlockingRequest("I am the content");
+        underTest = new ValidationFilter(bufferPool, 1024, true);
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        verifyNoInteractions(filterChain);
+        assertThat(request.isAsyncStarted(), equalTo(true));
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        underTest.doFilterInternal(request, response, filterChain);
+
+        ArgumentCaptor<ServletRequest> dispatched = ArgumentCaptor.forClass(ServletRequest.class);
+        verify(filterChain).doFilter(dispatched.capture(), eq(response));
+        assertThat(IOUtils.toString(dispatched.getValue().getInputStream(), StandardCharsets.UTF_8),
+                equalTo("I am the content"));
+
+        request.getAsyncContext().complete();
+        bufferPool.acquire(16);
+        assertThat(bufferPool.getReuseCount(), equalTo(1L));
+    }
+
+    @Test
+    public void doFilterInternal_nonBlockingBodyTooLarge_rejected() throws Exception {
+        MockHttpServletRequest request = nonBlockingRequest("I am the content");
+        request.addHeader(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        request.setContent(null);
+        underTest = new ValidationFilter(new BodyBufferPool(), 8, true);
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        verifyNoInteractions(filterChain);
+        assertThat(response.getStatus(), equalTo(413));
+        assertThat(request.isAsyncStarted(), equalTo(false));
+    }
+
+    @Test
+    public void doFilterInternal_nonBlockingAsyncNotSupported_readsBlocking() throws Exception {
+        request.setContent("I am the content".getBytes(StandardCharsets.UTF_8));
+        underTest = new ValidationFilter(null, 1024, true);
+
+        underTest.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(isA(MultiReadHttpServletRequest.class), eq(response));
+        assertThat(request.isAsyncStarted(), equalTo(false));
+    }
+
+    /**
+     * A request whose input stream supports non-blocking reads, which the mock input stream does not.
+     */
+    private static MockHttpServletRequest nonBlockingRequest(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new MultiReadHttpServletRequest.DelegatingServletInputStream(new ByteArrayInputStream(bytes));
+            }
+        };
+        request.setContent(bytes);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
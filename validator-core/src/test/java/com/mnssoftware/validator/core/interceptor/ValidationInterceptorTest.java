@@ -1,16 +1,27 @@
 package com.mnssoftware.validator.core.interceptor;
 
 import com.mnssoftware.validator.core.filter.MultiReadHttpServletRequest;
+import com.mnssoftware.validator.core.service.ValidationException;
 import com.mnssoftware.validator.core.service.ValidationService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -46,4 +57,84 @@ public class ValidationInterceptorTest {
         assertThat(handled, equalTo(true));
         verify(validationService, never()).validateRequest(request);
     }
-}
\ No newline at end of file
+
+    @Test(expected = ValidationException.class)
+    public void preHandle_enforcingInvalidRequest_throws() throws Exception {
+        ValidationInterceptor underTest = new ValidationInterceptor(validationService);
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(new MockHttpServletRequest());
+        doThrow(new ValidationException(Collections.singletonList("invalid"))).when(validationService)
+                .validateRequest(request);
+
+        underTest.preHandle(request, new MockHttpServletResponse(), null);
+    }
+
+    @Test
+    public void preHandle_shadowInvalidRequest_handledAndCounted() throws Exception {
+        ValidationInterceptor underTest = new ValidationInterceptor(validationService, ValidationMode.shadow(1, null));
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(new MockHttpServletRequest());
+        doThrow(new ValidationException(Collections.singletonList("invalid"))).when(validationService)
+                .validateRequest(request);
+
+        boolean handled = underTest.preHandle(request, new MockHttpServletResponse(), null);
+
+        assertThat(handled, equalTo(true));
+        assertThat(underTest.getValidatedCount(), equalTo(1L));
+        assertThat(underTest.getFailedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void preHandle_notSampled_handledAndNotValidated() throws Exception {
+        ValidationInterceptor underTest = new ValidationInterceptor(validationService,
+                ValidationMode.builder().sampleRate(0).build());
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(new MockHttpServletRequest());
+
+        boolean handled = underTest.preHandle(request, new MockHttpServletResponse(), null);
+
+        assertThat(handled, equalTo(true));
+        assertThat(underTest.getSkippedCount(), equalTo(1L));
+        verify(validationService, never()).validateRequest(request);
+    }
+
+    @Test
+    public void preHandle_shadowOnExecutor_validatesDetachedCopy() throws Exception {
+        ValidationInterceptor underTest = new ValidationInterceptor(validationService,
+                ValidationMode.shadow(1, Runnable::run));
+        MockHttpServletRequest original = new MockHttpServletRequest("POST", "/pets");
+        original.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(original);
+
+        underTest.preHandle(request, new MockHttpServletResponse(), null);
+        request.release();
+
+        ArgumentCaptor<HttpServletRequest> validated = ArgumentCaptor.forClass(HttpServletRequest.class);
+        verify(validationService).validateRequest(validated.capture());
+        assertThat(validated.getValue(), not(sameInstance(request)));
+        assertThat(validated.getValue().getRequestURI(), equalTo("/pets"));
+        assertThat(validated.getValue().getContentLength(), equalTo(2));
+    }
+
+    @Test
+    public void preHandle_executorFull_handledAndDropped() throws Exception {
+        ValidationInterceptor underTest = new ValidationInterceptor(validationService,
+                ValidationMode.shadow(1, command -> {
+                    throw new RejectedExecutionException("full");
+                }));
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(new MockHttpServletRequest());
+
+        boolean handled = underTest.preHandle(request, new MockHttpServletResponse(), null);
+
+        assertThat(handled, equalTo(true));
+        assertThat(underTest.getDroppedCount(), equalTo(1L));
+        verify(validationService, never()).validateRequest(any());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_enforcingOnExecutor_throws() {
+        new ValidationInterceptor(validationService, ValidationMode.builder().executor(Runnable::run).build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_invalidSampleRate_throws() {
+        new ValidationInterceptor(validationService, ValidationMode.shadow(1.5, null));
+    }
+}
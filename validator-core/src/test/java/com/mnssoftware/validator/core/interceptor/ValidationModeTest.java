@@ -0,0 +1,52 @@
+package com.mnssoftware.validator.core.interceptor;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ValidationModeTest {
+
+    @Test
+    public void enforce_validatesEveryRequestInline() {
+        ValidationMode mode = ValidationMode.enforce();
+
+        assertThat(mode.isEnforcing(), equalTo(true));
+        assertThat(mode.getSampleRate(), equalTo(1.0));
+        assertThat(mode.getExecutor(), nullValue());
+    }
+
+    @Test
+    public void shadow_neverEnforces() {
+        assertThat(ValidationMode.shadow(0.1, null).isEnforcing(), equalTo(false));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void boundedExecutor_queueFull_rejects() throws InterruptedException {
+        ExecutorService executor = ValidationMode.boundedExecutor(1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            running.await();
+            executor.execute(() -> { });
+
+            executor.execute(() -> { });
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
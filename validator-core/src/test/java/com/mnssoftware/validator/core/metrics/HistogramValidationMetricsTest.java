@@ -0,0 +1,54 @@
+package com.mnssoftware.validator.core.metrics;
+
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class HistogramValidationMetricsTest {
+
+    private final HistogramValidationMetrics underTest = new HistogramValidationMetrics();
+
+    @Test
+    public void getOperation_nothingRecorded_empty() {
+        assertThat(underTest.isEnabled(), equalTo(true));
+        assertThat(underTest.getOperation("findPets").isPresent(), equalTo(false));
+        assertThat(underTest.getOperations(), empty());
+    }
+
+    @Test
+    public void record_perOperation_separated() {
+        underTest.recordValidation("findPets", 1000, true);
+        underTest.recordValidation("addPet", 2000, false);
+        underTest.recordStage("addPet", ValidationStage.BODY, 1500);
+        underTest.recordFailure("addPet", ValidationKeyMessage.NOT_NULL);
+        underTest.recordFailure("addPet", ValidationKeyMessage.NOT_NULL);
+        underTest.recordFailure("addPet", ValidationKeyMessage.TYPE);
+
+        OperationMetrics findPets = underTest.getOperation("findPets").orElseThrow(AssertionError::new);
+        OperationMetrics addPet = underTest.getOperation("addPet").orElseThrow(AssertionError::new);
+
+        assertThat(underTest.getOperations(), hasSize(2));
+        assertThat(findPets.getLatency().snapshot().getCount(), equalTo(1L));
+        assertThat(findPets.getInvalidCount(), equalTo(0L));
+        assertThat(findPets.getFailureCounts().entrySet(), empty());
+        assertThat(addPet.getInvalidCount(), equalTo(1L));
+        assertThat(addPet.getStageLatency(ValidationStage.BODY).snapshot().getTotalNanos(), equalTo(1500L));
+        assertThat(addPet.getStageLatency(ValidationStage.PATH).snapshot().getCount(), equalTo(0L));
+        assertThat(addPet.getFailureCount(ValidationKeyMessage.NOT_NULL), equalTo(2L));
+        assertThat(addPet.getFailureCounts(), hasEntry(ValidationKeyMessage.TYPE, 1L));
+        assertThat(addPet.getFailureCounts().size(), equalTo(2));
+    }
+
+    @Test
+    public void noop_recordsNothing() {
+        ValidationMetrics noop = ValidationMetrics.noop();
+
+        noop.recordValidation("findPets", 1000, true);
+        noop.recordStage("findPets", ValidationStage.PATH, 1000);
+        noop.recordFailure("findPets", ValidationKeyMessage.TYPE);
+
+        assertThat(noop.isEnabled(), equalTo(false));
+    }
+}
@@ -0,0 +1,81 @@
+package com.mnssoftware.validator.core.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_zeroStripes_throws() {
+        new LatencyHistogram(0);
+    }
+
+    @Test
+    public void bucketOf_powersOfTwo_bucketed() {
+        assertThat(LatencyHistogram.bucketOf(0), equalTo(0));
+        assertThat(LatencyHistogram.bucketOf(1), equalTo(0));
+        assertThat(LatencyHistogram.bucketOf(2), equalTo(1));
+        assertThat(LatencyHistogram.bucketOf(3), equalTo(1));
+        assertThat(LatencyHistogram.bucketOf(1024), equalTo(10));
+        assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE), equalTo(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    public void snapshot_nothingRecorded_empty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.getCount(), equalTo(0L));
+        assertThat(snapshot.getMeanNanos(), equalTo(0.0));
+        assertThat(snapshot.getValueAtPercentile(99), equalTo(0L));
+    }
+
+    @Test
+    public void snapshot_recorded_summarised() {
+        LatencyHistogram underTest = new LatencyHistogram(4);
+        for (int i = 0; i < 99; i++) {
+            underTest.record(1000);
+        }
+        underTest.record(100_000);
+        underTest.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = underTest.snapshot();
+
+        assertThat(snapshot.getCount(), equalTo(101L));
+        assertThat(snapshot.getTotalNanos(), equalTo(199_000L));
+        assertThat(snapshot.getMaxNanos(), equalTo(100_000L));
+        assertThat(snapshot.getBucketCount(0), equalTo(1L));
+        assertThat(snapshot.getBucketCount(9), equalTo(99L));
+        assertThat(snapshot.getValueAtPercentile(50), equalTo(1023L));
+        assertThat(snapshot.getValueAtPercentile(100), equalTo(100_000L));
+    }
+
+    @Test
+    public void record_concurrently_allCounted() throws InterruptedException {
+        LatencyHistogram underTest = new LatencyHistogram(8);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    underTest.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(underTest.snapshot().getCount(), equalTo(80_000L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getValueAtPercentile_outOfRange_throws() {
+        new LatencyHistogram().snapshot().getValueAtPercentile(101);
+    }
+}
@@ -0,0 +1,59 @@
+package com.mnssoftware.validator.core.metrics;
+
+import com.mnssoftware.validator.core.service.ValidationKeyMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class MicrometerValidationMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerValidationMetrics underTest = new MicrometerValidationMetrics(registry);
+
+    @Test(expected = NullPointerException.class)
+    public void constructor_nullRegistry_throws() {
+        new MicrometerValidationMetrics(null);
+    }
+
+    @Test
+    public void recordValidation_taggedByOutcome() {
+        underTest.recordValidation("findPets", 1000, true);
+        underTest.recordValidation("findPets", 3000, false);
+
+        Timer valid = registry.get(MicrometerValidationMetrics.REQUESTS_METER)
+                .tags("operation", "findPets", "outcome", "valid").timer();
+        Timer invalid = registry.get(MicrometerValidationMetrics.REQUESTS_METER)
+                .tags("operation", "findPets", "outcome", "invalid").timer();
+        assertThat(valid.count(), equalTo(1L));
+        assertThat(invalid.totalTime(TimeUnit.NANOSECONDS), equalTo(3000.0));
+    }
+
+    @Test
+    public void recordStage_taggedByStage() {
+        underTest.recordStage("findPets", ValidationStage.QUERY, 500);
+
+        Timer query = registry.get(MicrometerValidationMetrics.STAGE_METER)
+                .tags("operation", "findPets", "stage", "query").timer();
+        assertThat(query.count(), equalTo(1L));
+    }
+
+    @Test
+    public void recordFailure_registeredOnFirstUse() {
+        underTest.recordValidation("findPets", 1000, false);
+        assertThat(registry.find(MicrometerValidationMetrics.FAILURES_METER).counter(), nullValue());
+
+        underTest.recordFailure("findPets", ValidationKeyMessage.PATTERN);
+        underTest.recordFailure("findPets", ValidationKeyMessage.PATTERN);
+
+        double count = registry.get(MicrometerValidationMetrics.FAILURES_METER)
+                .tags("operation", "findPets", "code", "1023", "reason", "pattern").counter().count();
+        assertThat(count, equalTo(2.0));
+    }
+}
@@ -0,0 +1,45 @@
+package com.mnssoftware.validator.core.service;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class MessageTemplateTest {
+
+    @Test
+    public void render_allTemplates_sameAsStringFormat() {
+        for (ValidationKeyMessage value : ValidationKeyMessage.values()) {
+            MessageTemplate underTest = MessageTemplate.parse(value.getMessage());
+
+            assertThat(underTest.render("query parameter", "limit"),
+                    equalTo(String.format(value.getMessage(), "query parameter", "limit")));
+        }
+    }
+
+    @Test
+    public void render_placeholdersAtEnds_rendered() {
+        MessageTemplate underTest = MessageTemplate.parse("%s and %s");
+
+        assertThat(underTest.getArgumentCount(), equalTo(2));
+        assertThat(underTest.render("this", "that"), equalTo("this and that"));
+    }
+
+    @Test
+    public void render_nullArgument_renderedAsNull() {
+        assertThat(MessageTemplate.parse("The %s %s").render("field", null), equalTo("The field null"));
+    }
+
+    @Test
+    public void render_noPlaceholders_templateReturned() {
+        MessageTemplate underTest = MessageTemplate.parse("The payload could not be parsed");
+
+        assertThat(underTest.getArgumentCount(), equalTo(0));
+        assertThat(underTest.render("field", "name"), equalTo("The payload could not be parsed"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void render_tooFewArguments_throws() {
+        MessageTemplate.parse("The %s %s").render("field");
+    }
+}
@@ -0,0 +1,82 @@
+package com.mnssoftware.validator.core.service;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ParsedQueryStringTest {
+
+    @Test
+    public void parse_null_empty() {
+        ParsedQueryString underTest = ParsedQueryString.parse(null);
+
+        assertThat(underTest.size(), equalTo(0));
+        assertThat(underTest.getValues("tags"), empty());
+        assertThat(underTest.contains("tags"), equalTo(false));
+    }
+
+    @Test
+    public void parse_parameters_splitInOrder() {
+        ParsedQueryString underTest = ParsedQueryString.parse("name=tiddles&tags=cat&tags=tabby&limit=10");
+
+        assertThat(underTest.size(), equalTo(4));
+        assertThat(underTest.name(0), equalTo("name"));
+        assertThat(underTest.value(0), equalTo("tiddles"));
+        assertThat(underTest.getValues("name"), contains("tiddles"));
+        assertThat(underTest.getValues("tags"), contains("cat", "tabby"));
+        assertThat(underTest.getValues("limit"), contains("10"));
+        assertThat(underTest.getValues("Limit"), empty());
+    }
+
+    @Test
+    public void parse_missingAndEmptyValues_distinguished() {
+        ParsedQueryString underTest = ParsedQueryString.parse("flag&empty=&&=orphan&eq==x");
+
+        assertThat(underTest.size(), equalTo(3));
+        assertThat(underTest.getValues("flag"), contains(nullValue()));
+        assertThat(underTest.getValues("empty"), contains(""));
+        assertThat(underTest.getValues("eq"), contains("=x"));
+        assertThat(underTest.contains("flag"), equalTo(true));
+    }
+
+    @Test
+    public void parse_encodedNames_decodedAndValuesLeftEncoded() {
+        ParsedQueryString underTest = ParsedQueryString.parse("filter%5Bname%5D=hello%20world&bad%zz=1");
+
+        assertThat(underTest.name(0), equalTo("filter[name]"));
+        assertThat(underTest.getValues("filter[name]"), contains("hello%20world"));
+        assertThat(underTest.getValues("bad%zz"), contains("1"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void value_outOfRange_throws() {
+        ParsedQueryString.parse("a=1").value(1);
+    }
+
+    @Test
+    public void of_sameRequest_parsedOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setQueryString("tags=cat");
+
+        ParsedQueryString first = ParsedQueryString.of(request);
+        ParsedQueryString second = ParsedQueryString.of(request);
+
+        assertThat(second, sameInstance(first));
+        assertThat(request.getAttribute(ParsedQueryString.ATTRIBUTE), sameInstance(first));
+    }
+
+    @Test
+    public void of_queryStringChanged_parsedAgain() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setQueryString("tags=cat");
+        ParsedQueryString first = ParsedQueryString.of(request);
+
+        request.setQueryString("tags=dog");
+        ParsedQueryString second = ParsedQueryString.of(request);
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getValues("tags"), contains("dog"));
+    }
+}
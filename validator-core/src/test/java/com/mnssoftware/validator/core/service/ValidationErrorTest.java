@@ -0,0 +1,25 @@
+package com.mnssoftware.validator.core.service;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ValidationErrorTest {
+
+    @Test
+    public void getMessage_withField_rendered() {
+        ValidationError underTest = new ValidationError(ValidationKeyMessage.NOT_NULL, "query parameter", "limit");
+
+        assertThat(underTest.getCode(), equalTo("1028"));
+        assertThat(underTest.getMessage(), equalTo("The query parameter limit is mandatory"));
+        assertThat(underTest.toString(), equalTo("The query parameter limit is mandatory"));
+    }
+
+    @Test
+    public void getMessage_withoutPlaceholders_templateReturned() {
+        ValidationError underTest = new ValidationError(ValidationKeyMessage.MISSING_BODY, "field", "body");
+
+        assertThat(underTest.getMessage(), equalTo("Request body is expected but not found"));
+    }
+}
@@ -3,9 +3,12 @@ package com.mnssoftware.validator.core.service;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
 
 public class ValidationExceptionTest {
@@ -27,4 +30,25 @@ public class ValidationExceptionTest {
 
         assertThat(underTest.getValidationErrors(), equalTo(errorList));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void of_withErrors_messagesRendered() {
+        ValidationException underTest = ValidationException.of(Arrays.asList(
+                new ValidationError(ValidationKeyMessage.NOT_NULL, "field", "name"),
+                new ValidationError(ValidationKeyMessage.ENUM, "field", "tag")));
+
+        assertThat(underTest.getErrors().get(1).getCode(), equalTo("1008"));
+        assertThat(underTest.getValidationErrors(),
+                contains("The field name is mandatory", "The field tag does not have the correct enum value"));
+        assertThat(underTest.getMessage(),
+                equalTo("[The field name is mandatory,The field tag does not have the correct enum value]"));
+    }
+
+    @Test
+    public void constructor_withErrors_noStackTrace() {
+        ValidationException underTest = new ValidationException(Collections.singletonList("I am an error"));
+
+        assertThat(underTest.getStackTrace().length, equalTo(0));
+        assertThat(underTest.getErrors(), empty());
+    }
+}
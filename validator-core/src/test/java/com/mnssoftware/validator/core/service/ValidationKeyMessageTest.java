@@ -28,4 +28,22 @@ public class ValidationKeyMessageTest {
     public void fromCode_invalid_defaulted() {
         assertThat(ValidationKeyMessage.getMessageFromCode("1111"), equalTo("The payload could not be parsed"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void fromCode_knownCode_keyMessageReturned() {
+        assertThat(ValidationKeyMessage.fromCode("1028"), equalTo(ValidationKeyMessage.NOT_NULL));
+        assertThat(ValidationKeyMessage.fromCode("9002"), equalTo(ValidationKeyMessage.MISSING_BODY));
+    }
+
+    @Test
+    public void fromCode_unknownCode_defaultReturned() {
+        assertThat(ValidationKeyMessage.fromCode("1111"), equalTo(ValidationKeyMessage.DEFAULT));
+        assertThat(ValidationKeyMessage.fromCode(null), equalTo(ValidationKeyMessage.DEFAULT));
+    }
+
+    @Test
+    public void format_withField_rendered() {
+        assertThat(ValidationKeyMessage.TYPE.format("path parameter", "id"),
+                equalTo("The path parameter id does not have the correct type"));
+    }
+}
@@ -1,5 +1,7 @@
 package com.mnssoftware.validator.core.utils;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.MissingNode;
 import lombok.Data;
@@ -45,6 +47,15 @@ public class JsonUtilsTest {
         assertThat(jsonNode, instanceOf(MissingNode.class));
     }
 
+    @Test
+    public void createParser_withReader_successful() throws IOException {
+        try (JsonParser parser = JsonUtils.createParser(new StringReader("{\"prop1\":\"stringVal\"}"))) {
+            assertThat(parser.nextToken(), equalTo(JsonToken.START_OBJECT));
+            assertThat(parser.nextFieldName(), equalTo("prop1"));
+            assertThat(parser.nextTextValue(), equalTo("stringVal"));
+        }
+    }
+
     @Data
     class TestObj {
         final String prop1;